@@ -0,0 +1,102 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodStatus;
+import io.kubernetes.client.util.Watch;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import oracle.kubernetes.operator.TuningParameters.WatchTuning;
+import oracle.kubernetes.operator.builders.WatchBuilder;
+import oracle.kubernetes.operator.builders.WatchI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the per-event cost of a watcher: resource version tracking, logging and dispatch to a
+ * listener which checks pod readiness, as the pod watcher does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WatcherBenchmark {
+  @Param({"1000"})
+  public int eventCount;
+
+  private Watch.Response<V1Pod>[] events;
+  private BenchmarkWatcher watcher;
+  private int next;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setUp() throws ReflectiveOperationException {
+    events = new Watch.Response[eventCount];
+    for (int i = 0; i < eventCount; i++) {
+      events[i] = createResponse(i % 2 == 0 ? "ADDED" : "MODIFIED", createPod(i));
+    }
+    watcher = new BenchmarkWatcher();
+  }
+
+  @Benchmark
+  public void handleEvent(Blackhole blackhole) {
+    watcher.blackhole = blackhole;
+    watcher.handleRegularUpdate(events[next++ % eventCount]);
+  }
+
+  private static V1Pod createPod(int i) {
+    return new V1Pod()
+        .metadata(
+            new V1ObjectMeta()
+                .name("domain1-managed-server" + i)
+                .namespace("namespace")
+                .resourceVersion(Integer.toString(1000 + i)))
+        .status(
+            new V1PodStatus()
+                .phase("Running")
+                .addConditionsItem(new V1PodCondition().type("Ready").status("True")));
+  }
+
+  // Watch.Response has no public constructor
+  @SuppressWarnings("unchecked")
+  private static Watch.Response<V1Pod> createResponse(String type, V1Pod pod)
+      throws ReflectiveOperationException {
+    @SuppressWarnings("rawtypes")
+    Constructor<Watch.Response> constructor =
+        Watch.Response.class.getDeclaredConstructor(String.class, Object.class);
+    constructor.setAccessible(true);
+    return (Watch.Response<V1Pod>) constructor.newInstance(type, pod);
+  }
+
+  private static class BenchmarkWatcher extends Watcher<V1Pod> {
+    private Blackhole blackhole;
+
+    BenchmarkWatcher() {
+      super("0", new WatchTuning(30), new AtomicBoolean(false));
+      setListener(item -> blackhole.consume(PodWatcher.isReady(item.object)));
+    }
+
+    @Override
+    public WatchI<V1Pod> initiateWatch(WatchBuilder watchBuilder) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,177 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.builders;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import io.kubernetes.client.JSON;
+import io.kubernetes.client.models.V1Container;
+import io.kubernetes.client.models.V1ContainerPort;
+import io.kubernetes.client.models.V1ContainerState;
+import io.kubernetes.client.models.V1ContainerStateRunning;
+import io.kubernetes.client.models.V1ContainerStatus;
+import io.kubernetes.client.models.V1EnvVar;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1OwnerReference;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1PodStatus;
+import io.kubernetes.client.models.V1SecretVolumeSource;
+import io.kubernetes.client.models.V1Toleration;
+import io.kubernetes.client.models.V1Volume;
+import io.kubernetes.client.models.V1VolumeMount;
+import io.kubernetes.client.util.Watch;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the decoding of a pod watch event as done by the client library's watch, which reads
+ * the event into a string and decodes all of it, and by the projecting watch, which decodes only
+ * the fields that the operator uses directly from the stream. Run with <code>-prof gc</code> to
+ * report the bytes allocated per event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WatchDecodingBenchmark {
+  private static final int ENV_VAR_COUNT = 20;
+  private static final DateTime START_TIME = new DateTime(2018, 10, 4, 21, 7, 0);
+  private static final Type WATCH_TYPE = new TypeToken<Watch.Response<V1Pod>>() {}.getType();
+
+  private Gson gson;
+  private String event;
+
+  @Setup
+  public void setUp() {
+    gson = new JSON().getGson();
+    JsonObject response = new JsonObject();
+    response.addProperty("type", "MODIFIED");
+    response.add("object", gson.toJsonTree(createPod()));
+    event = gson.toJson(response) + "\n";
+  }
+
+  @Benchmark
+  public Watch.Response<V1Pod> fullDecoding() throws IOException {
+    String line = new BufferedReader(new StringReader(event)).readLine();
+    return gson.fromJson(line, WATCH_TYPE);
+  }
+
+  @Benchmark
+  public Watch.Response<V1Pod> projectedDecoding() throws IOException {
+    return new WatchEventDecoder<V1Pod>(
+            gson, WATCH_TYPE, WatchProjection.POD, new StringReader(event))
+        .next();
+  }
+
+  private static V1Pod createPod() {
+    return new V1Pod()
+        .apiVersion("v1")
+        .kind("Pod")
+        .metadata(
+            new V1ObjectMeta()
+                .name("domain1-managed-server1")
+                .namespace("namespace")
+                .uid("0a1b2c3d-4e5f-6a7b-8c9d-0e1f2a3b4c5d")
+                .selfLink("/api/v1/namespaces/namespace/pods/domain1-managed-server1")
+                .resourceVersion("1234567")
+                .creationTimestamp(START_TIME)
+                .putLabelsItem("weblogic.domainUID", "domain1")
+                .putLabelsItem("weblogic.serverName", "managed-server1")
+                .putLabelsItem("weblogic.createdByOperator", "true")
+                .putAnnotationsItem("prometheus.io/port", "8001")
+                .addOwnerReferencesItem(
+                    new V1OwnerReference()
+                        .apiVersion("weblogic.oracle/v2")
+                        .kind("Domain")
+                        .name("domain1")
+                        .uid("0a1b2c3d-4e5f-6a7b-8c9d-0e1f2a3b4c5d")))
+        .spec(
+            new V1PodSpec()
+                .nodeName("node1")
+                .serviceAccountName("default")
+                .schedulerName("default-scheduler")
+                .dnsPolicy("ClusterFirst")
+                .addContainersItem(createContainer())
+                .addVolumesItem(createSecretVolume("weblogic-credentials-volume"))
+                .addVolumesItem(createSecretVolume("default-token-abcde"))
+                .addTolerationsItem(createToleration("node.kubernetes.io/not-ready"))
+                .addTolerationsItem(createToleration("node.kubernetes.io/unreachable")))
+        .status(
+            new V1PodStatus()
+                .phase("Running")
+                .hostIP("10.0.0.1")
+                .podIP("10.244.0.1")
+                .startTime(START_TIME)
+                .addConditionsItem(createCondition("Initialized"))
+                .addConditionsItem(createCondition("Ready"))
+                .addConditionsItem(createCondition("ContainersReady"))
+                .addConditionsItem(createCondition("PodScheduled"))
+                .addContainerStatusesItem(
+                    new V1ContainerStatus()
+                        .name("weblogic-server")
+                        .image("store/oracle/weblogic:12.2.1.3")
+                        .imageID("docker-pullable://store/oracle/weblogic@sha256:4c7ce451c093")
+                        .containerID("docker://ab12cd34ef56ab12cd34ef56")
+                        .ready(true)
+                        .restartCount(0)
+                        .state(
+                            new V1ContainerState()
+                                .running(new V1ContainerStateRunning().startedAt(START_TIME)))));
+  }
+
+  private static V1Container createContainer() {
+    V1Container container =
+        new V1Container()
+            .name("weblogic-server")
+            .image("store/oracle/weblogic:12.2.1.3")
+            .imagePullPolicy("IfNotPresent")
+            .addCommandItem("/weblogic-operator/scripts/startServer.sh")
+            .terminationMessagePath("/dev/termination-log")
+            .addPortsItem(new V1ContainerPort().containerPort(8001).protocol("TCP"))
+            .addVolumeMountsItem(
+                new V1VolumeMount()
+                    .name("weblogic-credentials-volume")
+                    .mountPath("/weblogic-operator/secrets"));
+    for (int i = 0; i < ENV_VAR_COUNT; i++) {
+      container.addEnvItem(new V1EnvVar().name("ENV" + i).value("value" + i));
+    }
+    return container;
+  }
+
+  private static V1Volume createSecretVolume(String name) {
+    return new V1Volume().name(name).secret(new V1SecretVolumeSource().secretName(name));
+  }
+
+  private static V1Toleration createToleration(String key) {
+    return new V1Toleration()
+        .key(key)
+        .operator("Exists")
+        .effect("NoExecute")
+        .tolerationSeconds(300L);
+  }
+
+  private static V1PodCondition createCondition(String type) {
+    return new V1PodCondition().type(type).status("True").lastTransitionTime(START_TIME);
+  }
+}
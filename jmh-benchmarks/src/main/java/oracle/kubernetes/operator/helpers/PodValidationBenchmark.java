@@ -0,0 +1,143 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static oracle.kubernetes.operator.LabelConstants.CREATEDBYOPERATOR_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.DOMAINUID_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.RESOURCE_VERSION_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.SERVERNAME_LABEL;
+import static oracle.kubernetes.operator.VersionConstants.DEFAULT_DOMAIN_VERSION;
+
+import io.kubernetes.client.models.V1Container;
+import io.kubernetes.client.models.V1ContainerPort;
+import io.kubernetes.client.models.V1EnvVar;
+import io.kubernetes.client.models.V1ExecAction;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1Probe;
+import io.kubernetes.client.models.V1SecretVolumeSource;
+import io.kubernetes.client.models.V1Volume;
+import io.kubernetes.client.models.V1VolumeMount;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the comparison of a server pod model with the pod read from Kubernetes, which is done
+ * for every server on every make-right pass.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PodValidationBenchmark {
+  private static final int ENV_VAR_COUNT = 20;
+
+  private V1Pod model;
+  private V1Pod current;
+  private V1Pod changed;
+
+  @Setup
+  public void setUp() {
+    model = createPod();
+    current = withServiceAccountMount(createPod());
+    changed = withServiceAccountMount(createPod());
+    changed.getSpec().getContainers().get(0).setImage("store/oracle/weblogic:12.2.1.4");
+  }
+
+  @Benchmark
+  public boolean validPod() {
+    return PodStepContext.isCurrentPodValid(model, current);
+  }
+
+  @Benchmark
+  public boolean changedPod() {
+    return PodStepContext.isCurrentPodValid(model, changed);
+  }
+
+  private static V1Pod createPod() {
+    return new V1Pod()
+        .metadata(
+            new V1ObjectMeta()
+                .name("domain1-managed-server1")
+                .namespace("namespace")
+                .putLabelsItem(RESOURCE_VERSION_LABEL, DEFAULT_DOMAIN_VERSION)
+                .putLabelsItem(DOMAINUID_LABEL, "domain1")
+                .putLabelsItem(SERVERNAME_LABEL, "managed-server1")
+                .putLabelsItem(CREATEDBYOPERATOR_LABEL, "true")
+                .putAnnotationsItem("prometheus.io/port", "8001"))
+        .spec(
+            new V1PodSpec()
+                .addContainersItem(createContainer())
+                .addVolumesItem(
+                    new V1Volume()
+                        .name("weblogic-credentials-volume")
+                        .secret(new V1SecretVolumeSource().secretName("domain1-credentials")))
+                .addVolumesItem(
+                    new V1Volume()
+                        .name("weblogic-domain-cm-volume")
+                        .secret(new V1SecretVolumeSource().secretName("domain1-cm"))));
+  }
+
+  private static V1Container createContainer() {
+    V1Container container =
+        new V1Container()
+            .name("weblogic-server")
+            .image("store/oracle/weblogic:12.2.1.3")
+            .imagePullPolicy("IfNotPresent")
+            .addPortsItem(new V1ContainerPort().containerPort(8001).protocol("TCP"))
+            .livenessProbe(createProbe("/weblogic-operator/scripts/livenessProbe.sh"))
+            .readinessProbe(createProbe("/weblogic-operator/scripts/readinessProbe.sh"))
+            .addVolumeMountsItem(
+                new V1VolumeMount()
+                    .name("weblogic-credentials-volume")
+                    .mountPath("/weblogic-operator/secrets"))
+            .addVolumeMountsItem(
+                new V1VolumeMount()
+                    .name("weblogic-domain-cm-volume")
+                    .mountPath("/weblogic-operator/scripts"));
+    for (int i = 0; i < ENV_VAR_COUNT; i++) {
+      container.addEnvItem(new V1EnvVar().name("ENV" + i).value("value" + i));
+    }
+    return container;
+  }
+
+  private static V1Probe createProbe(String command) {
+    return new V1Probe()
+        .exec(new V1ExecAction().addCommandItem(command))
+        .initialDelaySeconds(30)
+        .timeoutSeconds(5)
+        .periodSeconds(10);
+  }
+
+  // Kubernetes adds a mount for the service account token, which the comparison must ignore
+  private static V1Pod withServiceAccountMount(V1Pod pod) {
+    pod.getSpec()
+        .addVolumesItem(
+            new V1Volume()
+                .name("default-token-abcde")
+                .secret(new V1SecretVolumeSource().secretName("default-token-abcde")))
+        .nodeName("node1");
+    pod.getSpec()
+        .getContainers()
+        .get(0)
+        .addVolumeMountsItem(
+            new V1VolumeMount()
+                .name("default-token-abcde")
+                .mountPath(PodDefaults.K8S_SERVICE_ACCOUNT_MOUNT_PATH));
+    return pod;
+  }
+}
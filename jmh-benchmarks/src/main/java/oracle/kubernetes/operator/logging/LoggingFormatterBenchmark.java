@@ -0,0 +1,63 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.logging;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the formatting of operator log records as JSON, both for plain messages and for
+ * messages whose parameters are model objects that must themselves be serialized.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingFormatterBenchmark {
+  private LoggingFormatter formatter;
+  private V1Pod pod;
+
+  @Setup
+  public void setUp() {
+    formatter = new LoggingFormatter();
+    pod = new V1Pod().metadata(new V1ObjectMeta().name("domain1-admin-server").namespace("ns"));
+  }
+
+  @Benchmark
+  public String formatSimpleMessage() {
+    return formatter.format(
+        createRecord("Watch event triggered for {0} in namespace {1}", "domain1", "ns"));
+  }
+
+  @Benchmark
+  public String formatModelParameter() {
+    // the formatter replaces model parameters in place, so each record needs fresh parameters
+    return formatter.format(createRecord("Watch event {0}: {1}", "MODIFIED", pod));
+  }
+
+  private LogRecord createRecord(String message, Object... parameters) {
+    LogRecord record = new LogRecord(Level.INFO, message);
+    record.setLoggerName("Operator");
+    record.setSourceClassName("oracle.kubernetes.operator.Watcher");
+    record.setSourceMethodName("handleRegularUpdate");
+    record.setParameters(parameters);
+    return record;
+  }
+}
@@ -0,0 +1,127 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the cost of running steps on a fiber, and of forking and joining child fibers. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FiberBenchmark {
+  private static final CompletionCallback NO_OP_CALLBACK =
+      new CompletionCallback() {
+        @Override
+        public void onCompletion(Packet packet) {}
+
+        @Override
+        public void onThrowable(Packet packet, Throwable throwable) {}
+      };
+
+  @Param({"1", "10", "100"})
+  public int stepCount;
+
+  @Param({"10"})
+  public int forkCount;
+
+  private ScheduledExecutorService executor;
+  private Engine engine;
+  private Step chain;
+  private Step forkJoin;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    executor = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+    engine = new Engine(executor);
+    chain = createChain(stepCount);
+    forkJoin = new ForkJoinStep(forkCount, stepCount);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /** Runs a chain of trivial steps on a single fiber. */
+  @Benchmark
+  public Packet dispatchSteps() throws ExecutionException, InterruptedException {
+    return runToCompletion(chain);
+  }
+
+  /** Forks child fibers, each of which runs a chain of trivial steps, and waits for them. */
+  @Benchmark
+  public Packet forkJoin() throws ExecutionException, InterruptedException {
+    return runToCompletion(forkJoin);
+  }
+
+  private Packet runToCompletion(Step step) throws ExecutionException, InterruptedException {
+    Packet packet = new Packet();
+    Fiber fiber = engine.createFiber();
+    fiber.start(step, packet, NO_OP_CALLBACK);
+    fiber.get();
+    return packet;
+  }
+
+  private static Step createChain(int length) {
+    Step step = null;
+    for (int i = 0; i < length; i++) {
+      step = new PassThroughStep(step);
+    }
+    return step;
+  }
+
+  private static class PassThroughStep extends Step {
+    PassThroughStep(Step next) {
+      super(next);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      return doNext(packet);
+    }
+  }
+
+  private static class ForkJoinStep extends Step {
+    private final int forkCount;
+    private final int stepCount;
+
+    ForkJoinStep(int forkCount, int stepCount) {
+      super(null);
+      this.forkCount = forkCount;
+      this.stepCount = stepCount;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      Collection<StepAndPacket> startDetails = new ArrayList<>(forkCount);
+      for (int i = 0; i < forkCount; i++) {
+        startDetails.add(new StepAndPacket(createChain(stepCount), packet.clone()));
+      }
+      return doForkJoin(getNext(), packet, startDetails);
+    }
+  }
+}
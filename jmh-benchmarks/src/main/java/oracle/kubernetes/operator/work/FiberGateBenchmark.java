@@ -0,0 +1,123 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of starting fibers through a {@link FiberGate} when several threads do so at
+ * once, either for the same key (as for repeated events about one domain) or for distinct keys (as
+ * for events about many domains).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class FiberGateBenchmark {
+  private static final CompletionCallback NO_OP_CALLBACK =
+      new CompletionCallback() {
+        @Override
+        public void onCompletion(Packet packet) {}
+
+        @Override
+        public void onThrowable(Packet packet, Throwable throwable) {}
+      };
+
+  @State(Scope.Benchmark)
+  public static class Gate {
+    @Param({"1", "64"})
+    public int keyCount;
+
+    private ScheduledExecutorService executor;
+    private FiberGate gate;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      executor = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+      gate = new FiberGate(new Engine(executor));
+      keys = new String[keyCount];
+      for (int i = 0; i < keyCount; i++) {
+        keys[i] = "domain" + i;
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      executor.shutdownNow();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Caller {
+    private int next;
+
+    String nextKey(Gate gate) {
+      return gate.keys[next++ % gate.keys.length];
+    }
+  }
+
+  /** Starts a fiber which replaces any running fiber with the same key. */
+  @Benchmark
+  public void startFiber(Gate gate, Caller caller)
+      throws ExecutionException, InterruptedException {
+    Fiber fiber =
+        gate.gate.startFiber(caller.nextKey(gate), new EndStep(), new Packet(), NO_OP_CALLBACK);
+    awaitFiber(fiber);
+  }
+
+  /** Starts a fiber only if there is no running fiber with the same key. */
+  @Benchmark
+  public void startFiberIfNoCurrentFiber(Gate gate, Caller caller)
+      throws ExecutionException, InterruptedException {
+    Fiber fiber =
+        gate.gate.startFiberIfNoCurrentFiber(
+            caller.nextKey(gate), new EndStep(), new Packet(), NO_OP_CALLBACK);
+    if (fiber != null) {
+      awaitFiber(fiber);
+    }
+  }
+
+  // a fiber may be cancelled by a later one with the same key
+  private static void awaitFiber(Fiber fiber) throws ExecutionException, InterruptedException {
+    try {
+      fiber.get();
+    } catch (CancellationException ignored) {
+      // expected under contention
+    }
+  }
+
+  private static class EndStep extends Step {
+    EndStep() {
+      super(null);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      return doNext(packet);
+    }
+  }
+}
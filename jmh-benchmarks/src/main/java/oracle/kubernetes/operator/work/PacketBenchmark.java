@@ -0,0 +1,67 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures packet cloning, done for each child fiber, and SPI lookup, done by most steps. The
+ * packet is populated with a typical number of values and components.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PacketBenchmark {
+  @Param({"2", "8"})
+  public int componentCount;
+
+  @Param({"20"})
+  public int valueCount;
+
+  private Packet packet;
+
+  @Setup
+  public void setUp() {
+    packet = new Packet();
+    for (int i = 0; i < valueCount; i++) {
+      packet.put("key" + i, "value" + i);
+    }
+    for (int i = 0; i < componentCount - 1; i++) {
+      packet.getComponents().put("component" + i, Component.createFor("c" + i));
+    }
+    packet.getComponents().put("target", Component.createFor(new Target()));
+  }
+
+  @Benchmark
+  public Packet clonePacket() {
+    return packet.clone();
+  }
+
+  @Benchmark
+  public Target getSpi() {
+    return packet.getSPI(Target.class);
+  }
+
+  @Benchmark
+  public Object getMissingSpi() {
+    return packet.getSPI(Runnable.class);
+  }
+
+  public static class Target {}
+}
@@ -0,0 +1,85 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.weblogic.domain.v2;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1SecretReference;
+import java.util.concurrent.TimeUnit;
+import oracle.kubernetes.weblogic.domain.DomainConfigurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the comparison of domain specs, which is done for each domain watch event to decide
+ * whether the domain must be made right.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainSpecBenchmark {
+  @Param({"1", "10"})
+  public int clusterCount;
+
+  @Param({"10"})
+  public int serverCount;
+
+  private DomainSpec spec;
+  private DomainSpec equalSpec;
+  private DomainSpec differentSpec;
+
+  @Setup
+  public void setUp() {
+    spec = createSpec(2);
+    equalSpec = createSpec(2);
+    differentSpec = createSpec(3);
+  }
+
+  @Benchmark
+  public boolean equalSpecs() {
+    return spec.equals(equalSpec);
+  }
+
+  @Benchmark
+  public boolean differentSpecs() {
+    return spec.equals(differentSpec);
+  }
+
+  private DomainSpec createSpec(int lastClusterReplicas) {
+    Domain domain =
+        new Domain()
+            .withMetadata(new V1ObjectMeta().namespace("namespace").name("domain1"))
+            .withSpec(
+                new DomainSpec()
+                    .withDomainUID("domain1")
+                    .withWebLogicCredentialsSecret(new V1SecretReference().name("credentials"))
+                    .withImage("store/oracle/weblogic:12.2.1.3"));
+    DomainConfigurator configurator = new DomainV2Configurator(domain);
+    configurator.withEnvironmentVariable("JAVA_OPTIONS", "-Dweblogic.StdoutDebugEnabled=false");
+    for (int i = 0; i < clusterCount; i++) {
+      configurator
+          .configureCluster("cluster" + i)
+          .withReplicas(i == clusterCount - 1 ? lastClusterReplicas : 2)
+          .withEnvironmentVariable("CLUSTER", "cluster" + i);
+    }
+    for (int i = 0; i < serverCount; i++) {
+      configurator
+          .configureServer("managed-server" + i)
+          .withEnvironmentVariable("SERVER", "managed-server" + i);
+    }
+    return domain.getSpec();
+  }
+}
@@ -0,0 +1,103 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.weblogic.domain.v2;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1SecretReference;
+import java.util.concurrent.TimeUnit;
+import oracle.kubernetes.weblogic.domain.DomainConfigurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of the effective configuration of a clustered managed server, which pod
+ * creation, rolling restarts and status updates do many times for each server. A domain read from
+ * Kubernetes has a resource version, and its effective configuration is reused; a domain without
+ * one is recomputed on each lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EffectiveServerSpecBenchmark {
+  @Param({"1", "10"})
+  public int clusterCount;
+
+  @Param({"10", "100"})
+  public int serverCount;
+
+  private Domain versionedDomain;
+  private Domain unversionedDomain;
+  private String serverName;
+  private String clusterName;
+
+  @Setup
+  public void setUp() {
+    versionedDomain = createDomain("1");
+    unversionedDomain = createDomain(null);
+    serverName = "managed-server" + (serverCount - 1);
+    clusterName = "cluster" + (clusterCount - 1);
+  }
+
+  @Benchmark
+  public ServerSpec versionedServerSpec() {
+    return versionedDomain.getServer(serverName, clusterName);
+  }
+
+  @Benchmark
+  public ServerSpec unversionedServerSpec() {
+    return unversionedDomain.getServer(serverName, clusterName);
+  }
+
+  @Benchmark
+  public int versionedMinAvailable() {
+    return versionedDomain.getMinAvailable(clusterName);
+  }
+
+  @Benchmark
+  public int unversionedMinAvailable() {
+    return unversionedDomain.getMinAvailable(clusterName);
+  }
+
+  private Domain createDomain(String resourceVersion) {
+    Domain domain =
+        new Domain()
+            .withMetadata(
+                new V1ObjectMeta()
+                    .namespace("namespace")
+                    .name("domain1")
+                    .resourceVersion(resourceVersion))
+            .withSpec(
+                new DomainSpec()
+                    .withDomainUID("domain1")
+                    .withWebLogicCredentialsSecret(new V1SecretReference().name("credentials"))
+                    .withImage("store/oracle/weblogic:12.2.1.3"));
+    DomainConfigurator configurator = new DomainV2Configurator(domain);
+    configurator.withEnvironmentVariable("JAVA_OPTIONS", "-Dweblogic.StdoutDebugEnabled=false");
+    for (int i = 0; i < clusterCount; i++) {
+      configurator
+          .configureCluster("cluster" + i)
+          .withReplicas(2)
+          .withEnvironmentVariable("CLUSTER", "cluster" + i);
+    }
+    for (int i = 0; i < serverCount; i++) {
+      configurator
+          .configureServer("managed-server" + i)
+          .withEnvironmentVariable("SERVER", "managed-server" + i);
+    }
+    return domain;
+  }
+}
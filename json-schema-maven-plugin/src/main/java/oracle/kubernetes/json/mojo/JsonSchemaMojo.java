@@ -46,6 +46,8 @@ public class JsonSchemaMojo extends AbstractMojo {
   @Parameter
   private boolean supportObjectReferences = true;
 
+  @Parameter private boolean generateDigest;
+
   @Parameter(defaultValue = "$project.basedir")
   private String baseDir;
 
@@ -60,6 +62,7 @@ public class JsonSchemaMojo extends AbstractMojo {
     main.setIncludeDeprecated(includeDeprecated);
     main.setIncludeAdditionalProperties(includeAdditionalProperties);
     main.setSupportObjectReferences(supportObjectReferences);
+    main.setGenerateDigest(generateDigest);
     addExternalSchemas();
 
     if (rootClass == null) throw new MojoExecutionException("No root class specified");
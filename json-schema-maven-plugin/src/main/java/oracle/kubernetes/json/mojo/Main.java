@@ -46,6 +46,14 @@ public interface Main {
    */
   void setSupportObjectReferences(boolean supportObjectReferences);
 
+  /**
+   * Specifies that a digest of the schema will be generated with it, to a file whose name is that
+   * of the schema followed by ".digest".
+   *
+   * @param generateDigest true if a digest is to be generated
+   */
+  void setGenerateDigest(boolean generateDigest);
+
   /**
    * Specify the classpath for the class whose schema is to be built
    *
@@ -13,8 +13,11 @@ import oracle.kubernetes.json.SchemaGenerator;
 import org.apache.maven.plugin.MojoExecutionException;
 
 public class MainImpl implements Main {
+  private static final String DIGEST_SUFFIX = ".digest";
+
   private SchemaGenerator generator = new SchemaGenerator();
   private ClassLoader classLoader;
+  private boolean generateDigest;
 
   @Override
   public void setIncludeDeprecated(boolean includeDeprecated) {
@@ -31,8 +34,15 @@ public class MainImpl implements Main {
     generator.setSupportObjectReferences(supportObjectReferences);
   }
 
+  @Override
+  public void setGenerateDigest(boolean generateDigest) {
+    this.generateDigest = generateDigest;
+  }
+
   @Override
   public void defineClasspath(URL... classpathElements) {
+    // the classpath is defined first by each execution, which must not see the previous schema
+    generator = new SchemaGenerator();
     classLoader = new URLClassLoader(classpathElements, getClass().getClassLoader());
   }
 
@@ -50,13 +60,23 @@ public class MainImpl implements Main {
   @Override
   public void generateSchema(String className, File outputFile) throws MojoExecutionException {
     outputFile.getParentFile().mkdirs();
-    try (FileWriter writer = new FileWriter(outputFile)) {
+    try {
       Class<?> theClass = classLoader.loadClass(className);
-      writer.write(SchemaGenerator.prettyPrint(generator.generate(theClass)));
+      String schema = SchemaGenerator.prettyPrint(generator.generate(theClass));
+      writeFile(outputFile, schema);
+      if (generateDigest) {
+        writeFile(new File(outputFile.getPath() + DIGEST_SUFFIX), SchemaGenerator.digest(schema));
+      }
     } catch (IOException e) {
       throw new MojoExecutionException("Error generating schema", e);
     } catch (ClassNotFoundException e) {
       throw new MojoExecutionException("Class " + className + " not found");
     }
   }
+
+  private void writeFile(File file, String contents) throws IOException {
+    try (FileWriter writer = new FileWriter(file)) {
+      writer.write(contents);
+    }
+  }
 }
@@ -314,6 +314,23 @@ public class JsonSchemaMojoTest {
     assertThat(main.isSupportObjectReferences(), is(true));
   }
 
+  @Test
+  public void hasGenerateDigestField_withAnnotation() throws Exception {
+    Field field = JsonSchemaMojo.class.getDeclaredField("generateDigest");
+    assertThat(field.getType(), equalTo(boolean.class));
+    assertThat(fieldAnnotations.get(field), hasKey(toDescription(Parameter.class)));
+    assertThat(getMojoParameter("generateDigest"), is(false));
+  }
+
+  @Test
+  public void whenGenerateDigestSet_setOnMain() throws Exception {
+    setMojoParameter("generateDigest", true);
+
+    mojo.execute();
+
+    assertThat(main.isGenerateDigest(), is(true));
+  }
+
   @SuppressWarnings("SameParameterValue")
   private AnnotationInfo getClassAnnotation(Class<? extends Annotation> annotationClass) {
     return classAnnotations.get(toDescription(annotationClass));
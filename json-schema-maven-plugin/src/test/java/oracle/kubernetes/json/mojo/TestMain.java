@@ -20,6 +20,7 @@ public class TestMain implements Main {
   private Map<URL, URL> schemas = new HashMap<>();
   private boolean includeAdditionalProperties;
   private boolean supportObjectReferences;
+  private boolean generateDigest;
 
   TestMain() throws MalformedURLException {
     classpathResource = new URL("file:abc");
@@ -61,6 +62,15 @@ public class TestMain implements Main {
     return supportObjectReferences;
   }
 
+  boolean isGenerateDigest() {
+    return generateDigest;
+  }
+
+  @Override
+  public void setGenerateDigest(boolean generateDigest) {
+    this.generateDigest = generateDigest;
+  }
+
   @Override
   public void setSupportObjectReferences(boolean supportObjectReferences) {
     this.supportObjectReferences = supportObjectReferences;
@@ -14,6 +14,9 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import javax.annotation.Nonnull;
 
@@ -29,6 +32,8 @@ public class SchemaGenerator {
   static final String K8S_SCHEMA_URL =
       "https://github.com/garethr/kubernetes-json-schema/blob/master/v%s/_definitions.json";
   private static final String K8S_SCHEMA_CACHE = "caches/kubernetes-%s.json";
+  // a label value may have at most 63 characters
+  private static final int DIGEST_LENGTH = 40;
   private static final String JSON_SCHEMA_REFERENCE = "http://json-schema.org/draft-04/schema#";
 
   // A map of classes to their $ref values
@@ -59,6 +64,27 @@ public class SchemaGenerator {
     return new GsonBuilder().setPrettyPrinting().create().toJson(schema);
   }
 
+  /**
+   * Returns a digest of a pretty-printed schema, short enough to be used as a Kubernetes label
+   * value. Schemas whose printed forms differ will have different digests.
+   *
+   * @param schemaText a string returned by #prettyPrint
+   * @return a string of hexadecimal digits
+   */
+  public static String digest(String schemaText) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(schemaText.getBytes(StandardCharsets.UTF_8));
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < DIGEST_LENGTH / 2; i++) {
+        sb.append(String.format("%02x", hash[i]));
+      }
+      return sb.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   /**
    * Specifies the version of the Kubernetes schema to use.
    *
@@ -171,13 +197,17 @@ public class SchemaGenerator {
   }
 
   private boolean includeInSchema(Field field) {
-    return !isStatic(field) && !ignoreAsDeprecated(field);
+    return !isStatic(field) && !isTransient(field) && !ignoreAsDeprecated(field);
   }
 
   private boolean isStatic(Field field) {
     return Modifier.isStatic(field.getModifiers());
   }
 
+  private boolean isTransient(Field field) {
+    return Modifier.isTransient(field.getModifiers());
+  }
+
   private boolean ignoreAsDeprecated(Field field) {
     return !includeDeprecated && field.getAnnotation(Deprecated.class) != null;
   }
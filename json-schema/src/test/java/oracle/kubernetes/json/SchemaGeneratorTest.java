@@ -33,6 +33,25 @@ public class SchemaGeneratorTest {
     cacheUrl = getClass().getResource(K8S_CACHE_FILE);
   }
 
+  @Test
+  public void digest_isShortEnoughForLabelValue() {
+    assertThat(SchemaGenerator.digest("{}").length(), lessThanOrEqualTo(63));
+  }
+
+  @Test
+  public void whenSchemasEqual_digestsAreEqual() {
+    assertThat(
+        SchemaGenerator.digest("{\"type\": \"object\"}"),
+        equalTo(SchemaGenerator.digest("{\"type\": \"object\"}")));
+  }
+
+  @Test
+  public void whenSchemasDiffer_digestsDiffer() {
+    assertThat(
+        SchemaGenerator.digest("{\"type\": \"object\"}"),
+        not(equalTo(SchemaGenerator.digest("{\"type\": \"string\"}"))));
+  }
+
   @Test
   public void generateSchemaForBoolean() throws NoSuchFieldException {
     Object schema = generateForField(getClass().getDeclaredField("unAnnotatedBoolean"));
@@ -190,6 +209,13 @@ public class SchemaGeneratorTest {
     assertThat(schema, hasJsonPath("$.required", not(arrayContaining("staticInt"))));
   }
 
+  @Test
+  public void doNotGenerateSchemaForTransients() {
+    Object schema = generator.generate(SimpleObject.class);
+
+    assertThat(schema, hasNoJsonPath("$.properties.transientInt"));
+  }
+
   @SuppressWarnings("unused")
   @Test
   public void generateSchemaForSimpleObject() {
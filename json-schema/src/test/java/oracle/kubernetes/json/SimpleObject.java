@@ -20,4 +20,6 @@ class SimpleObject {
   private float aFloat;
 
   private static int staticInt = 2;
+
+  private transient int transientInt;
 }
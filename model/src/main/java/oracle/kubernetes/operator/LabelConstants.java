@@ -20,6 +20,7 @@ public interface LabelConstants {
   String DOMAINRESTARTVERSION_LABEL = "weblogic.domainRestartVersion";
   String CLUSTERRESTARTVERSION_LABEL = "weblogic.clusterRestartVersion";
   String SERVERRESTARTVERSION_LABEL = "weblogic.serverRestartVersion";
+  String SCHEMA_DIGEST_LABEL = "weblogic.schemaDigest";
 
   static String forDomainUid(String uid) {
     return String.format("%s=%s", DOMAINUID_LABEL, uid);
@@ -73,6 +73,9 @@ public class Domain {
   @Valid
   private DomainStatus status;
 
+  /** The effective configuration of the current version of the spec, if known. */
+  private transient volatile EffectiveConfigurationSnapshot effectiveConfiguration;
+
   /**
    * APIVersion defines the versioned schema of this representation of an object. Servers should
    * convert recognized schemas to the latest internal value, and may reject unrecognized values.
@@ -179,8 +182,31 @@ public class Domain {
     return getEffectiveConfigurationFactory().getAdminServerSpec();
   }
 
+  /**
+   * Returns the effective configuration of this domain. A domain read from Kubernetes is not
+   * modified once read, so its effective configuration is computed once for each resource version
+   * and then reused. A domain without a resource version is not cached, so that changes made to it
+   * in memory are always seen.
+   *
+   * @return the effective configuration factory
+   */
   private EffectiveConfigurationFactory getEffectiveConfigurationFactory() {
-    return spec.getEffectiveConfigurationFactory(getResourceVersion());
+    String resourceVersion = metadata.getResourceVersion();
+    if (resourceVersion == null) {
+      return spec.getEffectiveConfigurationFactory(getResourceVersion());
+    }
+
+    EffectiveConfigurationSnapshot snapshot = effectiveConfiguration;
+    if (snapshot == null || !snapshot.isFor(spec, resourceVersion)) {
+      snapshot = createSnapshot(resourceVersion);
+      effectiveConfiguration = snapshot;
+    }
+    return snapshot;
+  }
+
+  private EffectiveConfigurationSnapshot createSnapshot(String resourceVersion) {
+    return new EffectiveConfigurationSnapshot(
+        spec, resourceVersion, spec.getEffectiveConfigurationFactory(getResourceVersion()));
   }
 
   private String getResourceVersion() {
@@ -212,6 +238,7 @@ public class Domain {
 
   public void setReplicaCount(String clusterName, int replicaLimit) {
     getEffectiveConfigurationFactory().setReplicaCount(clusterName, replicaLimit);
+    effectiveConfiguration = null;
   }
 
   /**
@@ -551,7 +551,7 @@ public class DomainSpec extends BaseConfiguration {
     return null;
   }
 
-  private int getReplicaCountFor(Cluster cluster) {
+  int getReplicaCountFor(Cluster cluster) {
     return hasReplicaCount(cluster)
         ? cluster.getReplicas()
         : Optional.ofNullable(replicas).orElse(0);
@@ -561,7 +561,7 @@ public class DomainSpec extends BaseConfiguration {
     return cluster != null && cluster.getReplicas() != null;
   }
 
-  private int getMaxUnavailableFor(Cluster cluster) {
+  int getMaxUnavailableFor(Cluster cluster) {
     return hasMaxUnavailable(cluster) ? cluster.getMaxUnavailable() : 1;
   }
 
@@ -0,0 +1,113 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.weblogic.domain.v2;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import oracle.kubernetes.weblogic.domain.EffectiveConfigurationFactory;
+
+/**
+ * The effective configuration of one version of a domain spec. Managed servers and clusters are
+ * indexed by name when the snapshot is created, and each effective server spec is computed at most
+ * once, when first requested, and then shared by all callers. A snapshot is only valid for the spec
+ * instance and resource version for which it was created; it must be discarded if the spec is
+ * modified in place.
+ */
+class EffectiveConfigurationSnapshot implements EffectiveConfigurationFactory {
+  private final DomainSpec spec;
+  private final String resourceVersion;
+  private final EffectiveConfigurationFactory delegate;
+  private final Map<String, ManagedServer> managedServers = new HashMap<>();
+  private final Map<String, Cluster> clusters = new HashMap<>();
+  private final Map<List<String>, ServerSpec> serverSpecs = new ConcurrentHashMap<>();
+  private volatile ServerSpec adminServerSpec;
+
+  EffectiveConfigurationSnapshot(
+      DomainSpec spec, String resourceVersion, EffectiveConfigurationFactory delegate) {
+    this.spec = spec;
+    this.resourceVersion = resourceVersion;
+    this.delegate = delegate;
+    for (ManagedServer server : spec.getManagedServers()) {
+      managedServers.putIfAbsent(server.getServerName(), server);
+    }
+    for (Cluster cluster : spec.getClusters()) {
+      clusters.putIfAbsent(cluster.getClusterName(), cluster);
+    }
+  }
+
+  boolean isFor(DomainSpec spec, String resourceVersion) {
+    return this.spec == spec && this.resourceVersion.equals(resourceVersion);
+  }
+
+  @Override
+  public ServerSpec getAdminServerSpec() {
+    ServerSpec result = adminServerSpec;
+    if (result == null) {
+      adminServerSpec = result = delegate.getAdminServerSpec();
+    }
+    return result;
+  }
+
+  @Override
+  public ServerSpec getServerSpec(String serverName, String clusterName) {
+    return serverSpecs.computeIfAbsent(
+        Arrays.asList(serverName, clusterName), k -> createServerSpec(serverName, clusterName));
+  }
+
+  private ServerSpec createServerSpec(String serverName, String clusterName) {
+    return new ManagedServerSpecV2Impl(
+        spec,
+        getIndexed(managedServers, serverName),
+        getIndexed(clusters, clusterName),
+        clusterName == null ? null : getReplicaCount(clusterName));
+  }
+
+  private static <T> T getIndexed(Map<String, T> index, String name) {
+    return name == null ? null : index.get(name);
+  }
+
+  @Override
+  public boolean isShuttingDown() {
+    return !getAdminServerSpec().shouldStart(0);
+  }
+
+  @Override
+  public int getReplicaCount(String clusterName) {
+    return spec.getReplicaCountFor(getIndexed(clusters, clusterName));
+  }
+
+  @Override
+  public void setReplicaCount(String clusterName, int replicaCount) {
+    delegate.setReplicaCount(clusterName, replicaCount);
+  }
+
+  @Override
+  public int getMaxUnavailable(String clusterName) {
+    return spec.getMaxUnavailableFor(getIndexed(clusters, clusterName));
+  }
+
+  @Override
+  public List<String> getExportedNetworkAccessPointNames() {
+    return delegate.getExportedNetworkAccessPointNames();
+  }
+
+  @Override
+  public Map<String, String> getChannelServiceLabels(String channel) {
+    return delegate.getChannelServiceLabels(channel);
+  }
+
+  @Override
+  public Map<String, String> getChannelServiceAnnotations(String channel) {
+    return delegate.getChannelServiceAnnotations(channel);
+  }
+
+  @Override
+  public Integer getDefaultReplicaLimit() {
+    return delegate.getDefaultReplicaLimit();
+  }
+}
@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import javax.sound.midi.Patch;
 import oracle.kubernetes.weblogic.domain.v2.Domain;
 import oracle.kubernetes.weblogic.domain.v2.DomainList;
 
@@ -1810,7 +1809,7 @@ public class WeblogicApi {
   public com.squareup.okhttp.Call patchWebLogicOracleV2NamespacedDomainCall(
       String name,
       String namespace,
-      Patch body,
+      Object body,
       String pretty,
       final ProgressResponseBody.ProgressListener progressListener,
       final ProgressRequestBody.ProgressRequestListener progressRequestListener)
@@ -1877,7 +1876,7 @@ public class WeblogicApi {
   private com.squareup.okhttp.Call patchWebLogicOracleV2NamespacedDomainValidateBeforeCall(
       String name,
       String namespace,
-      Patch body,
+      Object body,
       String pretty,
       final ProgressResponseBody.ProgressListener progressListener,
       final ProgressRequestBody.ProgressRequestListener progressRequestListener)
@@ -1919,7 +1918,7 @@ public class WeblogicApi {
    *     response body
    */
   public Domain patchWebLogicOracleV2NamespacedDomain(
-      String name, String namespace, Patch body, String pretty) throws ApiException {
+      String name, String namespace, Object body, String pretty) throws ApiException {
     ApiResponse<Domain> resp =
         patchWebLogicOracleV2NamespacedDomainWithHttpInfo(name, namespace, body, pretty);
     return resp.getData();
@@ -1937,7 +1936,7 @@ public class WeblogicApi {
    *     response body
    */
   public ApiResponse<Domain> patchWebLogicOracleV2NamespacedDomainWithHttpInfo(
-      String name, String namespace, Patch body, String pretty) throws ApiException {
+      String name, String namespace, Object body, String pretty) throws ApiException {
     com.squareup.okhttp.Call call =
         patchWebLogicOracleV2NamespacedDomainValidateBeforeCall(
             name, namespace, body, pretty, null, null);
@@ -1957,7 +1956,7 @@ public class WeblogicApi {
    * @throws ApiException If fail to process the API call, e.g. serializing the request body object
    */
   public com.squareup.okhttp.Call patchWebLogicOracleV2NamespacedDomainAsync(
-      String name, String namespace, Patch body, String pretty, final ApiCallback<Domain> callback)
+      String name, String namespace, Object body, String pretty, final ApiCallback<Domain> callback)
       throws ApiException {
 
     ProgressResponseBody.ProgressListener progressListener = null;
@@ -1996,7 +1995,7 @@ public class WeblogicApi {
   public com.squareup.okhttp.Call patchWebLogicOracleV2NamespacedDomainScaleCall(
       String name,
       String namespace,
-      Patch body,
+      Object body,
       String pretty,
       final ProgressResponseBody.ProgressListener progressListener,
       final ProgressRequestBody.ProgressRequestListener progressRequestListener)
@@ -2063,7 +2062,7 @@ public class WeblogicApi {
   private com.squareup.okhttp.Call patchWebLogicOracleV2NamespacedDomainScaleValidateBeforeCall(
       String name,
       String namespace,
-      Patch body,
+      Object body,
       String pretty,
       final ProgressResponseBody.ProgressListener progressListener,
       final ProgressRequestBody.ProgressRequestListener progressRequestListener)
@@ -2105,7 +2104,7 @@ public class WeblogicApi {
    *     response body
    */
   public V1Scale patchWebLogicOracleV2NamespacedDomainScale(
-      String name, String namespace, Patch body, String pretty) throws ApiException {
+      String name, String namespace, Object body, String pretty) throws ApiException {
     ApiResponse<V1Scale> resp =
         patchWebLogicOracleV2NamespacedDomainScaleWithHttpInfo(name, namespace, body, pretty);
     return resp.getData();
@@ -2123,7 +2122,7 @@ public class WeblogicApi {
    *     response body
    */
   public ApiResponse<V1Scale> patchWebLogicOracleV2NamespacedDomainScaleWithHttpInfo(
-      String name, String namespace, Patch body, String pretty) throws ApiException {
+      String name, String namespace, Object body, String pretty) throws ApiException {
     com.squareup.okhttp.Call call =
         patchWebLogicOracleV2NamespacedDomainScaleValidateBeforeCall(
             name, namespace, body, pretty, null, null);
@@ -2143,7 +2142,11 @@ public class WeblogicApi {
    * @throws ApiException If fail to process the API call, e.g. serializing the request body object
    */
   public com.squareup.okhttp.Call patchWebLogicOracleV2NamespacedDomainScaleAsync(
-      String name, String namespace, Patch body, String pretty, final ApiCallback<V1Scale> callback)
+      String name,
+      String namespace,
+      Object body,
+      String pretty,
+      final ApiCallback<V1Scale> callback)
       throws ApiException {
 
     ProgressResponseBody.ProgressListener progressListener = null;
@@ -2182,7 +2185,7 @@ public class WeblogicApi {
   public com.squareup.okhttp.Call patchWebLogicOracleV2NamespacedDomainStatusCall(
       String name,
       String namespace,
-      Patch body,
+      Object body,
       String pretty,
       final ProgressResponseBody.ProgressListener progressListener,
       final ProgressRequestBody.ProgressRequestListener progressRequestListener)
@@ -2249,7 +2252,7 @@ public class WeblogicApi {
   private com.squareup.okhttp.Call patchWebLogicOracleV2NamespacedDomainStatusValidateBeforeCall(
       String name,
       String namespace,
-      Patch body,
+      Object body,
       String pretty,
       final ProgressResponseBody.ProgressListener progressListener,
       final ProgressRequestBody.ProgressRequestListener progressRequestListener)
@@ -2291,7 +2294,7 @@ public class WeblogicApi {
    *     response body
    */
   public Domain patchWebLogicOracleV2NamespacedDomainStatus(
-      String name, String namespace, Patch body, String pretty) throws ApiException {
+      String name, String namespace, Object body, String pretty) throws ApiException {
     ApiResponse<Domain> resp =
         patchWebLogicOracleV2NamespacedDomainStatusWithHttpInfo(name, namespace, body, pretty);
     return resp.getData();
@@ -2309,7 +2312,7 @@ public class WeblogicApi {
    *     response body
    */
   public ApiResponse<Domain> patchWebLogicOracleV2NamespacedDomainStatusWithHttpInfo(
-      String name, String namespace, Patch body, String pretty) throws ApiException {
+      String name, String namespace, Object body, String pretty) throws ApiException {
     com.squareup.okhttp.Call call =
         patchWebLogicOracleV2NamespacedDomainStatusValidateBeforeCall(
             name, namespace, body, pretty, null, null);
@@ -2329,7 +2332,7 @@ public class WeblogicApi {
    * @throws ApiException If fail to process the API call, e.g. serializing the request body object
    */
   public com.squareup.okhttp.Call patchWebLogicOracleV2NamespacedDomainStatusAsync(
-      String name, String namespace, Patch body, String pretty, final ApiCallback<Domain> callback)
+      String name, String namespace, Object body, String pretty, final ApiCallback<Domain> callback)
       throws ApiException {
 
     ProgressResponseBody.ProgressListener progressListener = null;
@@ -59,6 +59,60 @@ public class DomainV2Test extends DomainTestBase {
     assertThat(domain.getReplicaCount("nosuchcluster"), equalTo(3));
   }
 
+  @Test
+  public void whenDomainHasResourceVersion_effectiveServerSpecIsReused() {
+    domain.getMetadata().setResourceVersion("1");
+    configureServer(SERVER1).withEnvironmentVariable("name", "value");
+
+    assertThat(domain.getServer(SERVER1, null), sameInstance(domain.getServer(SERVER1, null)));
+  }
+
+  @Test
+  public void whenDomainHasNoResourceVersion_inMemoryChangesAreSeen() {
+    configureCluster(CLUSTER_NAME).withReplicas(3);
+    domain.getReplicaCount(CLUSTER_NAME);
+
+    configureCluster(CLUSTER_NAME).withReplicas(5);
+
+    assertThat(domain.getReplicaCount(CLUSTER_NAME), equalTo(5));
+  }
+
+  @Test
+  public void whenResourceVersionChanges_effectiveConfigurationIsRecomputed() {
+    domain.getMetadata().setResourceVersion("1");
+    configureCluster(CLUSTER_NAME).withReplicas(3);
+    ServerSpec spec = domain.getServer(SERVER1, CLUSTER_NAME);
+
+    configureCluster(CLUSTER_NAME).withReplicas(5);
+    domain.getMetadata().setResourceVersion("2");
+
+    assertThat(domain.getServer(SERVER1, CLUSTER_NAME), not(sameInstance(spec)));
+    assertThat(domain.getReplicaCount(CLUSTER_NAME), equalTo(5));
+  }
+
+  @Test
+  public void whenSpecReplaced_effectiveConfigurationIsRecomputed() {
+    domain.getMetadata().setResourceVersion("1");
+    configureCluster(CLUSTER_NAME).withReplicas(3);
+    domain.getReplicaCount(CLUSTER_NAME);
+
+    domain.setSpec(new DomainSpec().withDomainUID(getDomainUid()).withReplicas(4));
+
+    assertThat(domain.getReplicaCount(CLUSTER_NAME), equalTo(4));
+  }
+
+  @Test
+  public void afterSetReplicaCount_effectiveConfigurationIsRecomputed() {
+    domain.getMetadata().setResourceVersion("1");
+    configureCluster(CLUSTER_NAME).withReplicas(3);
+    domain.getReplicaCount(CLUSTER_NAME);
+
+    domain.setReplicaCount(CLUSTER_NAME, 5);
+
+    assertThat(domain.getReplicaCount(CLUSTER_NAME), equalTo(5));
+    assertThat(domain.getServer(SERVER1, CLUSTER_NAME).shouldStart(4), is(true));
+  }
+
   @Test
   public void whenStartupPolicyUnspecified_adminServerStartsUp() {
     assertThat(domain.getAdminServerSpec().shouldStart(0), is(true));
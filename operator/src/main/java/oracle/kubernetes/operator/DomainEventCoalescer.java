@@ -0,0 +1,164 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import oracle.kubernetes.weblogic.domain.v2.Domain;
+
+/**
+ * Coalesces bursts of domain watch events, so that a series of edits to a domain results in a
+ * single make-right of its latest version rather than a series of plans, each of which cancels the
+ * one before. The processing of an event is deferred until no further event for the same domain has
+ * arrived for a quiet period, or until a maximum wait since the first deferred event has elapsed,
+ * whichever is sooner; only the latest version of the domain is then processed. A quiet period of
+ * zero disables coalescing.
+ */
+class DomainEventCoalescer {
+
+  /** The processing of a domain event. */
+  interface MakeRight {
+    void apply(Domain domain, boolean explicitRecheck);
+  }
+
+  private final Supplier<ScheduledExecutorService> executor;
+  private final LongSupplier clock;
+  private final LongSupplier quietPeriodMillis;
+  private final LongSupplier maxWaitMillis;
+  private final MakeRight makeRight;
+  private final Map<String, Pending> pending = new HashMap<>();
+  private final LongAdder receivedCount = new LongAdder();
+  private final LongAdder coalescedCount = new LongAdder();
+
+  DomainEventCoalescer(
+      Supplier<ScheduledExecutorService> executor,
+      LongSupplier clock,
+      LongSupplier quietPeriodMillis,
+      LongSupplier maxWaitMillis,
+      MakeRight makeRight) {
+    this.executor = executor;
+    this.clock = clock;
+    this.quietPeriodMillis = quietPeriodMillis;
+    this.maxWaitMillis = maxWaitMillis;
+    this.makeRight = makeRight;
+  }
+
+  /**
+   * Accepts an added or modified domain, to be processed once its burst of events is over.
+   *
+   * @param domain the domain, as reported by the watch
+   * @param explicitRecheck true if the domain must be processed even if its spec is unchanged
+   */
+  void submit(Domain domain, boolean explicitRecheck) {
+    receivedCount.increment();
+    long quietPeriod = TimeUnit.MILLISECONDS.toNanos(quietPeriodMillis.getAsLong());
+    if (quietPeriod <= 0) {
+      makeRight.apply(domain, explicitRecheck);
+      return;
+    }
+
+    String key = getKey(domain);
+    synchronized (this) {
+      long now = clock.getAsLong();
+      Pending previous = pending.get(key);
+      Pending p;
+      if (previous == null) {
+        p = new Pending(now, domain, explicitRecheck);
+      } else {
+        coalescedCount.increment();
+        previous.future.cancel(false);
+        p =
+            new Pending(
+                previous.firstEventTime, domain, explicitRecheck || previous.explicitRecheck);
+      }
+      pending.put(key, p);
+
+      long maxWait = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis.getAsLong());
+      long delay = Math.max(0, Math.min(now + quietPeriod, p.firstEventTime + maxWait) - now);
+      p.future = executor.get().schedule(() -> process(key, p), delay, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Discards any deferred event for the specified domain, which is about to be processed directly.
+   *
+   * @param domain the domain
+   */
+  synchronized void cancel(Domain domain) {
+    Pending p = pending.remove(getKey(domain));
+    if (p != null) {
+      p.future.cancel(false);
+    }
+  }
+
+  /**
+   * Discards any deferred events for domains in the specified namespace.
+   *
+   * @param ns the namespace
+   */
+  synchronized void cancelNamespace(String ns) {
+    Iterator<Pending> it = pending.values().iterator();
+    while (it.hasNext()) {
+      Pending p = it.next();
+      if (ns.equals(p.domain.getMetadata().getNamespace())) {
+        p.future.cancel(false);
+        it.remove();
+      }
+    }
+  }
+
+  // a superseded or cancelled schedule finds that its entry is no longer pending, and does nothing.
+  // The make-right only starts a fiber, so it is applied under the lock: a later event for the
+  // domain, or a deletion processed after a call to cancel, cannot start its plan before this one.
+  private synchronized void process(String key, Pending p) {
+    if (pending.remove(key, p)) {
+      makeRight.apply(p.domain, p.explicitRecheck);
+    }
+  }
+
+  private static String getKey(Domain domain) {
+    return domain.getMetadata().getNamespace() + "/" + domain.getDomainUID();
+  }
+
+  /**
+   * Returns the number of domain events received.
+   *
+   * @return a count of events
+   */
+  long getReceivedCount() {
+    return receivedCount.sum();
+  }
+
+  /**
+   * Returns the number of domain events which were superseded by a later event for the same domain
+   * before they were processed.
+   *
+   * @return a count of events
+   */
+  long getCoalescedCount() {
+    return coalescedCount.sum();
+  }
+
+  // the latest event for a domain, together with what it inherits from the events it supersedes
+  private static class Pending {
+    private final long firstEventTime;
+    private final Domain domain;
+    private final boolean explicitRecheck;
+    private ScheduledFuture<?> future;
+
+    Pending(long firstEventTime, Domain domain, boolean explicitRecheck) {
+      this.firstEventTime = firstEventTime;
+      this.domain = domain;
+      this.explicitRecheck = explicitRecheck;
+    }
+  }
+}
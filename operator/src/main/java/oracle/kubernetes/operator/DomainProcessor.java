@@ -35,4 +35,12 @@ public interface DomainProcessor {
   public void dispatchEventWatch(Watch.Response<V1Event> item);
 
   public void stopNamespace(String ns);
+
+  /**
+   * Stops managing the domains in a namespace, without shutting them down, so that another operator
+   * replica may take them over. Any processing in progress is cancelled.
+   *
+   * @param ns the namespace
+   */
+  public void releaseNamespace(String ns);
 }
@@ -14,7 +14,9 @@ import io.kubernetes.client.models.V1Service;
 import io.kubernetes.client.models.V1ServiceList;
 import io.kubernetes.client.util.Watch;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -26,6 +28,7 @@ import javax.annotation.Nullable;
 import oracle.kubernetes.operator.TuningParameters.MainTuning;
 import oracle.kubernetes.operator.calls.CallResponse;
 import oracle.kubernetes.operator.helpers.CallBuilder;
+import oracle.kubernetes.operator.helpers.CompactResources;
 import oracle.kubernetes.operator.helpers.ConfigMapHelper;
 import oracle.kubernetes.operator.helpers.DomainPresenceInfo;
 import oracle.kubernetes.operator.helpers.JobHelper;
@@ -36,6 +39,7 @@ import oracle.kubernetes.operator.helpers.ServiceHelper;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.rest.ScanCache;
 import oracle.kubernetes.operator.steps.BeforeAdminServiceStep;
 import oracle.kubernetes.operator.steps.DeleteDomainStep;
 import oracle.kubernetes.operator.steps.DomainPresenceStep;
@@ -69,6 +73,67 @@ public class DomainProcessorImpl implements DomainProcessor {
   private static final ConcurrentMap<String, FiberGate> statusFiberGates =
       new ConcurrentHashMap<>();
 
+  private static final DomainEventCoalescer domainEvents =
+      new DomainEventCoalescer(
+          () -> Main.engine.getExecutor(),
+          System::nanoTime,
+          () -> Main.tuningAndConfig.getMainTuning().domainEventQuietPeriodMillis,
+          () -> Main.tuningAndConfig.getMainTuning().domainEventMaxWaitMillis,
+          (domain, explicitRecheck) ->
+              INSTANCE.makeRightDomainPresence(
+                  new DomainPresenceInfo(domain), explicitRecheck, false, true));
+
+  /**
+   * Returns the number of domain watch events received.
+   *
+   * @return a count of events
+   */
+  static long getDomainEventCount() {
+    return domainEvents.getReceivedCount();
+  }
+
+  /**
+   * Returns the number of domain watch events which were superseded by a later event for the same
+   * domain, and so did not start a make-right of their own.
+   *
+   * @return a count of events
+   */
+  static long getCoalescedDomainEventCount() {
+    return domainEvents.getCoalescedCount();
+  }
+
+  /**
+   * Returns the number of make-right plans which were cancelled while in progress, because a later
+   * plan for the same domain was started.
+   *
+   * @return a count of plans
+   */
+  static long getCancelledPlanCount() {
+    long count = 0;
+    for (FiberGate gate : makeRightFiberGates.values()) {
+      count += gate.getReplacedCount();
+    }
+    return count;
+  }
+
+  /**
+   * Returns the gates which serialize the make-right plans of the domains in each namespace.
+   *
+   * @return a map from namespace to gate
+   */
+  static Map<String, FiberGate> getMakeRightFiberGates() {
+    return Collections.unmodifiableMap(makeRightFiberGates);
+  }
+
+  /**
+   * Returns the gates which serialize the status updates of the domains in each namespace.
+   *
+   * @return a map from namespace to gate
+   */
+  static Map<String, FiberGate> getStatusFiberGates() {
+    return Collections.unmodifiableMap(statusFiberGates);
+  }
+
   private static FiberGate getMakeRightFiberGate(String ns) {
     return makeRightFiberGates.computeIfAbsent(ns, k -> FACTORY.get());
   }
@@ -85,7 +150,7 @@ public class DomainProcessorImpl implements DomainProcessor {
     return domains.computeIfAbsent(ns, k -> new ConcurrentHashMap<>()).get(domainUID);
   }
 
-  private static void registerDomainPresenceInfo(DomainPresenceInfo info) {
+  static void registerDomainPresenceInfo(DomainPresenceInfo info) {
     domains
         .computeIfAbsent(info.getNamespace(), k -> new ConcurrentHashMap<>())
         .put(info.getDomainUID(), info);
@@ -96,6 +161,55 @@ public class DomainProcessorImpl implements DomainProcessor {
     if (map != null) {
       map.remove(domainUID);
     }
+    OperatorMetrics.getInstance().removeDomain(ns, domainUID);
+  }
+
+  // Map from namespace to map of pod name to the domain and server the pod hosts
+  private static final ConcurrentMap<String, ConcurrentMap<String, PodServerRef>> podIndex =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Records the domain and server hosted by a pod, so that events which refer to the pod by name
+   * can be routed to its server.
+   *
+   * @param metadata the metadata of the pod
+   * @param domainUID the UID of the domain, from the pod's labels
+   * @param serverName the name of the server, from the pod's labels
+   */
+  static void indexPod(V1ObjectMeta metadata, String domainUID, String serverName) {
+    ConcurrentMap<String, PodServerRef> map =
+        podIndex.computeIfAbsent(metadata.getNamespace(), k -> new ConcurrentHashMap<>());
+    PodServerRef current = map.get(metadata.getName());
+    if (current == null || !current.refersTo(domainUID, serverName)) {
+      map.put(metadata.getName(), new PodServerRef(domainUID, serverName));
+    }
+  }
+
+  private static void unindexPod(V1ObjectMeta metadata) {
+    ConcurrentMap<String, PodServerRef> map = podIndex.get(metadata.getNamespace());
+    if (map != null) {
+      map.remove(metadata.getName());
+    }
+  }
+
+  private static PodServerRef lookupPod(String ns, String podName) {
+    ConcurrentMap<String, PodServerRef> map = podIndex.get(ns);
+    return map != null ? map.get(podName) : null;
+  }
+
+  /** The domain and server hosted by a pod, as given by the pod's labels */
+  private static class PodServerRef {
+    private final String domainUID;
+    private final String serverName;
+
+    PodServerRef(String domainUID, String serverName) {
+      this.domainUID = domainUID;
+      this.serverName = serverName;
+    }
+
+    boolean refersTo(String domainUID, String serverName) {
+      return this.domainUID.equals(domainUID) && this.serverName.equals(serverName);
+    }
   }
 
   private static final ConcurrentMap<String, ConcurrentMap<String, ScheduledFuture<?>>>
@@ -136,15 +250,54 @@ public class DomainProcessorImpl implements DomainProcessor {
         makeRightDomainPresence(value, true, true, false);
       }
     }
+    podIndex.remove(ns);
+    forgetTopologies(ns);
+  }
+
+  public void releaseNamespace(String ns) {
+    domainEvents.cancelNamespace(ns);
+    cancelFibers(makeRightFiberGates.remove(ns));
+    cancelFibers(statusFiberGates.remove(ns));
+    ConcurrentMap<String, ScheduledFuture<?>> updaters = statusUpdaters.remove(ns);
+    if (updaters != null) {
+      for (ScheduledFuture<?> updater : updaters.values()) {
+        updater.cancel(true);
+      }
+    }
+    ConcurrentMap<String, DomainPresenceInfo> map = domains.remove(ns);
+    if (map != null) {
+      for (String domainUID : map.keySet()) {
+        OperatorMetrics.getInstance().removeDomain(ns, domainUID);
+      }
+    }
+    podIndex.remove(ns);
+    forgetTopologies(ns);
+  }
+
+  // topologies cached while the namespace was watched would not be refreshed once it is not
+  private static void forgetTopologies(String ns) {
+    ScanCache.INSTANCE.removeNamespace(ns);
+    ConfigMapHelper.forgetNamespace(ns);
+  }
+
+  private static void cancelFibers(FiberGate gate) {
+    if (gate != null) {
+      gate.cancelAll();
+    }
   }
 
   public void dispatchPodWatch(Watch.Response<V1Pod> item) {
-    V1Pod p = item.object;
+    V1Pod p = CompactResources.compact(item.object);
     if (p != null) {
       V1ObjectMeta metadata = p.getMetadata();
       String domainUID = metadata.getLabels().get(LabelConstants.DOMAINUID_LABEL);
       String serverName = metadata.getLabels().get(LabelConstants.SERVERNAME_LABEL);
       if (domainUID != null && serverName != null) {
+        if ("DELETED".equals(item.type)) {
+          unindexPod(metadata);
+        } else {
+          indexPod(metadata, domainUID, serverName);
+        }
         DomainPresenceInfo existing =
             getExistingDomainPresenceInfo(metadata.getNamespace(), domainUID);
         if (existing != null) {
@@ -168,9 +321,13 @@ public class DomainProcessorImpl implements DomainProcessor {
               case "MODIFIED":
                 if (PodWatcher.isReady(p)) {
                   sko.getLastKnownStatus().set(WebLogicConstants.RUNNING_STATE);
+                  existing
+                      .getStatusModel()
+                      .updateState(serverName, WebLogicConstants.RUNNING_STATE);
                 } else {
                   sko.getLastKnownStatus().compareAndSet(WebLogicConstants.RUNNING_STATE, null);
                 }
+                existing.getStatusModel().updateNodeName(serverName, p.getSpec().getNodeName());
                 sko.getPod()
                     .accumulateAndGet(
                         p,
@@ -217,7 +374,7 @@ public class DomainProcessorImpl implements DomainProcessor {
   }
 
   public void dispatchServiceWatch(Watch.Response<V1Service> item) {
-    V1Service s = item.object;
+    V1Service s = CompactResources.compact(item.object);
     if (s != null) {
       V1ObjectMeta metadata = s.getMetadata();
       String domainUID = metadata.getLabels().get(LabelConstants.DOMAINUID_LABEL);
@@ -412,6 +569,11 @@ public class DomainProcessorImpl implements DomainProcessor {
   public void dispatchConfigMapWatch(Watch.Response<V1ConfigMap> item) {
     V1ConfigMap c = item.object;
     if (c != null) {
+      if (isIntrospectorConfigMap(c)) {
+        ConfigMapHelper.onIntrospectorConfigMapEvent(item.type, c);
+        return;
+      }
+
       switch (item.type) {
         case "MODIFIED":
         case "DELETED":
@@ -426,6 +588,11 @@ public class DomainProcessorImpl implements DomainProcessor {
     }
   }
 
+  private static boolean isIntrospectorConfigMap(V1ConfigMap configMap) {
+    String name = configMap.getMetadata().getName();
+    return name != null && name.endsWith(KubernetesConstants.INTROSPECTOR_CONFIG_MAP_NAME_SUFFIX);
+  }
+
   public void dispatchEventWatch(Watch.Response<V1Event> item) {
     V1Event e = item.object;
     if (e != null) {
@@ -446,21 +613,19 @@ public class DomainProcessorImpl implements DomainProcessor {
     if (ref != null) {
       String name = ref.getName();
       String message = event.getMessage();
-      if (message != null) {
+      if (name != null && message != null) {
         if (message.contains(WebLogicConstants.READINESS_PROBE_NOT_READY_STATE)) {
           String ns = event.getMetadata().getNamespace();
-          ConcurrentMap<String, DomainPresenceInfo> map = domains.get(ns);
-          if (map != null) {
-            for (DomainPresenceInfo d : map.values()) {
-              String domainUIDPlusDash = d.getDomainUID() + "-";
-              if (name.startsWith(domainUIDPlusDash)) {
-                String serverName = name.substring(domainUIDPlusDash.length());
-                ServerKubernetesObjects sko = d.getServers().get(serverName);
-                if (sko != null) {
-                  int idx = message.lastIndexOf(':');
-                  sko.getLastKnownStatus().set(message.substring(idx + 1).trim());
-                  break;
-                }
+          PodServerRef pod = lookupPod(ns, name);
+          if (pod != null) {
+            DomainPresenceInfo d = getExistingDomainPresenceInfo(ns, pod.domainUID);
+            if (d != null) {
+              ServerKubernetesObjects sko = d.getServers().get(pod.serverName);
+              if (sko != null) {
+                int idx = message.lastIndexOf(':');
+                String state = message.substring(idx + 1).trim();
+                sko.getLastKnownStatus().set(state);
+                d.getStatusModel().updateState(pod.serverName, state);
               }
             }
           }
@@ -470,7 +635,8 @@ public class DomainProcessorImpl implements DomainProcessor {
   }
 
   /**
-   * Dispatch the Domain event to the appropriate handler.
+   * Dispatch the Domain event to the appropriate handler. Added and modified domains are processed
+   * once their burst of events is over; see {@link DomainEventCoalescer}.
    *
    * @param item An item received from a Watch response.
    */
@@ -482,18 +648,19 @@ public class DomainProcessorImpl implements DomainProcessor {
         d = item.object;
         domainUID = d.getDomainUID();
         LOGGER.info(MessageKeys.WATCH_DOMAIN, domainUID);
-        makeRightDomainPresence(new DomainPresenceInfo(d), true, false, true);
+        domainEvents.submit(d, true);
         break;
       case "MODIFIED":
         d = item.object;
         domainUID = d.getDomainUID();
         LOGGER.info(MessageKeys.WATCH_DOMAIN, domainUID);
-        makeRightDomainPresence(new DomainPresenceInfo(d), false, false, true);
+        domainEvents.submit(d, false);
         break;
       case "DELETED":
         d = item.object;
         domainUID = d.getDomainUID();
         LOGGER.info(MessageKeys.WATCH_DOMAIN_DELETED, domainUID);
+        domainEvents.cancel(d);
         makeRightDomainPresence(new DomainPresenceInfo(d), true, true, true);
         break;
 
@@ -650,6 +817,9 @@ public class DomainProcessorImpl implements DomainProcessor {
         }
       }
 
+      if (!explicitRecheck && !isDeleting) {
+        info.setSpecChangeTime(System.nanoTime());
+      }
       internalMakeRightDomainPresence(info, isDeleting, isWillInterrupt);
     }
   }
@@ -750,9 +920,10 @@ public class DomainProcessorImpl implements DomainProcessor {
         for (V1Pod pod : result.getItems()) {
           String serverName = PodWatcher.getPodServerName(pod);
           if (serverName != null) {
+            indexPod(pod.getMetadata(), info.getDomainUID(), serverName);
             ServerKubernetesObjects sko =
                 info.getServers().computeIfAbsent(serverName, k -> new ServerKubernetesObjects());
-            sko.getPod().set(pod);
+            sko.getPod().set(CompactResources.compact(pod));
           }
         }
       }
@@ -784,14 +955,14 @@ public class DomainProcessorImpl implements DomainProcessor {
           String channelName = ServiceWatcher.getServiceChannelName(service);
           String clusterName = ServiceWatcher.getServiceClusterName(service);
           if (clusterName != null) {
-            info.getClusters().put(clusterName, service);
+            info.getClusters().put(clusterName, CompactResources.compact(service));
           } else if (serverName != null) {
             ServerKubernetesObjects sko =
                 info.getServers().computeIfAbsent(serverName, k -> new ServerKubernetesObjects());
             if (channelName != null) {
-              sko.getChannels().put(channelName, service);
+              sko.getChannels().put(channelName, CompactResources.compact(service));
             } else {
-              sko.getService().set(service);
+              sko.getService().set(CompactResources.compact(service));
             }
           }
         }
@@ -809,16 +980,22 @@ public class DomainProcessorImpl implements DomainProcessor {
       boolean isDeleting,
       boolean isWillInterrupt) {
     FiberGate gate = getMakeRightFiberGate(ns);
+    long startTime = System.nanoTime();
     CompletionCallback cc =
         new CompletionCallback() {
           @Override
           public void onCompletion(Packet packet) {
-            // no-op
+            OperatorMetrics.getInstance()
+                .recordMakeRight(
+                    ns, domainUID, OperatorMetrics.SUCCESS, System.nanoTime() - startTime);
           }
 
           @Override
           public void onThrowable(Packet packet, Throwable throwable) {
             LOGGER.severe(MessageKeys.EXCEPTION, throwable);
+            OperatorMetrics.getInstance()
+                .recordMakeRight(
+                    ns, domainUID, OperatorMetrics.FAILURE, System.nanoTime() - startTime);
 
             gate.startFiberIfLastFiberMatches(
                 domainUID,
@@ -994,7 +1171,7 @@ public class DomainProcessorImpl implements DomainProcessor {
     Domain dom = info.getDomain();
     List<Step> resources = new ArrayList<>();
     resources.add(
-        JobHelper.deleteDomainIntrospectorJobStep(
+        JobHelper.deleteStaleDomainIntrospectorJobStep(
             dom.getDomainUID(), dom.getMetadata().getNamespace(), null));
     resources.add(
         JobHelper.createDomainIntrospectorJobStep(Main.tuningAndConfig.getWatchTuning(), next));
@@ -12,12 +12,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentMap;
 import oracle.kubernetes.operator.calls.CallResponse;
 import oracle.kubernetes.operator.helpers.CallBuilder;
 import oracle.kubernetes.operator.helpers.DomainPresenceInfo;
 import oracle.kubernetes.operator.helpers.DomainPresenceInfo.ServerStartupInfo;
+import oracle.kubernetes.operator.helpers.DomainStatusModel;
+import oracle.kubernetes.operator.helpers.JsonPatch;
 import oracle.kubernetes.operator.helpers.ServerKubernetesObjects;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
@@ -37,7 +38,6 @@ import oracle.kubernetes.weblogic.domain.v2.DomainCondition;
 import oracle.kubernetes.weblogic.domain.v2.DomainSpec;
 import oracle.kubernetes.weblogic.domain.v2.DomainStatus;
 import oracle.kubernetes.weblogic.domain.v2.ServerHealth;
-import oracle.kubernetes.weblogic.domain.v2.ServerStatus;
 import org.joda.time.DateTime;
 
 /**
@@ -103,6 +103,8 @@ public class DomainStatusUpdater {
       LOGGER.entering();
 
       boolean madeChange = false;
+      boolean statusCreated = false;
+      JsonPatch patch = new JsonPatch();
 
       DateTime now = DateTime.now();
       DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
@@ -112,15 +114,13 @@ public class DomainStatusUpdater {
       if (dom != null) {
         status = dom.getStatus();
 
-        List<ServerStatus> existingServerStatuses = null;
         if (status == null) {
           // If this is the first time, create status
           status = new DomainStatus();
           status.setStartTime(now);
           dom.setStatus(status);
+          statusCreated = true;
           madeChange = true;
-        } else {
-          existingServerStatuses = status.getServers();
         }
 
         // Acquire current state
@@ -132,42 +132,28 @@ public class DomainStatusUpdater {
         ConcurrentMap<String, ServerHealth> serverHealth =
             (ConcurrentMap<String, ServerHealth>) packet.get(ProcessingConstants.SERVER_HEALTH_MAP);
 
-        Map<String, ServerStatus> serverStatuses = new TreeMap<>();
+        // Record current values in the status model; only servers whose values differ from the
+        // previous pass are marked for update
+        DomainStatusModel model = info.getStatusModel();
+        model.beginPass();
+
         WlsDomainConfig config = (WlsDomainConfig) packet.get(ProcessingConstants.DOMAIN_TOPOLOGY);
         if (config != null) {
           for (Map.Entry<String, WlsServerConfig> entry : config.getServerConfigs().entrySet()) {
             String serverName = entry.getKey();
-            ServerStatus ss =
-                new ServerStatus()
-                    .withState(
-                        serverState.getOrDefault(serverName, WebLogicConstants.SHUTDOWN_STATE))
-                    .withServerName(serverName)
-                    .withHealth(serverHealth.get(serverName));
-            outer:
-            for (Map.Entry<String, WlsClusterConfig> cluster :
-                config.getClusterConfigs().entrySet()) {
-              for (WlsServerConfig sic : cluster.getValue().getServerConfigs()) {
-                if (serverName.equals(sic.getName())) {
-                  ss.setClusterName(cluster.getKey());
-                  break outer;
-                }
-              }
-            }
-            ServerKubernetesObjects sko = info.getServers().get(serverName);
-            if (sko != null) {
-              V1Pod pod = sko.getPod().get();
-              if (pod != null) {
-                ss.setNodeName(pod.getSpec().getNodeName());
-              }
-            }
-            serverStatuses.put(serverName, ss);
+            model.recordServer(
+                serverName,
+                serverState.getOrDefault(serverName, WebLogicConstants.SHUTDOWN_STATE),
+                getClusterName(config, serverName),
+                getNodeName(info.getServers().get(serverName)),
+                serverHealth.get(serverName));
           }
         }
 
         Map<String, Integer> clusterCounts = new HashMap<>();
         for (Map.Entry<String, ServerKubernetesObjects> entry : info.getServers().entrySet()) {
           String serverName = entry.getKey();
-          if (!serverStatuses.containsKey(serverName)) {
+          if (config == null || !config.getServerConfigs().containsKey(serverName)) {
             V1Pod pod = entry.getValue().getPod().get();
             if (pod != null) {
               String clusterName =
@@ -179,26 +165,17 @@ public class DomainStatusUpdater {
                       return (value == null) ? 1 : value + 1;
                     });
               }
-              ServerStatus ss =
-                  new ServerStatus()
-                      .withState(
-                          serverState.getOrDefault(serverName, WebLogicConstants.SHUTDOWN_STATE))
-                      .withClusterName(clusterName)
-                      .withNodeName(pod.getSpec().getNodeName())
-                      .withServerName(serverName)
-                      .withHealth(serverHealth.get(serverName));
-              serverStatuses.put(serverName, ss);
+              model.recordServer(
+                  serverName,
+                  serverState.getOrDefault(serverName, WebLogicConstants.SHUTDOWN_STATE),
+                  clusterName,
+                  pod.getSpec().getNodeName(),
+                  serverHealth.get(serverName));
             }
           }
         }
 
-        if (existingServerStatuses != null) {
-          if (!compare(existingServerStatuses, serverStatuses)) {
-            status.setServers(new ArrayList<>(serverStatuses.values()));
-            madeChange = true;
-          }
-        } else if (!serverStatuses.isEmpty()) {
-          status.setServers(new ArrayList<>(serverStatuses.values()));
+        if (model.apply(status, patch)) {
           madeChange = true;
         }
 
@@ -228,6 +205,7 @@ public class DomainStatusUpdater {
             Integer current = status.getReplicas();
             if (current == null || current.intValue() != replicas) {
               status.setReplicas(replicas);
+              patch.add("/status/replicas", replicas);
               madeChange = true;
             }
           }
@@ -243,36 +221,33 @@ public class DomainStatusUpdater {
         }
 
         boolean haveFailedPod = false;
+        for (ServerKubernetesObjects sko : info.getServers().values()) {
+          V1Pod existingPod = sko.getPod().get();
+          if (existingPod != null && PodWatcher.isFailed(existingPod)) {
+            haveFailedPod = true;
+            break;
+          }
+        }
+
         boolean allIntendedPodsToRunning = true;
-        Collection<String> serversIntendedToRunning = new ArrayList<>();
         Collection<ServerStartupInfo> ssic = info.getServerStartupInfo();
         if (ssic != null) {
           for (ServerStartupInfo ssi : ssic) {
             if (!"ADMIN".equals(ssi.getDesiredState())) {
               continue;
             }
-            serversIntendedToRunning.add(ssi.serverConfig.getName());
-          }
-        }
-        for (Map.Entry<String, ServerKubernetesObjects> entry : info.getServers().entrySet()) {
-          ServerKubernetesObjects sko = entry.getValue();
-          if (sko != null) {
-            V1Pod existingPod = sko.getPod().get();
-            if (existingPod != null) {
-              if (PodWatcher.isFailed(existingPod)) {
-                haveFailedPod = true;
-              }
-              String serverName = entry.getKey();
-              if (serversIntendedToRunning.contains(serverName)) {
-                ServerStatus ss = serverStatuses.get(serverName);
-                if (ss == null || !WebLogicConstants.RUNNING_STATE.equals(ss.getState())) {
-                  allIntendedPodsToRunning = false;
-                }
-              }
+            String serverName = ssi.serverConfig.getName();
+            ServerKubernetesObjects sko = info.getServers().get(serverName);
+            if (sko != null
+                && sko.getPod().get() != null
+                && !WebLogicConstants.RUNNING_STATE.equals(model.getState(serverName))) {
+              allIntendedPodsToRunning = false;
+              break;
             }
           }
         }
 
+        boolean conditionsChanged = false;
         boolean foundFailed = false;
         boolean foundAvailable = false;
         ListIterator<DomainCondition> it = conditions.listIterator();
@@ -286,23 +261,23 @@ public class DomainStatusUpdater {
                   dc.setStatus(TRUE);
                   dc.setReason("PodFailed");
                   dc.setLastTransitionTime(now);
-                  madeChange = true;
+                  conditionsChanged = true;
                 }
               } else {
                 it.remove();
-                madeChange = true;
+                conditionsChanged = true;
               }
               break;
             case PROGRESSING_TYPE:
               if (haveFailedPod || allIntendedPodsToRunning) {
                 it.remove();
-                madeChange = true;
+                conditionsChanged = true;
               }
               break;
             case AVAILABLE_TYPE:
               if (haveFailedPod) {
                 it.remove();
-                madeChange = true;
+                conditionsChanged = true;
               } else if (allIntendedPodsToRunning) {
                 foundAvailable = true;
                 if (!TRUE.equals(dc.getStatus())
@@ -310,13 +285,13 @@ public class DomainStatusUpdater {
                   dc.setStatus(TRUE);
                   dc.setReason(SERVERS_READY_AVAILABLE_REASON);
                   dc.setLastTransitionTime(now);
-                  madeChange = true;
+                  conditionsChanged = true;
                 }
               }
               break;
             default:
               it.remove();
-              madeChange = true;
+              conditionsChanged = true;
               break;
           }
         }
@@ -327,7 +302,10 @@ public class DomainStatusUpdater {
           dc.setReason("PodFailed");
           dc.setLastTransitionTime(now);
           conditions.add(dc);
-          madeChange = true;
+          conditionsChanged = true;
+        }
+        if (allIntendedPodsToRunning && !haveFailedPod) {
+          recordServersReady(info);
         }
         if (allIntendedPodsToRunning && !foundAvailable) {
           DomainCondition dc = new DomainCondition();
@@ -336,6 +314,10 @@ public class DomainStatusUpdater {
           dc.setReason(SERVERS_READY_AVAILABLE_REASON);
           dc.setLastTransitionTime(now);
           conditions.add(dc);
+          conditionsChanged = true;
+        }
+        if (conditionsChanged) {
+          patch.add("/status/conditions", conditions);
           madeChange = true;
         }
       }
@@ -350,25 +332,45 @@ public class DomainStatusUpdater {
       LOGGER.exiting();
 
       return madeChange == true
-          ? doDomainUpdate(dom, info, packet, StatusUpdateStep.this, getNext())
+          ? doDomainUpdate(
+              dom,
+              info,
+              statusCreated ? createStatusPatch(status) : patch,
+              packet,
+              StatusUpdateStep.this,
+              getNext())
           : doNext(packet);
     }
   }
 
-  private static boolean compare(
-      List<ServerStatus> currentServerStatuses, Map<String, ServerStatus> serverStatuses) {
-    if (currentServerStatuses.size() == serverStatuses.size()) {
-      for (ServerStatus c : currentServerStatuses) {
-        String serverName = c.getServerName();
-        ServerStatus u = serverStatuses.get(serverName);
-        if (u == null || !c.equals(u)) {
-          return false;
+  private static void recordServersReady(DomainPresenceInfo info) {
+    long specChangeTime = info.takeSpecChangeTime();
+    if (specChangeTime != 0) {
+      OperatorMetrics.getInstance()
+          .recordSpecChangeToReady(
+              info.getNamespace(), info.getDomainUID(), System.nanoTime() - specChangeTime);
+    }
+  }
+
+  private static String getClusterName(WlsDomainConfig config, String serverName) {
+    for (Map.Entry<String, WlsClusterConfig> cluster : config.getClusterConfigs().entrySet()) {
+      for (WlsServerConfig sic : cluster.getValue().getServerConfigs()) {
+        if (serverName.equals(sic.getName())) {
+          return cluster.getKey();
         }
       }
-      return true;
     }
+    return null;
+  }
 
-    return false;
+  private static String getNodeName(ServerKubernetesObjects sko) {
+    if (sko != null) {
+      V1Pod pod = sko.getPod().get();
+      if (pod != null) {
+        return pod.getSpec().getNodeName();
+      }
+    }
+    return null;
   }
 
   /**
@@ -430,6 +432,7 @@ public class DomainStatusUpdater {
       LOGGER.entering();
 
       boolean madeChange = false;
+      boolean statusCreated = false;
 
       DateTime now = DateTime.now();
       DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
@@ -440,6 +443,7 @@ public class DomainStatusUpdater {
         status = new DomainStatus();
         status.setStartTime(now);
         dom.setStatus(status);
+        statusCreated = true;
         madeChange = true;
       }
 
@@ -490,7 +494,13 @@ public class DomainStatusUpdater {
       LOGGER.exiting();
 
       return madeChange == true
-          ? doDomainUpdate(dom, info, packet, ProgressingStep.this, getNext())
+          ? doDomainUpdate(
+              dom,
+              info,
+              createConditionsPatch(status, statusCreated),
+              packet,
+              ProgressingStep.this,
+              getNext())
           : doNext(packet);
     }
   }
@@ -516,6 +526,7 @@ public class DomainStatusUpdater {
       LOGGER.entering();
 
       boolean madeChange = false;
+      boolean statusCreated = false;
 
       DateTime now = DateTime.now();
       DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
@@ -526,6 +537,7 @@ public class DomainStatusUpdater {
         status = new DomainStatus();
         status.setStartTime(now);
         dom.setStatus(status);
+        statusCreated = true;
         madeChange = true;
       }
 
@@ -558,7 +570,13 @@ public class DomainStatusUpdater {
       LOGGER.exiting();
 
       return madeChange == true
-          ? doDomainUpdate(dom, info, packet, EndProgressingStep.this, getNext())
+          ? doDomainUpdate(
+              dom,
+              info,
+              createConditionsPatch(status, statusCreated),
+              packet,
+              EndProgressingStep.this,
+              getNext())
           : doNext(packet);
     }
   }
@@ -617,6 +635,7 @@ public class DomainStatusUpdater {
       LOGGER.entering();
 
       boolean madeChange = false;
+      boolean statusCreated = false;
 
       DateTime now = DateTime.now();
       DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
@@ -627,6 +646,7 @@ public class DomainStatusUpdater {
         status = new DomainStatus();
         status.setStartTime(now);
         dom.setStatus(status);
+        statusCreated = true;
         madeChange = true;
       }
 
@@ -674,21 +694,51 @@ public class DomainStatusUpdater {
       LOGGER.info(MessageKeys.DOMAIN_STATUS, dom.getDomainUID(), status);
       LOGGER.exiting();
       return madeChange == true
-          ? doDomainUpdate(dom, info, packet, AvailableStep.this, getNext())
+          ? doDomainUpdate(
+              dom,
+              info,
+              createConditionsPatch(status, statusCreated),
+              packet,
+              AvailableStep.this,
+              getNext())
           : doNext(packet);
     }
   }
 
+  private static JsonPatch createStatusPatch(DomainStatus status) {
+    return new JsonPatch().add("/status", status);
+  }
+
+  private static JsonPatch createConditionsPatch(DomainStatus status, boolean statusCreated) {
+    return statusCreated
+        ? createStatusPatch(status)
+        : new JsonPatch().add("/status/conditions", status.getConditions());
+  }
+
+  /**
+   * Sends the specified changes to the domain's status as a JSON patch. The patch fails with a
+   * conflict if the domain has been modified since it was read, in which case the domain is read
+   * again and the conflict step recomputes the changes.
+   */
   private static NextAction doDomainUpdate(
-      Domain dom, DomainPresenceInfo info, Packet packet, Step conflictStep, Step next) {
+      Domain dom,
+      DomainPresenceInfo info,
+      JsonPatch statusPatch,
+      Packet packet,
+      Step conflictStep,
+      Step next) {
     V1ObjectMeta meta = dom.getMetadata();
+    JsonPatch patch = new JsonPatch();
+    if (meta.getResourceVersion() != null) {
+      patch.replace("/metadata/resourceVersion", meta.getResourceVersion());
+    }
     NextAction na = new NextAction();
     na.invoke(
         new CallBuilder()
-            .replaceDomainAsync(
+            .patchDomainAsync(
                 meta.getName(),
                 meta.getNamespace(),
-                dom,
+                patch.append(statusPatch).getOperations(),
                 new DefaultResponseStep<Domain>(next) {
                   @Override
                   public NextAction onFailure(Packet packet, CallResponse<Domain> callResponse) {
@@ -704,6 +754,8 @@ public class DomainStatusUpdater {
                   @Override
                   public NextAction onSuccess(Packet packet, CallResponse<Domain> callResponse) {
                     info.setDomain(callResponse.getResult());
+                    OperatorMetrics.getInstance()
+                        .recordStatusUpdate(info.getNamespace(), info.getDomainUID());
                     return doNext(packet);
                   }
                 }),
@@ -780,6 +832,7 @@ public class DomainStatusUpdater {
       LOGGER.entering();
 
       boolean madeChange = false;
+      boolean statusCreated = false;
 
       DateTime now = DateTime.now();
       DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
@@ -790,6 +843,7 @@ public class DomainStatusUpdater {
         status = new DomainStatus();
         status.setStartTime(now);
         dom.setStatus(status);
+        statusCreated = true;
         madeChange = true;
       }
 
@@ -843,7 +897,13 @@ public class DomainStatusUpdater {
       LOGGER.exiting();
 
       return madeChange == true
-          ? doDomainUpdate(dom, info, packet, FailedStep.this, getNext())
+          ? doDomainUpdate(
+              dom,
+              info,
+              createConditionsPatch(status, statusCreated),
+              packet,
+              FailedStep.this,
+              getNext())
           : doNext(packet);
     }
   }
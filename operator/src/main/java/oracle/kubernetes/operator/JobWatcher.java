@@ -8,12 +8,10 @@ import io.kubernetes.client.ApiException;
 import io.kubernetes.client.models.V1Job;
 import io.kubernetes.client.models.V1JobCondition;
 import io.kubernetes.client.models.V1JobStatus;
-import io.kubernetes.client.models.V1ObjectMeta;
 import io.kubernetes.client.util.Watch;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import oracle.kubernetes.operator.TuningParameters.WatchTuning;
@@ -26,19 +24,20 @@ import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
 import oracle.kubernetes.operator.watcher.WatchListener;
 import oracle.kubernetes.operator.work.ContainerResolver;
-import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.operator.work.ThreadFactorySingleton;
+import oracle.kubernetes.weblogic.domain.v2.Domain;
 
 /** Watches for Jobs to become Ready or leave Ready state */
 public class JobWatcher extends Watcher<V1Job> implements WatchListener<V1Job> {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
+  private static final Map<String, JobWatcher> JOB_WATCHERS = new ConcurrentHashMap<>();
+
   private final String ns;
 
-  // Map of Pod name to Complete
-  private final ConcurrentMap<String, Complete> completeCallbackRegistrations =
-      new ConcurrentHashMap<>();
+  private final ReadinessWaiter<V1Job> readinessWaiter;
 
   /**
    * Factory for JobWatcher
@@ -61,11 +60,46 @@ public class JobWatcher extends Watcher<V1Job> implements WatchListener<V1Job> {
     return watcher;
   }
 
+  /**
+   * Returns the job watcher for the namespace of the specified domain, creating it if needed. A
+   * single watcher per namespace serves all introspections in that namespace, and stops when the
+   * operator stops managing the namespace.
+   *
+   * @param domain the domain whose job is to be watched
+   * @param tuning Tuning parameters for the watch, for example watch lifetime
+   * @return Job watcher for the namespace
+   */
+  public static JobWatcher getOrCreateFor(Domain domain, WatchTuning tuning) {
+    return JOB_WATCHERS.computeIfAbsent(
+        domain.getMetadata().getNamespace(),
+        ns ->
+            create(
+                ThreadFactorySingleton.getInstance(),
+                ns,
+                domain.getMetadata().getResourceVersion(),
+                tuning,
+                Main.isNamespaceStopping(ns)));
+  }
+
+  static void removeNamespace(String ns) {
+    JOB_WATCHERS.remove(ns);
+  }
+
   private JobWatcher(
       String ns, String initialResourceVersion, WatchTuning tuning, AtomicBoolean isStopping) {
     super(initialResourceVersion, tuning, isStopping);
     setListener(this);
     this.ns = ns;
+    this.readinessWaiter =
+        new ReadinessWaiter<>(
+            V1Job::getMetadata,
+            JobWatcher::isCompleteOrFailed,
+            job -> false,
+            JobWatcher::readJob,
+            JobWatcher::recordJob,
+            MessageKeys.WAITING_FOR_JOB_READY,
+            tuning.watchLifetime,
+            tuning.readinessWaitTimeoutSeconds);
   }
 
   @Override
@@ -75,6 +109,11 @@ public class JobWatcher extends Watcher<V1Job> implements WatchListener<V1Job> {
         .createJobWatch(ns);
   }
 
+  @Override
+  protected void onGone() {
+    readinessWaiter.onWatchGone();
+  }
+
   public void receivedResponse(Watch.Response<V1Job> item) {
     LOGGER.entering();
 
@@ -82,18 +121,11 @@ public class JobWatcher extends Watcher<V1Job> implements WatchListener<V1Job> {
     switch (item.type) {
       case "ADDED":
       case "MODIFIED":
-        V1Job job = item.object;
-        Boolean isComplete = isComplete(job);
-        Boolean isFailed = isFailed(job);
-        String jobName = job.getMetadata().getName();
-        if (isComplete || isFailed) {
-          Complete complete = completeCallbackRegistrations.get(jobName);
-          if (complete != null) {
-            complete.isComplete(job);
-          }
-        }
+        readinessWaiter.onUpdate(item.object);
         break;
       case "DELETED":
+        readinessWaiter.onDelete(item.object);
+        break;
       case "ERROR":
       default:
     }
@@ -140,94 +172,25 @@ public class JobWatcher extends Watcher<V1Job> implements WatchListener<V1Job> {
    * @return Asynchronous step
    */
   public Step waitForReady(V1Job job, Step next) {
-    return new WaitForJobReadyStep(job, next);
+    return readinessWaiter.waitForReady(job, next);
   }
 
-  private class WaitForJobReadyStep extends Step {
-    private final V1Job job;
-
-    private WaitForJobReadyStep(V1Job job, Step next) {
-      super(next);
-      this.job = job;
-    }
-
-    boolean shouldProcessJob(V1Job job) {
-      return (this.job.getMetadata().getCreationTimestamp().getMillis()
-          == job.getMetadata().getCreationTimestamp().getMillis());
-    }
+  int getReadyWaitCount() {
+    return readinessWaiter.getWaitCount();
+  }
 
-    @Override
-    public NextAction apply(Packet packet) {
-      if (isComplete(job)) {
-        return doNext(packet);
-      }
+  private static boolean isCompleteOrFailed(V1Job job) {
+    return isComplete(job) || isFailed(job);
+  }
 
-      V1ObjectMeta metadata = job.getMetadata();
-
-      LOGGER.info(MessageKeys.WAITING_FOR_JOB_READY, metadata.getName());
-
-      AtomicBoolean didResume = new AtomicBoolean(false);
-      return doSuspend(
-          (fiber) -> {
-            Complete complete =
-                (V1Job job) -> {
-                  if (!shouldProcessJob(job)) {
-                    return;
-                  }
-                  completeCallbackRegistrations.remove(job.getMetadata().getName());
-                  if (didResume.compareAndSet(false, true)) {
-                    LOGGER.fine("Job status: " + job.getStatus());
-                    packet.put(ProcessingConstants.DOMAIN_INTROSPECTOR_JOB, job);
-                    fiber.resume(packet);
-                  }
-                };
-            completeCallbackRegistrations.put(metadata.getName(), complete);
-
-            // Timing window -- job may have come ready before registration for callback
-            CallBuilderFactory factory =
-                ContainerResolver.getInstance().getContainer().getSPI(CallBuilderFactory.class);
-            fiber
-                .createChildFiber()
-                .start(
-                    factory
-                        .create()
-                        .readJobAsync(
-                            metadata.getName(),
-                            metadata.getNamespace(),
-                            new ResponseStep<V1Job>(null) {
-                              @Override
-                              public NextAction onFailure(
-                                  Packet packet,
-                                  ApiException e,
-                                  int statusCode,
-                                  Map<String, List<String>> responseHeaders) {
-                                return super.onFailure(packet, e, statusCode, responseHeaders);
-                              }
-
-                              @Override
-                              public NextAction onSuccess(
-                                  Packet packet,
-                                  V1Job result,
-                                  int statusCode,
-                                  Map<String, List<String>> responseHeaders) {
-                                if (result != null && isComplete(result) /*isReady(result)*/) {
-                                  if (didResume.compareAndSet(false, true)) {
-                                    completeCallbackRegistrations.remove(
-                                        metadata.getName(), complete);
-                                    fiber.resume(packet);
-                                  }
-                                }
-                                return doNext(packet);
-                              }
-                            }),
-                    packet.clone(),
-                    null);
-          });
-    }
+  private static Step readJob(String name, String namespace, ResponseStep<V1Job> responseStep) {
+    CallBuilderFactory factory =
+        ContainerResolver.getInstance().getContainer().getSPI(CallBuilderFactory.class);
+    return factory.create().readJobAsync(name, namespace, responseStep);
   }
 
-  @FunctionalInterface
-  private interface Complete {
-    void isComplete(V1Job job);
+  private static void recordJob(Packet packet, V1Job job) {
+    LOGGER.fine("Job status: " + job.getStatus());
+    packet.put(ProcessingConstants.DOMAIN_INTROSPECTOR_JOB, job);
   }
 }
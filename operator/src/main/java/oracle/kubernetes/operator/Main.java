@@ -12,18 +12,25 @@ import io.kubernetes.client.models.V1Service;
 import io.kubernetes.client.models.V1ServiceList;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
@@ -34,11 +41,14 @@ import oracle.kubernetes.operator.calls.CallResponse;
 import oracle.kubernetes.operator.helpers.CRDHelper;
 import oracle.kubernetes.operator.helpers.CallBuilder;
 import oracle.kubernetes.operator.helpers.CallBuilderFactory;
+import oracle.kubernetes.operator.helpers.CompactResources;
 import oracle.kubernetes.operator.helpers.ConfigMapHelper;
 import oracle.kubernetes.operator.helpers.DomainPresenceInfo;
 import oracle.kubernetes.operator.helpers.HealthCheckHelper;
+import oracle.kubernetes.operator.helpers.HttpTransport;
 import oracle.kubernetes.operator.helpers.KubernetesVersion;
 import oracle.kubernetes.operator.helpers.ResponseStep;
+import oracle.kubernetes.operator.helpers.SecretCache;
 import oracle.kubernetes.operator.helpers.ServerKubernetesObjects;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
@@ -66,6 +76,11 @@ public class Main {
 
   private static final String DPI_MAP = "DPI_MAP";
 
+  private static final String VERSION_CHECK_PHASE = "kubernetesVersionCheck";
+  private static final String CRD_PHASE = "domainCRD";
+  private static final String NAMESPACES_PHASE = "targetNamespaces";
+  private static final String REST_SERVER_PHASE = "restServer";
+
   private static final Container container = new Container();
 
   private static class WrappedThreadFactory implements ThreadFactory {
@@ -85,6 +100,13 @@ public class Main {
   private static final ScheduledExecutorService wrappedExecutorService =
       Engine.wrappedExecutorService("operator", container);
 
+  // In fast-start mode, the security checks of the namespaces are made on threads of their own,
+  // as each makes many blocking access reviews, and would otherwise hold the engine's threads while
+  // the namespaces start.
+  private static final int SECURITY_CHECK_THREADS = 2;
+  private static final ExecutorService securityCheckExecutor =
+      Executors.newFixedThreadPool(SECURITY_CHECK_THREADS, threadFactory);
+
   static final TuningParameters tuningAndConfig;
 
   static {
@@ -99,6 +121,8 @@ public class Main {
 
   private static final CallBuilderFactory callBuilderFactory = new CallBuilderFactory();
 
+  static final Engine engine = new Engine(wrappedExecutorService);
+
   static {
     container
         .getComponents()
@@ -111,10 +135,11 @@ public class Main {
                 tuningAndConfig,
                 ThreadFactory.class,
                 threadFactory,
+                Engine.class,
+                engine,
                 callBuilderFactory));
   }
 
-  static final Engine engine = new Engine(wrappedExecutorService);
   private static final DomainProcessor processor = DomainProcessor.getInstance();
 
   static final ConcurrentMap<String, AtomicBoolean> isNamespaceStarted = new ConcurrentHashMap<>();
@@ -124,12 +149,14 @@ public class Main {
   private static final Map<String, DomainWatcher> domainWatchers = new ConcurrentHashMap<>();
   private static final Map<String, EventWatcher> eventWatchers = new ConcurrentHashMap<>();
   private static final Map<String, ServiceWatcher> serviceWatchers = new ConcurrentHashMap<>();
+  private static final Map<String, SecretWatcher> secretWatchers = new ConcurrentHashMap<>();
 
   static final Map<String, PodWatcher> podWatchers = new ConcurrentHashMap<>();
 
   private static final String operatorNamespace = getOperatorNamespace();
   private static final AtomicReference<DateTime> lastFullRecheck =
       new AtomicReference<>(DateTime.now());
+  private static final StartupTimeline timeline = StartupTimeline.getInstance();
 
   private static String principal;
   private static RestServer restServer = null;
@@ -172,6 +199,9 @@ public class Main {
 
       // stop the REST server
       stopRestServer();
+
+      // let the other replicas take over this replica's namespaces
+      leaveShards();
     } finally {
       LOGGER.info(MessageKeys.OPERATOR_SHUTTING_DOWN);
     }
@@ -203,20 +233,86 @@ public class Main {
       // that includes k8s objects
       LoggingFactory.setJSON(new JSON());
 
+      if (isFastStart()) {
+        // serve REST requests while the target namespaces are started in the background
+        startRestServer();
+      }
+
+      timeline.beginPhase(VERSION_CHECK_PHASE);
       version = HealthCheckHelper.performK8sVersionCheck();
+      timeline.endPhase(VERSION_CHECK_PHASE);
+
+      joinShardsIfEnabled();
 
+      timeline.beginPhase(CRD_PHASE);
       runSteps(
-          CRDHelper.createDomainCRDStep(version, new StartNamespacesStep(targetNamespaces)),
+          CRDHelper.createDomainCRDStep(
+              version,
+              Step.chain(
+                  new TimelineStep(Main::beginNamespacesPhase),
+                  new StartNamespacesStep(getOwnedNamespaces()))),
           Main::completeBegin);
     } catch (Throwable e) {
       LOGGER.warning(MessageKeys.EXCEPTION, e);
     }
   }
 
+  private static void joinShardsIfEnabled() throws InterruptedException, ExecutionException {
+    TuningParameters.MainTuning main = tuningAndConfig.getMainTuning();
+    if (!main.shardingEnabled) {
+      return;
+    }
+
+    ShardMembership membership =
+        new ShardMembership(
+            operatorNamespace,
+            getReplicaIdentity(),
+            main.shardLeaseDurationSeconds,
+            main.shardLeaseRenewSeconds,
+            Main::getTargetNamespaces,
+            isNamespaceStopping::keySet,
+            System::nanoTime,
+            () -> engine.getExecutor().execute(recheckDomains()));
+    ShardMembership.setInstance(membership);
+    runStepsToCompletion(membership.createJoinStep());
+    engine
+        .getExecutor()
+        .scheduleWithFixedDelay(
+            () -> runSteps(membership.createRenewStep()),
+            main.shardLeaseRenewSeconds,
+            main.shardLeaseRenewSeconds,
+            TimeUnit.SECONDS);
+  }
+
+  private static String getReplicaIdentity() {
+    return Optional.ofNullable(System.getenv("HOSTNAME"))
+        .orElseGet(() -> UUID.randomUUID().toString());
+  }
+
+  private static void leaveShards() {
+    ShardMembership membership = ShardMembership.getInstance();
+    if (membership != null) {
+      releaseNamespaces(new TreeSet<>(isNamespaceStopping.keySet()));
+      try {
+        runStepsToCompletion(membership.createReleaseStep());
+      } catch (Throwable e) {
+        LOGGER.warning(MessageKeys.EXCEPTION, e);
+      }
+    }
+  }
+
+  private static void beginNamespacesPhase() {
+    timeline.endPhase(CRD_PHASE);
+    timeline.beginPhase(NAMESPACES_PHASE);
+  }
+
   private static void completeBegin() {
     try {
-      // start the REST server
-      startRestServer(principal, isNamespaceStopping.keySet());
+      timeline.endPhase(NAMESPACES_PHASE);
+
+      if (!isFastStart()) {
+        startRestServer();
+      }
 
       // start periodic retry and recheck
       int recheckInterval = tuningAndConfig.getMainTuning().targetNamespaceRecheckIntervalSeconds;
@@ -225,11 +321,49 @@ public class Main {
           .scheduleWithFixedDelay(
               recheckDomains(), recheckInterval, recheckInterval, TimeUnit.SECONDS);
 
+      // start or stop namespaces as soon as the target namespaces are reconfigured
+      tuningAndConfig.addChangeListener(recheckDomains());
+
+      timeline.complete();
+    } catch (Throwable e) {
+      LOGGER.warning(MessageKeys.EXCEPTION, e);
+    }
+  }
+
+  private static boolean isFastStart() {
+    return tuningAndConfig.getMainTuning().fastStart;
+  }
+
+  private static void startRestServer() {
+    try {
+      timeline.beginPhase(REST_SERVER_PHASE);
+      startRestServer(principal, getRestNamespaces());
+      timeline.endPhase(REST_SERVER_PHASE);
     } catch (Throwable e) {
       LOGGER.warning(MessageKeys.EXCEPTION, e);
     }
   }
 
+  // When the target namespaces are sharded, any replica may serve a REST request, whichever
+  // replica manages the domain's namespace.
+  private static Collection<String> getRestNamespaces() {
+    if (!tuningAndConfig.getMainTuning().shardingEnabled) {
+      return isNamespaceStopping.keySet();
+    }
+
+    return new AbstractCollection<String>() {
+      @Override
+      public Iterator<String> iterator() {
+        return getTargetNamespaces().iterator();
+      }
+
+      @Override
+      public int size() {
+        return getTargetNamespaces().size();
+      }
+    };
+  }
+
   static KubernetesVersion getVersion() {
     return version;
   }
@@ -238,6 +372,20 @@ public class Main {
     return principal;
   }
 
+  private static class TimelineStep extends Step {
+    private final Runnable action;
+
+    TimelineStep(Runnable action) {
+      this.action = action;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      action.run();
+      return doNext(packet);
+    }
+  }
+
   private static class StartNamespacesStep extends Step {
     private final Collection<String> targetNamespaces;
 
@@ -253,17 +401,50 @@ public class Main {
     @Override
     public NextAction apply(Packet packet) {
       // check for any existing resources and add the watches on them
-      // this would happen when the Domain was running BEFORE the Operator starts up
+      // this would happen when the Domain was running BEFORE the Operator starts up.
+      // Each parallel fiber starts namespaces from the shared queue until it is empty.
+      Queue<String> namespaces = new ConcurrentLinkedQueue<>(targetNamespaces);
       Collection<StepAndPacket> startDetails = new ArrayList<>();
-      for (String ns : targetNamespaces) {
-        startDetails.add(
-            new StepAndPacket(
-                Step.chain(
-                    new StartNamespaceBeforeStep(ns), readExistingResources(operatorNamespace, ns)),
-                packet.clone()));
+      for (int i = 0; i < getParallelism(); i++) {
+        startDetails.add(new StepAndPacket(new StartNextNamespaceStep(namespaces), packet.clone()));
       }
       return doForkJoin(getNext(), packet, startDetails);
     }
+
+    private int getParallelism() {
+      int parallelism = tuningAndConfig.getMainTuning().startupNamespaceParallelism;
+      return isFastStart() && parallelism > 0
+          ? Math.min(parallelism, targetNamespaces.size())
+          : targetNamespaces.size();
+    }
+  }
+
+  private static class StartNextNamespaceStep extends Step {
+    private final Queue<String> namespaces;
+
+    StartNextNamespaceStep(Queue<String> namespaces) {
+      this.namespaces = namespaces;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      String ns;
+      while ((ns = namespaces.poll()) != null) {
+        AtomicBoolean a = isNamespaceStarted.computeIfAbsent(ns, (key) -> new AtomicBoolean(false));
+        if (!a.getAndSet(true)) {
+          return doNext(startNamespace(ns), packet);
+        }
+      }
+      return doEnd(packet);
+    }
+
+    private Step startNamespace(String ns) {
+      return Step.chain(
+          new StartNamespaceBeforeStep(ns),
+          readExistingResources(operatorNamespace, ns),
+          new TimelineStep(() -> timeline.endNamespace(ns)),
+          this);
+    }
   }
 
   private static class StartNamespaceBeforeStep extends Step {
@@ -275,29 +456,56 @@ public class Main {
 
     @Override
     public NextAction apply(Packet packet) {
-      AtomicBoolean a = isNamespaceStarted.computeIfAbsent(ns, (key) -> new AtomicBoolean(false));
-      if (!a.getAndSet(true)) {
-        try {
-          HealthCheckHelper.performSecurityChecks(version, operatorNamespace, ns);
-        } catch (Throwable e) {
-          LOGGER.warning(MessageKeys.EXCEPTION, e);
-        }
+      timeline.beginNamespace(ns);
+      if (isFastStart()) {
+        // the checks only log warnings, so the namespace need not wait for them
+        securityCheckExecutor.execute(this::performSecurityChecks);
+      } else {
+        performSecurityChecks();
+      }
+      return doNext(packet);
+    }
 
-        return doNext(packet);
+    private void performSecurityChecks() {
+      try {
+        HealthCheckHelper.performSecurityChecks(version, operatorNamespace, ns);
+      } catch (Throwable e) {
+        LOGGER.warning(MessageKeys.EXCEPTION, e);
       }
-      return doEnd(packet);
     }
   }
 
   private static void stopNamespaces(Collection<String> namespacesToStop) {
     for (String ns : namespacesToStop) {
       processor.stopNamespace(ns);
-      AtomicBoolean stopping = isNamespaceStopping.remove(ns);
-      if (stopping != null) {
-        stopping.set(true);
-      }
-      isNamespaceStarted.remove(ns);
+      forgetNamespace(ns);
+    }
+  }
+
+  // The namespace is stopped before the next lease renewal, which gives up its claim to it.
+  private static void releaseNamespaces(Collection<String> namespacesToRelease) {
+    for (String ns : namespacesToRelease) {
+      forgetNamespace(ns);
+      processor.releaseNamespace(ns);
+    }
+  }
+
+  // the watchers of the namespace stop with its stopping flag; they are forgotten so that new
+  // ones are created if the namespace is started again, as when a released lease is reacquired
+  private static void forgetNamespace(String ns) {
+    AtomicBoolean stopping = isNamespaceStopping.remove(ns);
+    if (stopping != null) {
+      stopping.set(true);
     }
+    configMapWatchers.remove(ns);
+    domainWatchers.remove(ns);
+    eventWatchers.remove(ns);
+    podWatchers.remove(ns);
+    serviceWatchers.remove(ns);
+    secretWatchers.remove(ns);
+    JobWatcher.removeNamespace(ns);
+    SecretCache.getInstance().stopCaching(ns);
+    isNamespaceStarted.remove(ns);
   }
 
   static AtomicBoolean isNamespaceStopping(String ns) {
@@ -332,18 +540,23 @@ public class Main {
 
   private static Runnable recheckDomains() {
     return () -> {
-      Collection<String> targetNamespaces = getTargetNamespaces();
-
       // Check for removed namespaces
       Set<String> namespacesToStop = new TreeSet<>(isNamespaceStopping.keySet());
-      namespacesToStop.removeAll(targetNamespaces);
+      namespacesToStop.removeAll(getTargetNamespaces());
       stopNamespaces(namespacesToStop);
 
+      // Check for namespaces now managed by another replica
+      Collection<String> targetNamespaces = getOwnedNamespaces();
+      Set<String> namespacesToRelease = new TreeSet<>(isNamespaceStopping.keySet());
+      namespacesToRelease.removeAll(targetNamespaces);
+      releaseNamespaces(namespacesToRelease);
+
       Collection<String> namespacesToStart = targetNamespaces;
       int recheckInterval = tuningAndConfig.getMainTuning().domainPresenceRecheckIntervalSeconds;
       DateTime now = DateTime.now();
       if (lastFullRecheck.get().plusSeconds(recheckInterval).isBefore(now)) {
         lastFullRecheck.set(now);
+        logTransportStatistics();
       } else {
         namespacesToStart = new TreeSet<>(targetNamespaces);
         namespacesToStart.removeAll(isNamespaceStarted.keySet());
@@ -353,11 +566,23 @@ public class Main {
     };
   }
 
+  private static void logTransportStatistics() {
+    HttpTransport transport = HttpTransport.getInstance();
+    LOGGER.fine(
+        MessageKeys.HTTP_TRANSPORT_STATISTICS,
+        transport.getOpenConnectionCount(),
+        transport.getIdleConnectionCount(),
+        transport.getMultiplexedConnectionCount(),
+        transport.getHandshakesPerMinute(),
+        transport.getHandshakeCount());
+  }
+
   static Step readExistingResources(String operatorNamespace, String ns) {
     return Step.chain(
         new ReadExistingResourcesBeforeStep(),
         ConfigMapHelper.createScriptConfigMapStep(operatorNamespace, ns),
         createConfigMapStep(ns),
+        new WatchSecretsStep(ns),
         readExistingPods(ns),
         readExistingEvents(ns),
         readExistingServices(ns),
@@ -373,6 +598,28 @@ public class Main {
     }
   }
 
+  // secrets are not listed, as that would read every secret in the namespace; the namespace is
+  // watched from the version of the first secret cached in it
+  private static class WatchSecretsStep extends Step {
+    private final String ns;
+
+    WatchSecretsStep(String ns) {
+      this.ns = ns;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      SecretCache.getInstance().startCaching(ns, Main::watchSecrets);
+      return doNext(packet);
+    }
+  }
+
+  private static void watchSecrets(String ns, String resourceVersion) {
+    if (isNamespaceStopping.containsKey(ns)) {
+      secretWatchers.computeIfAbsent(ns, k -> createSecretWatcher(ns, resourceVersion));
+    }
+  }
+
   private static Step readExistingDomains(String ns) {
     LOGGER.info(MessageKeys.LISTING_DOMAINS);
     return callBuilderFactory.create().listDomainAsync(ns, new DomainListStep(ns));
@@ -442,14 +689,18 @@ public class Main {
   }
 
   private static void stopRestServer() {
-    restServer.stop();
-    restServer = null;
+    if (restServer != null) {
+      restServer.stop();
+      restServer = null;
+    }
   }
 
   private static void startLivenessThread() {
     LOGGER.info(MessageKeys.STARTING_LIVENESS_THREAD);
     // every five seconds we need to update the last modified time on the liveness file
-    wrappedExecutorService.scheduleWithFixedDelay(new OperatorLiveness(), 5, 5, TimeUnit.SECONDS);
+    int initialDelay = isFastStart() ? 0 : 5;
+    wrappedExecutorService.scheduleWithFixedDelay(
+        new OperatorLiveness(), initialDelay, 5, TimeUnit.SECONDS);
   }
 
   private static final Semaphore shutdownSignal = new Semaphore(0);
@@ -507,6 +758,17 @@ public class Main {
         isNamespaceStopping(ns));
   }
 
+  private static SecretWatcher createSecretWatcher(String ns, String initialResourceVersion) {
+    return SecretWatcher.create(
+        threadFactory,
+        ns,
+        initialResourceVersion,
+        tuningAndConfig.getWatchTuning(),
+        SecretCache.getInstance()::dispatchSecretWatch,
+        SecretCache.getInstance()::onWatchGone,
+        isNamespaceStopping(ns));
+  }
+
   private static DomainWatcher createDomainWatcher(String ns, String initialResourceVersion) {
     return DomainWatcher.create(
         threadFactory,
@@ -525,6 +787,17 @@ public class Main {
     return namespace;
   }
 
+  /**
+   * Returns the target namespaces which this replica manages: all of them, unless they are sharded
+   * among several replicas.
+   *
+   * @return the namespaces managed by this replica
+   */
+  static Collection<String> getOwnedNamespaces() {
+    ShardMembership membership = ShardMembership.getInstance();
+    return membership == null ? getTargetNamespaces() : membership.getOwnedNamespaces();
+  }
+
   public static Collection<String> getTargetNamespaces() {
     String namespace = getOperatorNamespace();
 
@@ -626,14 +899,14 @@ public class Main {
             DomainPresenceInfo info =
                 dpis.computeIfAbsent(domainUID, k -> new DomainPresenceInfo(ns, domainUID));
             if (clusterName != null) {
-              info.getClusters().put(clusterName, service);
+              info.getClusters().put(clusterName, CompactResources.compact(service));
             } else if (serverName != null) {
               ServerKubernetesObjects sko =
                   info.getServers().computeIfAbsent(serverName, k -> new ServerKubernetesObjects());
               if (channelName != null) {
-                sko.getChannels().put(channelName, service);
+                sko.getChannels().put(channelName, CompactResources.compact(service));
               } else {
-                sko.getService().set(service);
+                sko.getService().set(CompactResources.compact(service));
               }
             }
           }
@@ -707,11 +980,12 @@ public class Main {
           String domainUID = PodWatcher.getPodDomainUID(pod);
           String serverName = PodWatcher.getPodServerName(pod);
           if (domainUID != null && serverName != null) {
+            DomainProcessorImpl.indexPod(pod.getMetadata(), domainUID, serverName);
             DomainPresenceInfo info =
                 dpis.computeIfAbsent(domainUID, k -> new DomainPresenceInfo(ns, domainUID));
             ServerKubernetesObjects sko =
                 info.getServers().computeIfAbsent(serverName, k -> new ServerKubernetesObjects());
-            sko.getPod().set(pod);
+            sko.getPod().set(CompactResources.compact(pod));
           }
         }
       }
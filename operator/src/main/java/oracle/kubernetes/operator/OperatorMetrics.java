@@ -0,0 +1,559 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import oracle.kubernetes.operator.calls.RequestRateLimiter;
+import oracle.kubernetes.operator.helpers.IntrospectionTiming;
+import oracle.kubernetes.operator.helpers.RollingHelper.ClusterRollout;
+import oracle.kubernetes.operator.work.FiberGate;
+
+/**
+ * Counts and times the operator's work, for exposition in the Prometheus text format. Recording is
+ * lock-free and, once the metrics for a call, watch or domain exist, does not allocate: counters
+ * are adders, and durations are counted in histograms with fixed buckets. The counters kept by the
+ * request rate limiter, the fiber gates and the domain event coalescer are read when the metrics
+ * are written.
+ */
+public class OperatorMetrics {
+  private static final String PREFIX = "weblogic_operator_";
+  private static final int MAX_STATUS_CODE = 600;
+
+  // bucket upper bounds, in milliseconds
+  private static final long[] REQUEST_BUCKETS = {
+    5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000
+  };
+  private static final long[] PLAN_BUCKETS = {
+    100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000, 120_000, 300_000, 600_000
+  };
+
+  static final String SUCCESS = "success";
+  static final String FAILURE = "failure";
+
+  private static final OperatorMetrics INSTANCE = new OperatorMetrics(System::currentTimeMillis);
+
+  private final LongSupplier clock;
+  private final ConcurrentMap<String, CallMetrics> calls = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, WatchMetrics> watches = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ConcurrentMap<String, DomainMetrics>> domains =
+      new ConcurrentHashMap<>();
+
+  public static OperatorMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  OperatorMetrics(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Records the completion of a request to the Kubernetes API.
+   *
+   * @param call the name of the call, as in the request parameters
+   * @param statusCode the HTTP status code of the response, or zero if there was none
+   * @param durationNanos the time from sending the request to its completion
+   */
+  public void recordRequest(String call, int statusCode, long durationNanos) {
+    CallMetrics metrics = getCallMetrics(call);
+    metrics.latency.observe(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+    metrics.statusCodes.incrementAndGet(isValidStatusCode(statusCode) ? statusCode : 0);
+  }
+
+  private static boolean isValidStatusCode(int statusCode) {
+    return statusCode >= 0 && statusCode < MAX_STATUS_CODE;
+  }
+
+  /**
+   * Records the retry of a request to the Kubernetes API.
+   *
+   * @param call the name of the call, as in the request parameters
+   */
+  public void recordRetry(String call) {
+    getCallMetrics(call).retries.increment();
+  }
+
+  private CallMetrics getCallMetrics(String call) {
+    CallMetrics metrics = calls.get(call);
+    return metrics != null ? metrics : calls.computeIfAbsent(call, k -> new CallMetrics());
+  }
+
+  /**
+   * Returns the metrics for the watches of a kind of resource.
+   *
+   * @param kind the kind of resource watched
+   * @return the metrics
+   */
+  WatchMetrics getWatchMetrics(String kind) {
+    return watches.computeIfAbsent(kind, k -> new WatchMetrics());
+  }
+
+  /**
+   * Records the completion of a make-right plan for a domain.
+   *
+   * @param ns the namespace of the domain
+   * @param domainUID the UID of the domain
+   * @param outcome {@link #SUCCESS} or {@link #FAILURE}
+   * @param durationNanos the time the plan ran
+   */
+  void recordMakeRight(String ns, String domainUID, String outcome, long durationNanos) {
+    DomainMetrics metrics = getDomainMetrics(ns, domainUID);
+    Histogram histogram = FAILURE.equals(outcome) ? metrics.makeRightFailure : metrics.makeRight;
+    histogram.observe(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+  }
+
+  /**
+   * Records the time from a change to a domain's spec until all of its servers were ready.
+   *
+   * @param ns the namespace of the domain
+   * @param domainUID the UID of the domain
+   * @param durationNanos the time until the servers were ready
+   */
+  void recordSpecChangeToReady(String ns, String domainUID, long durationNanos) {
+    DomainMetrics metrics = getDomainMetrics(ns, domainUID);
+    metrics.specChangeToReady.observe(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+  }
+
+  /**
+   * Records the update of a domain's status.
+   *
+   * @param ns the namespace of the domain
+   * @param domainUID the UID of the domain
+   */
+  void recordStatusUpdate(String ns, String domainUID) {
+    getDomainMetrics(ns, domainUID).lastStatusUpdateTime = clock.getAsLong();
+  }
+
+  /**
+   * Records the timing of the latest introspection of a domain.
+   *
+   * @param ns the namespace of the domain
+   * @param domainUID the UID of the domain
+   * @param timing the phases of the introspection
+   */
+  public void recordIntrospection(String ns, String domainUID, IntrospectionTiming timing) {
+    getDomainMetrics(ns, domainUID).lastIntrospection = timing;
+  }
+
+  /**
+   * Records the latest rolling restart of a cluster.
+   *
+   * @param ns the namespace of the domain
+   * @param domainUID the UID of the domain
+   * @param clusterName the name of the cluster
+   * @param rollout the timing of the rolling restart
+   */
+  public void recordClusterRollout(
+      String ns, String domainUID, String clusterName, ClusterRollout rollout) {
+    getDomainMetrics(ns, domainUID).lastRollouts.put(clusterName, rollout);
+  }
+
+  /**
+   * Discards the metrics of a domain which no longer exists.
+   *
+   * @param ns the namespace of the domain
+   * @param domainUID the UID of the domain
+   */
+  void removeDomain(String ns, String domainUID) {
+    Map<String, DomainMetrics> namespaceMetrics = domains.get(ns);
+    if (namespaceMetrics != null) {
+      namespaceMetrics.remove(domainUID);
+    }
+  }
+
+  private DomainMetrics getDomainMetrics(String ns, String domainUID) {
+    ConcurrentMap<String, DomainMetrics> namespaceMetrics = domains.get(ns);
+    if (namespaceMetrics == null) {
+      namespaceMetrics = domains.computeIfAbsent(ns, k -> new ConcurrentHashMap<>());
+    }
+    DomainMetrics metrics = namespaceMetrics.get(domainUID);
+    return metrics != null
+        ? metrics
+        : namespaceMetrics.computeIfAbsent(domainUID, k -> new DomainMetrics());
+  }
+
+  /**
+   * Writes the current values of the metrics in the Prometheus text exposition format.
+   *
+   * @return the metrics
+   */
+  public String toPrometheusText() {
+    StringBuilder sb = new StringBuilder();
+    writeDomainMetrics(sb);
+    writeClusterRolloutMetrics(sb);
+    writeCallMetrics(sb);
+    writeRateLimiterMetrics(sb, RequestRateLimiter.getInstance());
+    writeWatchMetrics(sb);
+    writeFiberGateMetrics(sb);
+    writeDomainEventMetrics(sb);
+    return sb.toString();
+  }
+
+  private void writeDomainMetrics(StringBuilder sb) {
+    writeHeader(sb, "make_right_duration_seconds", "histogram", "Duration of make-right plans");
+    forEachDomain(
+        (labels, metrics) -> {
+          String name = "make_right_duration_seconds";
+          metrics.makeRight.write(sb, name, outcomeLabels(labels, SUCCESS));
+          metrics.makeRightFailure.write(sb, name, outcomeLabels(labels, FAILURE));
+        });
+
+    writeHeader(
+        sb,
+        "spec_change_to_ready_seconds",
+        "histogram",
+        "Time from a change to a domain spec until all of its servers are ready");
+    forEachDomain(
+        (labels, metrics) ->
+            metrics.specChangeToReady.write(sb, "spec_change_to_ready_seconds", labels));
+
+    writeHeader(
+        sb, "status_update_age_seconds", "gauge", "Time since the domain status was last updated");
+    long now = clock.getAsLong();
+    forEachDomain(
+        (labels, metrics) -> {
+          if (metrics.lastStatusUpdateTime != 0) {
+            writeSample(
+                sb,
+                "status_update_age_seconds",
+                labels,
+                toSeconds(now - metrics.lastStatusUpdateTime));
+          }
+        });
+
+    writeHeader(
+        sb,
+        "introspection_phase_seconds",
+        "gauge",
+        "Duration of each phase of the latest introspection of the domain");
+    forEachDomain(
+        (labels, metrics) -> {
+          IntrospectionTiming timing = metrics.lastIntrospection;
+          if (timing != null) {
+            writeIntrospectionPhase(sb, labels, "create", timing.getCreateMillis());
+            writeIntrospectionPhase(sb, labels, "schedule", timing.getScheduleMillis());
+            writeIntrospectionPhase(sb, labels, "run", timing.getRunMillis());
+            writeIntrospectionPhase(sb, labels, "log_read", timing.getLogReadMillis());
+            writeIntrospectionPhase(sb, labels, "delete", timing.getDeleteMillis());
+            writeIntrospectionPhase(sb, labels, "total", timing.getTotalMillis());
+          }
+        });
+  }
+
+  private void writeClusterRolloutMetrics(StringBuilder sb) {
+    writeHeader(
+        sb,
+        "cluster_rollout_seconds",
+        "gauge",
+        "Duration of the latest rolling restart of the cluster");
+    forEachClusterRollout(
+        sb, "cluster_rollout_seconds", rollout -> toSeconds(rollout.getDurationMillis()));
+
+    writeHeader(
+        sb,
+        "cluster_rollout_servers",
+        "gauge",
+        "Servers restarted by the latest rolling restart of the cluster");
+    forEachClusterRollout(sb, "cluster_rollout_servers", ClusterRollout::getServerCount);
+
+    writeHeader(
+        sb,
+        "cluster_rollout_max_concurrent_restarts",
+        "gauge",
+        "Most servers restarting at once during the latest rolling restart of the cluster");
+    forEachClusterRollout(
+        sb, "cluster_rollout_max_concurrent_restarts", ClusterRollout::getMaxConcurrentRestarts);
+  }
+
+  private void forEachClusterRollout(
+      StringBuilder sb, String name, Function<ClusterRollout, Object> value) {
+    forEachDomain(
+        (labels, metrics) ->
+            metrics.lastRollouts.forEach(
+                (clusterName, rollout) ->
+                    writeSample(
+                        sb,
+                        name,
+                        labels + ",cluster=\"" + clusterName + "\"",
+                        value.apply(rollout))));
+  }
+
+  private static void writeIntrospectionPhase(
+      StringBuilder sb, String labels, String phase, long millis) {
+    writeSample(
+        sb, "introspection_phase_seconds", labels + ",phase=\"" + phase + "\"", toSeconds(millis));
+  }
+
+  private static String outcomeLabels(String labels, String outcome) {
+    return labels + ",outcome=\"" + outcome + "\"";
+  }
+
+  private void forEachDomain(DomainMetricsConsumer consumer) {
+    domains.forEach(
+        (ns, namespaceMetrics) ->
+            namespaceMetrics.forEach(
+                (domainUID, metrics) ->
+                    consumer.accept(
+                        "namespace=\"" + ns + "\",domainUID=\"" + domainUID + "\"", metrics)));
+  }
+
+  private interface DomainMetricsConsumer {
+    void accept(String labels, DomainMetrics metrics);
+  }
+
+  private void writeCallMetrics(StringBuilder sb) {
+    writeHeader(
+        sb, "api_request_duration_seconds", "histogram", "Duration of Kubernetes API requests");
+    calls.forEach(
+        (call, metrics) ->
+            metrics.latency.write(sb, "api_request_duration_seconds", callLabel(call)));
+
+    writeHeader(sb, "api_responses_total", "counter", "Kubernetes API responses by status code");
+    calls.forEach(
+        (call, metrics) -> {
+          for (int code = 0; code < MAX_STATUS_CODE; code++) {
+            long count = metrics.statusCodes.get(code);
+            if (count > 0) {
+              String labels = callLabel(call) + ",code=\"" + code + "\"";
+              writeSample(sb, "api_responses_total", labels, count);
+            }
+          }
+        });
+
+    writeHeader(sb, "api_retries_total", "counter", "Retries of Kubernetes API requests");
+    calls.forEach(
+        (call, metrics) ->
+            writeSample(sb, "api_retries_total", callLabel(call), metrics.retries.sum()));
+  }
+
+  private static String callLabel(String call) {
+    return "call=\"" + call + "\"";
+  }
+
+  private void writeRateLimiterMetrics(StringBuilder sb, RequestRateLimiter limiter) {
+    writeHeader(
+        sb,
+        "api_requests_queued_total",
+        "counter",
+        "Kubernetes API requests which waited to be sent");
+    writeSample(sb, "api_requests_queued_total", "", limiter.getQueuedCount());
+
+    writeHeader(
+        sb,
+        "api_request_queue_wait_seconds_total",
+        "counter",
+        "Time Kubernetes API requests spent waiting to be sent");
+    writeSample(
+        sb, "api_request_queue_wait_seconds_total", "", toSeconds(limiter.getQueueWaitMillis()));
+
+    writeHeader(
+        sb,
+        "api_requests_throttled_total",
+        "counter",
+        "Kubernetes API requests throttled (HTTP 429)");
+    writeSample(sb, "api_requests_throttled_total", "", limiter.getThrottledCount());
+
+    writeHeader(sb, "api_requests_waiting", "gauge", "Kubernetes API requests waiting to be sent");
+    writeSample(sb, "api_requests_waiting", "", limiter.getWaitingCount());
+
+    writeHeader(
+        sb, "api_requests_in_flight", "gauge", "Kubernetes API requests awaiting responses");
+    writeSample(sb, "api_requests_in_flight", "", limiter.getInFlightCount());
+
+    writeHeader(
+        sb,
+        "api_request_concurrency_limit",
+        "gauge",
+        "Current limit on concurrent Kubernetes API requests");
+    writeSample(sb, "api_request_concurrency_limit", "", limiter.getConcurrencyLimit());
+  }
+
+  private void writeWatchMetrics(StringBuilder sb) {
+    writeHeader(sb, "watch_events_total", "counter", "Watch events received");
+    watches.forEach(
+        (kind, metrics) ->
+            writeSample(sb, "watch_events_total", kindLabel(kind), metrics.events.sum()));
+
+    writeHeader(sb, "watch_reconnects_total", "counter", "Watches reopened after they ended");
+    watches.forEach(
+        (kind, metrics) ->
+            writeSample(sb, "watch_reconnects_total", kindLabel(kind), metrics.reconnects.sum()));
+
+    writeHeader(
+        sb, "watch_gone_total", "counter", "Watches ended because their resource version was gone");
+    watches.forEach(
+        (kind, metrics) ->
+            writeSample(sb, "watch_gone_total", kindLabel(kind), metrics.gone.sum()));
+  }
+
+  private void writeFiberGateMetrics(StringBuilder sb) {
+    writeFiberGateCounter(
+        sb,
+        "fiber_gate_started_total",
+        "Fibers started by fiber gates",
+        FiberGate::getStartedCount);
+    writeFiberGateCounter(
+        sb,
+        "fiber_gate_replaced_total",
+        "Fibers started by fiber gates which cancelled a fiber for the same domain",
+        FiberGate::getReplacedCount);
+    writeFiberGateCounter(
+        sb,
+        "fiber_gate_rejected_total",
+        "Fibers not started because a later fiber for the same domain had started",
+        FiberGate::getRejectedCount);
+    writeFiberGateCounter(
+        sb,
+        "fiber_gate_retries_total",
+        "Retries of fiber starts which contended for the same domain",
+        FiberGate::getRetryCount);
+    writeFiberGateCounter(
+        sb,
+        "fiber_gate_waits_total",
+        "Fibers which waited for a cancelled fiber for the same domain to exit",
+        FiberGate::getWaitCount);
+  }
+
+  private void writeDomainEventMetrics(StringBuilder sb) {
+    writeHeader(sb, "domain_events_total", "counter", "Domain watch events received");
+    writeSample(sb, "domain_events_total", "", DomainProcessorImpl.getDomainEventCount());
+
+    writeHeader(
+        sb,
+        "domain_events_coalesced_total",
+        "counter",
+        "Domain watch events superseded by a later event for the same domain");
+    writeSample(
+        sb,
+        "domain_events_coalesced_total",
+        "",
+        DomainProcessorImpl.getCoalescedDomainEventCount());
+
+    writeHeader(
+        sb,
+        "make_right_cancelled_total",
+        "counter",
+        "Make-right plans cancelled by a later plan for the same domain");
+    writeSample(sb, "make_right_cancelled_total", "", DomainProcessorImpl.getCancelledPlanCount());
+  }
+
+  private void writeFiberGateCounter(
+      StringBuilder sb, String name, String help, ToLongFunction<FiberGate> counter) {
+    writeHeader(sb, name, "counter", help);
+    writeFiberGateSamples(
+        sb, name, "make_right", DomainProcessorImpl.getMakeRightFiberGates(), counter);
+    writeFiberGateSamples(sb, name, "status", DomainProcessorImpl.getStatusFiberGates(), counter);
+  }
+
+  private static void writeFiberGateSamples(
+      StringBuilder sb,
+      String name,
+      String gateName,
+      Map<String, FiberGate> gates,
+      ToLongFunction<FiberGate> counter) {
+    gates.forEach(
+        (ns, gate) ->
+            writeSample(
+                sb,
+                name,
+                "namespace=\"" + ns + "\",gate=\"" + gateName + "\"",
+                counter.applyAsLong(gate)));
+  }
+
+  private static String kindLabel(String kind) {
+    return "kind=\"" + kind + "\"";
+  }
+
+  private static void writeHeader(StringBuilder sb, String name, String type, String help) {
+    sb.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+    sb.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void writeSample(StringBuilder sb, String name, String labels, Object value) {
+    sb.append(PREFIX).append(name);
+    if (!labels.isEmpty()) {
+      sb.append('{').append(labels).append('}');
+    }
+    sb.append(' ').append(value).append('\n');
+  }
+
+  private static double toSeconds(long millis) {
+    return millis / 1000.0;
+  }
+
+  private static class CallMetrics {
+    private final Histogram latency = new Histogram(REQUEST_BUCKETS);
+    private final AtomicLongArray statusCodes = new AtomicLongArray(MAX_STATUS_CODE);
+    private final LongAdder retries = new LongAdder();
+  }
+
+  static class WatchMetrics {
+    private final LongAdder events = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final LongAdder gone = new LongAdder();
+
+    void recordEvent() {
+      events.increment();
+    }
+
+    void recordReconnect() {
+      reconnects.increment();
+    }
+
+    void recordGone() {
+      gone.increment();
+    }
+  }
+
+  private static class DomainMetrics {
+    private final Histogram makeRight = new Histogram(PLAN_BUCKETS);
+    private final Histogram makeRightFailure = new Histogram(PLAN_BUCKETS);
+    private final Histogram specChangeToReady = new Histogram(PLAN_BUCKETS);
+    private volatile long lastStatusUpdateTime;
+    private volatile IntrospectionTiming lastIntrospection;
+    private final Map<String, ClusterRollout> lastRollouts = new ConcurrentHashMap<>();
+  }
+
+  /** Counts observations in buckets with fixed upper bounds, in milliseconds. */
+  static class Histogram {
+    private final long[] bounds;
+    private final AtomicLongArray counts;
+    private final LongAdder sum = new LongAdder();
+
+    Histogram(long[] bounds) {
+      this.bounds = bounds;
+      this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    void observe(long millis) {
+      int i = 0;
+      while (i < bounds.length && millis > bounds[i]) {
+        i++;
+      }
+      counts.incrementAndGet(i);
+      sum.add(millis);
+    }
+
+    void write(StringBuilder sb, String name, String labels) {
+      long cumulative = 0;
+      for (int i = 0; i < bounds.length; i++) {
+        cumulative += counts.get(i);
+        writeSample(
+            sb, name + "_bucket", labels + ",le=\"" + toSeconds(bounds[i]) + "\"", cumulative);
+      }
+      cumulative += counts.get(bounds.length);
+      writeSample(sb, name + "_bucket", labels + ",le=\"+Inf\"", cumulative);
+      writeSample(sb, name + "_sum", labels, toSeconds(sum.sum()));
+      writeSample(sb, name + "_count", labels, cumulative);
+    }
+  }
+}
@@ -12,23 +12,19 @@ import io.kubernetes.client.models.V1PodStatus;
 import io.kubernetes.client.util.Watch;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import oracle.kubernetes.operator.TuningParameters.WatchTuning;
 import oracle.kubernetes.operator.builders.WatchBuilder;
 import oracle.kubernetes.operator.builders.WatchI;
-import oracle.kubernetes.operator.helpers.CallBuilder;
 import oracle.kubernetes.operator.helpers.CallBuilderFactory;
+import oracle.kubernetes.operator.helpers.CompactResources;
 import oracle.kubernetes.operator.helpers.ResponseStep;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
 import oracle.kubernetes.operator.watcher.WatchListener;
 import oracle.kubernetes.operator.work.ContainerResolver;
-import oracle.kubernetes.operator.work.NextAction;
-import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
 
 /** Watches for Pods to become Ready or leave Ready state */
@@ -39,9 +35,7 @@ public class PodWatcher extends Watcher<V1Pod>
   private final String ns;
   private final WatchListener<V1Pod> listener;
 
-  // Map of Pod name to OnReady
-  private final ConcurrentMap<String, OnReady> readyCallbackRegistrations =
-      new ConcurrentHashMap<>();
+  private final ReadinessWaiter<V1Pod> readinessWaiter;
 
   /**
    * Factory for PodWatcher
@@ -76,6 +70,16 @@ public class PodWatcher extends Watcher<V1Pod>
     setListener(this);
     this.ns = ns;
     this.listener = listener;
+    this.readinessWaiter =
+        new ReadinessWaiter<>(
+            V1Pod::getMetadata,
+            PodWatcher::isReady,
+            PodWatcher::isStopped,
+            PodWatcher::readPod,
+            (packet, pod) -> {},
+            MessageKeys.WAITING_FOR_POD_READY,
+            tuning.watchLifetime,
+            tuning.readinessWaitTimeoutSeconds);
   }
 
   @Override
@@ -85,23 +89,22 @@ public class PodWatcher extends Watcher<V1Pod>
         .createPodWatch(ns);
   }
 
+  @Override
+  protected void onGone() {
+    readinessWaiter.onWatchGone();
+  }
+
   public void receivedResponse(Watch.Response<V1Pod> item) {
     LOGGER.entering();
 
     switch (item.type) {
       case "ADDED":
       case "MODIFIED":
-        V1Pod pod = item.object;
-        Boolean isReady = isReady(pod);
-        String podName = pod.getMetadata().getName();
-        if (isReady) {
-          OnReady ready = readyCallbackRegistrations.remove(podName);
-          if (ready != null) {
-            ready.onReady();
-          }
-        }
+        readinessWaiter.onUpdate(CompactResources.compact(item.object));
         break;
       case "DELETED":
+        readinessWaiter.onDelete(item.object);
+        break;
       case "ERROR":
       default:
     }
@@ -143,6 +146,13 @@ public class PodWatcher extends Watcher<V1Pod>
     return false;
   }
 
+  // a pod whose containers have all exited and will not be restarted
+  static boolean isStopped(V1Pod pod) {
+    V1PodStatus status = pod.getStatus();
+    String phase = status != null ? status.getPhase() : null;
+    return "Succeeded".equals(phase) || "Failed".equals(phase);
+  }
+
   static boolean isFailed(V1Pod pod) {
     V1PodStatus status = pod.getStatus();
     if (status != null) {
@@ -180,85 +190,16 @@ public class PodWatcher extends Watcher<V1Pod>
    * @return Asynchronous step
    */
   public Step waitForReady(V1Pod pod, Step next) {
-    return new WaitForPodReadyStep(pod, next);
+    return readinessWaiter.waitForReady(pod, next);
   }
 
-  private class WaitForPodReadyStep extends Step {
-    private final V1Pod pod;
-
-    private WaitForPodReadyStep(V1Pod pod, Step next) {
-      super(next);
-      this.pod = pod;
-    }
-
-    @Override
-    public NextAction apply(Packet packet) {
-      if (isReady(pod)) {
-        return doNext(packet);
-      }
-
-      V1ObjectMeta metadata = pod.getMetadata();
-
-      LOGGER.info(MessageKeys.WAITING_FOR_POD_READY, metadata.getName());
-
-      AtomicBoolean didResume = new AtomicBoolean(false);
-      return doSuspend(
-          (fiber) -> {
-            OnReady ready =
-                () -> {
-                  if (didResume.compareAndSet(false, true)) {
-                    fiber.resume(packet);
-                  }
-                };
-            readyCallbackRegistrations.put(metadata.getName(), ready);
-
-            // Timing window -- pod may have come ready before registration for callback
-            CallBuilderFactory factory =
-                ContainerResolver.getInstance().getContainer().getSPI(CallBuilderFactory.class);
-            fiber
-                .createChildFiber()
-                .start(
-                    factory
-                        .create()
-                        .readPodAsync(
-                            metadata.getName(),
-                            metadata.getNamespace(),
-                            new ResponseStep<V1Pod>(null) {
-                              @Override
-                              public NextAction onFailure(
-                                  Packet packet,
-                                  ApiException e,
-                                  int statusCode,
-                                  Map<String, List<String>> responseHeaders) {
-                                if (statusCode == CallBuilder.NOT_FOUND) {
-                                  return onSuccess(packet, null, statusCode, responseHeaders);
-                                }
-                                return super.onFailure(packet, e, statusCode, responseHeaders);
-                              }
-
-                              @Override
-                              public NextAction onSuccess(
-                                  Packet packet,
-                                  V1Pod result,
-                                  int statusCode,
-                                  Map<String, List<String>> responseHeaders) {
-                                if (result != null && isReady(result)) {
-                                  if (didResume.compareAndSet(false, true)) {
-                                    readyCallbackRegistrations.remove(metadata.getName(), ready);
-                                    fiber.resume(packet);
-                                  }
-                                }
-                                return doNext(packet);
-                              }
-                            }),
-                    packet.clone(),
-                    null);
-          });
-    }
+  int getReadyWaitCount() {
+    return readinessWaiter.getWaitCount();
   }
 
-  @FunctionalInterface
-  private interface OnReady {
-    void onReady();
+  private static Step readPod(String name, String namespace, ResponseStep<V1Pod> responseStep) {
+    CallBuilderFactory factory =
+        ContainerResolver.getInstance().getContainer().getSPI(CallBuilderFactory.class);
+    return factory.create().readPodAsync(name, namespace, responseStep);
   }
 }
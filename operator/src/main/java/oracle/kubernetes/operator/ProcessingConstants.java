@@ -34,5 +34,6 @@ public interface ProcessingConstants {
   public static final String JOB_POD_NAME = "jobPodName";
   public static final String DOMAIN_INTROSPECTOR_JOB = "domainIntrospectorJob";
   public static final String DOMAIN_INTROSPECTOR_LOG_RESULT = "domainIntrospectorLogResult";
+  public static final String INTROSPECTION_TIMING = "introspectionTiming";
   public static final String SIT_CONFIG_MAP = "sitConfigMap";
 }
@@ -0,0 +1,445 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import oracle.kubernetes.operator.calls.CallResponse;
+import oracle.kubernetes.operator.helpers.CallBuilder;
+import oracle.kubernetes.operator.helpers.ResponseStep;
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.work.Fiber;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+import org.joda.time.DateTime;
+
+/**
+ * Suspends fibers until resources in a namespace are ready, as seen by the watcher of those
+ * resources. The waiter keeps the last state of each resource reported by the watch, so a wait for
+ * a resource already seen to be ready completes without suspending, and a wait registered just
+ * after the resource became ready finds that state rather than missing the event. A wait fails with
+ * a {@link DeletedException} if the watched resource is deleted, and with a {@link
+ * StoppedException} if it has stopped and so will never be ready, so that the plan which was
+ * waiting fails and is retried.
+ *
+ * <p>A wait that outlasts the recheck interval reads the resource once, in case the watch missed
+ * its change while reconnecting, and then continues to wait if it is not yet ready. When the watch
+ * must restart because the version it had reached is gone, the states kept are discarded and every
+ * wait reads its resource at once, since changes may have been missed. A wait which is still not
+ * satisfied after the timeout fails with a {@link TimedOutException}, however often it has been
+ * rechecked.
+ *
+ * @param <T> the type of the watched resources
+ */
+class ReadinessWaiter<T> {
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  /** Reads a resource from the Kubernetes API. */
+  @FunctionalInterface
+  interface Reader<T> {
+    Step read(String name, String namespace, ResponseStep<T> responseStep);
+  }
+
+  private enum Outcome {
+    READY,
+    DELETED,
+    STOPPED,
+    RECHECK,
+    TIMED_OUT
+  }
+
+  private final Function<T, V1ObjectMeta> metadata;
+  private final Predicate<T> isReady;
+  private final Predicate<T> isStopped;
+  private final Reader<T> reader;
+  private final BiConsumer<Packet, T> onReady;
+  private final String waitingMessage;
+  private final int recheckSeconds;
+  private final int timeoutSeconds;
+  private final ConcurrentMap<String, T> lastSeen = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a waiter.
+   *
+   * @param metadata returns the metadata of a resource
+   * @param isReady returns true if a resource is ready
+   * @param isStopped returns true if a resource that is not ready never will be
+   * @param reader reads a resource, when a wait must be rechecked
+   * @param onReady invoked with the ready resource before the waiting fiber continues
+   * @param waitingMessage the key of the message logged when a wait begins
+   * @param recheckSeconds the time after which a wait reads the resource
+   * @param timeoutSeconds the time after which a wait fails; if not positive, waits do not fail
+   */
+  ReadinessWaiter(
+      Function<T, V1ObjectMeta> metadata,
+      Predicate<T> isReady,
+      Predicate<T> isStopped,
+      Reader<T> reader,
+      BiConsumer<Packet, T> onReady,
+      String waitingMessage,
+      int recheckSeconds,
+      int timeoutSeconds) {
+    this.metadata = metadata;
+    this.isReady = isReady;
+    this.isStopped = isStopped;
+    this.reader = reader;
+    this.onReady = onReady;
+    this.waitingMessage = waitingMessage;
+    this.recheckSeconds = recheckSeconds;
+    this.timeoutSeconds = timeoutSeconds;
+  }
+
+  /**
+   * Records the state of a resource reported by the watch, and resumes the fibers waiting for it if
+   * it is ready.
+   *
+   * @param resource the added or modified resource
+   */
+  void onUpdate(T resource) {
+    String name = getName(resource);
+    lastSeen.put(name, resource);
+    if (isReady.test(resource)) {
+      resumeWaiters(name, resource, Outcome.READY);
+    } else if (isStopped.test(resource)) {
+      resumeWaiters(name, resource, Outcome.STOPPED);
+    }
+  }
+
+  /**
+   * Forgets a resource reported deleted by the watch, and ends the waits for it.
+   *
+   * @param resource the deleted resource
+   */
+  void onDelete(T resource) {
+    String name = getName(resource);
+    lastSeen.remove(name);
+    resumeWaiters(name, resource, Outcome.DELETED);
+  }
+
+  /**
+   * Discards the states kept for resources, because the watch has restarted after missing events,
+   * and has each wait read its resource.
+   */
+  void onWatchGone() {
+    lastSeen.clear();
+    for (Set<Waiter> set : waiters.values()) {
+      for (Waiter waiter : set) {
+        waiter.resume(Outcome.RECHECK, null);
+      }
+    }
+  }
+
+  private void resumeWaiters(String name, T resource, Outcome outcome) {
+    for (Waiter waiter : waiters.getOrDefault(name, Collections.emptySet())) {
+      if (isSame(waiter.resource, resource)) {
+        waiter.resume(outcome, resource);
+      }
+    }
+  }
+
+  /**
+   * Creates a step which waits until the specified resource is ready.
+   *
+   * @param resource the resource, as last read or created
+   * @param next the step to perform once the resource is ready
+   * @return the step
+   */
+  Step waitForReady(T resource, Step next) {
+    return new WaitForReadyStep(resource, next);
+  }
+
+  int getWaitCount() {
+    int count = 0;
+    for (Set<Waiter> set : waiters.values()) {
+      count += set.size();
+    }
+    return count;
+  }
+
+  private String getName(T resource) {
+    return metadata.apply(resource).getName();
+  }
+
+  // Resources with the same name are the same resource only if both creation times are known
+  // and equal, so that a resource which was deleted and created again is never mistaken for it.
+  private boolean isSame(T awaited, T seen) {
+    DateTime awaitedCreation = metadata.apply(awaited).getCreationTimestamp();
+    DateTime seenCreation = metadata.apply(seen).getCreationTimestamp();
+    return awaitedCreation != null
+        && seenCreation != null
+        && awaitedCreation.getMillis() == seenCreation.getMillis();
+  }
+
+  private T getReadyResource(T resource) {
+    if (isReady.test(resource)) {
+      return resource;
+    }
+    T seen = lastSeen.get(getName(resource));
+    return seen != null && isSame(resource, seen) && isReady.test(seen) ? seen : null;
+  }
+
+  private boolean isStoppedResource(T resource) {
+    if (isStopped.test(resource)) {
+      return true;
+    }
+    T seen = lastSeen.get(getName(resource));
+    return seen != null && isSame(resource, seen) && isStopped.test(seen);
+  }
+
+  private class WaitForReadyStep extends Step {
+    private final T resource;
+    private final Deadline deadline;
+
+    WaitForReadyStep(T resource, Step next) {
+      this(resource, next, null);
+    }
+
+    // continues a wait which has been rechecked, with its original deadline
+    WaitForReadyStep(T resource, Step next, Deadline deadline) {
+      super(next);
+      this.resource = resource;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      T ready = getReadyResource(resource);
+      if (ready != null) {
+        Optional.ofNullable(deadline).ifPresent(Deadline::cancel);
+        onReady.accept(packet, ready);
+        return doNext(packet);
+      } else if (isStoppedResource(resource)) {
+        Optional.ofNullable(deadline).ifPresent(Deadline::cancel);
+        return doTerminate(createStoppedException(resource), packet);
+      } else if (deadline != null && deadline.expired) {
+        return doTerminate(createTimedOutException(resource), packet);
+      }
+
+      if (deadline == null) {
+        LOGGER.info(waitingMessage, getName(resource));
+      }
+
+      Waiter waiter = new Waiter(resource, deadline != null ? deadline : new Deadline());
+      return doSuspend(new ResumeStep(waiter, getNext()), (fiber) -> waiter.start(fiber, packet));
+    }
+  }
+
+  // the time limit of a wait, which spans the rechecks of the resource
+  private class Deadline {
+    private volatile boolean expired;
+    private volatile Waiter waiter;
+    private ScheduledFuture<?> timer;
+
+    synchronized void start(ScheduledExecutorService executor) {
+      if (timer == null && timeoutSeconds > 0) {
+        timer = executor.schedule(this::expire, timeoutSeconds, TimeUnit.SECONDS);
+      }
+    }
+
+    private void expire() {
+      expired = true;
+      Optional.ofNullable(waiter).ifPresent(w -> w.resume(Outcome.TIMED_OUT, null));
+    }
+
+    synchronized void cancel() {
+      if (timer != null) {
+        timer.cancel(false);
+      }
+    }
+  }
+
+  private class Waiter {
+    private final T resource;
+    private final Deadline deadline;
+    private final AtomicBoolean didResume = new AtomicBoolean(false);
+    private Fiber fiber;
+    private Packet packet;
+    private volatile ScheduledFuture<?> recheck;
+    private volatile Outcome outcome;
+    private volatile T result;
+
+    Waiter(T resource, Deadline deadline) {
+      this.resource = resource;
+      this.deadline = deadline;
+    }
+
+    void start(Fiber fiber, Packet packet) {
+      this.fiber = fiber;
+      this.packet = packet;
+      register();
+      deadline.waiter = this;
+      deadline.start(fiber.owner.getExecutor());
+
+      // the resource may have become ready before the wait was registered
+      T ready = getReadyResource(resource);
+      if (ready != null) {
+        resume(Outcome.READY, ready);
+      } else if (isStoppedResource(resource)) {
+        resume(Outcome.STOPPED, null);
+      } else if (deadline.expired) {
+        resume(Outcome.TIMED_OUT, null);
+      } else {
+        recheck =
+            fiber
+                .owner
+                .getExecutor()
+                .schedule(() -> resume(Outcome.RECHECK, null), recheckSeconds, TimeUnit.SECONDS);
+      }
+    }
+
+    void resume(Outcome outcome, T result) {
+      if (didResume.compareAndSet(false, true)) {
+        unregister();
+        if (recheck != null) {
+          recheck.cancel(false);
+        }
+        this.outcome = outcome;
+        this.result = result;
+        fiber.resume(packet);
+      }
+    }
+
+    private void register() {
+      waiters.computeIfAbsent(getName(resource), k -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    private void unregister() {
+      waiters.computeIfPresent(
+          getName(resource),
+          (name, set) -> {
+            set.remove(this);
+            return set.isEmpty() ? null : set;
+          });
+    }
+  }
+
+  private class ResumeStep extends Step {
+    private final Waiter waiter;
+
+    ResumeStep(Waiter waiter, Step next) {
+      super(next);
+      this.waiter = waiter;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      switch (waiter.outcome) {
+        case READY:
+          waiter.deadline.cancel();
+          onReady.accept(packet, waiter.result);
+          return doNext(packet);
+        case RECHECK:
+          V1ObjectMeta meta = metadata.apply(waiter.resource);
+          return doNext(
+              reader.read(
+                  meta.getName(),
+                  meta.getNamespace(),
+                  new RecheckResponseStep(waiter.resource, waiter.deadline, getNext())),
+              packet);
+        case STOPPED:
+          waiter.deadline.cancel();
+          return doTerminate(createStoppedException(waiter.resource), packet);
+        case TIMED_OUT:
+          return doTerminate(createTimedOutException(waiter.resource), packet);
+        case DELETED:
+        default:
+          waiter.deadline.cancel();
+          return doTerminate(createDeletedException(waiter.resource), packet);
+      }
+    }
+  }
+
+  private class RecheckResponseStep extends ResponseStep<T> {
+    private final T resource;
+    private final Deadline deadline;
+    private final Step readyStep;
+
+    RecheckResponseStep(T resource, Deadline deadline, Step readyStep) {
+      super(null);
+      this.resource = resource;
+      this.deadline = deadline;
+      this.readyStep = readyStep;
+    }
+
+    @Override
+    public NextAction onFailure(Packet packet, CallResponse<T> callResponse) {
+      return callResponse.getStatusCode() == CallBuilder.NOT_FOUND
+          ? onSuccess(packet, callResponse)
+          : super.onFailure(packet, callResponse);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, CallResponse<T> callResponse) {
+      T current = callResponse.getResult();
+      if (current == null || !isSame(resource, current)) {
+        deadline.cancel();
+        return doTerminate(createDeletedException(resource), packet);
+      } else if (isReady.test(current)) {
+        deadline.cancel();
+        onReady.accept(packet, current);
+        return doNext(readyStep, packet);
+      } else if (isStopped.test(current)) {
+        deadline.cancel();
+        return doTerminate(createStoppedException(resource), packet);
+      } else {
+        return doNext(new WaitForReadyStep(resource, readyStep, deadline), packet);
+      }
+    }
+  }
+
+  private DeletedException createDeletedException(T resource) {
+    String name = getName(resource);
+    LOGGER.info(MessageKeys.READY_WAIT_ENDED_BY_DELETION, name);
+    return new DeletedException(name);
+  }
+
+  private StoppedException createStoppedException(T resource) {
+    String name = getName(resource);
+    LOGGER.info(MessageKeys.READY_WAIT_ENDED_BY_STOP, name);
+    return new StoppedException(name);
+  }
+
+  private TimedOutException createTimedOutException(T resource) {
+    String name = getName(resource);
+    LOGGER.info(MessageKeys.READY_WAIT_TIMED_OUT, name, timeoutSeconds);
+    return new TimedOutException(name, timeoutSeconds);
+  }
+
+  /** Reports that a resource did not become ready within the time allowed for it. */
+  static class TimedOutException extends RuntimeException {
+    TimedOutException(String name, int timeoutSeconds) {
+      super(name + " was not ready after " + timeoutSeconds + " seconds");
+    }
+  }
+
+  /** Reports that a resource stopped without being ready while a fiber waited for it. */
+  static class StoppedException extends RuntimeException {
+    StoppedException(String name) {
+      super(name + " stopped before it was ready");
+    }
+  }
+
+  /** Reports that a resource was deleted while a fiber waited for it to be ready. */
+  static class DeletedException extends RuntimeException {
+    DeletedException(String name) {
+      super(name + " was deleted while waiting for it to be ready");
+    }
+  }
+}
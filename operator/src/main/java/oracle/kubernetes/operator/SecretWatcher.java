@@ -0,0 +1,74 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1Secret;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import oracle.kubernetes.operator.TuningParameters.WatchTuning;
+import oracle.kubernetes.operator.builders.WatchBuilder;
+import oracle.kubernetes.operator.builders.WatchI;
+import oracle.kubernetes.operator.watcher.WatchListener;
+
+/**
+ * This class handles Secret watching. It receives change events for the secrets in a namespace and
+ * sends them into the operator for processing. The secrets of interest, such as WebLogic
+ * credentials, are created by users and carry no operator labels, so the watch selects the whole
+ * namespace.
+ */
+public class SecretWatcher extends Watcher<V1Secret> {
+  private final String ns;
+  private final Consumer<String> onGone;
+
+  /**
+   * Factory for SecretWatcher
+   *
+   * @param factory thread factory
+   * @param ns Namespace
+   * @param initialResourceVersion Initial resource version or empty string
+   * @param tuning Watch tuning parameters
+   * @param listener Callback for watch events
+   * @param onGone Callback, with the namespace, when events may have been missed
+   * @param isStopping Stop signal
+   * @return Secret watcher for the namespace
+   */
+  public static SecretWatcher create(
+      ThreadFactory factory,
+      String ns,
+      String initialResourceVersion,
+      WatchTuning tuning,
+      WatchListener<V1Secret> listener,
+      Consumer<String> onGone,
+      AtomicBoolean isStopping) {
+    SecretWatcher watcher =
+        new SecretWatcher(ns, initialResourceVersion, tuning, listener, onGone, isStopping);
+    watcher.start(factory);
+    return watcher;
+  }
+
+  private SecretWatcher(
+      String ns,
+      String initialResourceVersion,
+      WatchTuning tuning,
+      WatchListener<V1Secret> listener,
+      Consumer<String> onGone,
+      AtomicBoolean isStopping) {
+    super(initialResourceVersion, tuning, isStopping, listener);
+    this.ns = ns;
+    this.onGone = onGone;
+  }
+
+  @Override
+  public WatchI<V1Secret> initiateWatch(WatchBuilder watchBuilder) throws ApiException {
+    return watchBuilder.createSecretWatch(ns);
+  }
+
+  @Override
+  protected void onGone() {
+    onGone.accept(ns);
+  }
+}
@@ -17,6 +17,7 @@ import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -26,7 +27,10 @@ import oracle.kubernetes.operator.helpers.ServerKubernetesObjects;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.rest.Scan;
+import oracle.kubernetes.operator.rest.ScanCache;
 import oracle.kubernetes.operator.steps.ReadHealthStep;
+import oracle.kubernetes.operator.wlsconfig.WlsDomainConfig;
 import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
@@ -36,6 +40,9 @@ import oracle.kubernetes.weblogic.domain.v2.ServerHealth;
 public class ServerStatusReader {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
+  private static final boolean DEFAULT_HEALTH_AGGREGATED = true;
+  private static final int DEFAULT_HEALTH_REFRESH_SECONDS = 30;
+
   private ServerStatusReader() {}
 
   public static Step createDomainStatusReaderStep(
@@ -71,11 +78,108 @@ public class ServerStatusReader {
             Packet p = packet.clone();
             startDetails.add(
                 new StepAndPacket(
-                    createServerStatusReaderStep(sko, pod, serverName, timeoutSeconds, null), p));
+                    new ServerStatusReaderStep(sko, pod, serverName, timeoutSeconds, null), p));
           }
         }
       }
 
+      if (startDetails.isEmpty()) {
+        return doNext(packet);
+      }
+      return doForkJoin(new DomainHealthStep(info, getNext()), packet, startDetails);
+    }
+  }
+
+  static boolean isServerHealthAggregated() {
+    return Optional.ofNullable(TuningParameters.getInstance())
+        .map(parameters -> parameters.getMainTuning().serverHealthAggregated)
+        .orElse(DEFAULT_HEALTH_AGGREGATED);
+  }
+
+  static int getServerHealthRefreshSeconds() {
+    return Optional.ofNullable(TuningParameters.getInstance())
+        .map(parameters -> parameters.getMainTuning().serverHealthRefreshSeconds)
+        .orElse(DEFAULT_HEALTH_REFRESH_SECONDS);
+  }
+
+  /**
+   * Reads the health of the servers whose state supports it. Health is read again only once the
+   * health refresh interval has passed since it was last read; until then, the last known health of
+   * each server is reported, and only servers with no known health are read. When health is
+   * aggregated, it is read for all servers at once from the admin server, and then individually for
+   * any server that the admin server did not report.
+   */
+  private static class DomainHealthStep extends Step {
+    private final DomainPresenceInfo info;
+
+    DomainHealthStep(DomainPresenceInfo info, Step next) {
+      super(next);
+      this.info = info;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      long now = System.currentTimeMillis();
+      if (!isRefreshDue(now)) {
+        addLastKnownHealth(packet);
+        return doNext(new ServersHealthStep(new RecordHealthStep(0, getNext())), packet);
+      }
+
+      Step readHealth = new ServersHealthStep(new RecordHealthStep(now, getNext()));
+      String adminServerName = getAdminServerName(packet);
+      if (isServerHealthAggregated() && adminServerName != null) {
+        readHealth = ReadHealthStep.createReadAggregatedHealthStep(adminServerName, readHealth);
+      }
+      return doNext(readHealth, packet);
+    }
+
+    private boolean isRefreshDue(long now) {
+      long lastRead = info.getLastHealthReadTime();
+      return lastRead == 0
+          || now - lastRead >= TimeUnit.SECONDS.toMillis(getServerHealthRefreshSeconds());
+    }
+
+    private String getAdminServerName(Packet packet) {
+      WlsDomainConfig config = (WlsDomainConfig) packet.get(ProcessingConstants.DOMAIN_TOPOLOGY);
+      if (config == null) {
+        Scan scan = ScanCache.INSTANCE.lookupScan(info.getNamespace(), info.getDomainUID());
+        config = scan == null ? null : scan.getWlsDomainConfig();
+      }
+      return config == null ? null : config.getAdminServerName();
+    }
+
+    private void addLastKnownHealth(Packet packet) {
+      ConcurrentMap<String, ServerHealth> serverHealthMap = getServerHealthMap(packet);
+      for (Map.Entry<String, String> entry : getServerStateMap(packet).entrySet()) {
+        ServerKubernetesObjects sko = info.getServers().get(entry.getKey());
+        ServerHealth health = sko == null ? null : sko.getLastKnownHealth().get();
+        if (health != null && supportsRest(entry.getValue())) {
+          serverHealthMap.put(entry.getKey(), health);
+        }
+      }
+    }
+  }
+
+  /** Reads, one server at a time, the health of each server whose health is not yet known. */
+  private static class ServersHealthStep extends Step {
+    ServersHealthStep(Step next) {
+      super(next);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      ConcurrentMap<String, ServerHealth> serverHealthMap = getServerHealthMap(packet);
+
+      Collection<StepAndPacket> startDetails = new ArrayList<>();
+      for (Map.Entry<String, String> entry : getServerStateMap(packet).entrySet()) {
+        String serverName = entry.getKey();
+        if (supportsRest(entry.getValue()) && !serverHealthMap.containsKey(serverName)) {
+          Packet p = packet.clone();
+          p.put(ProcessingConstants.SERVER_NAME, serverName);
+          startDetails.add(new StepAndPacket(ReadHealthStep.createReadHealthStep(null), p));
+        }
+      }
+
       if (startDetails.isEmpty()) {
         return doNext(packet);
       }
@@ -83,6 +187,49 @@ public class ServerStatusReader {
     }
   }
 
+  /**
+   * Records the health of each server as its last known health, and reports the health that was
+   * read to the domain's status model.
+   */
+  private static class RecordHealthStep extends Step {
+    private final long readTime;
+
+    RecordHealthStep(long readTime, Step next) {
+      super(next);
+      this.readTime = readTime;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
+      ConcurrentMap<String, ServerHealth> serverHealthMap = getServerHealthMap(packet);
+      for (Map.Entry<String, ServerKubernetesObjects> entry : info.getServers().entrySet()) {
+        entry.getValue().getLastKnownHealth().set(serverHealthMap.get(entry.getKey()));
+      }
+      for (Map.Entry<String, ServerHealth> entry : serverHealthMap.entrySet()) {
+        info.getStatusModel().updateHealth(entry.getKey(), entry.getValue());
+      }
+      if (readTime != 0) {
+        info.setLastHealthReadTime(readTime);
+      }
+      return doNext(packet);
+    }
+  }
+
+  private static boolean supportsRest(String state) {
+    return WebLogicConstants.STATES_SUPPORTING_REST.contains(state);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ConcurrentMap<String, String> getServerStateMap(Packet packet) {
+    return (ConcurrentMap<String, String>) packet.get(ProcessingConstants.SERVER_STATE_MAP);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ConcurrentMap<String, ServerHealth> getServerHealthMap(Packet packet) {
+    return (ConcurrentMap<String, ServerHealth>) packet.get(ProcessingConstants.SERVER_HEALTH_MAP);
+  }
+
   /**
    * Creates asynchronous step to read WebLogic server state from a particular pod
    *
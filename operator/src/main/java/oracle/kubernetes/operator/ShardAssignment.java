@@ -0,0 +1,95 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Assigns target namespaces to the members of a group of operator replicas by consistent hashing.
+ * Each member is placed on a hash ring at several points; a namespace belongs to the member at the
+ * first point at or after the hash of its name. When a member joins or leaves, only the namespaces
+ * between its points and those of its neighbors change owner.
+ */
+class ShardAssignment {
+  private static final int POINTS_PER_MEMBER = 128;
+
+  private final Set<String> members;
+  private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+  /**
+   * Creates an assignment among the specified members.
+   *
+   * @param members the identities of the replicas which share the namespaces
+   */
+  ShardAssignment(Collection<String> members) {
+    this.members = new TreeSet<>(members);
+    for (String member : this.members) {
+      for (int i = 0; i < POINTS_PER_MEMBER; i++) {
+        ring.putIfAbsent(hash(member + "#" + i), member);
+      }
+    }
+  }
+
+  Set<String> getMembers() {
+    return members;
+  }
+
+  /**
+   * Returns the member to which a namespace is assigned.
+   *
+   * @param namespace the name of a namespace
+   * @return the identity of a member, or null if there are no members
+   */
+  String getOwner(String namespace) {
+    if (ring.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, String> entry = ring.ceilingEntry(hash(namespace));
+    return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+  }
+
+  /**
+   * Selects the namespaces assigned to a member.
+   *
+   * @param member the identity of a member
+   * @param namespaces the namespaces to divide among the members
+   * @return the namespaces assigned to the member
+   */
+  Collection<String> getNamespaces(String member, Collection<String> namespaces) {
+    Collection<String> result = new ArrayList<>();
+    for (String namespace : namespaces) {
+      if (member.equals(getOwner(namespace))) {
+        result.add(namespace);
+      }
+    }
+    return result;
+  }
+
+  private static long hash(String key) {
+    byte[] digest = getDigest().digest(key.getBytes(StandardCharsets.UTF_8));
+    long hash = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      hash = (hash << 8) | (digest[i] & 0xff);
+    }
+    return hash;
+  }
+
+  private static MessageDigest getDigest() {
+    try {
+      return MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,520 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import com.google.gson.annotations.SerializedName;
+import io.kubernetes.client.models.V1ConfigMap;
+import io.kubernetes.client.models.V1ConfigMapList;
+import io.kubernetes.client.models.V1DeleteOptions;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Preconditions;
+import io.kubernetes.client.models.V1Status;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import oracle.kubernetes.operator.calls.CallResponse;
+import oracle.kubernetes.operator.helpers.CallBuilder;
+import oracle.kubernetes.operator.helpers.ResponseStep;
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.steps.DefaultResponseStep;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+
+/**
+ * Coordinates the operator replicas which share the target namespaces. Each replica holds a lease:
+ * a config map in the operator namespace which records its identity, the time it was last renewed,
+ * and the namespaces it claims. The members of the group are the replicas whose leases are live,
+ * and the target namespaces are divided among them by a {@link ShardAssignment}. Each replica
+ * renews its own lease periodically, and learns of members which have joined or left as it does so.
+ *
+ * <p>A lease is live while its renewal time keeps changing. Each replica measures this on its own
+ * clock, from when it last saw the renewal time change, so the clocks of the replicas need not
+ * agree. A replica which may not renew its lease before the lease duration has passed since it last
+ * began a successful renewal stops managing all of its namespaces; no other replica can have seen
+ * its lease expire by then.
+ *
+ * <p>A namespace is handed from one replica to another in two steps. The replica which is no longer
+ * assigned the namespace stops managing it, and then no longer claims it in its lease. The replica
+ * which is now assigned the namespace claims it once no other live lease does, and manages it once
+ * that claim has been written and no other live lease claims it too.
+ *
+ * <p>Each replica deletes the leases which it has seen unchanged for several lease durations, as
+ * these belong to replicas which were stopped without releasing them; a replica's identity is new
+ * each time it starts. The deletion is conditional on the version of the lease which was read, so
+ * that a lease renewed just before it would be deleted is kept.
+ */
+public class ShardMembership {
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  static final String LEASE_LABEL = "weblogic.operatorShardLease";
+  static final String LEASE_NAME_PREFIX = "weblogic-operator-lease-";
+  static final String HOLDER_IDENTITY = "holderIdentity";
+  static final String RENEW_TIME = "renewTime";
+  static final String LEASE_DURATION_SECONDS = "leaseDurationSeconds";
+  static final String CLAIMED_NAMESPACES = "namespaces";
+
+  // the number of lease durations after which an expired lease is deleted
+  static final int STALE_LEASE_DURATIONS = 4;
+
+  private static volatile ShardMembership instance;
+
+  private final String namespace;
+  private final String identity;
+  private final int leaseDurationSeconds;
+  private final int renewSeconds;
+  private final Supplier<Collection<String>> targetNamespaces;
+  private final Supplier<Collection<String>> managedNamespaces;
+  private final LongSupplier clock;
+  private final Runnable onChange;
+  private final AtomicReference<Shards> shards = new AtomicReference<>();
+  private final Map<String, Observation> observations = new ConcurrentHashMap<>();
+  private volatile Set<String> writtenClaims = Collections.emptySet();
+  private volatile Long lastRenewal;
+  private volatile boolean expired;
+
+  /**
+   * Creates the membership of this replica in a group of replicas.
+   *
+   * @param namespace the operator namespace, in which the leases are held
+   * @param identity the identity of this replica
+   * @param leaseDurationSeconds the time without renewal after which a lease expires
+   * @param renewSeconds the interval at which the lease is renewed
+   * @param targetNamespaces the namespaces divided among the members
+   * @param managedNamespaces the namespaces which this replica is currently managing
+   * @param clock a source of monotonic time, in nanoseconds
+   * @param onChange invoked when the namespaces managed by this replica may have changed
+   */
+  ShardMembership(
+      String namespace,
+      String identity,
+      int leaseDurationSeconds,
+      int renewSeconds,
+      Supplier<Collection<String>> targetNamespaces,
+      Supplier<Collection<String>> managedNamespaces,
+      LongSupplier clock,
+      Runnable onChange) {
+    this.namespace = namespace;
+    this.identity = identity;
+    this.leaseDurationSeconds = leaseDurationSeconds;
+    this.renewSeconds = renewSeconds;
+    this.targetNamespaces = targetNamespaces;
+    this.managedNamespaces = managedNamespaces;
+    this.clock = clock;
+    this.onChange = onChange;
+  }
+
+  /**
+   * Returns the membership of this replica, if the target namespaces are sharded.
+   *
+   * @return the membership, or null if this replica manages all of the target namespaces
+   */
+  public static ShardMembership getInstance() {
+    return instance;
+  }
+
+  static void setInstance(ShardMembership membership) {
+    instance = membership;
+  }
+
+  String getIdentity() {
+    return identity;
+  }
+
+  Set<String> getMembers() {
+    Shards current = shards.get();
+    return current == null ? Collections.emptySet() : current.assignment.getMembers();
+  }
+
+  /**
+   * Returns true if the specified namespace is managed by this replica.
+   *
+   * @param ns the name of a namespace
+   * @return true if this replica manages the namespace
+   */
+  public boolean isOwned(String ns) {
+    return getOwnedNamespaces().contains(ns);
+  }
+
+  /**
+   * Selects the target namespaces which this replica may manage: those assigned to it, which it has
+   * claimed, and which no other live replica claims.
+   *
+   * @return the namespaces this replica manages; none, until its claims are first written, or while
+   *     it cannot renew its lease
+   */
+  Collection<String> getOwnedNamespaces() {
+    Shards current = shards.get();
+    if (current == null || expired) {
+      return Collections.emptyList();
+    }
+
+    Set<String> owned = new TreeSet<>(getAssignedNamespaces(current));
+    owned.retainAll(writtenClaims);
+    owned.removeAll(current.otherClaims.keySet());
+    return owned;
+  }
+
+  private Collection<String> getAssignedNamespaces(Shards current) {
+    return current.assignment.getNamespaces(identity, targetNamespaces.get());
+  }
+
+  /**
+   * Creates a step which renews the lease of this replica, creating it if needed, and then reads
+   * the leases of all replicas to update the members of the group.
+   *
+   * @return the step
+   */
+  Step createRenewStep() {
+    return new RenewLeaseStep(new ListLeasesStep(null));
+  }
+
+  /**
+   * Creates a step which joins the group: it renews the lease of this replica twice, first to learn
+   * the members and their claims, and then to claim the namespaces assigned to it.
+   *
+   * @return the step
+   */
+  Step createJoinStep() {
+    return new RenewLeaseStep(new ListLeasesStep(createRenewStep()));
+  }
+
+  /**
+   * Creates a step which gives up the lease of this replica, so that the other members may take
+   * over its namespaces without waiting for the lease to expire. The replica must have stopped
+   * managing its namespaces first.
+   *
+   * @return the step
+   */
+  Step createReleaseStep() {
+    return new CallBuilder()
+        .deleteConfigMapAsync(
+            getLeaseName(), namespace, new V1DeleteOptions(), new DefaultResponseStep<>(null));
+  }
+
+  private String getLeaseName() {
+    return LEASE_NAME_PREFIX + identity;
+  }
+
+  // the namespaces this replica manages, and those assigned to it which no other replica claims
+  private Set<String> selectClaims() {
+    Set<String> claims = new TreeSet<>(managedNamespaces.get());
+    Shards current = shards.get();
+    if (current != null && !expired) {
+      for (String ns : getAssignedNamespaces(current)) {
+        if (!current.otherClaims.containsKey(ns)) {
+          claims.add(ns);
+        }
+      }
+    }
+    return claims;
+  }
+
+  private V1ConfigMap renew(V1ConfigMap lease, Set<String> claims) {
+    String resourceVersion = lease == null ? null : lease.getMetadata().getResourceVersion();
+    return new V1ConfigMap()
+        .metadata(
+            new V1ObjectMeta()
+                .name(getLeaseName())
+                .resourceVersion(resourceVersion)
+                .namespace(namespace)
+                .putLabelsItem(LEASE_LABEL, "true")
+                .putLabelsItem(LabelConstants.OPERATORNAME_LABEL, namespace))
+        .putDataItem(HOLDER_IDENTITY, identity)
+        .putDataItem(RENEW_TIME, Long.toString(System.currentTimeMillis()))
+        .putDataItem(LEASE_DURATION_SECONDS, Integer.toString(leaseDurationSeconds))
+        .putDataItem(CLAIMED_NAMESPACES, String.join(",", claims));
+  }
+
+  // the renewal is timed from when it began, which precedes any other replica seeing it
+  private void recordRenewal(Set<String> claims, long started) {
+    writtenClaims = claims;
+    lastRenewal = started;
+  }
+
+  // true if the lease may expire before the next renewal is attempted
+  private boolean isRenewalOverdue(long now) {
+    Long renewed = lastRenewal;
+    return renewed != null
+        && now + TimeUnit.SECONDS.toNanos(renewSeconds) - renewed
+            >= TimeUnit.SECONDS.toNanos(leaseDurationSeconds);
+  }
+
+  // Once the lease of this replica could have expired, another replica may take over any of its
+  // namespaces, so this replica must stop managing them.
+  private void checkRenewal(long now) {
+    if (!expired && isRenewalOverdue(now)) {
+      expired = true;
+      LOGGER.warning(MessageKeys.SHARD_LEASE_EXPIRED, identity, leaseDurationSeconds);
+      onChange.run();
+    }
+  }
+
+  // A lease is live if its renewal time has changed within its duration, as seen by this replica.
+  private boolean isLive(String holder, Map<String, String> data, long now) {
+    return getUnchangedNanos(holder, data, now) < TimeUnit.SECONDS.toNanos(getLeaseDuration(data));
+  }
+
+  private boolean isStale(String holder, Map<String, String> data, long now) {
+    return getUnchangedNanos(holder, data, now)
+        >= TimeUnit.SECONDS.toNanos(STALE_LEASE_DURATIONS * getLeaseDuration(data));
+  }
+
+  private long getUnchangedNanos(String holder, Map<String, String> data, long now) {
+    String renewTime = data.get(RENEW_TIME);
+    Observation observation =
+        observations.compute(
+            holder,
+            (key, last) ->
+                last != null && Objects.equals(last.renewTime, renewTime)
+                    ? last
+                    : new Observation(renewTime, now));
+    return now - observation.observedAt;
+  }
+
+  // deletes the lease only if it is still the version which was found to be stale
+  private Step deleteStaleLease(V1ConfigMap lease, Step next) {
+    V1ObjectMeta metadata = lease.getMetadata();
+    return new CallBuilder()
+        .deleteConfigMapAsync(
+            metadata.getName(),
+            namespace,
+            new V1DeleteOptions()
+                .preconditions(
+                    new LeasePreconditions(metadata.getUid(), metadata.getResourceVersion())),
+            new DeleteStaleLeaseResponseStep(next));
+  }
+
+  private long getLeaseDuration(Map<String, String> data) {
+    try {
+      return Long.parseLong(data.get(LEASE_DURATION_SECONDS));
+    } catch (NumberFormatException e) {
+      return leaseDurationSeconds;
+    }
+  }
+
+  private static Collection<String> getClaims(Map<String, String> data) {
+    String claims = data.get(CLAIMED_NAMESPACES);
+    return claims == null || claims.isEmpty()
+        ? Collections.emptyList()
+        : Arrays.asList(claims.split(","));
+  }
+
+  private void updateShards(Collection<String> members, Map<String, String> otherClaims, long now) {
+    Set<String> previousMembers = getMembers();
+    Collection<String> previousOwned = getOwnedNamespaces();
+    Shards previous =
+        shards.getAndSet(new Shards(new ShardAssignment(members), new HashMap<>(otherClaims)));
+    expired = isRenewalOverdue(now);
+
+    Collection<String> owned = getOwnedNamespaces();
+    if (previousMembers.equals(getMembers()) && previousOwned.equals(owned)) {
+      return;
+    }
+
+    LOGGER.info(
+        MessageKeys.SHARD_MEMBERSHIP_CHANGED,
+        identity,
+        String.join(", ", getMembers()),
+        String.join(", ", owned));
+    if (previous != null) {
+      onChange.run();
+    }
+  }
+
+  private static class Shards {
+    private final ShardAssignment assignment;
+    private final Map<String, String> otherClaims;
+
+    Shards(ShardAssignment assignment, Map<String, String> otherClaims) {
+      this.assignment = assignment;
+      this.otherClaims = otherClaims;
+    }
+  }
+
+  private static class Observation {
+    private final String renewTime;
+    private final long observedAt;
+
+    Observation(String renewTime, long observedAt) {
+      this.renewTime = renewTime;
+      this.observedAt = observedAt;
+    }
+  }
+
+  // The client models predate the resource version precondition, which the API server accepts.
+  private static class LeasePreconditions extends V1Preconditions {
+    @SerializedName("resourceVersion")
+    private final String resourceVersion;
+
+    LeasePreconditions(String uid, String resourceVersion) {
+      uid(uid);
+      this.resourceVersion = resourceVersion;
+    }
+  }
+
+  private class RenewLeaseStep extends Step {
+    RenewLeaseStep(Step next) {
+      super(next);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      long started = clock.getAsLong();
+      checkRenewal(started);
+      return doNext(
+          new CallBuilder()
+              .readConfigMapAsync(
+                  getLeaseName(), namespace, new ReadLeaseResponseStep(started, getNext())),
+          packet);
+    }
+  }
+
+  private class ReadLeaseResponseStep extends ResponseStep<V1ConfigMap> {
+    private final long started;
+
+    ReadLeaseResponseStep(long started, Step next) {
+      super(next);
+      this.started = started;
+    }
+
+    @Override
+    public NextAction onFailure(Packet packet, CallResponse<V1ConfigMap> callResponse) {
+      return callResponse.getStatusCode() == CallBuilder.NOT_FOUND
+          ? onSuccess(packet, callResponse)
+          : super.onFailure(packet, callResponse);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, CallResponse<V1ConfigMap> callResponse) {
+      V1ConfigMap lease = callResponse.getResult();
+      Set<String> claims = selectClaims();
+      Step update =
+          lease == null
+              ? new CallBuilder()
+                  .createConfigMapAsync(
+                      namespace,
+                      renew(null, claims),
+                      new UpdateLeaseResponseStep(claims, started, getNext()))
+              : new CallBuilder()
+                  .replaceConfigMapAsync(
+                      getLeaseName(),
+                      namespace,
+                      renew(lease, claims),
+                      new UpdateLeaseResponseStep(claims, started, getNext()));
+      return doNext(update, packet);
+    }
+  }
+
+  private class UpdateLeaseResponseStep extends ResponseStep<V1ConfigMap> {
+    private final Set<String> claims;
+    private final long started;
+
+    UpdateLeaseResponseStep(Set<String> claims, long started, Step next) {
+      super(next);
+      this.claims = claims;
+      this.started = started;
+    }
+
+    @Override
+    public NextAction onFailure(Packet packet, CallResponse<V1ConfigMap> callResponse) {
+      // a conflicting update is superseded by the next renewal
+      return doNext(packet);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, CallResponse<V1ConfigMap> callResponse) {
+      recordRenewal(claims, started);
+      return doNext(packet);
+    }
+  }
+
+  private class ListLeasesStep extends Step {
+    ListLeasesStep(Step next) {
+      super(next);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      return doNext(
+          new CallBuilder()
+              .withLabelSelectors(LEASE_LABEL)
+              .listConfigMapAsync(namespace, new ListLeasesResponseStep(getNext())),
+          packet);
+    }
+  }
+
+  private class ListLeasesResponseStep extends ResponseStep<V1ConfigMapList> {
+    ListLeasesResponseStep(Step next) {
+      super(next);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, CallResponse<V1ConfigMapList> callResponse) {
+      long now = clock.getAsLong();
+      Set<String> members = new TreeSet<>();
+      Set<String> holders = new HashSet<>();
+      Map<String, String> otherClaims = new HashMap<>();
+      List<V1ConfigMap> staleLeases = new ArrayList<>();
+      members.add(identity);
+      for (V1ConfigMap lease : callResponse.getResult().getItems()) {
+        Map<String, String> data = lease.getData();
+        String holder = data == null ? null : data.get(HOLDER_IDENTITY);
+        if (holder == null || holder.equals(identity)) {
+          continue;
+        }
+        holders.add(holder);
+        if (isLive(holder, data, now)) {
+          members.add(holder);
+          for (String ns : getClaims(data)) {
+            otherClaims.put(ns, holder);
+          }
+        } else if (isStale(holder, data, now)) {
+          staleLeases.add(lease);
+        }
+      }
+      observations.keySet().retainAll(holders);
+      updateShards(members, otherClaims, now);
+
+      Step next = getNext();
+      for (V1ConfigMap lease : staleLeases) {
+        next = deleteStaleLease(lease, next);
+      }
+      return doNext(next, packet);
+    }
+  }
+
+  // A lease which was renewed or deleted after it was read is left alone.
+  private static class DeleteStaleLeaseResponseStep extends ResponseStep<V1Status> {
+    DeleteStaleLeaseResponseStep(Step next) {
+      super(next);
+    }
+
+    @Override
+    public NextAction onFailure(Packet packet, CallResponse<V1Status> callResponse) {
+      return doNext(packet);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, CallResponse<V1Status> callResponse) {
+      return doNext(packet);
+    }
+  }
+}
@@ -0,0 +1,192 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.logging.MessageKeys;
+
+/**
+ * Records how long each phase of operator startup takes, and how long each target namespace takes
+ * to be started, measured from the start of the operator process. Timings are logged as they
+ * complete and remain available for the REST api. Nothing is recorded once startup is complete.
+ */
+public class StartupTimeline {
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  private static final StartupTimeline INSTANCE =
+      new StartupTimeline(
+          System::currentTimeMillis, ManagementFactory.getRuntimeMXBean().getStartTime());
+
+  private final LongSupplier clock;
+  private final long startTime;
+  private final Map<String, Interval> phases = new LinkedHashMap<>();
+  private final Map<String, Interval> namespaces = new LinkedHashMap<>();
+  private boolean complete;
+  private long completionTime;
+
+  public static StartupTimeline getInstance() {
+    return INSTANCE;
+  }
+
+  StartupTimeline(LongSupplier clock, long startTime) {
+    this.clock = clock;
+    this.startTime = startTime;
+  }
+
+  /**
+   * Records the start of a startup phase.
+   *
+   * @param phase the name of the phase
+   */
+  public synchronized void beginPhase(String phase) {
+    begin(phases, phase);
+  }
+
+  /**
+   * Records the end of a startup phase.
+   *
+   * @param phase the name of the phase
+   */
+  public void endPhase(String phase) {
+    Interval interval = end(phases, phase);
+    if (interval != null) {
+      LOGGER.info(MessageKeys.STARTUP_PHASE_COMPLETED, phase, interval.getDurationMillis());
+    }
+  }
+
+  /**
+   * Records the start of the initialization of a target namespace.
+   *
+   * @param namespace the namespace
+   */
+  public synchronized void beginNamespace(String namespace) {
+    begin(namespaces, namespace);
+  }
+
+  /**
+   * Records the end of the initialization of a target namespace.
+   *
+   * @param namespace the namespace
+   */
+  public void endNamespace(String namespace) {
+    Interval interval = end(namespaces, namespace);
+    if (interval != null) {
+      LOGGER.fine(MessageKeys.NAMESPACE_STARTUP_COMPLETED, namespace, interval.getDurationMillis());
+    }
+  }
+
+  private void begin(Map<String, Interval> intervals, String name) {
+    if (!isComplete()) {
+      intervals.put(name, new Interval(clock.getAsLong() - startTime));
+    }
+  }
+
+  private synchronized Interval end(Map<String, Interval> intervals, String name) {
+    Interval interval = isComplete() ? null : intervals.get(name);
+    if (interval != null) {
+      interval.setEnd(clock.getAsLong() - startTime);
+    }
+    return interval;
+  }
+
+  /** Marks startup as complete; later calls are ignored. */
+  public void complete() {
+    int namespaceCount;
+    synchronized (this) {
+      if (isComplete()) {
+        return;
+      }
+      complete = true;
+      completionTime = clock.getAsLong();
+      namespaceCount = namespaces.size();
+    }
+    LOGGER.info(MessageKeys.STARTUP_COMPLETED, getElapsedMillis(), namespaceCount);
+  }
+
+  public synchronized boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * Returns the time since the operator process started, or, once startup is complete, the time
+   * startup took.
+   *
+   * @return a time in milliseconds
+   */
+  public synchronized long getElapsedMillis() {
+    return (isComplete() ? completionTime : clock.getAsLong()) - startTime;
+  }
+
+  /**
+   * Returns the startup phases recorded so far, in the order in which they began.
+   *
+   * @return a map of phase names to their intervals
+   */
+  public synchronized Map<String, Interval> getPhases() {
+    return copy(phases);
+  }
+
+  /**
+   * Returns the target namespaces whose initialization has begun, in the order in which it began.
+   *
+   * @return a map of namespaces to their intervals
+   */
+  public synchronized Map<String, Interval> getNamespaces() {
+    return copy(namespaces);
+  }
+
+  private static Map<String, Interval> copy(Map<String, Interval> intervals) {
+    Map<String, Interval> copy = new LinkedHashMap<>();
+    intervals.forEach((name, interval) -> copy.put(name, new Interval(interval)));
+    return Collections.unmodifiableMap(copy);
+  }
+
+  /** A part of startup, as offsets in milliseconds from the start of the operator process. */
+  public static class Interval {
+    private final long start;
+    private long end = -1;
+
+    Interval(long start) {
+      this.start = start;
+    }
+
+    Interval(Interval other) {
+      this.start = other.start;
+      this.end = other.end;
+    }
+
+    void setEnd(long end) {
+      this.end = end;
+    }
+
+    public long getStartMillis() {
+      return start;
+    }
+
+    /**
+     * Returns the time at which this interval ended.
+     *
+     * @return a time in milliseconds, or -1 if the interval has not ended
+     */
+    public long getEndMillis() {
+      return end;
+    }
+
+    /**
+     * Returns the duration of this interval.
+     *
+     * @return a time in milliseconds, or -1 if the interval has not ended
+     */
+    public long getDurationMillis() {
+      return end < 0 ? -1 : end - start;
+    }
+  }
+}
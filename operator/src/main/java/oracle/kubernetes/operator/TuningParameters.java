@@ -28,6 +28,19 @@ public interface TuningParameters extends Map<String, String> {
     public final int unchangedCountToDelayStatusRecheck;
     public final long initialShortDelay;
     public final long eventualLongDelay;
+    public final boolean fastStart;
+    public final int startupNamespaceParallelism;
+    public final long domainEventQuietPeriodMillis;
+    public final long domainEventMaxWaitMillis;
+    public final boolean serverHealthAggregated;
+    public final int serverHealthRefreshSeconds;
+    public final boolean shardingEnabled;
+    public final int shardLeaseDurationSeconds;
+    public final int shardLeaseRenewSeconds;
+    public final int restWorkerThreads;
+    public final int restMaxWorkerThreads;
+    public final int restKeepAliveSeconds;
+    public final int restTlsSessionTimeoutSeconds;
 
     public MainTuning(
         int domainPresenceFailureRetrySeconds,
@@ -37,7 +50,20 @@ public interface TuningParameters extends Map<String, String> {
         int statusUpdateTimeoutSeconds,
         int unchangedCountToDelayStatusRecheck,
         long initialShortDelay,
-        long eventualLongDelay) {
+        long eventualLongDelay,
+        boolean fastStart,
+        int startupNamespaceParallelism,
+        long domainEventQuietPeriodMillis,
+        long domainEventMaxWaitMillis,
+        boolean serverHealthAggregated,
+        int serverHealthRefreshSeconds,
+        boolean shardingEnabled,
+        int shardLeaseDurationSeconds,
+        int shardLeaseRenewSeconds,
+        int restWorkerThreads,
+        int restMaxWorkerThreads,
+        int restKeepAliveSeconds,
+        int restTlsSessionTimeoutSeconds) {
       this.domainPresenceFailureRetrySeconds = domainPresenceFailureRetrySeconds;
       this.domainPresenceFailureRetryMaxCount = domainPresenceFailureRetryMaxCount;
       this.domainPresenceRecheckIntervalSeconds = domainPresenceRecheckIntervalSeconds;
@@ -46,6 +72,19 @@ public interface TuningParameters extends Map<String, String> {
       this.unchangedCountToDelayStatusRecheck = unchangedCountToDelayStatusRecheck;
       this.initialShortDelay = initialShortDelay;
       this.eventualLongDelay = eventualLongDelay;
+      this.fastStart = fastStart;
+      this.startupNamespaceParallelism = startupNamespaceParallelism;
+      this.domainEventQuietPeriodMillis = domainEventQuietPeriodMillis;
+      this.domainEventMaxWaitMillis = domainEventMaxWaitMillis;
+      this.serverHealthAggregated = serverHealthAggregated;
+      this.serverHealthRefreshSeconds = serverHealthRefreshSeconds;
+      this.shardingEnabled = shardingEnabled;
+      this.shardLeaseDurationSeconds = shardLeaseDurationSeconds;
+      this.shardLeaseRenewSeconds = shardLeaseRenewSeconds;
+      this.restWorkerThreads = restWorkerThreads;
+      this.restMaxWorkerThreads = restMaxWorkerThreads;
+      this.restKeepAliveSeconds = restKeepAliveSeconds;
+      this.restTlsSessionTimeoutSeconds = restTlsSessionTimeoutSeconds;
     }
   }
 
@@ -53,19 +92,49 @@ public interface TuningParameters extends Map<String, String> {
     public final int callRequestLimit;
     public final int callMaxRetryCount;
     public final int callTimeoutSeconds;
+    public final int listReadTimeoutSeconds;
+    public final int mutateReadTimeoutSeconds;
+    public final int connectTimeoutSeconds;
+    public final int callRequestsPerSecond;
+    public final int callRequestBurst;
 
     public CallBuilderTuning(int callRequestLimit, int callMaxRetryCount, int callTimeoutSeconds) {
+      this(callRequestLimit, callMaxRetryCount, callTimeoutSeconds, 30, 10, 10, 50, 100);
+    }
+
+    public CallBuilderTuning(
+        int callRequestLimit,
+        int callMaxRetryCount,
+        int callTimeoutSeconds,
+        int listReadTimeoutSeconds,
+        int mutateReadTimeoutSeconds,
+        int connectTimeoutSeconds,
+        int callRequestsPerSecond,
+        int callRequestBurst) {
       this.callRequestLimit = callRequestLimit;
       this.callMaxRetryCount = callMaxRetryCount;
       this.callTimeoutSeconds = callTimeoutSeconds;
+      this.listReadTimeoutSeconds = listReadTimeoutSeconds;
+      this.mutateReadTimeoutSeconds = mutateReadTimeoutSeconds;
+      this.connectTimeoutSeconds = connectTimeoutSeconds;
+      this.callRequestsPerSecond = callRequestsPerSecond;
+      this.callRequestBurst = callRequestBurst;
     }
   }
 
   public static class WatchTuning {
+    static final int DEFAULT_READINESS_WAIT_TIMEOUT_SECONDS = 1800;
+
     public final int watchLifetime;
+    public final int readinessWaitTimeoutSeconds;
 
     public WatchTuning(int watchLifetime) {
+      this(watchLifetime, DEFAULT_READINESS_WAIT_TIMEOUT_SECONDS);
+    }
+
+    public WatchTuning(int watchLifetime, int readinessWaitTimeoutSeconds) {
       this.watchLifetime = watchLifetime;
+      this.readinessWaitTimeoutSeconds = readinessWaitTimeoutSeconds;
     }
   }
 
@@ -93,6 +162,14 @@ public interface TuningParameters extends Map<String, String> {
     }
   }
 
+  /**
+   * Registers an action to run whenever the tuning parameters, or other operator configuration,
+   * change.
+   *
+   * @param listener the action
+   */
+  public void addChangeListener(Runnable listener);
+
   public MainTuning getMainTuning();
 
   public CallBuilderTuning getCallBuilderTuning();
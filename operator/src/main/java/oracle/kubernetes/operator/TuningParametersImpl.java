@@ -6,8 +6,7 @@ package oracle.kubernetes.operator;
 
 import java.io.IOException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicReference;
 import oracle.kubernetes.operator.helpers.ConfigMapConsumer;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
@@ -15,13 +14,24 @@ import oracle.kubernetes.operator.logging.MessageKeys;
 
 public class TuningParametersImpl extends ConfigMapConsumer implements TuningParameters {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
-  private static TuningParameters INSTANCE = null;
+  private static volatile TuningParameters INSTANCE = null;
 
-  private final ReadWriteLock lock = new ReentrantReadWriteLock();
-  private MainTuning main = null;
-  private CallBuilderTuning callBuilder = null;
-  private WatchTuning watch = null;
-  private PodTuning pod = null;
+  // the parameters read together from the config map, which are replaced as one
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+  private static class Snapshot {
+    private final MainTuning main;
+    private final CallBuilderTuning callBuilder;
+    private final WatchTuning watch;
+    private final PodTuning pod;
+
+    Snapshot(MainTuning main, CallBuilderTuning callBuilder, WatchTuning watch, PodTuning pod) {
+      this.main = main;
+      this.callBuilder = callBuilder;
+      this.watch = watch;
+      this.pod = pod;
+    }
+  }
 
   static synchronized TuningParameters initializeInstance(
       ScheduledExecutorService executorService, String mountPoint) throws IOException {
@@ -32,7 +42,7 @@ public class TuningParametersImpl extends ConfigMapConsumer implements TuningPar
     throw new IllegalStateException();
   }
 
-  public static synchronized TuningParameters getInstance() {
+  public static TuningParameters getInstance() {
     return INSTANCE;
   }
 
@@ -58,15 +68,39 @@ public class TuningParametersImpl extends ConfigMapConsumer implements TuningPar
             (int) readTuningParameter("statusUpdateTimeoutSeconds", 10),
             (int) readTuningParameter("statusUpdateUnchangedCountToDelayStatusRecheck", 10),
             readTuningParameter("statusUpdateInitialShortDelay", 3),
-            readTuningParameter("statusUpdateEventualLongDelay", 30));
+            readTuningParameter("statusUpdateEventualLongDelay", 30),
+            readBooleanTuningParameter("fastStart", false),
+            (int) readTuningParameter("startupNamespaceParallelism", 4),
+            readTuningParameter("domainEventQuietPeriodMillis", 500),
+            readTuningParameter("domainEventMaxWaitMillis", 5000),
+            readBooleanTuningParameter("serverHealthAggregated", true),
+            (int) readTuningParameter("serverHealthRefreshSeconds", 30),
+            readBooleanTuningParameter("shardingEnabled", false),
+            (int) readTuningParameter("shardLeaseDurationSeconds", 15),
+            (int) readTuningParameter("shardLeaseRenewSeconds", 5),
+            (int) readTuningParameter("restWorkerThreads", 3),
+            (int) readTuningParameter("restMaxWorkerThreads", 16),
+            (int) readTuningParameter("restKeepAliveSeconds", 60),
+            (int) readTuningParameter("restTlsSessionTimeoutSeconds", 3600));
 
     CallBuilderTuning callBuilder =
         new CallBuilderTuning(
             (int) readTuningParameter("callRequestLimit", 500),
             (int) readTuningParameter("callMaxRetryCount", 5),
-            (int) readTuningParameter("callTimeoutSeconds", 10));
-
-    WatchTuning watch = new WatchTuning((int) readTuningParameter("watchLifetime", 300));
+            (int) readTuningParameter("callTimeoutSeconds", 10),
+            (int) readTuningParameter("listReadTimeoutSeconds", 30),
+            (int) readTuningParameter("mutateReadTimeoutSeconds", 10),
+            (int) readTuningParameter("connectTimeoutSeconds", 10),
+            (int) readTuningParameter("callRequestsPerSecond", 50),
+            (int) readTuningParameter("callRequestBurst", 100));
+
+    WatchTuning watch =
+        new WatchTuning(
+            (int) readTuningParameter("watchLifetime", 300),
+            (int)
+                readTuningParameter(
+                    "readinessWaitTimeoutSeconds",
+                    WatchTuning.DEFAULT_READINESS_WAIT_TIMEOUT_SECONDS));
 
     PodTuning pod =
         new PodTuning(
@@ -77,54 +111,26 @@ public class TuningParametersImpl extends ConfigMapConsumer implements TuningPar
             (int) readTuningParameter("livenessProbeTimeoutSeconds", 5),
             (int) readTuningParameter("livenessProbePeriodSeconds", 10));
 
-    lock.writeLock().lock();
-    try {
-      this.main = main;
-      this.callBuilder = callBuilder;
-      this.watch = watch;
-      this.pod = pod;
-    } finally {
-      lock.writeLock().unlock();
-    }
+    snapshot.set(new Snapshot(main, callBuilder, watch, pod));
   }
 
   @Override
   public MainTuning getMainTuning() {
-    lock.readLock().lock();
-    try {
-      return main;
-    } finally {
-      lock.readLock().unlock();
-    }
+    return snapshot.get().main;
   }
 
   @Override
   public CallBuilderTuning getCallBuilderTuning() {
-    lock.readLock().lock();
-    try {
-      return callBuilder;
-    } finally {
-      lock.readLock().unlock();
-    }
+    return snapshot.get().callBuilder;
   }
 
   @Override
   public WatchTuning getWatchTuning() {
-    lock.readLock().lock();
-    try {
-      return watch;
-    } finally {
-      lock.readLock().unlock();
-    }
+    return snapshot.get().watch;
   }
 
   @Override
   public PodTuning getPodTuning() {
-    lock.readLock().lock();
-    try {
-      return pod;
-    } finally {
-      lock.readLock().unlock();
-    }
+    return snapshot.get().pod;
   }
 }
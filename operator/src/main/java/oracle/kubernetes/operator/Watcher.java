@@ -34,6 +34,9 @@ abstract class Watcher<T> {
 
   private final AtomicBoolean isDraining = new AtomicBoolean(false);
   private final WatchTuning tuning;
+  private final OperatorMetrics.WatchMetrics metrics =
+      OperatorMetrics.getInstance().getWatchMetrics(getKind());
+  private boolean hasWatched;
   private Long resourceVersion;
   private AtomicBoolean stopping;
   private WatchListener<T> listener;
@@ -71,6 +74,11 @@ abstract class Watcher<T> {
     this.listener = listener;
   }
 
+  // the kind of resource watched, as named by the watcher subclass
+  private String getKind() {
+    return getClass().getSimpleName().replace("Watcher", "");
+  }
+
   /** Waits for this watcher's thread to exit. For unit testing only. */
   void waitForExit() {
     try {
@@ -120,6 +128,9 @@ abstract class Watcher<T> {
   }
 
   private void watchForEvents() {
+    if (hasWatched) metrics.recordReconnect();
+    hasWatched = true;
+
     try (WatchI<T> watch =
         initiateWatch(
             new WatchBuilder()
@@ -158,8 +169,15 @@ abstract class Watcher<T> {
     return item.type.equalsIgnoreCase("ERROR");
   }
 
-  private void handleRegularUpdate(Watch.Response<T> item) {
+  /**
+   * Handles a watch event other than an error. Package-private so that the per-event cost can be
+   * benchmarked without a watch connection.
+   *
+   * @param item the watch event
+   */
+  void handleRegularUpdate(Watch.Response<T> item) {
     LOGGER.fine(MessageKeys.WATCH_EVENT, item.type, item.object);
+    metrics.recordEvent();
     trackResourceVersion(item.type, item.object);
     if (listener != null) listener.receivedResponse(item);
   }
@@ -167,6 +185,8 @@ abstract class Watcher<T> {
   private void handleErrorResponse(Watch.Response<T> item) {
     V1Status status = item.status;
     if (status != null && status.getCode() == HTTP_GONE) {
+      metrics.recordGone();
+      onGone();
       String message = status.getMessage();
       int index1 = message.indexOf('(');
       if (index1 > 0) {
@@ -179,6 +199,12 @@ abstract class Watcher<T> {
     }
   }
 
+  /**
+   * Invoked when the version which the watch had reached is no longer available, so that the watch
+   * restarts from a later version and the events in between are not received.
+   */
+  protected void onGone() {}
+
   /**
    * Track resourceVersion and keep highest one for next watch iteration. The resourceVersion is
    * extracted from the metadata in the class by a getter written to return that information. If the
@@ -0,0 +1,109 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.builders;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+import io.kubernetes.client.ApiClient;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.util.Watch;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import javax.annotation.Nonnull;
+import oracle.kubernetes.operator.helpers.Pool;
+
+/**
+ * A watch which decodes its events as they are streamed from the server, keeping only the fields
+ * selected by a {@link WatchProjection}. Unlike the client library's watch, it does not read each
+ * event into a string, nor decode the parts of the watched resources that the operator ignores.
+ *
+ * @param <T> the type of the watched resources
+ */
+class ProjectingWatch<T> implements WatchI<T> {
+  private final Pool<ApiClient> pool;
+  private ApiClient client;
+  private final ResponseBody body;
+  private final WatchEventDecoder<T> decoder;
+
+  ProjectingWatch(
+      Pool<ApiClient> pool, ApiClient client, Call call, Type watchType, WatchProjection projection)
+      throws ApiException {
+    this.pool = pool;
+    this.client = client;
+    this.body = execute(call);
+    this.decoder =
+        new WatchEventDecoder<>(
+            client.getJSON().getGson(), watchType, projection, openStream(body));
+  }
+
+  private static Reader openStream(ResponseBody body) throws ApiException {
+    try {
+      return body.charStream();
+    } catch (IOException e) {
+      closeQuietly(body);
+      throw new ApiException(e);
+    }
+  }
+
+  private static void closeQuietly(ResponseBody body) {
+    try {
+      body.close();
+    } catch (IOException ignored) {
+      // the watch could not be started, so there is nothing more to read
+    }
+  }
+
+  private static ResponseBody execute(Call call) throws ApiException {
+    try {
+      Response response = call.execute();
+      if (!response.isSuccessful()) {
+        String responseBody = response.body() != null ? response.body().string() : null;
+        throw new ApiException(
+            response.message(), response.code(), response.headers().toMultimap(), responseBody);
+      }
+      return response.body();
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    body.close();
+    pool.recycle(client);
+  }
+
+  @Override
+  public void discardClient() {
+    client = pool.take();
+  }
+
+  @Override
+  @Nonnull
+  public Iterator<Watch.Response<T>> iterator() {
+    return this;
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+      return decoder.hasNext();
+    } catch (IOException e) {
+      throw new RuntimeException("IO Exception during hasNext method.", e);
+    }
+  }
+
+  @Override
+  public Watch.Response<T> next() {
+    try {
+      return decoder.next();
+    } catch (IOException e) {
+      throw new RuntimeException("IO Exception during next method.", e);
+    }
+  }
+}
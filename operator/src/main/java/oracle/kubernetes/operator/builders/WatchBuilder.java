@@ -13,13 +13,14 @@ import io.kubernetes.client.models.V1ConfigMap;
 import io.kubernetes.client.models.V1Event;
 import io.kubernetes.client.models.V1Job;
 import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1Secret;
 import io.kubernetes.client.models.V1Service;
 import io.kubernetes.client.util.Watch;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import oracle.kubernetes.operator.helpers.ClientPool;
+import oracle.kubernetes.operator.helpers.HttpTransport.Profile;
 import oracle.kubernetes.operator.helpers.Pool;
 import oracle.kubernetes.weblogic.domain.v2.Domain;
 import oracle.kubernetes.weblogic.domain.v2.api.WeblogicApi;
@@ -31,8 +32,6 @@ public class WatchBuilder {
   /** Ignored for watches. */
   private static final String START_LIST = null;
 
-  private static final int ADDITIONAL_TIMEOUT_FOR_SOCKET = 60;
-
   private static WatchFactory FACTORY = new WatchFactoryImpl();
 
   private CallParamsImpl callParams = new CallParamsImpl();
@@ -76,7 +75,7 @@ public class WatchBuilder {
    */
   public WatchI<V1Service> createServiceWatch(String namespace) throws ApiException {
     return FACTORY.createWatch(
-        ClientPool.getInstance(),
+        getWatchClientPool(),
         callParams,
         V1Service.class,
         new ListNamespacedServiceCall(namespace));
@@ -91,9 +90,6 @@ public class WatchBuilder {
 
     @Override
     public Call apply(ApiClient client, CallParams callParams) {
-      // Ensure that client doesn't time out before call or watch
-      client.getHttpClient().setReadTimeout(getSocketTimeout(callParams), TimeUnit.SECONDS);
-
       try {
         return new CoreV1Api(client)
             .listNamespacedServiceCall(
@@ -124,7 +120,7 @@ public class WatchBuilder {
    */
   public WatchI<V1Pod> createPodWatch(String namespace) throws ApiException {
     return FACTORY.createWatch(
-        ClientPool.getInstance(), callParams, V1Pod.class, new ListPodCall(namespace));
+        getWatchClientPool(), callParams, V1Pod.class, new ListPodCall(namespace));
   }
 
   private class ListPodCall implements BiFunction<ApiClient, CallParams, Call> {
@@ -136,9 +132,6 @@ public class WatchBuilder {
 
     @Override
     public Call apply(ApiClient client, CallParams callParams) {
-      // Ensure that client doesn't time out before call or watch
-      client.getHttpClient().setReadTimeout(getSocketTimeout(callParams), TimeUnit.SECONDS);
-
       try {
         return new CoreV1Api(client)
             .listNamespacedPodCall(
@@ -169,7 +162,7 @@ public class WatchBuilder {
    */
   public WatchI<V1Job> createJobWatch(String namespace) throws ApiException {
     return FACTORY.createWatch(
-        ClientPool.getInstance(), callParams, V1Job.class, new ListJobCall(namespace));
+        getWatchClientPool(), callParams, V1Job.class, new ListJobCall(namespace));
   }
 
   private class ListJobCall implements BiFunction<ApiClient, CallParams, Call> {
@@ -181,9 +174,6 @@ public class WatchBuilder {
 
     @Override
     public Call apply(ApiClient client, CallParams callParams) {
-      // Ensure that client doesn't time out before call or watch
-      client.getHttpClient().setReadTimeout(getSocketTimeout(callParams), TimeUnit.SECONDS);
-
       try {
         return new BatchV1Api(client)
             .listNamespacedJobCall(
@@ -214,7 +204,7 @@ public class WatchBuilder {
    */
   public WatchI<V1Event> createEventWatch(String namespace) throws ApiException {
     return FACTORY.createWatch(
-        ClientPool.getInstance(), callParams, V1Event.class, new ListEventCall(namespace));
+        getWatchClientPool(), callParams, V1Event.class, new ListEventCall(namespace));
   }
 
   private class ListEventCall implements BiFunction<ApiClient, CallParams, Call> {
@@ -226,9 +216,6 @@ public class WatchBuilder {
 
     @Override
     public Call apply(ApiClient client, CallParams callParams) {
-      // Ensure that client doesn't time out before call or watch
-      client.getHttpClient().setReadTimeout(getSocketTimeout(callParams), TimeUnit.SECONDS);
-
       try {
         return new CoreV1Api(client)
             .listNamespacedEventCall(
@@ -259,7 +246,7 @@ public class WatchBuilder {
    */
   public WatchI<Domain> createDomainWatch(String namespace) throws ApiException {
     return FACTORY.createWatch(
-        ClientPool.getInstance(), callParams, Domain.class, new ListDomainsCall(namespace));
+        getWatchClientPool(), callParams, Domain.class, new ListDomainsCall(namespace));
   }
 
   private class ListDomainsCall implements BiFunction<ApiClient, CallParams, Call> {
@@ -271,9 +258,6 @@ public class WatchBuilder {
 
     @Override
     public Call apply(ApiClient client, CallParams callParams) {
-      // Ensure that client doesn't time out before call or watch
-      client.getHttpClient().setReadTimeout(getSocketTimeout(callParams), TimeUnit.SECONDS);
-
       try {
         return new WeblogicApi(client)
             .listWebLogicOracleV2NamespacedDomainCall(
@@ -304,7 +288,7 @@ public class WatchBuilder {
    */
   public WatchI<V1ConfigMap> createConfigMapWatch(String namespace) throws ApiException {
     return FACTORY.createWatch(
-        ClientPool.getInstance(),
+        getWatchClientPool(),
         callParams,
         V1ConfigMap.class,
         new ListNamespacedConfigMapCall(namespace));
@@ -319,9 +303,6 @@ public class WatchBuilder {
 
     @Override
     public Call apply(ApiClient client, CallParams callParams) {
-      // Ensure that client doesn't time out before call or watch
-      client.getHttpClient().setReadTimeout(getSocketTimeout(callParams), TimeUnit.SECONDS);
-
       try {
         return new CoreV1Api(client)
             .listNamespacedConfigMapCall(
@@ -343,8 +324,51 @@ public class WatchBuilder {
     }
   }
 
-  private Integer getSocketTimeout(CallParams callParams) {
-    return callParams.getTimeoutSeconds() + ADDITIONAL_TIMEOUT_FOR_SOCKET;
+  /**
+   * Creates a web hook object to track secret calls
+   *
+   * @param namespace the namespace
+   * @return the active web hook
+   * @throws ApiException if there is an error on the call that sets up the web hook.
+   */
+  public WatchI<V1Secret> createSecretWatch(String namespace) throws ApiException {
+    return FACTORY.createWatch(
+        getWatchClientPool(), callParams, V1Secret.class, new ListNamespacedSecretCall(namespace));
+  }
+
+  private class ListNamespacedSecretCall implements BiFunction<ApiClient, CallParams, Call> {
+    private String namespace;
+
+    ListNamespacedSecretCall(String namespace) {
+      this.namespace = namespace;
+    }
+
+    @Override
+    public Call apply(ApiClient client, CallParams callParams) {
+      try {
+        return new CoreV1Api(client)
+            .listNamespacedSecretCall(
+                namespace,
+                callParams.getPretty(),
+                START_LIST,
+                callParams.getFieldSelector(),
+                callParams.getIncludeUninitialized(),
+                callParams.getLabelSelector(),
+                callParams.getLimit(),
+                callParams.getResourceVersion(),
+                callParams.getTimeoutSeconds(),
+                WATCH,
+                null,
+                null);
+      } catch (ApiException e) {
+        throw new UncheckedApiException(e);
+      }
+    }
+  }
+
+  // watch clients are configured not to time out before the watch itself
+  private static ClientPool getWatchClientPool() {
+    return ClientPool.getInstance(Profile.WATCH);
   }
 
   /**
@@ -401,6 +425,15 @@ public class WatchBuilder {
         throws ApiException {
       ApiClient client = pool.take();
       try {
+        WatchProjection projection = WatchProjection.forType(responseBodyType);
+        if (projection != null) {
+          return new ProjectingWatch<>(
+              pool,
+              client,
+              function.apply(client, callParams),
+              getType(responseBodyType),
+              projection);
+        }
         return new WatchImpl<>(
             pool,
             client,
@@ -0,0 +1,90 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.builders;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.kubernetes.client.util.Watch;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+
+/**
+ * Decodes the events of a watch directly from its stream. Each event is read token by token,
+ * keeping only the fields selected by a {@link WatchProjection}, and only those fields are
+ * converted to the watched resource type. The object of an error event is decoded whole, as the
+ * status of the response.
+ *
+ * @param <T> the type of the watched resources
+ */
+class WatchEventDecoder<T> {
+  private static final String TYPE = "type";
+  private static final String OBJECT = "object";
+  private static final String STATUS = "status";
+  private static final String ERROR = "ERROR";
+
+  private final Gson gson;
+  private final Type watchType;
+  private final WatchProjection projection;
+  private final JsonReader reader;
+
+  WatchEventDecoder(Gson gson, Type watchType, WatchProjection projection, Reader in) {
+    this.gson = gson;
+    this.watchType = watchType;
+    this.projection = projection;
+    this.reader = new JsonReader(in);
+    this.reader.setLenient(true);
+  }
+
+  // a reader which has not yet seen a value reports the end of an empty stream as an exception
+  boolean hasNext() throws IOException {
+    try {
+      return reader.peek() != JsonToken.END_DOCUMENT;
+    } catch (EOFException e) {
+      return false;
+    }
+  }
+
+  Watch.Response<T> next() throws IOException {
+    JsonObject event = new JsonObject();
+    String type = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case TYPE:
+          type = reader.nextString();
+          event.addProperty(TYPE, type);
+          break;
+        case OBJECT:
+          event.add(OBJECT, readObject(type));
+          break;
+        case STATUS:
+          event.add(STATUS, WatchProjection.readWhole(reader));
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    if (ERROR.equals(type) && event.has(OBJECT)) {
+      event.add(STATUS, event.remove(OBJECT));
+    }
+    return gson.fromJson(event, watchType);
+  }
+
+  // the type of an event precedes its object; if it does not, the object may be a status
+  private JsonElement readObject(String type) throws IOException {
+    if (type == null || ERROR.equals(type)) {
+      return WatchProjection.readWhole(reader);
+    }
+    return projection.read(reader);
+  }
+}
@@ -0,0 +1,174 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.builders;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1Service;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Describes the fields of a resource that are decoded from a watch stream. Fields not named by the
+ * projection are skipped in the stream without being decoded. A field may be kept whole, or be
+ * projected in turn; the projection of an array applies to each of its elements.
+ *
+ * <p>The projections of pods and services keep at least the fields retained by {@link
+ * oracle.kubernetes.operator.helpers.CompactResources}, which are all that the watch listeners and
+ * the records of the domain presence use.
+ */
+class WatchProjection {
+  private static final JsonParser PARSER = new JsonParser();
+  private static final WatchProjection WHOLE = new WatchProjection(null);
+
+  private static final WatchProjection METADATA =
+      keeping(
+          "name",
+          "namespace",
+          "resourceVersion",
+          "creationTimestamp",
+          "deletionTimestamp",
+          "deletionGracePeriodSeconds",
+          "labels",
+          "annotations");
+
+  static final WatchProjection POD =
+      keeping("apiVersion", "kind")
+          .with("metadata", METADATA)
+          .with(
+              "spec",
+              keeping("nodeName", "nodeSelector", "securityContext", "imagePullSecrets", "volumes")
+                  .with(
+                      "containers",
+                      keeping(
+                          "name",
+                          "image",
+                          "imagePullPolicy",
+                          "command",
+                          "args",
+                          "env",
+                          "envFrom",
+                          "ports",
+                          "lifecycle",
+                          "livenessProbe",
+                          "readinessProbe",
+                          "resources",
+                          "securityContext",
+                          "volumeMounts")))
+          .with("status", keeping("phase").with("conditions", keeping("type", "status")));
+
+  static final WatchProjection SERVICE =
+      keeping("apiVersion", "kind")
+          .with("metadata", METADATA)
+          .with("spec", keeping("type", "clusterIP", "selector", "ports"));
+
+  private final Map<String, WatchProjection> fields;
+
+  private WatchProjection(Map<String, WatchProjection> fields) {
+    this.fields = fields;
+  }
+
+  /**
+   * Returns the projection to use when watching resources of the specified type.
+   *
+   * @param resourceType the type of the watched resources
+   * @return a projection, or null if the resources should be decoded whole
+   */
+  static WatchProjection forType(Class<?> resourceType) {
+    if (resourceType == V1Pod.class) {
+      return POD;
+    } else if (resourceType == V1Service.class) {
+      return SERVICE;
+    }
+    return null;
+  }
+
+  /**
+   * Creates a projection which keeps the named fields whole.
+   *
+   * @param names the names of the fields to keep
+   * @return a new projection
+   */
+  static WatchProjection keeping(String... names) {
+    WatchProjection projection = new WatchProjection(new HashMap<>());
+    for (String name : names) {
+      projection.fields.put(name, WHOLE);
+    }
+    return projection;
+  }
+
+  /**
+   * Adds a field whose value is projected in turn.
+   *
+   * @param name the name of the field
+   * @param projection the projection to apply to its value
+   * @return this projection
+   */
+  WatchProjection with(String name, WatchProjection projection) {
+    fields.put(name, projection);
+    return this;
+  }
+
+  /**
+   * Reads the next value from the specified reader, applying this projection.
+   *
+   * @param in a reader positioned before a value
+   * @return the projected value
+   * @throws IOException if the value cannot be read
+   */
+  JsonElement read(JsonReader in) throws IOException {
+    if (fields == null) {
+      return readWhole(in);
+    }
+
+    switch (in.peek()) {
+      case BEGIN_OBJECT:
+        return readObject(in);
+      case BEGIN_ARRAY:
+        return readArray(in);
+      case NULL:
+        in.nextNull();
+        return JsonNull.INSTANCE;
+      default:
+        return readWhole(in);
+    }
+  }
+
+  static JsonElement readWhole(JsonReader in) {
+    return PARSER.parse(in);
+  }
+
+  private JsonObject readObject(JsonReader in) throws IOException {
+    JsonObject result = new JsonObject();
+    in.beginObject();
+    while (in.hasNext()) {
+      String name = in.nextName();
+      WatchProjection projection = fields.get(name);
+      if (projection == null) {
+        in.skipValue();
+      } else {
+        result.add(name, projection.read(in));
+      }
+    }
+    in.endObject();
+    return result;
+  }
+
+  private JsonArray readArray(JsonReader in) throws IOException {
+    JsonArray result = new JsonArray();
+    in.beginArray();
+    while (in.hasNext()) {
+      result.add(read(in));
+    }
+    in.endArray();
+    return result;
+  }
+}
@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import oracle.kubernetes.operator.OperatorMetrics;
 import oracle.kubernetes.operator.helpers.CallBuilder;
 import oracle.kubernetes.operator.helpers.ClientPool;
 import oracle.kubernetes.operator.helpers.ResponseStep;
@@ -22,6 +23,7 @@ import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
 import oracle.kubernetes.operator.work.Component;
+import oracle.kubernetes.operator.work.Fiber;
 import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
@@ -108,6 +110,34 @@ public class AsyncRequestStep<T> extends Step {
         labelSelector,
         resourceVersion);
 
+    return requestIfPermitted(packet, _continue, _retry);
+  }
+
+  // waits, without holding a thread, until the rate limiter permits the request to be sent
+  private NextAction requestIfPermitted(Packet packet, String _continue, RetryStrategy _retry) {
+    RequestRateLimiter limiter = RequestRateLimiter.getInstance();
+    if (limiter.tryAcquire()) {
+      return sendRequest(packet, _continue, _retry, limiter);
+    }
+
+    return doSuspend(
+        new PermittedRequestStep(_continue, _retry, limiter),
+        (fiber) -> limiter.await(fiber.owner.getExecutor(), () -> resumeIfActive(fiber, packet)));
+  }
+
+  // a fiber cancelled while waiting no longer needs a permit
+  private static boolean resumeIfActive(Fiber fiber, Packet packet) {
+    if (fiber.isCancelled()) {
+      return false;
+    }
+
+    fiber.resume(packet);
+    return true;
+  }
+
+  private NextAction sendRequest(
+      Packet packet, String _continue, RetryStrategy _retry, RequestRateLimiter limiter) {
+    long startNanos = limiter.nanoTime();
     AtomicBoolean didResume = new AtomicBoolean(false);
     ApiClient client = helper.take();
     return doSuspend(
@@ -133,6 +163,7 @@ public class AsyncRequestStep<T> extends Step {
                           resourceVersion);
                     }
 
+                    complete(limiter, startNanos, statusCode, responseHeaders);
                     helper.recycle(client);
                     packet
                         .getComponents()
@@ -152,6 +183,7 @@ public class AsyncRequestStep<T> extends Step {
                   if (didResume.compareAndSet(false, true)) {
                     LOGGER.fine(MessageKeys.ASYNC_SUCCESS, result, statusCode, responseHeaders);
 
+                    complete(limiter, startNanos, statusCode, responseHeaders);
                     helper.recycle(client);
                     packet
                         .getComponents()
@@ -177,6 +209,7 @@ public class AsyncRequestStep<T> extends Step {
                         try {
                           c.cancel();
                         } finally {
+                          complete(limiter, startNanos, 0, null);
                           LOGGER.info(
                               MessageKeys.ASYNC_TIMEOUT,
                               requestParams.call,
@@ -211,6 +244,7 @@ public class AsyncRequestStep<T> extends Step {
                 labelSelector,
                 resourceVersion);
             if (didResume.compareAndSet(false, true)) {
+              complete(limiter, startNanos, 0, null);
               packet
                   .getComponents()
                   .put(RESPONSE_COMPONENT_NAME, Component.createFor(RetryStrategy.class, _retry));
@@ -220,6 +254,36 @@ public class AsyncRequestStep<T> extends Step {
         });
   }
 
+  // releases the permit for a request, and records its completion
+  private void complete(
+      RequestRateLimiter limiter,
+      long startNanos,
+      int statusCode,
+      Map<String, List<String>> responseHeaders) {
+    limiter.release(requestParams.call, startNanos, statusCode, responseHeaders);
+    OperatorMetrics.getInstance()
+        .recordRequest(requestParams.call, statusCode, limiter.nanoTime() - startNanos);
+  }
+
+  // sends the request with the permit the limiter obtained while the fiber waited
+  private class PermittedRequestStep extends Step {
+    private final String _continue;
+    private final RetryStrategy _retry;
+    private final RequestRateLimiter limiter;
+
+    PermittedRequestStep(String _continue, RetryStrategy _retry, RequestRateLimiter limiter) {
+      super(null);
+      this._continue = _continue;
+      this._retry = _retry;
+      this.limiter = limiter;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      return sendRequest(packet, _continue, _retry, limiter);
+    }
+  }
+
   private static String accessContinue(Object result) {
     String cont = "";
     if (result != null) {
@@ -272,6 +336,7 @@ public class AsyncRequestStep<T> extends Step {
           timeoutSeconds *= 2;
         }
 
+        OperatorMetrics.getInstance().recordRetry(requestParams.call);
         NextAction na = new NextAction();
         if (statusCode == 0 && retryCount <= maxRetryCount) {
           na.invoke(retryStep, packet);
@@ -289,6 +354,7 @@ public class AsyncRequestStep<T> extends Step {
         long waitTime = Math.min((2 << ++retryCount) * SCALE, MAX) + (R.nextInt(HIGH - LOW) + LOW);
 
         LOGGER.info(MessageKeys.ASYNC_RETRY, String.valueOf(waitTime));
+        OperatorMetrics.getInstance().recordRetry(requestParams.call);
         NextAction na = new NextAction();
         na.delay(conflictStep, packet, waitTime, TimeUnit.MILLISECONDS);
         return na;
@@ -12,6 +12,7 @@ public final class RequestParams {
   public final String name;
   public final Object body;
   private CallParams callParams;
+  private boolean listCall;
 
   public RequestParams(String call, String namespace, String name, Object body) {
     this.call = call;
@@ -29,6 +30,21 @@ public final class RequestParams {
     this.callParams = callParams;
   }
 
+  /**
+   * Marks this request as a list call. List responses may be large, and so are read with a longer
+   * timeout than other calls.
+   *
+   * @return this request
+   */
+  public RequestParams asListCall() {
+    this.listCall = true;
+    return this;
+  }
+
+  public boolean isListCall() {
+    return listCall;
+  }
+
   public String getLabelSelector() {
     return callParams.getLabelSelector();
   }
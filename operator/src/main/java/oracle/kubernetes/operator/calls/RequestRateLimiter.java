@@ -0,0 +1,402 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.calls;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import oracle.kubernetes.operator.TuningParameters;
+import oracle.kubernetes.operator.TuningParameters.CallBuilderTuning;
+
+/**
+ * An operator-wide limit on the asynchronous requests sent to the Kubernetes API server. Requests
+ * are admitted by a token bucket, which allows a configured average rate and burst, and by a
+ * concurrency limit, which adapts to the latency of completed requests and to throttling (HTTP 429)
+ * responses from the server. Latency is compared with the fastest recent request of the same call,
+ * so that slow calls, such as lists of many resources, are not taken as a sign of congestion. A
+ * Retry-After header on a throttling response pauses all requests for the indicated time.
+ *
+ * <p>Requests which cannot be admitted wait in a queue without holding a thread; they are woken in
+ * order as requests complete or as tokens become available. A waiter is given its permit when it is
+ * woken, so that a new request cannot take the permit before the waiter has used it.
+ */
+public class RequestRateLimiter {
+  static final int MIN_CONCURRENCY = 2;
+
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+  private static final String RETRY_AFTER = "Retry-After";
+
+  // a request slower than this multiple of the fastest recent one of its call indicates congestion
+  private static final int LATENCY_TOLERANCE = 4;
+  private static final double LATENCY_BACKOFF_RATIO = 0.9;
+  private static final double THROTTLE_BACKOFF_RATIO = 0.5;
+  // samples after which the fastest latency is forgotten, so the baseline follows the server
+  private static final int LATENCY_BASELINE_SAMPLES = 500;
+
+  private static final RequestRateLimiter INSTANCE = new RequestRateLimiter(System::nanoTime);
+
+  private final LongSupplier clock;
+  private final Deque<Waiter> waiters = new ArrayDeque<>();
+  private final LongAdder queuedCount = new LongAdder();
+  private final LongAdder queueWaitNanos = new LongAdder();
+  private final LongAdder throttledCount = new LongAdder();
+  private final Map<String, LatencyBaseline> baselines = new HashMap<>();
+  private volatile CallBuilderTuning tuning;
+
+  private double requestsPerSecond;
+  private int burst;
+  private double tokens;
+  private long lastRefill;
+  private long pausedUntil = Long.MIN_VALUE;
+  private double concurrencyLimit;
+  private int inFlight;
+  private ScheduledExecutorService executor;
+  private boolean wakeScheduled;
+  private ScheduledFuture<?> pendingWake;
+  private int wakeGeneration;
+
+  /**
+   * Returns the operator-wide limiter, configured from the current {@link CallBuilderTuning}. If
+   * there are no tuning parameters, or the configured rate is not positive, requests are not
+   * limited. The limiter is reconfigured only when the tuning parameters have been reloaded.
+   *
+   * @return the limiter
+   */
+  public static RequestRateLimiter getInstance() {
+    CallBuilderTuning tuning =
+        Optional.ofNullable(TuningParameters.getInstance())
+            .map(TuningParameters::getCallBuilderTuning)
+            .orElse(null);
+    if (tuning != INSTANCE.tuning) {
+      INSTANCE.configure(tuning);
+    }
+    return INSTANCE;
+  }
+
+  RequestRateLimiter(LongSupplier clock) {
+    this.clock = clock;
+    this.lastRefill = clock.getAsLong();
+  }
+
+  private void configure(CallBuilderTuning tuning) {
+    this.tuning = tuning;
+    configure(
+        tuning != null ? tuning.callRequestsPerSecond : 0,
+        tuning != null ? tuning.callRequestBurst : 0);
+  }
+
+  /**
+   * Sets the average request rate and the burst size. The burst is also the upper bound of the
+   * adaptive concurrency limit. Any pending wake-up is cancelled, and waiters are re-examined under
+   * the new settings; if the limiter is now disabled, all of them are woken.
+   *
+   * @param requestsPerSecond the average rate; if not positive, requests are not limited
+   * @param burst the number of requests which may be sent at once
+   */
+  void configure(double requestsPerSecond, int burst) {
+    synchronized (this) {
+      if (requestsPerSecond == this.requestsPerSecond && burst == this.burst) {
+        return;
+      }
+
+      boolean wasEnabled = isEnabled();
+      refill(clock.getAsLong());
+      this.requestsPerSecond = requestsPerSecond;
+      this.burst = Math.max(burst, MIN_CONCURRENCY);
+      this.tokens = wasEnabled ? Math.min(tokens, this.burst) : this.burst;
+      this.concurrencyLimit =
+          concurrencyLimit == 0 ? this.burst : Math.min(concurrencyLimit, this.burst);
+      cancelPendingWake();
+    }
+    wakeWaiters();
+  }
+
+  // the caller holds the lock
+  private void cancelPendingWake() {
+    if (pendingWake != null) {
+      pendingWake.cancel(false);
+      pendingWake = null;
+    }
+    wakeScheduled = false;
+    wakeGeneration++;
+  }
+
+  private boolean isEnabled() {
+    return requestsPerSecond > 0;
+  }
+
+  /**
+   * Attempts to obtain a permit to send a request. New requests are refused while others are
+   * waiting, so that waiting requests are served first.
+   *
+   * @return true if the request may be sent now; in that case the caller must later call {@link
+   *     #release}
+   */
+  public synchronized boolean tryAcquire() {
+    if (!isEnabled()) {
+      inFlight++;
+      return true;
+    }
+
+    long now = clock.getAsLong();
+    refill(now);
+    if (!waiters.isEmpty() || !isPermitAvailable(now)) {
+      return false;
+    }
+
+    tokens -= 1;
+    inFlight++;
+    return true;
+  }
+
+  private boolean isPermitAvailable(long now) {
+    return now >= pausedUntil && tokens >= 1 && inFlight < (int) concurrencyLimit;
+  }
+
+  private void refill(long now) {
+    tokens = Math.min(burst, tokens + (now - lastRefill) * requestsPerSecond / 1e9);
+    lastRefill = now;
+  }
+
+  /**
+   * Waits for a permit. The specified action is run, on the executor or on a thread which releases
+   * a permit, once a permit has been obtained for the caller, which must then send its request
+   * without calling {@link #tryAcquire}, and later call {@link #release}. The action returns false
+   * if the caller no longer needs a permit, in which case the permit is returned and another waiter
+   * is woken instead.
+   *
+   * @param executor an executor with which to schedule wake-ups
+   * @param onWake the action to run when a permit has been obtained
+   */
+  public void await(ScheduledExecutorService executor, BooleanSupplier onWake) {
+    synchronized (this) {
+      this.executor = executor;
+      queuedCount.increment();
+      waiters.addLast(new Waiter(onWake, clock.getAsLong()));
+    }
+    wakeWaiters();
+  }
+
+  /**
+   * Returns the permit for a completed request, adjusting the concurrency limit from its outcome.
+   *
+   * @param call the name of the call, as in the request parameters
+   * @param startNanos the value of {@link #nanoTime} when the request was sent
+   * @param statusCode the HTTP status of the response, or 0 if there was none
+   * @param responseHeaders the headers of the response, if any
+   */
+  public void release(
+      String call, long startNanos, int statusCode, Map<String, List<String>> responseHeaders) {
+    synchronized (this) {
+      inFlight = Math.max(0, inFlight - 1);
+      if (isEnabled()) {
+        recordOutcome(call, startNanos, statusCode, responseHeaders);
+      }
+    }
+    wakeWaiters();
+  }
+
+  private void recordOutcome(
+      String call, long startNanos, int statusCode, Map<String, List<String>> responseHeaders) {
+    long now = clock.getAsLong();
+    if (statusCode == HTTP_TOO_MANY_REQUESTS) {
+      throttledCount.increment();
+      concurrencyLimit = Math.max(MIN_CONCURRENCY, concurrencyLimit * THROTTLE_BACKOFF_RATIO);
+      pausedUntil = Math.max(pausedUntil, now + getRetryAfterNanos(responseHeaders));
+    } else {
+      recordLatency(call, now - startNanos);
+    }
+  }
+
+  private void recordLatency(String call, long latency) {
+    LatencyBaseline baseline = baselines.computeIfAbsent(call, k -> new LatencyBaseline());
+    if (baseline.isCongested(latency)) {
+      concurrencyLimit = Math.max(MIN_CONCURRENCY, concurrencyLimit * LATENCY_BACKOFF_RATIO);
+    } else {
+      concurrencyLimit = Math.min(burst, concurrencyLimit + 1 / concurrencyLimit);
+    }
+  }
+
+  private static long getRetryAfterNanos(Map<String, List<String>> responseHeaders) {
+    if (responseHeaders != null) {
+      for (Map.Entry<String, List<String>> entry : responseHeaders.entrySet()) {
+        if (RETRY_AFTER.equalsIgnoreCase(entry.getKey()) && !entry.getValue().isEmpty()) {
+          try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(entry.getValue().get(0).trim()));
+          } catch (NumberFormatException e) {
+            // an HTTP date, which the API server does not send; fall back to the token bucket
+          }
+        }
+      }
+    }
+    return 0;
+  }
+
+  // wakes as many waiters as may be admitted, replacing any which no longer need permits
+  private void wakeWaiters() {
+    int declined;
+    do {
+      declined = 0;
+      for (Waiter waiter : selectWaitersToWake()) {
+        if (!waiter.onWake.getAsBoolean()) {
+          returnPermit(waiter);
+          declined++;
+        }
+      }
+    } while (declined > 0);
+  }
+
+  // removes the waiters which may be admitted, and takes a permit for each of them;
+  // schedules a wake-up if the remaining waiters must wait for time to pass
+  private synchronized List<Waiter> selectWaitersToWake() {
+    List<Waiter> woken = new ArrayList<>();
+    long now = clock.getAsLong();
+    if (!isEnabled()) {
+      woken.addAll(waiters);
+      waiters.clear();
+      inFlight += woken.size();
+      recordQueueWait(now, woken);
+      return woken;
+    }
+
+    refill(now);
+    while (!waiters.isEmpty() && isPermitAvailable(now)) {
+      Waiter waiter = waiters.removeFirst();
+      waiter.tokenTaken = true;
+      tokens -= 1;
+      inFlight++;
+      woken.add(waiter);
+    }
+    if (!waiters.isEmpty() && !wakeScheduled && (now < pausedUntil || tokens < 1)) {
+      scheduleWake(now);
+    }
+    recordQueueWait(now, woken);
+    return woken;
+  }
+
+  // gives back the permit taken for a waiter which no longer needs it
+  private synchronized void returnPermit(Waiter waiter) {
+    inFlight = Math.max(0, inFlight - 1);
+    if (waiter.tokenTaken) {
+      tokens = Math.min(burst, tokens + 1);
+    }
+  }
+
+  private void recordQueueWait(long now, List<Waiter> woken) {
+    for (Waiter waiter : woken) {
+      queueWaitNanos.add(now - waiter.since);
+    }
+  }
+
+  // the caller holds the lock
+  private void scheduleWake(long now) {
+    if (requestsPerSecond <= 0) {
+      return;
+    }
+
+    long pause = now < pausedUntil ? pausedUntil - now : 0;
+    double tokensNeeded = Math.max(0, 1 - tokens);
+    long delay = Math.max(pause, (long) (tokensNeeded * 1e9 / requestsPerSecond));
+    int generation = wakeGeneration;
+    wakeScheduled = true;
+    pendingWake =
+        executor.schedule(
+            () -> scheduledWake(generation), Math.max(1, delay), TimeUnit.NANOSECONDS);
+  }
+
+  private void scheduledWake(int generation) {
+    synchronized (this) {
+      if (generation != wakeGeneration) {
+        return;
+      }
+      wakeScheduled = false;
+      pendingWake = null;
+    }
+    wakeWaiters();
+  }
+
+  /**
+   * Returns the current time, in nanoseconds, as seen by this limiter.
+   *
+   * @return a time in nanoseconds
+   */
+  public long nanoTime() {
+    return clock.getAsLong();
+  }
+
+  /**
+   * Returns the number of requests which have had to wait for a permit.
+   *
+   * @return a request count
+   */
+  public long getQueuedCount() {
+    return queuedCount.sum();
+  }
+
+  /**
+   * Returns the total time requests have spent waiting for permits, in milliseconds.
+   *
+   * @return a time in milliseconds
+   */
+  public long getQueueWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(queueWaitNanos.sum());
+  }
+
+  /**
+   * Returns the number of requests which the API server has throttled with HTTP 429 responses.
+   *
+   * @return a request count
+   */
+  public long getThrottledCount() {
+    return throttledCount.sum();
+  }
+
+  public synchronized int getWaitingCount() {
+    return waiters.size();
+  }
+
+  public synchronized int getInFlightCount() {
+    return inFlight;
+  }
+
+  public synchronized int getConcurrencyLimit() {
+    return (int) concurrencyLimit;
+  }
+
+  // the fastest recent latency of a call
+  private static class LatencyBaseline {
+    private long fastestLatency;
+    private int samples;
+
+    boolean isCongested(long latency) {
+      if (fastestLatency == 0 || latency < fastestLatency || ++samples > LATENCY_BASELINE_SAMPLES) {
+        fastestLatency = Math.max(1, latency);
+        samples = 0;
+      }
+      return latency > fastestLatency * LATENCY_TOLERANCE;
+    }
+  }
+
+  private static class Waiter {
+    private final BooleanSupplier onWake;
+    private final long since;
+    private boolean tokenTaken;
+
+    Waiter(BooleanSupplier onWake, long since) {
+      this.onWake = onWake;
+      this.since = since;
+    }
+  }
+}
@@ -7,10 +7,16 @@ package oracle.kubernetes.operator.helpers;
 import static oracle.kubernetes.operator.VersionConstants.DEFAULT_OPERATOR_VERSION;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
 import io.kubernetes.client.models.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import oracle.kubernetes.json.SchemaGenerator;
 import oracle.kubernetes.operator.KubernetesConstants;
 import oracle.kubernetes.operator.LabelConstants;
@@ -30,6 +36,10 @@ public class CRDHelper {
 
   private static final CRDComparator COMPARATOR = new CRDComparatorImpl();
 
+  // generated from DomainSpec, with its digest, when the model is built
+  private static final String SCHEMA_RESOURCE = "/crd/domain-spec-schema.json";
+  private static final String SCHEMA_DIGEST_RESOURCE = SCHEMA_RESOURCE + ".digest";
+
   private CRDHelper() {}
 
   /**
@@ -79,7 +89,8 @@ public class CRDHelper {
     static V1ObjectMeta createMetadata() {
       return new V1ObjectMeta()
           .name(KubernetesConstants.CRD_NAME)
-          .putLabelsItem(LabelConstants.RESOURCE_VERSION_LABEL, DEFAULT_OPERATOR_VERSION);
+          .putLabelsItem(LabelConstants.RESOURCE_VERSION_LABEL, DEFAULT_OPERATOR_VERSION)
+          .putLabelsItem(LabelConstants.SCHEMA_DIGEST_LABEL, DomainSchema.INSTANCE.digest);
     }
 
     static V1beta1CustomResourceDefinitionSpec createSpec(KubernetesVersion version) {
@@ -115,9 +126,8 @@ public class CRDHelper {
     }
 
     static V1beta1JSONSchemaProps createOpenAPIV3Schema() {
-      Gson gson = new Gson();
-      JsonElement jsonElement = gson.toJsonTree(createSchemaGenerator().generate(DomainSpec.class));
-      V1beta1JSONSchemaProps spec = gson.fromJson(jsonElement, V1beta1JSONSchemaProps.class);
+      V1beta1JSONSchemaProps spec =
+          new Gson().fromJson(DomainSchema.INSTANCE.text, V1beta1JSONSchemaProps.class);
       return new V1beta1JSONSchemaProps().putPropertiesItem("spec", spec);
     }
 
@@ -221,6 +231,49 @@ public class CRDHelper {
     }
   }
 
+  /**
+   * The validation schema for the domain spec, as generated when the model was built. If it is not
+   * available, as when running from an IDE, it is generated here instead.
+   */
+  static class DomainSchema {
+    static final DomainSchema INSTANCE = load();
+
+    final String text;
+    final String digest;
+
+    private DomainSchema(String text, String digest) {
+      this.text = text;
+      this.digest = digest;
+    }
+
+    private static DomainSchema load() {
+      String text = readResource(SCHEMA_RESOURCE);
+      String digest = readResource(SCHEMA_DIGEST_RESOURCE);
+      if (text != null && digest != null) {
+        return new DomainSchema(text, digest.trim());
+      }
+
+      SchemaGenerator generator = CRDContext.createSchemaGenerator();
+      text = SchemaGenerator.prettyPrint(generator.generate(DomainSpec.class));
+      return new DomainSchema(text, SchemaGenerator.digest(text));
+    }
+
+    private static String readResource(String name) {
+      try (InputStream stream = CRDHelper.class.getResourceAsStream(name)) {
+        if (stream == null) {
+          return null;
+        }
+        try (BufferedReader reader =
+            new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+          return reader.lines().collect(Collectors.joining("\n"));
+        }
+      } catch (IOException e) {
+        LOGGER.warning(MessageKeys.EXCEPTION, e);
+        return null;
+      }
+    }
+  }
+
   interface CRDComparator {
     boolean isOutdatedCRD(
         V1beta1CustomResourceDefinition actual, V1beta1CustomResourceDefinition expected);
@@ -235,17 +288,17 @@ public class CRDHelper {
       // for now we just need to replace v1.
       return actual.getSpec().getVersion().equals("v1")
           || (actual.getSpec().getVersion().equals("v2")
-              && (getSchemaValidation(actual) == null
-                  || !getSchemaValidation(expected).equals(getSchemaValidation(actual))));
+              && !getSchemaDigest(expected).equals(getSchemaDigest(actual)));
       // Similarly, we will later want to check:
       // VersionHelper.matchesResourceVersion(existingCRD.getMetadata(), DEFAULT_OPERATOR_VERSION)
     }
 
-    private V1beta1JSONSchemaProps getSchemaValidation(V1beta1CustomResourceDefinition crd) {
-      if (crd != null && crd.getSpec() != null && crd.getSpec().getValidation() != null) {
-        return crd.getSpec().getValidation().getOpenAPIV3Schema();
-      }
-      return null;
+    // the schema is not compared directly, as the digest of the expected schema is known
+    private String getSchemaDigest(V1beta1CustomResourceDefinition crd) {
+      return Optional.ofNullable(crd.getMetadata())
+          .map(V1ObjectMeta::getLabels)
+          .map(labels -> labels.get(LabelConstants.SCHEMA_DIGEST_LABEL))
+          .orElse("");
     }
   }
 }
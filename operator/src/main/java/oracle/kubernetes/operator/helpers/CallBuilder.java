@@ -15,6 +15,7 @@ import io.kubernetes.client.apis.BatchV1Api;
 import io.kubernetes.client.apis.CoreV1Api;
 import io.kubernetes.client.apis.VersionApi;
 import io.kubernetes.client.models.V1ConfigMap;
+import io.kubernetes.client.models.V1ConfigMapList;
 import io.kubernetes.client.models.V1DeleteOptions;
 import io.kubernetes.client.models.V1EventList;
 import io.kubernetes.client.models.V1Job;
@@ -35,6 +36,8 @@ import io.kubernetes.client.models.V1SubjectAccessReview;
 import io.kubernetes.client.models.V1TokenReview;
 import io.kubernetes.client.models.V1beta1CustomResourceDefinition;
 import io.kubernetes.client.models.VersionInfo;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import oracle.kubernetes.operator.TuningParameters;
@@ -46,6 +49,7 @@ import oracle.kubernetes.operator.calls.CancellableCall;
 import oracle.kubernetes.operator.calls.RequestParams;
 import oracle.kubernetes.operator.calls.SynchronousCallDispatcher;
 import oracle.kubernetes.operator.calls.SynchronousCallFactory;
+import oracle.kubernetes.operator.helpers.HttpTransport.Profile;
 import oracle.kubernetes.operator.work.Step;
 import oracle.kubernetes.weblogic.domain.v2.Domain;
 import oracle.kubernetes.weblogic.domain.v2.DomainList;
@@ -161,7 +165,7 @@ public class CallBuilder {
 
   private <T> T executeSynchronousCall(
       RequestParams requestParams, SynchronousCallFactory<T> factory) throws ApiException {
-    return DISPATCHER.execute(factory, requestParams, helper);
+    return DISPATCHER.execute(factory, requestParams, getPool(requestParams));
   }
 
   /* Namespaces */
@@ -222,7 +226,8 @@ public class CallBuilder {
    * @throws ApiException API exception
    */
   public DomainList listDomain(String namespace) throws ApiException {
-    RequestParams requestParams = new RequestParams("listDomain", namespace, null, null);
+    RequestParams requestParams =
+        new RequestParams("listDomain", namespace, null, null).asListCall();
     return executeSynchronousCall(requestParams, LIST_DOMAIN_CALL);
   }
 
@@ -261,7 +266,28 @@ public class CallBuilder {
    */
   public Step listDomainAsync(String namespace, ResponseStep<DomainList> responseStep) {
     return createRequestAsync(
-        responseStep, new RequestParams("listDomain", namespace, null, null), LIST_DOMAIN);
+        responseStep,
+        new RequestParams("listDomain", namespace, null, null).asListCall(),
+        LIST_DOMAIN);
+  }
+
+  private SynchronousCallFactory<Domain> READ_DOMAIN_CALL =
+      (client, requestParams) ->
+          new WeblogicApi(client)
+              .readWebLogicOracleV2NamespacedDomain(
+                  requestParams.name, requestParams.namespace, pretty, exact, export);
+
+  /**
+   * Read domain
+   *
+   * @param uid the domain uid (unique within the k8s cluster)
+   * @param namespace Namespace
+   * @return Read domain
+   * @throws ApiException APIException
+   */
+  public Domain readDomain(String uid, String namespace) throws ApiException {
+    RequestParams requestParams = new RequestParams("readDomain", namespace, uid, null);
+    return executeSynchronousCall(requestParams, READ_DOMAIN_CALL);
   }
 
   private com.squareup.okhttp.Call readDomainAsync(
@@ -309,6 +335,62 @@ public class CallBuilder {
     return executeSynchronousCall(requestParams, REPLACE_DOMAIN_CALL);
   }
 
+  private SynchronousCallFactory<Domain> PATCH_DOMAIN_CALL =
+      (client, requestParams) ->
+          new WeblogicApi(client)
+              .patchWebLogicOracleV2NamespacedDomain(
+                  requestParams.name, requestParams.namespace, requestParams.body, pretty);
+
+  /**
+   * Patch domain
+   *
+   * @param uid the domain uid (unique within the k8s cluster)
+   * @param namespace Namespace
+   * @param patchBody a JSON patch (RFC 6902), as a list of operations
+   * @return Patched domain
+   * @throws ApiException APIException
+   */
+  public Domain patchDomain(String uid, String namespace, List<Map<String, Object>> patchBody)
+      throws ApiException {
+    RequestParams requestParams = new RequestParams("patchDomain", namespace, uid, patchBody);
+    return executeSynchronousCall(requestParams, PATCH_DOMAIN_CALL);
+  }
+
+  private com.squareup.okhttp.Call patchDomainAsync(
+      ApiClient client, String name, String namespace, Object patch, ApiCallback<Domain> callback)
+      throws ApiException {
+    return new WeblogicApi(client)
+        .patchWebLogicOracleV2NamespacedDomainAsync(name, namespace, patch, pretty, callback);
+  }
+
+  private final CallFactory<Domain> PATCH_DOMAIN =
+      (requestParams, usage, cont, callback) ->
+          wrap(
+              patchDomainAsync(
+                  usage,
+                  requestParams.name,
+                  requestParams.namespace,
+                  requestParams.body,
+                  callback));
+
+  /**
+   * Asynchronous step for patching domain
+   *
+   * @param uid the domain uid (unique within the k8s cluster)
+   * @param namespace Namespace
+   * @param patchBody a JSON patch (RFC 6902), as a list of operations
+   * @param responseStep Response step for when call completes
+   * @return Asynchronous step
+   */
+  public Step patchDomainAsync(
+      String uid,
+      String namespace,
+      List<Map<String, Object>> patchBody,
+      ResponseStep<Domain> responseStep) {
+    return createRequestAsync(
+        responseStep, new RequestParams("patchDomain", namespace, uid, patchBody), PATCH_DOMAIN);
+  }
+
   private com.squareup.okhttp.Call replaceDomainAsync(
       ApiClient client, String name, String namespace, Domain body, ApiCallback<Domain> callback)
       throws ApiException {
@@ -433,6 +515,61 @@ public class CallBuilder {
 
   /* Config Maps */
 
+  private SynchronousCallFactory<V1ConfigMap> READ_CONFIGMAP_CALL =
+      (client, requestParams) ->
+          new CoreV1Api(client)
+              .readNamespacedConfigMap(
+                  requestParams.name, requestParams.namespace, pretty, exact, export);
+
+  /**
+   * Read config map
+   *
+   * @param name Name
+   * @param namespace Namespace
+   * @return Read config map
+   * @throws ApiException APIException
+   */
+  public V1ConfigMap readConfigMap(String name, String namespace) throws ApiException {
+    RequestParams requestParams = new RequestParams("readConfigMap", namespace, name, null);
+    return executeSynchronousCall(requestParams, READ_CONFIGMAP_CALL);
+  }
+
+  private com.squareup.okhttp.Call listConfigMapAsync(
+      ApiClient client, String namespace, String _continue, ApiCallback<V1ConfigMapList> callback)
+      throws ApiException {
+    return new CoreV1Api(client)
+        .listNamespacedConfigMapAsync(
+            namespace,
+            pretty,
+            _continue,
+            fieldSelector,
+            includeUninitialized,
+            labelSelector,
+            limit,
+            resourceVersion,
+            timeoutSeconds,
+            watch,
+            callback);
+  }
+
+  private final CallFactory<V1ConfigMapList> LIST_CONFIGMAP =
+      (requestParams, usage, cont, callback) ->
+          wrap(listConfigMapAsync(usage, requestParams.namespace, cont, callback));
+
+  /**
+   * Asynchronous step for listing config maps
+   *
+   * @param namespace Namespace
+   * @param responseStep Response step for when call completes
+   * @return Asynchronous step
+   */
+  public Step listConfigMapAsync(String namespace, ResponseStep<V1ConfigMapList> responseStep) {
+    return createRequestAsync(
+        responseStep,
+        new RequestParams("listConfigMap", namespace, null, null).asListCall(),
+        LIST_CONFIGMAP);
+  }
+
   private com.squareup.okhttp.Call readConfigMapAsync(
       ApiClient client, String name, String namespace, ApiCallback<V1ConfigMap> callback)
       throws ApiException {
@@ -606,7 +743,7 @@ public class CallBuilder {
    */
   public Step listPodAsync(String namespace, ResponseStep<V1PodList> responseStep) {
     return createRequestAsync(
-        responseStep, new RequestParams("listPod", namespace, null, null), LIST_POD);
+        responseStep, new RequestParams("listPod", namespace, null, null).asListCall(), LIST_POD);
   }
 
   private com.squareup.okhttp.Call readPodAsync(
@@ -898,7 +1035,9 @@ public class CallBuilder {
    */
   public Step listServiceAsync(String namespace, ResponseStep<V1ServiceList> responseStep) {
     return createRequestAsync(
-        responseStep, new RequestParams("listService", namespace, null, null), LIST_SERVICE);
+        responseStep,
+        new RequestParams("listService", namespace, null, null).asListCall(),
+        LIST_SERVICE);
   }
 
   /**
@@ -1078,7 +1217,9 @@ public class CallBuilder {
    */
   public Step listEventAsync(String namespace, ResponseStep<V1EventList> responseStep) {
     return createRequestAsync(
-        responseStep, new RequestParams("listEvent", namespace, null, null), LIST_EVENT);
+        responseStep,
+        new RequestParams("listEvent", namespace, null, null).asListCall(),
+        LIST_EVENT);
   }
 
   /* Persistent Volumes */
@@ -1113,7 +1254,7 @@ public class CallBuilder {
   public Step listPersistentVolumeAsync(ResponseStep<V1PersistentVolumeList> responseStep) {
     return createRequestAsync(
         responseStep,
-        new RequestParams("listPersistentVolume", null, null, null),
+        new RequestParams("listPersistentVolume", null, null, null).asListCall(),
         LIST_PERSISTENTVOLUME);
   }
 
@@ -1196,6 +1337,39 @@ public class CallBuilder {
         DELETE_PERSISTENTVOLUME);
   }
 
+  private com.squareup.okhttp.Call deleteCollectionPersistentVolumeAsync(
+      ApiClient client, String _continue, ApiCallback<V1Status> callback) throws ApiException {
+    return new CoreV1Api(client)
+        .deleteCollectionPersistentVolumeAsync(
+            pretty,
+            _continue,
+            fieldSelector,
+            includeUninitialized,
+            labelSelector,
+            limit,
+            resourceVersion,
+            timeoutSeconds,
+            watch,
+            callback);
+  }
+
+  private final CallFactory<V1Status> DELETECOLLECTION_PERSISTENTVOLUME =
+      (requestParams, usage, cont, callback) ->
+          wrap(deleteCollectionPersistentVolumeAsync(usage, cont, callback));
+
+  /**
+   * Asynchronous step for deleting the persistent volumes selected by this builder's labels.
+   *
+   * @param responseStep the step to invoke when the call completes
+   * @return a new asynchronous step
+   */
+  public Step deleteCollectionPersistentVolumeAsync(ResponseStep<V1Status> responseStep) {
+    return createRequestAsync(
+        responseStep,
+        new RequestParams("deleteCollectionPersistentVolume", null, null, null),
+        DELETECOLLECTION_PERSISTENTVOLUME);
+  }
+
   /* Persistent Volume Claims */
 
   private com.squareup.okhttp.Call listPersistentVolumeClaimAsync(
@@ -1234,7 +1408,7 @@ public class CallBuilder {
       String namespace, ResponseStep<V1PersistentVolumeClaimList> responseStep) {
     return createRequestAsync(
         responseStep,
-        new RequestParams("listPersistentVolumeClaim", namespace, null, null),
+        new RequestParams("listPersistentVolumeClaim", namespace, null, null).asListCall(),
         LIST_PERSISTENTVOLUMECLAIM);
   }
 
@@ -1315,6 +1489,46 @@ public class CallBuilder {
         DELETE_PERSISTENTVOLUMECLAIM);
   }
 
+  private com.squareup.okhttp.Call deleteCollectionPersistentVolumeClaimAsync(
+      ApiClient client, String namespace, String _continue, ApiCallback<V1Status> callback)
+      throws ApiException {
+    return new CoreV1Api(client)
+        .deleteCollectionNamespacedPersistentVolumeClaimAsync(
+            namespace,
+            pretty,
+            _continue,
+            fieldSelector,
+            includeUninitialized,
+            labelSelector,
+            limit,
+            resourceVersion,
+            timeoutSeconds,
+            watch,
+            callback);
+  }
+
+  private final CallFactory<V1Status> DELETECOLLECTION_PERSISTENTVOLUMECLAIM =
+      (requestParams, usage, cont, callback) ->
+          wrap(
+              deleteCollectionPersistentVolumeClaimAsync(
+                  usage, requestParams.namespace, cont, callback));
+
+  /**
+   * Asynchronous step for deleting the persistent volume claims in a namespace which are selected
+   * by this builder's labels.
+   *
+   * @param namespace the namespace of the claims
+   * @param responseStep the step to invoke when the call completes
+   * @return a new asynchronous step
+   */
+  public Step deleteCollectionPersistentVolumeClaimAsync(
+      String namespace, ResponseStep<V1Status> responseStep) {
+    return createRequestAsync(
+        responseStep,
+        new RequestParams("deleteCollectionPersistentVolumeClaim", namespace, null, null),
+        DELETECOLLECTION_PERSISTENTVOLUMECLAIM);
+  }
+
   /* Secrets */
 
   /**
@@ -1633,13 +1847,18 @@ public class CallBuilder {
 
   private static AsyncRequestStepFactory STEP_FACTORY = DEFAULT_STEP_FACTORY;
 
+  // list responses may be large, so are read with a longer timeout than other calls
+  private ClientPool getPool(RequestParams requestParams) {
+    return requestParams.isListCall() ? ClientPool.getInstance(Profile.LIST) : helper;
+  }
+
   private <T> Step createRequestAsync(
       ResponseStep<T> next, RequestParams requestParams, CallFactory<T> factory) {
     return STEP_FACTORY.createRequestAsync(
         next,
         requestParams,
         factory,
-        helper,
+        getPool(requestParams),
         timeoutSeconds,
         maxRetryCount,
         fieldSelector,
@@ -8,7 +8,10 @@ import io.kubernetes.client.ApiClient;
 import io.kubernetes.client.Configuration;
 import io.kubernetes.client.util.Config;
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import oracle.kubernetes.operator.helpers.HttpTransport.Profile;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
@@ -17,21 +20,55 @@ import oracle.kubernetes.operator.work.ContainerResolver;
 
 public class ClientPool extends Pool<ApiClient> {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
-  private static final ClientPool SINGLETON = new ClientPool();
+  private static final Map<Profile, ClientPool> POOLS = createPools();
+  private static final AtomicBoolean IS_FIRST = new AtomicBoolean(true);
 
   private static final ClientFactory FACTORY = new DefaultClientFactory();
 
+  private static Map<Profile, ClientPool> createPools() {
+    Map<Profile, ClientPool> pools = new EnumMap<>(Profile.class);
+    for (Profile profile : Profile.values()) {
+      pools.put(profile, new ClientPool(profile));
+    }
+    return pools;
+  }
+
+  /**
+   * Returns the pool of clients for reads and updates of individual resources.
+   *
+   * @return a client pool
+   */
   public static ClientPool getInstance() {
-    return SINGLETON;
+    return getInstance(Profile.MUTATE);
   }
 
-  private final AtomicBoolean isFirst = new AtomicBoolean(true);
+  /**
+   * Returns the pool of clients whose timeouts suit the specified kind of call. All clients share
+   * the same {@link HttpTransport}.
+   *
+   * @param profile the kind of call
+   * @return a client pool
+   */
+  public static ClientPool getInstance(Profile profile) {
+    return POOLS.get(profile);
+  }
 
-  private ClientPool() {}
+  private final Profile profile;
+
+  private ClientPool(Profile profile) {
+    this.profile = profile;
+  }
 
   @Override
   protected ApiClient create() {
-    return getApiClient();
+    ApiClient client = getApiClient();
+    return client != null ? HttpTransport.getInstance().configure(client, profile) : null;
+  }
+
+  // the timeouts may have been changed since the client was created
+  @Override
+  protected ApiClient onReuse(ApiClient client) {
+    return HttpTransport.getInstance().configure(client, profile);
   }
 
   private ApiClient getApiClient() {
@@ -54,7 +91,7 @@ public class ClientPool extends Pool<ApiClient> {
       LOGGER.warning(MessageKeys.EXCEPTION, e);
     }
 
-    if (isFirst.compareAndSet(true, false)) {
+    if (IS_FIRST.compareAndSet(true, false)) {
       LOGGER.info(MessageKeys.K8S_MASTER_URL, client != null ? client.getBasePath() : null);
     }
 
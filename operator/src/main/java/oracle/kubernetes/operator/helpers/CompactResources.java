@@ -0,0 +1,146 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import io.kubernetes.client.models.V1Container;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1PodStatus;
+import io.kubernetes.client.models.V1Service;
+import io.kubernetes.client.models.V1ServiceSpec;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the copies of pods and services that are kept in a {@link DomainPresenceInfo}. Pods and
+ * services read from Kubernetes carry many fields that the operator never looks at, such as
+ * container statuses, owner references and the defaults filled in by Kubernetes. A compact copy
+ * keeps only what the operator uses: the metadata needed to identify the resource, order watch
+ * events and compare labels and annotations; the parts of the spec compared with the operator's
+ * model and the node name; and the phase and readiness of a pod. Retained values are shared with
+ * the original rather than copied. Anything else must be read from Kubernetes when needed.
+ */
+public final class CompactResources {
+  private static final String READY_CONDITION = "Ready";
+
+  private CompactResources() {}
+
+  /**
+   * Returns a compact copy of the specified pod.
+   *
+   * @param pod a pod, or null
+   * @return a pod holding only the fields used by the operator, or null if pod was null
+   */
+  public static V1Pod compact(V1Pod pod) {
+    if (pod == null) {
+      return null;
+    }
+    return new V1Pod()
+        .metadata(compact(pod.getMetadata()))
+        .spec(compact(pod.getSpec()))
+        .status(compact(pod.getStatus()));
+  }
+
+  /**
+   * Returns a compact copy of the specified service.
+   *
+   * @param service a service, or null
+   * @return a service holding only the fields used by the operator, or null if service was null
+   */
+  public static V1Service compact(V1Service service) {
+    if (service == null) {
+      return null;
+    }
+    return new V1Service()
+        .metadata(compact(service.getMetadata()))
+        .spec(compact(service.getSpec()));
+  }
+
+  private static V1ObjectMeta compact(V1ObjectMeta metadata) {
+    if (metadata == null) {
+      return null;
+    }
+    return new V1ObjectMeta()
+        .name(metadata.getName())
+        .namespace(metadata.getNamespace())
+        .resourceVersion(metadata.getResourceVersion())
+        .creationTimestamp(metadata.getCreationTimestamp())
+        .deletionTimestamp(metadata.getDeletionTimestamp())
+        .deletionGracePeriodSeconds(metadata.getDeletionGracePeriodSeconds())
+        .labels(metadata.getLabels())
+        .annotations(metadata.getAnnotations());
+  }
+
+  private static V1PodSpec compact(V1PodSpec spec) {
+    if (spec == null) {
+      return null;
+    }
+    return new V1PodSpec()
+        .nodeName(spec.getNodeName())
+        .nodeSelector(spec.getNodeSelector())
+        .securityContext(spec.getSecurityContext())
+        .imagePullSecrets(spec.getImagePullSecrets())
+        .volumes(spec.getVolumes())
+        .containers(compact(spec.getContainers()));
+  }
+
+  private static List<V1Container> compact(List<V1Container> containers) {
+    if (containers == null) {
+      return null;
+    }
+    List<V1Container> result = new ArrayList<>(containers.size());
+    for (V1Container container : containers) {
+      result.add(compact(container));
+    }
+    return result;
+  }
+
+  private static V1Container compact(V1Container container) {
+    return new V1Container()
+        .name(container.getName())
+        .image(container.getImage())
+        .imagePullPolicy(container.getImagePullPolicy())
+        .command(container.getCommand())
+        .args(container.getArgs())
+        .env(container.getEnv())
+        .envFrom(container.getEnvFrom())
+        .ports(container.getPorts())
+        .lifecycle(container.getLifecycle())
+        .livenessProbe(container.getLivenessProbe())
+        .readinessProbe(container.getReadinessProbe())
+        .resources(container.getResources())
+        .securityContext(container.getSecurityContext())
+        .volumeMounts(container.getVolumeMounts());
+  }
+
+  private static V1PodStatus compact(V1PodStatus status) {
+    if (status == null) {
+      return null;
+    }
+    V1PodStatus result = new V1PodStatus().phase(status.getPhase());
+    if (status.getConditions() != null) {
+      for (V1PodCondition condition : status.getConditions()) {
+        if (READY_CONDITION.equals(condition.getType())) {
+          result.addConditionsItem(
+              new V1PodCondition().type(condition.getType()).status(condition.getStatus()));
+        }
+      }
+    }
+    return result;
+  }
+
+  private static V1ServiceSpec compact(V1ServiceSpec spec) {
+    if (spec == null) {
+      return null;
+    }
+    return new V1ServiceSpec()
+        .type(spec.getType())
+        .clusterIP(spec.getClusterIP())
+        .selector(spec.getSelector())
+        .ports(spec.getPorts());
+  }
+}
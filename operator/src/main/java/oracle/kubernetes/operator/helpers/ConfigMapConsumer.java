@@ -4,13 +4,25 @@
 
 package oracle.kubernetes.operator.helpers;
 
-import java.io.File;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -18,48 +30,149 @@ import java.util.concurrent.atomic.AtomicReference;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.work.ThreadFactorySingleton;
 
 /**
  * Kubernetes mounts ConfigMaps in the Pod's file-system as directories where the contained files
  * are named with the keys and the contents of the file are the values. This class assists with
  * parsing this data and representing it as a Map.
+ *
+ * <p>The files are read into an immutable snapshot, so that reads do not touch the file-system. The
+ * mount point is watched for changes; when Kubernetes updates a ConfigMap, it atomically replaces
+ * the {@code ..data} symbolic link through which the key files are resolved, and the snapshot is
+ * then re-read. Listeners are notified only if the contents actually changed. If the file-system
+ * cannot be watched, the snapshot is re-read periodically instead.
  */
 public class ConfigMapConsumer implements Map<String, String> {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
-  private final File mountPointDir;
+  // a ConfigMap update arrives as a burst of events; the snapshot is re-read once it is over
+  private static final long QUIET_PERIOD_MILLIS = 100;
+
+  private final Path mountPoint;
   private final ScheduledExecutorService threadPool;
+  private final AtomicReference<Map<String, String>> snapshot =
+      new AtomicReference<>(Collections.emptyMap());
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
   private final AtomicReference<ScheduledFuture<?>> future = new AtomicReference<>(null);
-  private final Runnable onUpdate;
+  private WatchService watchService;
 
   public ConfigMapConsumer(
       ScheduledExecutorService executorService, String mountPoint, Runnable onUpdate)
       throws IOException {
+    this(executorService, mountPoint, onUpdate, true);
+  }
+
+  ConfigMapConsumer(
+      ScheduledExecutorService executorService,
+      String mountPoint,
+      Runnable onUpdate,
+      boolean watchForChanges) {
     this.threadPool = executorService;
-    this.mountPointDir = new File(mountPoint);
-    this.onUpdate = onUpdate;
-    if (mountPointDir.exists()) {
+    this.mountPoint = Paths.get(mountPoint);
+    this.listeners.add(onUpdate);
+    Map<String, String> initial = readSnapshot();
+    if (initial != null) {
+      snapshot.set(initial);
+    }
+    if (watchForChanges && Files.isDirectory(this.mountPoint)) {
+      startWatching();
+    }
+  }
+
+  /**
+   * Registers an action to run, on the executor, whenever the contents of the ConfigMap change.
+   *
+   * @param listener the action
+   */
+  public void addChangeListener(Runnable listener) {
+    listeners.add(listener);
+  }
+
+  private void startWatching() {
+    try {
+      watchService = mountPoint.getFileSystem().newWatchService();
+      mountPoint.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+      ThreadFactorySingleton.getInstance().newThread(this::watch).start();
+    } catch (IOException | UnsupportedOperationException e) {
+      LOGGER.warning(MessageKeys.EXCEPTION, e);
       schedule();
     }
   }
 
+  private void watch() {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        do {
+          key.pollEvents();
+          if (!key.reset()) {
+            // the mount point is no longer accessible; fall back to periodic reads
+            schedule();
+            return;
+          }
+        } while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null);
+        reload();
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // stopped
+    }
+  }
+
   private void schedule() {
     long initialDelay = readTuningParameter("configMapUpdateInitialDelay", 3);
     long delay = readTuningParameter("configMapUpdateDelay", 10);
     ScheduledFuture<?> old =
         future.getAndSet(
-            threadPool.scheduleWithFixedDelay(
-                () -> {
-                  onUpdate.run();
-                },
-                initialDelay,
-                delay,
-                TimeUnit.SECONDS));
+            threadPool.scheduleWithFixedDelay(this::reload, initialDelay, delay, TimeUnit.SECONDS));
+    if (old != null) {
+      old.cancel(true);
+    }
+  }
+
+  /** Stops watching the mount point. */
+  void close() throws IOException {
+    if (watchService != null) {
+      watchService.close();
+    }
+    ScheduledFuture<?> old = future.getAndSet(null);
     if (old != null) {
       old.cancel(true);
     }
   }
 
+  /** Re-reads the mounted files, and notifies the listeners if their contents have changed. */
+  void reload() {
+    Map<String, String> current = readSnapshot();
+    if (current != null && !current.equals(snapshot.getAndSet(current))) {
+      for (Runnable listener : listeners) {
+        threadPool.execute(listener);
+      }
+    }
+  }
+
+  // returns null if the files could not be read, so that the previous snapshot is kept
+  private Map<String, String> readSnapshot() {
+    if (!Files.isDirectory(mountPoint)) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, String> values = new HashMap<>();
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(mountPoint)) {
+      for (Path entry : entries) {
+        String key = entry.getFileName().toString();
+        // skip the hidden entries, such as ..data, through which Kubernetes updates the files
+        if (!key.startsWith(".") && Files.isRegularFile(entry)) {
+          values.put(key, new String(Files.readAllBytes(entry)));
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.warning(MessageKeys.EXCEPTION, e);
+      return null;
+    }
+    return Collections.unmodifiableMap(values);
+  }
+
   public long readTuningParameter(String parameter, long defaultValue) {
     String val = get(parameter);
     if (val != null) {
@@ -73,37 +186,34 @@ public class ConfigMapConsumer implements Map<String, String> {
     return defaultValue;
   }
 
+  public boolean readBooleanTuningParameter(String parameter, boolean defaultValue) {
+    String val = get(parameter);
+    return val != null ? Boolean.parseBoolean(val.trim()) : defaultValue;
+  }
+
   @Override
   public int size() {
-    String[] list = mountPointDir.list();
-    return list == null ? null : list.length;
+    return snapshot.get().size();
   }
 
   @Override
   public boolean isEmpty() {
-    return size() == 0;
+    return snapshot.get().isEmpty();
   }
 
   @Override
   public boolean containsKey(Object key) {
-    if (key instanceof String) {
-      File child = new File(mountPointDir, (String) key);
-      return child.exists();
-    }
-    return false;
+    return snapshot.get().containsKey(key);
   }
 
   @Override
   public boolean containsValue(Object value) {
-    throw new UnsupportedOperationException();
+    return snapshot.get().containsValue(value);
   }
 
   @Override
   public String get(Object key) {
-    if (key instanceof String) {
-      return readValue((String) key);
-    }
-    return null;
+    return snapshot.get().get(key);
   }
 
   @Override
@@ -128,60 +238,16 @@ public class ConfigMapConsumer implements Map<String, String> {
 
   @Override
   public Set<String> keySet() {
-    Set<String> keys = new HashSet<>();
-    String[] list = mountPointDir.list();
-    if (list != null) {
-      for (String s : list) {
-        keys.add(s);
-      }
-    }
-    return keys;
+    return snapshot.get().keySet();
   }
 
   @Override
   public Collection<String> values() {
-    throw new UnsupportedOperationException();
+    return snapshot.get().values();
   }
 
   @Override
   public Set<Entry<String, String>> entrySet() {
-    Set<Entry<String, String>> entries = new HashSet<>();
-    String[] list = mountPointDir.list();
-    if (list != null) {
-      for (String s : list) {
-        entries.add(
-            new Entry<String, String>() {
-
-              @Override
-              public String getKey() {
-                return s;
-              }
-
-              @Override
-              public String getValue() {
-                return readValue(s);
-              }
-
-              @Override
-              public String setValue(String value) {
-                throw new UnsupportedOperationException();
-              }
-            });
-      }
-    }
-    return entries;
-  }
-
-  private String readValue(String key) {
-    File child = new File(mountPointDir, key);
-    if (child.exists()) {
-      try {
-        return new String(Files.readAllBytes(child.toPath()));
-      } catch (IOException e) {
-        LOGGER.warning(MessageKeys.EXCEPTION, e);
-      }
-    }
-
-    return null;
+    return snapshot.get().entrySet();
   }
 }
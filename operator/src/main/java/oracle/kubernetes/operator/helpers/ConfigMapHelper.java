@@ -18,6 +18,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import oracle.kubernetes.operator.KubernetesConstants;
 import oracle.kubernetes.operator.LabelConstants;
 import oracle.kubernetes.operator.ProcessingConstants;
@@ -44,6 +46,10 @@ public class ConfigMapHelper {
 
   private static final FileGroupReader scriptReader = new FileGroupReader(SCRIPT_LOCATION);
 
+  // the parsed topology of each domain, with the version of the introspector config map it was
+  // parsed from, keyed by namespace and domain UID
+  private static final Map<String, CachedTopology> topologies = new ConcurrentHashMap<>();
+
   private ConfigMapHelper() {}
 
   /**
@@ -356,6 +362,7 @@ public class ConfigMapHelper {
         } else if (isCompatibleMap(existingMap)) {
           logConfigMapExists();
           packet.put(ProcessingConstants.SIT_CONFIG_MAP, existingMap);
+          recordTopology(packet, existingMap);
           return doNext(packet);
         } else {
           return doNext(updateConfigMap(getNext(), existingMap), packet);
@@ -381,6 +388,7 @@ public class ConfigMapHelper {
       public NextAction onSuccess(Packet packet, CallResponse<V1ConfigMap> callResponse) {
         LOGGER.info(MessageKeys.CM_CREATED, domainNamespace);
         packet.put(ProcessingConstants.SIT_CONFIG_MAP, callResponse.getResult());
+        recordTopology(packet, callResponse.getResult());
         return doNext(packet);
       }
     }
@@ -403,6 +411,7 @@ public class ConfigMapHelper {
       public NextAction onSuccess(Packet packet, CallResponse<V1ConfigMap> callResponse) {
         LOGGER.info(MessageKeys.CM_REPLACED, domainNamespace);
         packet.put(ProcessingConstants.SIT_CONFIG_MAP, callResponse.getResult());
+        recordTopology(packet, callResponse.getResult());
         return doNext(packet);
       }
     }
@@ -416,6 +425,16 @@ public class ConfigMapHelper {
               createReplaceResponseStep(next));
     }
 
+    private void recordTopology(Packet packet, V1ConfigMap configMap) {
+      WlsDomainConfig config = (WlsDomainConfig) packet.get(ProcessingConstants.DOMAIN_TOPOLOGY);
+      String resourceVersion = getResourceVersion(configMap);
+      if (config != null && resourceVersion != null) {
+        topologies.put(
+            getTopologyKey(domainNamespace, getDomainUID(cmName)),
+            new CachedTopology(resourceVersion, config));
+      }
+    }
+
     Map<String, String> getCombinedData(V1ConfigMap existingConfigMap) {
       Map<String, String> updated = existingConfigMap.getData();
       updated.putAll(this.data);
@@ -448,6 +467,7 @@ public class ConfigMapHelper {
 
     @Override
     public NextAction apply(Packet packet) {
+      topologies.remove(getTopologyKey(namespace, domainUID));
       return doNext(deleteSitConfigMap(getNext()), packet);
     }
 
@@ -475,14 +495,50 @@ public class ConfigMapHelper {
     }
   }
 
+  /**
+   * Factory for {@link Step} that adds the domain topology to the packet. The topology is parsed
+   * from the introspector config map, and is cached with the version of that map; while that
+   * version is unchanged, the cached topology is used without reading the map again.
+   *
+   * @param ns Namespace
+   * @param domainUID The unique identifier assigned to the Weblogic domain when it was registered
+   * @return Step for reading the domain topology
+   */
   public static Step readExistingSituConfigMap(String ns, String domainUID) {
-    String situConfigMapName = ConfigMapHelper.SitConfigMapContext.getConfigMapName(domainUID);
-    return new CallBuilder().readConfigMapAsync(situConfigMapName, ns, new ReadSituConfigMapStep());
+    return new ReadTopologyStep(ns, domainUID);
+  }
+
+  private static class ReadTopologyStep extends Step {
+    private final String namespace;
+    private final String domainUID;
+
+    ReadTopologyStep(String namespace, String domainUID) {
+      this.namespace = namespace;
+      this.domainUID = domainUID;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      CachedTopology cached = topologies.get(getTopologyKey(namespace, domainUID));
+      if (cached != null) {
+        packet.put(ProcessingConstants.DOMAIN_TOPOLOGY, cached.config);
+        return doNext(getNext(), packet);
+      }
+
+      String situConfigMapName = SitConfigMapContext.getConfigMapName(domainUID);
+      return doNext(
+          new CallBuilder()
+              .readConfigMapAsync(
+                  situConfigMapName, namespace, new ReadSituConfigMapStep(getNext())),
+          packet);
+    }
   }
 
   private static class ReadSituConfigMapStep extends ResponseStep<V1ConfigMap> {
 
-    ReadSituConfigMapStep() {}
+    ReadSituConfigMapStep(Step next) {
+      super(next);
+    }
 
     @Override
     public NextAction onFailure(Packet packet, CallResponse<V1ConfigMap> callResponse) {
@@ -506,6 +562,12 @@ public class ConfigMapHelper {
           ScanCache.INSTANCE.registerScan(
               info.getNamespace(), info.getDomainUID(), new Scan(wlsDomainConfig, new DateTime()));
           packet.put(ProcessingConstants.DOMAIN_TOPOLOGY, wlsDomainConfig);
+          Optional.ofNullable(getResourceVersion(result))
+              .ifPresent(
+                  version ->
+                      topologies.put(
+                          getTopologyKey(info.getNamespace(), info.getDomainUID()),
+                          new CachedTopology(version, wlsDomainConfig)));
         }
       }
 
@@ -513,6 +575,106 @@ public class ConfigMapHelper {
     }
   }
 
+  /**
+   * Updates the cached domain topology from a watch event on a config map. Only introspector config
+   * maps affect the cache. A changed map is parsed again only if its version differs from that of
+   * the cached topology; a deleted map removes the cached topology.
+   *
+   * @param type the type of the watch event
+   * @param configMap the config map reported by the event
+   */
+  public static void onIntrospectorConfigMapEvent(String type, V1ConfigMap configMap) {
+    V1ObjectMeta metadata = configMap.getMetadata();
+    String domainUID = getDomainUID(metadata.getName());
+    if (domainUID == null) {
+      return;
+    }
+
+    String key = getTopologyKey(metadata.getNamespace(), domainUID);
+    switch (type) {
+      case "ADDED":
+      case "MODIFIED":
+        CachedTopology cached = topologies.get(key);
+        if (cached == null || !cached.resourceVersion.equals(metadata.getResourceVersion())) {
+          refreshTopology(key, metadata.getNamespace(), domainUID, configMap);
+        }
+        break;
+      case "DELETED":
+        topologies.remove(key);
+        break;
+      default:
+    }
+  }
+
+  private static void refreshTopology(
+      String key, String namespace, String domainUID, V1ConfigMap configMap) {
+    String topologyYaml =
+        Optional.ofNullable(configMap.getData()).map(d -> d.get("topology.yaml")).orElse(null);
+    DomainTopology domainTopology =
+        topologyYaml == null ? null : parseDomainTopologyYaml(topologyYaml);
+    String resourceVersion = getResourceVersion(configMap);
+    if (domainTopology == null || domainTopology.domain == null || resourceVersion == null) {
+      topologies.remove(key);
+      return;
+    }
+
+    WlsDomainConfig wlsDomainConfig = domainTopology.getDomain();
+    ScanCache.INSTANCE.registerScan(
+        namespace, domainUID, new Scan(wlsDomainConfig, new DateTime()));
+    topologies.put(key, new CachedTopology(resourceVersion, wlsDomainConfig));
+  }
+
+  /**
+   * Returns the domain topology cached for the specified domain.
+   *
+   * @param namespace Namespace
+   * @param domainUID The unique identifier assigned to the Weblogic domain when it was registered
+   * @return the cached topology, or null if there is none
+   */
+  static WlsDomainConfig getCachedTopology(String namespace, String domainUID) {
+    CachedTopology cached = topologies.get(getTopologyKey(namespace, domainUID));
+    return cached == null ? null : cached.config;
+  }
+
+  /**
+   * Discards the domain topologies cached for the specified namespace. Once this operator no longer
+   * watches the namespace, the cache could no longer be kept current.
+   *
+   * @param namespace Namespace
+   */
+  public static void forgetNamespace(String namespace) {
+    String prefix = getTopologyKey(namespace, "");
+    topologies.keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  private static String getTopologyKey(String namespace, String domainUID) {
+    return namespace + "/" + domainUID;
+  }
+
+  private static String getDomainUID(String configMapName) {
+    String suffix = KubernetesConstants.INTROSPECTOR_CONFIG_MAP_NAME_SUFFIX;
+    return configMapName != null && configMapName.endsWith(suffix)
+        ? configMapName.substring(0, configMapName.length() - suffix.length())
+        : null;
+  }
+
+  private static String getResourceVersion(V1ConfigMap configMap) {
+    return Optional.ofNullable(configMap)
+        .map(V1ConfigMap::getMetadata)
+        .map(V1ObjectMeta::getResourceVersion)
+        .orElse(null);
+  }
+
+  private static class CachedTopology {
+    private final String resourceVersion;
+    private final WlsDomainConfig config;
+
+    CachedTopology(String resourceVersion, WlsDomainConfig config) {
+      this.resourceVersion = resourceVersion;
+      this.config = config;
+    }
+  }
+
   static Map<String, String> parseIntrospectorResult(String text, String domainUID) {
     Map<String, String> map = new HashMap<>();
     try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
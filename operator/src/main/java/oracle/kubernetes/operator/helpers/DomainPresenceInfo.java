@@ -13,6 +13,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import oracle.kubernetes.operator.wlsconfig.WlsServerConfig;
 import oracle.kubernetes.weblogic.domain.v2.Domain;
@@ -34,8 +35,11 @@ public class DomainPresenceInfo {
 
   private final ConcurrentMap<String, ServerKubernetesObjects> servers = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, V1Service> clusters = new ConcurrentHashMap<>();
+  private final DomainStatusModel statusModel = new DomainStatusModel();
 
   private DateTime lastCompletionTime;
+  private volatile long lastHealthReadTime;
+  private final AtomicLong specChangeTime = new AtomicLong();
 
   /**
    * Create presence for a domain
@@ -105,6 +109,43 @@ public class DomainPresenceInfo {
     resetFailureCount();
   }
 
+  /**
+   * Time at which the health of the servers was last read
+   *
+   * @return Time, in milliseconds, or 0 if health has never been read
+   */
+  public long getLastHealthReadTime() {
+    return lastHealthReadTime;
+  }
+
+  /**
+   * Sets the time at which the health of the servers was last read
+   *
+   * @param lastHealthReadTime Time, in milliseconds
+   */
+  public void setLastHealthReadTime(long lastHealthReadTime) {
+    this.lastHealthReadTime = lastHealthReadTime;
+  }
+
+  /**
+   * Records that the domain's spec was changed, and the servers may not yet be ready
+   *
+   * @param specChangeTime Time, in nanoseconds, from {@link System#nanoTime()}
+   */
+  public void setSpecChangeTime(long specChangeTime) {
+    this.specChangeTime.set(specChangeTime);
+  }
+
+  /**
+   * Takes the time at which the domain's spec was changed, so that the servers becoming ready is
+   * recorded only once for each change
+   *
+   * @return Time, in nanoseconds, or 0 if no change is awaiting ready servers
+   */
+  public long takeSpecChangeTime() {
+    return specChangeTime.getAndSet(0);
+  }
+
   /**
    * Gets the domain. Except the instance to change frequently based on status updates
    *
@@ -159,6 +200,15 @@ public class DomainPresenceInfo {
     return clusters;
   }
 
+  /**
+   * Incrementally maintained model of the servers' status
+   *
+   * @return Status model
+   */
+  public DomainStatusModel getStatusModel() {
+    return statusModel;
+  }
+
   /**
    * Server startup info
    *
@@ -0,0 +1,302 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import oracle.kubernetes.weblogic.domain.v2.DomainStatus;
+import oracle.kubernetes.weblogic.domain.v2.ServerHealth;
+import oracle.kubernetes.weblogic.domain.v2.ServerStatus;
+
+/**
+ * Mutable model of the server portion of a domain's status. Watch events and health reads record
+ * per-server values as they arrive; an entry is marked dirty only when one of its values actually
+ * changes. A status pass then applies just the dirty entries to the Domain's status, reusing the
+ * existing {@link ServerStatus} instances, so that the work done per pass is proportional to what
+ * changed rather than to the number of servers.
+ *
+ * <p>A value reported by an event since the last pass takes precedence over the value recorded by
+ * the pass, which may have been read before the event arrived.
+ */
+public class DomainStatusModel {
+  private static final String SERVERS_PATH = "/status/servers";
+
+  private final Map<String, ServerEntry> entries = new TreeMap<>();
+  private long generation;
+  private boolean structureChanged;
+  private List<ServerStatus> syncedServers;
+
+  /** Starts a status pass. Servers not recorded before {@link #apply} are removed. */
+  public synchronized void beginPass() {
+    generation++;
+  }
+
+  /**
+   * Records the current values for a server during a status pass.
+   *
+   * @param serverName the server name
+   * @param state the server state
+   * @param clusterName the cluster name, or null
+   * @param nodeName the node hosting the server's pod, or null
+   * @param health the server health, or null
+   */
+  public synchronized void recordServer(
+      String serverName, String state, String clusterName, String nodeName, ServerHealth health) {
+    ServerEntry entry = getOrCreateEntry(serverName);
+    entry.seen = generation;
+    if (!entry.stateUpdated) {
+      entry.setState(state);
+    }
+    entry.setClusterName(clusterName);
+    if (!entry.nodeNameUpdated) {
+      entry.setNodeName(nodeName);
+    }
+    if (!entry.healthUpdated) {
+      entry.setHealth(health);
+    }
+  }
+
+  /**
+   * Records a state change reported outside of a status pass, such as by a watch event.
+   *
+   * @param serverName the server name
+   * @param state the new state
+   */
+  public synchronized void updateState(String serverName, String state) {
+    ServerEntry entry = entries.get(serverName);
+    if (entry != null) {
+      entry.setState(state);
+      entry.stateUpdated = true;
+    }
+  }
+
+  /**
+   * Records a node change reported outside of a status pass, such as by a watch event.
+   *
+   * @param serverName the server name
+   * @param nodeName the new node name
+   */
+  public synchronized void updateNodeName(String serverName, String nodeName) {
+    ServerEntry entry = entries.get(serverName);
+    if (entry != null) {
+      entry.setNodeName(nodeName);
+      entry.nodeNameUpdated = true;
+    }
+  }
+
+  /**
+   * Records a health change reported outside of a status pass, such as by a health read.
+   *
+   * @param serverName the server name
+   * @param health the new health
+   */
+  public synchronized void updateHealth(String serverName, ServerHealth health) {
+    ServerEntry entry = entries.get(serverName);
+    if (entry != null) {
+      entry.setHealth(health);
+      entry.healthUpdated = true;
+    }
+  }
+
+  /**
+   * Returns the last recorded state of the specified server.
+   *
+   * @param serverName the server name
+   * @return the state, or null if the server is not known
+   */
+  public synchronized String getState(String serverName) {
+    ServerEntry entry = entries.get(serverName);
+    return entry != null ? entry.state : null;
+  }
+
+  /**
+   * Completes a status pass by writing the changes since the last pass into the specified status.
+   * Unchanged entries are left untouched; if the status still holds the server list produced by the
+   * previous pass, dirty entries are updated in place. The same changes are added to the specified
+   * patch: one operation per updated server, or one for the whole list if it was replaced.
+   *
+   * @param status the domain status to update
+   * @param patch the patch to which to add the changes
+   * @return true if the status was changed
+   */
+  public synchronized boolean apply(DomainStatus status, JsonPatch patch) {
+    removeUnseenEntries();
+    boolean madeChange = writeChanges(status, patch);
+    for (ServerEntry entry : entries.values()) {
+      entry.clearUpdates();
+    }
+    return madeChange;
+  }
+
+  private boolean writeChanges(DomainStatus status, JsonPatch patch) {
+    List<ServerStatus> current = status.getServers();
+    if (current != syncedServers && matches(current)) {
+      adopt(current);
+      return false;
+    }
+
+    if (current == syncedServers && !structureChanged) {
+      return updateDirtyEntries(patch);
+    }
+
+    if (current == null && entries.isEmpty()) {
+      structureChanged = false;
+      return false;
+    }
+
+    List<ServerStatus> servers = new ArrayList<>(entries.size());
+    for (ServerEntry entry : entries.values()) {
+      entry.status = entry.toServerStatus();
+      entry.dirty = false;
+      servers.add(entry.status);
+    }
+    status.setServers(servers);
+    patch.add(SERVERS_PATH, servers);
+    syncedServers = servers;
+    structureChanged = false;
+    return true;
+  }
+
+  private ServerEntry getOrCreateEntry(String serverName) {
+    ServerEntry entry = entries.get(serverName);
+    if (entry == null) {
+      entry = new ServerEntry(serverName);
+      entries.put(serverName, entry);
+      structureChanged = true;
+    }
+    return entry;
+  }
+
+  private void removeUnseenEntries() {
+    Iterator<ServerEntry> it = entries.values().iterator();
+    while (it.hasNext()) {
+      if (it.next().seen != generation) {
+        it.remove();
+        structureChanged = true;
+      }
+    }
+  }
+
+  private boolean matches(List<ServerStatus> current) {
+    if (current == null || current.size() != entries.size()) {
+      return false;
+    }
+    for (ServerStatus ss : current) {
+      ServerEntry entry = entries.get(ss.getServerName());
+      if (entry == null || !entry.matches(ss)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void adopt(List<ServerStatus> current) {
+    for (ServerStatus ss : current) {
+      ServerEntry entry = entries.get(ss.getServerName());
+      entry.status = ss;
+      entry.dirty = false;
+    }
+    syncedServers = current;
+    structureChanged = false;
+  }
+
+  private boolean updateDirtyEntries(JsonPatch patch) {
+    boolean madeChange = false;
+    for (ServerEntry entry : entries.values()) {
+      if (entry.dirty) {
+        entry.dirty = false;
+        if (!entry.matches(entry.status)) {
+          entry.copyTo(entry.status);
+          patch.replace(SERVERS_PATH + "/" + indexOfSynced(entry.status), entry.status);
+          madeChange = true;
+        }
+      }
+    }
+    return madeChange;
+  }
+
+  private int indexOfSynced(ServerStatus status) {
+    for (int i = 0; i < syncedServers.size(); i++) {
+      if (syncedServers.get(i) == status) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("No status for server " + status.getServerName());
+  }
+
+  private static class ServerEntry {
+    private final String serverName;
+    private String state;
+    private String clusterName;
+    private String nodeName;
+    private ServerHealth health;
+    private boolean dirty = true;
+    private long seen;
+    private ServerStatus status;
+    private boolean stateUpdated;
+    private boolean nodeNameUpdated;
+    private boolean healthUpdated;
+
+    ServerEntry(String serverName) {
+      this.serverName = serverName;
+    }
+
+    void setState(String state) {
+      if (!Objects.equals(this.state, state)) {
+        this.state = state;
+        dirty = true;
+      }
+    }
+
+    void setClusterName(String clusterName) {
+      if (!Objects.equals(this.clusterName, clusterName)) {
+        this.clusterName = clusterName;
+        dirty = true;
+      }
+    }
+
+    void setNodeName(String nodeName) {
+      if (!Objects.equals(this.nodeName, nodeName)) {
+        this.nodeName = nodeName;
+        dirty = true;
+      }
+    }
+
+    void setHealth(ServerHealth health) {
+      if (!Objects.equals(this.health, health)) {
+        this.health = health;
+        dirty = true;
+      }
+    }
+
+    void clearUpdates() {
+      stateUpdated = false;
+      nodeNameUpdated = false;
+      healthUpdated = false;
+    }
+
+    boolean matches(ServerStatus ss) {
+      return Objects.equals(state, ss.getState())
+          && Objects.equals(clusterName, ss.getClusterName())
+          && Objects.equals(nodeName, ss.getNodeName())
+          && Objects.equals(health, ss.getHealth());
+    }
+
+    ServerStatus toServerStatus() {
+      return copyTo(new ServerStatus().withServerName(serverName));
+    }
+
+    ServerStatus copyTo(ServerStatus ss) {
+      return ss.withState(state)
+          .withClusterName(clusterName)
+          .withNodeName(nodeName)
+          .withHealth(health);
+    }
+  }
+}
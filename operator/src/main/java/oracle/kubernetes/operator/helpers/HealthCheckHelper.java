@@ -12,6 +12,9 @@ import io.kubernetes.client.models.VersionInfo;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
@@ -65,6 +68,12 @@ public final class HealthCheckHelper {
   // default namespace or svc account name
   private static final String DEFAULT_NAMESPACE = "default";
 
+  // cluster-scoped access does not depend on the target namespace, so is reviewed only once
+  private static final AtomicBoolean clusterAccessReviewed = new AtomicBoolean();
+
+  // the access to a namespace is reviewed once, however often the namespace is started again
+  private static final Set<String> reviewedNamespaces = ConcurrentHashMap.newKeySet();
+
   static {
     // CRUD resources
     namespaceAccessChecks.put(AuthorizationProxy.Resource.PODS, crudOperations);
@@ -100,7 +109,8 @@ public final class HealthCheckHelper {
   private HealthCheckHelper() {}
 
   /**
-   * Verify Access.
+   * Verify Access. The access to a namespace is reviewed only the first time it is verified, or
+   * until a review of it completes.
    *
    * @param version Kubernetes version
    * @param operatorNamespace operator namespace
@@ -108,7 +118,22 @@ public final class HealthCheckHelper {
    */
   public static void performSecurityChecks(
       KubernetesVersion version, String operatorNamespace, String ns) {
+    if (!reviewedNamespaces.add(ns)) {
+      return;
+    }
+
+    boolean reviewed = false;
+    try {
+      reviewAccess(version, operatorNamespace, ns);
+      reviewed = true;
+    } finally {
+      if (!reviewed) {
+        reviewedNamespaces.remove(ns);
+      }
+    }
+  }
 
+  private static void reviewAccess(KubernetesVersion version, String operatorNamespace, String ns) {
     // Validate namespace
     if (DEFAULT_NAMESPACE.equals(operatorNamespace)) {
       LOGGER.info(MessageKeys.NAMESPACE_IS_DEFAULT);
@@ -153,6 +178,10 @@ public final class HealthCheckHelper {
       }
     }
 
+    if (clusterAccessReviewed.getAndSet(true)) {
+      return;
+    }
+
     for (AuthorizationProxy.Resource r : clusterAccessChecks.keySet()) {
       for (AuthorizationProxy.Operation op : clusterAccessChecks.get(r)) {
 
@@ -0,0 +1,303 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+import io.kubernetes.client.ApiClient;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import oracle.kubernetes.operator.TuningParameters;
+import oracle.kubernetes.operator.TuningParameters.CallBuilderTuning;
+
+/**
+ * The HTTP transport shared by all Kubernetes API clients. Every pooled {@link ApiClient} is given
+ * an HTTP client derived from a single base client, so that all of them share one connection pool,
+ * one dispatcher and one TLS configuration; connections (and their TLS sessions) are therefore
+ * reused across clients rather than established per client. HTTP/2 is offered when the platform
+ * supports ALPN, which lets many requests share a single connection.
+ *
+ * <p>Each {@link Profile} has its own timeouts, which are read from the tuning parameters each time
+ * a client is configured, so that a change to them applies to the next call. The derived clients
+ * are never modified once created, so that they may be safely shared; when the timeouts change, a
+ * new client is derived for the profile.
+ */
+public class HttpTransport {
+  /** Additional time the socket of a watch is kept open beyond the watch's own timeout. */
+  static final int ADDITIONAL_TIMEOUT_FOR_WATCH_SOCKET = 60;
+
+  private static final int MAX_IDLE_CONNECTIONS = 20;
+  private static final long KEEP_ALIVE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final int MAX_CONCURRENT_REQUESTS = 100;
+  private static final long HANDSHAKE_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private static final int DEFAULT_WATCH_LIFETIME = 300;
+  private static final int DEFAULT_LIST_READ_TIMEOUT = 30;
+  private static final int DEFAULT_MUTATE_READ_TIMEOUT = 10;
+  private static final int DEFAULT_CONNECT_TIMEOUT = 10;
+
+  private static final HttpTransport INSTANCE = new HttpTransport();
+
+  /** The kinds of calls which require different timeouts. */
+  public enum Profile {
+    /** Long-running watch requests. */
+    WATCH,
+    /** List requests, which may return large responses. */
+    LIST,
+    /** Reads and updates of individual resources. */
+    MUTATE
+  }
+
+  private final ConnectionPool connectionPool =
+      new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MILLIS);
+  private final AtomicLong handshakeCount = new AtomicLong();
+  private final ConcurrentLinkedQueue<Long> recentHandshakes = new ConcurrentLinkedQueue<>();
+  private final Map<Profile, OkHttpClient> clients = new ConcurrentHashMap<>();
+  private volatile OkHttpClient base;
+
+  public static HttpTransport getInstance() {
+    return INSTANCE;
+  }
+
+  HttpTransport() {}
+
+  /**
+   * Configures the specified API client to use the shared transport with the current timeouts of
+   * the specified profile. The first client configured supplies the TLS settings for all others.
+   *
+   * @param client an API client, as created by a client factory
+   * @param profile the kind of calls for which the client will be used
+   * @return the API client
+   */
+  public ApiClient configure(ApiClient client, Profile profile) {
+    client.setHttpClient(getHttpClient(client.getHttpClient(), profile));
+    return client;
+  }
+
+  // the profile clients are immutable, so only a change of timeouts needs to replace one
+  private OkHttpClient getHttpClient(OkHttpClient template, Profile profile) {
+    OkHttpClient base = getBase(template);
+    int connectTimeout = toMillis(getConnectTimeoutSeconds());
+    int readTimeout = toMillis(getReadTimeoutSeconds(profile));
+    OkHttpClient client = clients.get(profile);
+    if (hasTimeouts(client, connectTimeout, readTimeout)) {
+      return client;
+    }
+    return clients.compute(
+        profile,
+        (p, current) ->
+            hasTimeouts(current, connectTimeout, readTimeout)
+                ? current
+                : createProfileClient(base, connectTimeout, readTimeout));
+  }
+
+  private OkHttpClient getBase(OkHttpClient template) {
+    OkHttpClient result = base;
+    if (result == null) {
+      synchronized (this) {
+        result = base;
+        if (result == null) {
+          base = result = createBase(template);
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean hasTimeouts(OkHttpClient client, int connectTimeout, int readTimeout) {
+    return client != null
+        && client.getConnectTimeout() == connectTimeout
+        && client.getReadTimeout() == readTimeout;
+  }
+
+  private static int toMillis(int seconds) {
+    return (int) TimeUnit.SECONDS.toMillis(seconds);
+  }
+
+  private OkHttpClient createBase(OkHttpClient template) {
+    OkHttpClient client = template.clone();
+    client.setConnectionPool(connectionPool);
+    client.setProtocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+    client.getDispatcher().setMaxRequests(MAX_CONCURRENT_REQUESTS);
+    client.getDispatcher().setMaxRequestsPerHost(MAX_CONCURRENT_REQUESTS);
+    client.setSslSocketFactory(
+        new HandshakeCountingSocketFactory(
+            Optional.ofNullable(template.getSslSocketFactory())
+                .orElse((SSLSocketFactory) SSLSocketFactory.getDefault())));
+    return client;
+  }
+
+  private static OkHttpClient createProfileClient(
+      OkHttpClient base, int connectTimeout, int readTimeout) {
+    OkHttpClient client = base.clone();
+    client.setConnectTimeout(connectTimeout, TimeUnit.MILLISECONDS);
+    client.setReadTimeout(readTimeout, TimeUnit.MILLISECONDS);
+    return client;
+  }
+
+  int getReadTimeoutSeconds(Profile profile) {
+    switch (profile) {
+      case WATCH:
+        return getWatchLifetime() + ADDITIONAL_TIMEOUT_FOR_WATCH_SOCKET;
+      case LIST:
+        return getCallBuilderTuning()
+            .map(t -> t.listReadTimeoutSeconds)
+            .orElse(DEFAULT_LIST_READ_TIMEOUT);
+      default:
+        return getCallBuilderTuning()
+            .map(t -> t.mutateReadTimeoutSeconds)
+            .orElse(DEFAULT_MUTATE_READ_TIMEOUT);
+    }
+  }
+
+  private int getConnectTimeoutSeconds() {
+    return getCallBuilderTuning().map(t -> t.connectTimeoutSeconds).orElse(DEFAULT_CONNECT_TIMEOUT);
+  }
+
+  private int getWatchLifetime() {
+    return Optional.ofNullable(TuningParameters.getInstance())
+        .map(TuningParameters::getWatchTuning)
+        .map(t -> t.watchLifetime)
+        .orElse(DEFAULT_WATCH_LIFETIME);
+  }
+
+  private Optional<CallBuilderTuning> getCallBuilderTuning() {
+    return Optional.ofNullable(TuningParameters.getInstance())
+        .map(TuningParameters::getCallBuilderTuning);
+  }
+
+  /**
+   * Returns the number of connections, open or idle, currently held by the shared pool.
+   *
+   * @return a connection count
+   */
+  public int getOpenConnectionCount() {
+    return connectionPool.getConnectionCount();
+  }
+
+  /**
+   * Returns the number of pooled connections which are not currently in use.
+   *
+   * @return a connection count
+   */
+  public int getIdleConnectionCount() {
+    return connectionPool.getIdleConnectionCount();
+  }
+
+  /**
+   * Returns the number of pooled connections which multiplex requests using HTTP/2.
+   *
+   * @return a connection count
+   */
+  public int getMultiplexedConnectionCount() {
+    return connectionPool.getMultiplexedConnectionCount();
+  }
+
+  /**
+   * Returns the number of TLS handshakes completed since the operator started.
+   *
+   * @return a handshake count
+   */
+  public long getHandshakeCount() {
+    return handshakeCount.get();
+  }
+
+  /**
+   * Returns the number of TLS handshakes completed during the last minute.
+   *
+   * @return a handshake count
+   */
+  public int getHandshakesPerMinute() {
+    pruneHandshakes(System.currentTimeMillis());
+    return recentHandshakes.size();
+  }
+
+  void recordHandshake(long now) {
+    handshakeCount.incrementAndGet();
+    recentHandshakes.add(now);
+    pruneHandshakes(now);
+  }
+
+  private void pruneHandshakes(long now) {
+    for (Iterator<Long> it = recentHandshakes.iterator(); it.hasNext(); ) {
+      if (it.next() > now - HANDSHAKE_WINDOW_MILLIS) {
+        return;
+      }
+      it.remove();
+    }
+  }
+
+  /** An SSL socket factory which counts the handshakes completed by the sockets it creates. */
+  private class HandshakeCountingSocketFactory extends SSLSocketFactory {
+    private final SSLSocketFactory delegate;
+
+    HandshakeCountingSocketFactory(SSLSocketFactory delegate) {
+      this.delegate = delegate;
+    }
+
+    private Socket counting(Socket socket) {
+      if (socket instanceof SSLSocket) {
+        ((SSLSocket) socket)
+            .addHandshakeCompletedListener(e -> recordHandshake(System.currentTimeMillis()));
+      }
+      return socket;
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+      return delegate.getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+      return delegate.getSupportedCipherSuites();
+    }
+
+    @Override
+    public Socket createSocket(Socket s, String host, int port, boolean autoClose)
+        throws IOException {
+      return counting(delegate.createSocket(s, host, port, autoClose));
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+      return counting(delegate.createSocket());
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+      return counting(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort)
+        throws IOException {
+      return counting(delegate.createSocket(host, port, localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+      return counting(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(
+        InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+      return counting(delegate.createSocket(address, port, localAddress, localPort));
+    }
+  }
+}
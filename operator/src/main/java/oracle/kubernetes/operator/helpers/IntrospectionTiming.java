@@ -0,0 +1,138 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import io.kubernetes.client.models.V1ContainerState;
+import io.kubernetes.client.models.V1ContainerStatus;
+import io.kubernetes.client.models.V1Job;
+import io.kubernetes.client.models.V1Pod;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.joda.time.DateTime;
+
+/**
+ * Records how long each phase of a run of the domain introspector job takes: the creation of the
+ * job, the scheduling of its pod up to the start of the introspector container, the run of the
+ * introspector, the reading of its results and the deletion of the job. The creation, log read and
+ * delete phases are measured by the operator. The time spent waiting for the job to complete is
+ * divided between scheduling and running using the container start time reported by Kubernetes; if
+ * that is not available, all of the wait is counted as running.
+ *
+ * <p>When the introspection is instead requested from the long-lived introspector pod of the
+ * domain, only two phases are recorded: getting the pod ready, counted as creation, and the request
+ * itself, counted as running.
+ */
+public class IntrospectionTiming {
+  private final LongSupplier clock;
+  private final long startTime;
+  private long phaseStart;
+  private long createMillis;
+  private long waitMillis;
+  private long scheduleMillis;
+  private long logReadMillis;
+  private long deleteMillis;
+  private long totalMillis;
+
+  IntrospectionTiming() {
+    this(System::nanoTime);
+  }
+
+  IntrospectionTiming(LongSupplier clock) {
+    this.clock = clock;
+    this.startTime = this.phaseStart = clock.getAsLong();
+  }
+
+  private long endPhase() {
+    long now = clock.getAsLong();
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(now - phaseStart);
+    phaseStart = now;
+    return elapsed;
+  }
+
+  void jobCreated() {
+    createMillis = endPhase();
+  }
+
+  void jobCompleted() {
+    waitMillis = endPhase();
+  }
+
+  /**
+   * Divides the wait for the job between scheduling and running, from the creation time of the job
+   * and the time at which its introspector container started.
+   *
+   * @param job the introspector job
+   * @param pod the pod run by the job
+   */
+  void podFound(V1Job job, V1Pod pod) {
+    DateTime created = job != null ? job.getMetadata().getCreationTimestamp() : null;
+    DateTime started = getContainerStartTime(pod);
+    if (created != null && started != null) {
+      long scheduled = started.getMillis() - created.getMillis();
+      scheduleMillis = Math.max(0, Math.min(waitMillis, scheduled));
+    }
+  }
+
+  private static DateTime getContainerStartTime(V1Pod pod) {
+    List<V1ContainerStatus> statuses =
+        pod.getStatus() != null ? pod.getStatus().getContainerStatuses() : null;
+    if (statuses == null || statuses.isEmpty()) {
+      return null;
+    }
+
+    V1ContainerState state = statuses.get(0).getState();
+    if (state == null) {
+      return null;
+    } else if (state.getTerminated() != null) {
+      return state.getTerminated().getStartedAt();
+    } else if (state.getRunning() != null) {
+      return state.getRunning().getStartedAt();
+    }
+    return null;
+  }
+
+  void podReady() {
+    createMillis = endPhase();
+  }
+
+  void requestCompleted() {
+    waitMillis = endPhase();
+    totalMillis = TimeUnit.NANOSECONDS.toMillis(phaseStart - startTime);
+  }
+
+  void logRead() {
+    logReadMillis = endPhase();
+  }
+
+  void jobDeleted() {
+    deleteMillis = endPhase();
+    totalMillis = TimeUnit.NANOSECONDS.toMillis(phaseStart - startTime);
+  }
+
+  public long getCreateMillis() {
+    return createMillis;
+  }
+
+  public long getScheduleMillis() {
+    return scheduleMillis;
+  }
+
+  public long getRunMillis() {
+    return waitMillis - scheduleMillis;
+  }
+
+  public long getLogReadMillis() {
+    return logReadMillis;
+  }
+
+  public long getDeleteMillis() {
+    return deleteMillis;
+  }
+
+  public long getTotalMillis() {
+    return totalMillis;
+  }
+}
@@ -0,0 +1,416 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.CharStreams;
+import io.kubernetes.client.ApiClient;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.Exec;
+import io.kubernetes.client.models.V1DeleteOptions;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodStatus;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import oracle.kubernetes.operator.OperatorMetrics;
+import oracle.kubernetes.operator.PodAwaiterStepFactory;
+import oracle.kubernetes.operator.ProcessingConstants;
+import oracle.kubernetes.operator.calls.CallResponse;
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.steps.DefaultResponseStep;
+import oracle.kubernetes.operator.work.Fiber;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.operator.work.ThreadFactorySingleton;
+
+/**
+ * Introspects a domain in its long-lived introspector pod, so that the pod start, the node manager
+ * start and the WLST start are paid once for many introspections, rather than once for each job.
+ * The pod runs introspectDomain.sh as a request server, and each introspection is requested by
+ * running introspectRequest.sh in the pod, whose output holds the generated files in the format of
+ * the introspector job log. The pod is created on first use, and is replaced once its spec no
+ * longer matches the domain or once it has exited after being idle. If the pod cannot be made
+ * ready, or a request fails, the domain is introspected by a job instead.
+ *
+ * <p>The wait for the pod to be ready is made by the pod watcher, so it reads the pod only if the
+ * watch is silent for long. A request blocks while the domain is introspected, so it is made on a
+ * thread of its own rather than on a thread of the engine, and is abandoned once its time is up.
+ */
+class IntrospectorServer {
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  // the time allowed for the output of a request beyond the time allowed for the introspection
+  private static final long REQUEST_GRACE_SECONDS = 10;
+
+  @SuppressWarnings("FieldMayBeFinal") // may be replaced by unit tests
+  private static RequestSender requestSender = IntrospectorServer::execRequest;
+
+  @SuppressWarnings("FieldMayBeFinal") // may be replaced by unit tests
+  private static Executor requestExecutor =
+      Executors.newCachedThreadPool(ThreadFactorySingleton.getInstance());
+
+  private final JobStepContext context;
+  private final Step next;
+  private final Step fallback;
+
+  /**
+   * Creates an introspector server for a domain.
+   *
+   * @param context the context of the introspector job, which describes the pod
+   * @param next the step to run once the introspector result is in the packet
+   * @param fallback the step that introspects the domain with a job instead
+   */
+  IntrospectorServer(JobStepContext context, Step next, Step fallback) {
+    this.context = context;
+    this.next = next;
+    this.fallback = fallback;
+  }
+
+  /** Sends an introspection request to an introspector pod. */
+  interface RequestSender {
+    /**
+     * Requests an introspection, and waits for it to complete.
+     *
+     * @param namespace the namespace of the pod
+     * @param podName the name of the pod
+     * @param timeoutSeconds the longest time to wait for the introspection
+     * @return the files generated by the introspector
+     * @throws IOException if the introspection failed
+     * @throws ApiException if the request could not be sent
+     * @throws InterruptedException if interrupted while waiting for the introspection
+     */
+    String sendRequest(String namespace, String podName, long timeoutSeconds)
+        throws IOException, ApiException, InterruptedException;
+  }
+
+  // Runs the request script in the pod. A tty is needed for the exec call to be accepted (see
+  // ServerStatusReader); it translates line ends, which are restored here.
+  private static String execRequest(String namespace, String podName, long timeoutSeconds)
+      throws IOException, ApiException, InterruptedException {
+    ClientPool helper = ClientPool.getInstance();
+    ApiClient client = helper.take();
+    Process proc = null;
+    try {
+      proc =
+          new Exec(client)
+              .exec(
+                  namespace,
+                  podName,
+                  new String[] {
+                    JobStepContext.WEBLOGIC_OPERATOR_SCRIPTS_INTROSPECT_REQUEST_SH,
+                    Long.toString(timeoutSeconds)
+                  },
+                  podName,
+                  true,
+                  true);
+
+      String output = readOutput(proc, timeoutSeconds + REQUEST_GRACE_SECONDS, TimeUnit.SECONDS);
+      if (proc.exitValue() != 0) {
+        throw new IOException(output.trim());
+      }
+      return output;
+    } finally {
+      helper.recycle(client);
+      if (proc != null) {
+        proc.destroy();
+      }
+    }
+  }
+
+  /**
+   * Reads the output of a process until it exits, on a thread of the request executor. If the
+   * process has not exited once the timeout has passed, it is destroyed, which ends the read.
+   *
+   * @param proc the process
+   * @param timeout the longest time to wait for the process
+   * @param unit the unit of the timeout
+   * @return the output of the process, with tty line ends restored
+   * @throws IOException if the output could not be read, or the process did not exit in time
+   * @throws InterruptedException if interrupted while waiting for the process
+   */
+  static String readOutput(Process proc, long timeout, TimeUnit unit)
+      throws IOException, InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    FutureTask<String> reader = new FutureTask<>(() -> readFully(proc));
+    requestExecutor.execute(reader);
+    try {
+      String output = reader.get(timeout, unit);
+      if (!proc.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+        throw new TimeoutException();
+      }
+      return output;
+    } catch (TimeoutException e) {
+      proc.destroy();
+      reader.cancel(true);
+      throw new IOException("the introspection did not complete within " + timeout + " " + unit);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException
+          ? (IOException) e.getCause()
+          : new IOException(e.getCause());
+    }
+  }
+
+  private static String readFully(Process proc) throws IOException {
+    try (Reader reader = new InputStreamReader(proc.getInputStream(), Charsets.UTF_8)) {
+      return CharStreams.toString(reader).replace("\r\n", "\n");
+    }
+  }
+
+  /**
+   * Creates a step that introspects the domain in its introspector pod, creating the pod if needed.
+   *
+   * @return the step
+   */
+  Step createRequestStep() {
+    return new ReadPodStep();
+  }
+
+  private String getPodName() {
+    return context.getIntrospectorPodName();
+  }
+
+  private String getNamespace() {
+    return context.getNamespace();
+  }
+
+  // returns the step that introspects the domain with a job, after deleting a pod that is unusable
+  private Step fallBack(Packet packet, String reason, boolean deletePod) {
+    LOGGER.info(
+        MessageKeys.INTROSPECTOR_POD_UNAVAILABLE, getPodName(), context.getDomainUID(), reason);
+    packet.remove(ProcessingConstants.INTROSPECTION_TIMING);
+    return deletePod ? deletePod(fallback) : fallback;
+  }
+
+  // deletes the pod at once, so that a new pod of the same name can be created right after
+  private Step deletePod(Step next) {
+    return new CallBuilder()
+        .deletePodAsync(
+            getPodName(),
+            getNamespace(),
+            new V1DeleteOptions().gracePeriodSeconds(0L),
+            new DefaultResponseStep<>(next));
+  }
+
+  private Step createPod() {
+    return new CallBuilder()
+        .createPodAsync(
+            getNamespace(), context.createIntrospectorPodModel(), new CreatePodResponseStep());
+  }
+
+  private boolean isCurrent(V1Pod pod) {
+    return !isStopped(pod) && getSpecHash(pod).equals(getSpecHash(getPodModel()));
+  }
+
+  private V1Pod getPodModel() {
+    return context.createIntrospectorPodModel();
+  }
+
+  private static String getSpecHash(V1Pod pod) {
+    Map<String, String> annotations = pod.getMetadata().getAnnotations();
+    String hash =
+        annotations != null
+            ? annotations.get(JobStepContext.INTROSPECTOR_SPEC_HASH_ANNOTATION)
+            : null;
+    return hash != null ? hash : "";
+  }
+
+  // a pod that is being deleted, or whose introspector has exited, will not take more requests
+  private static boolean isStopped(V1Pod pod) {
+    if (pod.getMetadata().getDeletionTimestamp() != null) {
+      return true;
+    }
+    V1PodStatus status = pod.getStatus();
+    String phase = status != null ? status.getPhase() : null;
+    return "Succeeded".equals(phase) || "Failed".equals(phase);
+  }
+
+  private static boolean isReady(V1Pod pod) {
+    V1PodStatus status = pod.getStatus();
+    if (status == null || !"Running".equals(status.getPhase())) {
+      return false;
+    }
+    List<V1PodCondition> conditions = status.getConditions();
+    if (conditions != null) {
+      for (V1PodCondition condition : conditions) {
+        if ("Ready".equals(condition.getType()) && "True".equals(condition.getStatus())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static IntrospectionTiming getTiming(Packet packet) {
+    return (IntrospectionTiming) packet.get(ProcessingConstants.INTROSPECTION_TIMING);
+  }
+
+  private class ReadPodStep extends Step {
+
+    @Override
+    public NextAction apply(Packet packet) {
+      packet.put(ProcessingConstants.INTROSPECTION_TIMING, new IntrospectionTiming());
+      return doNext(
+          new CallBuilder().readPodAsync(getPodName(), getNamespace(), new ReadPodResponseStep()),
+          packet);
+    }
+  }
+
+  private class ReadPodResponseStep extends ResponseStep<V1Pod> {
+
+    @Override
+    public NextAction onFailure(Packet packet, CallResponse<V1Pod> callResponse) {
+      return callResponse.getStatusCode() == CallBuilder.NOT_FOUND
+          ? onSuccess(packet, callResponse)
+          : doNext(fallBack(packet, "status " + callResponse.getStatusCode(), false), packet);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, CallResponse<V1Pod> callResponse) {
+      V1Pod pod = callResponse.getResult();
+      if (pod == null) {
+        return doNext(createPod(), packet);
+      } else if (!isCurrent(pod)) {
+        return doNext(deletePod(createPod()), packet);
+      } else if (isReady(pod)) {
+        getTiming(packet).podReady();
+        return doNext(new RequestStep(), packet);
+      } else {
+        return doNext(new WaitForReadyStep(pod), packet);
+      }
+    }
+  }
+
+  private class CreatePodResponseStep extends ResponseStep<V1Pod> {
+
+    @Override
+    public NextAction onFailure(Packet packet, CallResponse<V1Pod> callResponse) {
+      return doNext(fallBack(packet, "status " + callResponse.getStatusCode(), false), packet);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, CallResponse<V1Pod> callResponse) {
+      LOGGER.info(MessageKeys.INTROSPECTOR_POD_CREATED, getPodName(), context.getDomainUID());
+      return doNext(new WaitForReadyStep(callResponse.getResult()), packet);
+    }
+  }
+
+  // Waits for the pod in a child fiber, so that a wait which fails, because the pod was deleted or
+  // was not ready in time, leads to the job rather than ending the introspection.
+  private class WaitForReadyStep extends Step {
+    private final V1Pod pod;
+
+    WaitForReadyStep(V1Pod pod) {
+      this.pod = pod;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      PodAwaiterStepFactory podAwaiter = PodHelper.getPodAwaiterStepFactory(packet);
+      if (podAwaiter == null) {
+        return doNext(fallBack(packet, "its pods are not being watched", true), packet);
+      }
+
+      WaitResultStep resultStep = new WaitResultStep();
+      return doSuspend(
+          resultStep,
+          fiber ->
+              fiber
+                  .createChildFiber()
+                  .start(podAwaiter.waitForReady(pod, null), packet, resultStep.resuming(fiber)));
+    }
+  }
+
+  private class WaitResultStep extends Step {
+    private volatile Throwable failure;
+
+    CompletionCallback resuming(Fiber fiber) {
+      return new CompletionCallback() {
+        @Override
+        public void onCompletion(Packet packet) {
+          fiber.resume(packet);
+        }
+
+        @Override
+        public void onThrowable(Packet packet, Throwable throwable) {
+          failure = throwable;
+          fiber.resume(packet);
+        }
+      };
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      if (failure != null) {
+        return doNext(fallBack(packet, failure.getMessage(), true), packet);
+      }
+
+      getTiming(packet).podReady();
+      return doNext(new RequestStep(), packet);
+    }
+  }
+
+  private class RequestStep extends Step {
+
+    @Override
+    public NextAction apply(Packet packet) {
+      RequestResultStep resultStep = new RequestResultStep();
+      return doSuspend(
+          resultStep,
+          fiber -> requestExecutor.execute(() -> sendRequest(fiber, packet, resultStep)));
+    }
+
+    private void sendRequest(Fiber fiber, Packet packet, RequestResultStep resultStep) {
+      try {
+        packet.put(
+            ProcessingConstants.DOMAIN_INTROSPECTOR_LOG_RESULT,
+            requestSender.sendRequest(
+                getNamespace(), getPodName(), context.getActiveDeadlineSeconds()));
+      } catch (Exception e) {
+        resultStep.failure = e.toString();
+      }
+      fiber.resume(packet);
+    }
+  }
+
+  // reports the timing of a successful request; a failed request has its pod replaced
+  private class RequestResultStep extends Step {
+    private volatile String failure;
+
+    @Override
+    public NextAction apply(Packet packet) {
+      if (failure != null) {
+        return doNext(fallBack(packet, failure, true), packet);
+      }
+
+      IntrospectionTiming timing =
+          (IntrospectionTiming) packet.remove(ProcessingConstants.INTROSPECTION_TIMING);
+      timing.requestCompleted();
+      OperatorMetrics.getInstance()
+          .recordIntrospection(getNamespace(), context.getDomainUID(), timing);
+      LOGGER.info(
+          MessageKeys.INTROSPECTION_REQUEST_TIMING,
+          context.getDomainUID(),
+          getPodName(),
+          timing.getTotalMillis(),
+          timing.getCreateMillis(),
+          timing.getRunMillis());
+      return doNext(next, packet);
+    }
+  }
+}
@@ -13,8 +13,11 @@ import io.kubernetes.client.models.V1Volume;
 import io.kubernetes.client.models.V1VolumeMount;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import oracle.kubernetes.operator.JobWatcher;
 import oracle.kubernetes.operator.LabelConstants;
+import oracle.kubernetes.operator.OperatorMetrics;
 import oracle.kubernetes.operator.ProcessingConstants;
 import oracle.kubernetes.operator.TuningParameters;
 import oracle.kubernetes.operator.TuningParameters.WatchTuning;
@@ -40,6 +43,8 @@ public class JobHelper {
   static final String START_TIME = "WlsRetriever-startTime";
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
+  private static final String CONTROLLER_UID_LABEL = "controller-uid";
+
   private JobHelper() {}
 
   static String createJobName(String domainUID) {
@@ -108,11 +113,13 @@ public class JobHelper {
   }
 
   /**
-   * Factory for {@link Step} that creates WebLogic domain introspector job
+   * Factory for {@link Step} that introspects the WebLogic domain, if needed. The introspection is
+   * requested from the long-lived introspector pod of the domain, and runs in an introspector job
+   * only if that pod cannot be used.
    *
    * @param tuning Watch tuning parameters
    * @param next Next processing step
-   * @return Step for creating job
+   * @return Step for introspecting the domain
    */
   public static Step createDomainIntrospectorJobStep(WatchTuning tuning, Step next) {
 
@@ -137,15 +144,38 @@ public class JobHelper {
 
         packet.putIfAbsent(START_TIME, Long.valueOf(System.currentTimeMillis()));
 
+        Step sitConfigMapStep = ConfigMapHelper.createSitConfigMapStep(getNext());
         return doNext(
-            context.createNewJob(
-                readDomainIntrospectorPodLogStep(
-                    tuning, ConfigMapHelper.createSitConfigMapStep(getNext()))),
+            new IntrospectorServer(
+                    context, sitConfigMapStep, new IntrospectorJobStep(context, sitConfigMapStep))
+                .createRequestStep(),
             packet);
       }
 
       return doNext(getNext(), packet);
     }
+
+    // introspects the domain in a new job, and reads the result from the log of its pod
+    private class IntrospectorJobStep extends Step {
+      private final JobStepContext context;
+
+      IntrospectorJobStep(JobStepContext context, Step next) {
+        super(next);
+        this.context = context;
+      }
+
+      @Override
+      public NextAction apply(Packet packet) {
+        packet.put(ProcessingConstants.INTROSPECTION_TIMING, new IntrospectionTiming());
+
+        return doNext(
+            context.createNewJob(
+                new IntrospectionPhaseStep(
+                    IntrospectionTiming::jobCreated,
+                    readDomainIntrospectorPodLogStep(tuning, getNext()))),
+            packet);
+      }
+    }
   }
 
   private static boolean runIntrospector(Packet packet, DomainPresenceInfo info) {
@@ -229,6 +259,36 @@ public class JobHelper {
     return new DeleteIntrospectorJobStep(domainUID, namespace, next);
   }
 
+  /**
+   * Factory for {@link Step} that deletes any earlier WebLogic domain introspector job, if the
+   * introspector is about to be run. When the domain topology is already known and the introspector
+   * will not run, no delete call is made.
+   *
+   * @param domainUID The unique identifier assigned to the Weblogic domain when it was registered
+   * @param namespace Namespace
+   * @param next Next processing step
+   * @return Step for deleting a stale domain introspector job
+   */
+  public static Step deleteStaleDomainIntrospectorJobStep(
+      String domainUID, String namespace, Step next) {
+    return new DeleteStaleIntrospectorJobStep(domainUID, namespace, next);
+  }
+
+  private static class DeleteStaleIntrospectorJobStep extends DeleteIntrospectorJobStep {
+
+    DeleteStaleIntrospectorJobStep(String domainUID, String namespace, Step next) {
+      super(domainUID, namespace, next);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      if (!runIntrospector(packet, packet.getSPI(DomainPresenceInfo.class))) {
+        return doNext(packet);
+      }
+      return super.apply(packet);
+    }
+  }
+
   private static class DeleteIntrospectorJobStep extends Step {
     private String domainUID;
     private String namespace;
@@ -260,7 +320,7 @@ public class JobHelper {
               .deleteJobAsync(
                   jobName,
                   this.namespace,
-                  new V1DeleteOptions().propagationPolicy("Foreground"),
+                  new V1DeleteOptions().propagationPolicy("Background"),
                   new DefaultResponseStep<>(next));
       return step;
     }
@@ -279,7 +339,64 @@ public class JobHelper {
    */
   public static Step readDomainIntrospectorPodLogStep(WatchTuning tuning, Step next) {
     return createWatchDomainIntrospectorJobReadyStep(
-        tuning, readDomainIntrospectorPodStep(new ReadDomainIntrospectorPodLogStep(next)));
+        tuning,
+        new IntrospectionPhaseStep(
+            IntrospectionTiming::jobCompleted,
+            readDomainIntrospectorPodStep(new ReadDomainIntrospectorPodLogStep(next))));
+  }
+
+  // records the end of a phase of the introspection, if it is being timed
+  private static class IntrospectionPhaseStep extends Step {
+    private final Consumer<IntrospectionTiming> endPhase;
+
+    IntrospectionPhaseStep(Consumer<IntrospectionTiming> endPhase, Step next) {
+      super(next);
+      this.endPhase = endPhase;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      IntrospectionTiming timing = getTiming(packet);
+      if (timing != null) {
+        endPhase.accept(timing);
+      }
+      return doNext(packet);
+    }
+  }
+
+  private static IntrospectionTiming getTiming(Packet packet) {
+    return (IntrospectionTiming) packet.get(ProcessingConstants.INTROSPECTION_TIMING);
+  }
+
+  // records the deletion of the job, and reports the timing of the introspection
+  private static class IntrospectionCompleteStep extends Step {
+
+    IntrospectionCompleteStep(Step next) {
+      super(next);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      IntrospectionTiming timing =
+          (IntrospectionTiming) packet.remove(ProcessingConstants.INTROSPECTION_TIMING);
+      if (timing != null) {
+        timing.jobDeleted();
+
+        DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
+        OperatorMetrics.getInstance()
+            .recordIntrospection(info.getNamespace(), info.getDomainUID(), timing);
+        LOGGER.info(
+            MessageKeys.INTROSPECTION_TIMING,
+            info.getDomainUID(),
+            timing.getTotalMillis(),
+            timing.getCreateMillis(),
+            timing.getScheduleMillis(),
+            timing.getRunMillis(),
+            timing.getLogReadMillis(),
+            timing.getDeleteMillis());
+      }
+      return doNext(packet);
+    }
   }
 
   private static class ReadDomainIntrospectorPodLogStep extends Step {
@@ -325,6 +442,11 @@ public class JobHelper {
       // Log output to Operator log
       LOGGER.fine("+++++ ReadDomainIntrospectorPodLogResponseStep: \n" + result);
 
+      IntrospectionTiming timing = getTiming(packet);
+      if (timing != null) {
+        timing.logRead();
+      }
+
       V1Job domainIntrospectorJob = (V1Job) packet.get(ProcessingConstants.DOMAIN_INTROSPECTOR_JOB);
       if (domainIntrospectorJob != null && JobWatcher.isComplete(domainIntrospectorJob)) {
         if (result != null) {
@@ -339,7 +461,9 @@ public class JobHelper {
         cleanupJobArtifacts(packet);
 
         return doNext(
-            JobHelper.deleteDomainIntrospectorJobStep(domainUID, namespace, getNext()), packet);
+            JobHelper.deleteDomainIntrospectorJobStep(
+                domainUID, namespace, new IntrospectionCompleteStep(getNext())),
+            packet);
       }
 
       return onFailure(packet, callResponse);
@@ -380,7 +504,7 @@ public class JobHelper {
 
       Step step =
           new CallBuilder()
-              .withLabelSelectors(LabelConstants.JOBNAME_LABEL)
+              .withLabelSelectors(LabelConstants.JOBNAME_LABEL + "=" + createJobName(domainUID))
               .listPodAsync(namespace, new PodListStep(domainUID, namespace, next));
 
       return step;
@@ -405,17 +529,31 @@ public class JobHelper {
     @Override
     public NextAction onSuccess(Packet packet, CallResponse<V1PodList> callResponse) {
       String jobNamePrefix = createJobName(domainUID);
+      V1Job job = (V1Job) packet.get(ProcessingConstants.DOMAIN_INTROSPECTOR_JOB);
       V1PodList result = callResponse.getResult();
       if (result != null) {
         for (V1Pod pod : result.getItems()) {
-          if (pod.getMetadata().getName().startsWith(jobNamePrefix)) {
+          if (pod.getMetadata().getName().startsWith(jobNamePrefix) && isRunBy(job, pod)) {
             LOGGER.fine("+++++ JobHelper.PodListStep pod: " + pod.toString());
             packet.put(ProcessingConstants.JOB_POD_NAME, pod.getMetadata().getName());
+
+            IntrospectionTiming timing = getTiming(packet);
+            if (timing != null) {
+              timing.podFound(job, pod);
+            }
           }
         }
       }
 
       return doNext(packet);
     }
+
+    // a job deleted in the background may leave a pod of the same name prefix behind for a while
+    private boolean isRunBy(V1Job job, V1Pod pod) {
+      String jobUid = job != null ? job.getMetadata().getUid() : null;
+      Map<String, String> labels = pod.getMetadata().getLabels();
+      String controllerUid = labels != null ? labels.get(CONTROLLER_UID_LABEL) : null;
+      return jobUid == null || controllerUid == null || jobUid.equals(controllerUid);
+    }
   }
 }
@@ -18,6 +18,10 @@ public abstract class JobStepContext implements StepContextConstants {
 
   private static final String WEBLOGIC_OPERATOR_SCRIPTS_INTROSPECT_DOMAIN_SH =
       "/weblogic-operator/scripts/introspectDomain.sh";
+  static final String WEBLOGIC_OPERATOR_SCRIPTS_INTROSPECT_REQUEST_SH =
+      "/weblogic-operator/scripts/introspectRequest.sh";
+  static final String INTROSPECTOR_SPEC_HASH_ANNOTATION = "weblogic.introspectorSpecHash";
+  static final long INTROSPECTOR_IDLE_SECONDS = 600L;
 
   private final DomainPresenceInfo info;
   private V1Job jobModel;
@@ -52,6 +56,10 @@ public abstract class JobStepContext implements StepContextConstants {
 
   abstract String getJobName();
 
+  String getIntrospectorPodName() {
+    return LegalNames.toIntrospectorPodName(getDomainUID());
+  }
+
   String getWebLogicCredentialsSecretName() {
     return getDomain().getWebLogicCredentialsSecret().getName();
   }
@@ -168,7 +176,7 @@ public abstract class JobStepContext implements StepContextConstants {
     return metadata;
   }
 
-  private long getActiveDeadlineSeconds() {
+  long getActiveDeadlineSeconds() {
     return DEFAULT_ACTIVE_DEADLINE_SECONDS
         + (DEFAULT_ACTIVE_DEADLINE_INCREMENT_SECONDS * info.getRetryCount());
   }
@@ -188,6 +196,42 @@ public abstract class JobStepContext implements StepContextConstants {
     return jobSpec;
   }
 
+  /**
+   * Creates the model of the long-lived introspector pod of the domain. The pod runs the container
+   * of the job, but its introspector waits for requests instead of exiting after one introspection,
+   * and reports itself ready once it does. The pod is annotated with a hash of its spec, so that a
+   * pod created for an earlier version of the domain can be recognized and replaced.
+   *
+   * @return the pod model
+   */
+  V1Pod createIntrospectorPodModel() {
+    V1PodSpec podSpec = createPodSpec(TuningParameters.getInstance()).activeDeadlineSeconds(null);
+    V1Container container =
+        podSpec.getContainers().get(0).name(getIntrospectorPodName()).readinessProbe(createProbe());
+    addEnvVar(container.getEnv(), "INTROSPECTOR_SERVER", "true");
+    addEnvVar(
+        container.getEnv(), "INTROSPECTOR_IDLE_SECONDS", Long.toString(INTROSPECTOR_IDLE_SECONDS));
+
+    V1ObjectMeta metadata =
+        createMetadata()
+            .name(getIntrospectorPodName())
+            .putAnnotationsItem(INTROSPECTOR_SPEC_HASH_ANNOTATION, getSpecHash(podSpec));
+    return new V1Pod().metadata(metadata).spec(podSpec);
+  }
+
+  static String getSpecHash(V1PodSpec podSpec) {
+    return Integer.toHexString(podSpec.hashCode());
+  }
+
+  private V1Probe createProbe() {
+    return new V1Probe()
+        .exec(
+            new V1ExecAction()
+                .addCommandItem(WEBLOGIC_OPERATOR_SCRIPTS_INTROSPECT_REQUEST_SH)
+                .addCommandItem("-ready"))
+        .periodSeconds(1);
+  }
+
   private V1PodTemplateSpec createPodTemplateSpec(TuningParameters tuningParameters) {
     V1ObjectMeta metadata = new V1ObjectMeta().name(getJobName());
     V1PodTemplateSpec podTemplateSpec =
@@ -0,0 +1,76 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Builds a JSON patch (RFC 6902), as the list of operations that the patch calls expect. */
+public class JsonPatch {
+  private final List<Map<String, Object>> operations = new ArrayList<>();
+
+  /**
+   * Adds an operation which sets the value at the specified path, replacing any existing member.
+   *
+   * @param path the JSON pointer to the value
+   * @param value the new value
+   * @return this patch
+   */
+  public JsonPatch add(String path, Object value) {
+    return addOperation("add", path, value);
+  }
+
+  /**
+   * Adds an operation which replaces the existing value at the specified path.
+   *
+   * @param path the JSON pointer to the value
+   * @param value the new value
+   * @return this patch
+   */
+  public JsonPatch replace(String path, Object value) {
+    return addOperation("replace", path, value);
+  }
+
+  /**
+   * Adds an operation which fails the patch unless the value at the specified path is as expected.
+   *
+   * @param path the JSON pointer to the value
+   * @param value the expected value
+   * @return this patch
+   */
+  public JsonPatch test(String path, Object value) {
+    return addOperation("test", path, value);
+  }
+
+  /**
+   * Adds the operations of another patch.
+   *
+   * @param patch the patch to append
+   * @return this patch
+   */
+  public JsonPatch append(JsonPatch patch) {
+    operations.addAll(patch.operations);
+    return this;
+  }
+
+  public boolean isEmpty() {
+    return operations.isEmpty();
+  }
+
+  public List<Map<String, Object>> getOperations() {
+    return operations;
+  }
+
+  private JsonPatch addOperation(String op, String path, Object value) {
+    Map<String, Object> operation = new LinkedHashMap<>();
+    operation.put("op", op);
+    operation.put("path", path);
+    operation.put("value", value);
+    operations.add(operation);
+    return this;
+  }
+}
@@ -13,6 +13,7 @@ public class LegalNames {
   private static final String CLUSTER_SERVICE_PATTERN = "%s-cluster-%s";
   private static final String NAP_PATTERN = "%s-%s-extchannel-%s";
   private static final String DOMAIN_INTROSPECTOR_JOB_PATTERN = "%s-introspect-domain-job";
+  private static final String DOMAIN_INTROSPECTOR_POD_PATTERN = "%s-introspector";
   private static final String ADMIN_SERVICE_PATTERN = "%s-%s-admin";
 
   public static String toServerServiceName(String domainUID, String serverName) {
@@ -39,6 +40,10 @@ public class LegalNames {
     return toDNS1123LegalName(String.format(DOMAIN_INTROSPECTOR_JOB_PATTERN, domainUID));
   }
 
+  static String toIntrospectorPodName(String domainUID) {
+    return toDNS1123LegalName(String.format(DOMAIN_INTROSPECTOR_POD_PATTERN, domainUID));
+  }
+
   static String toAdminServiceName(String domainUID, String serverName) {
     return toDNS1123LegalName(String.format(ADMIN_SERVICE_PATTERN, domainUID, serverName));
   }
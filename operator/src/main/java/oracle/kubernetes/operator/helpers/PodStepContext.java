@@ -172,7 +172,7 @@ public abstract class PodStepContext implements StepContextConstants {
   }
 
   private void setRecordedPod(V1Pod pod) {
-    getSko().getPod().set(pod);
+    getSko().getPod().set(CompactResources.compact(pod));
   }
 
   /**
@@ -275,7 +275,7 @@ public abstract class PodStepContext implements StepContextConstants {
   // however, we've also found that Pod.equals(Pod) isn't right because k8s
   // returns fields, such as nodeName, even when export=true is specified.
   // Therefore, we'll just compare specific fields
-  private static boolean isCurrentPodValid(V1Pod build, V1Pod current) {
+  static boolean isCurrentPodValid(V1Pod build, V1Pod current) {
     List<String> ignoring = getVolumesToIgnore(current);
 
     return isCurrentPodMetadataValid(build.getMetadata(), current.getMetadata())
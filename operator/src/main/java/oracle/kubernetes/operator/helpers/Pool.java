@@ -4,7 +4,6 @@
 
 package oracle.kubernetes.operator.helpers;
 
-import java.lang.ref.WeakReference;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
@@ -13,8 +12,8 @@ import oracle.kubernetes.operator.logging.LoggingFactory;
 public abstract class Pool<T> {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
-  // volatile since multiple threads may access queue reference
-  private volatile WeakReference<ConcurrentLinkedQueue<T>> queue;
+  // held strongly, so that pooled instances survive garbage collections
+  private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
 
   /**
    * Gets a new object from the pool. If no object is available in the pool, this method creates a
@@ -33,23 +32,11 @@ public abstract class Pool<T> {
       LOGGER.finer(
           "Returning existing instance from pool, instances remaining: " + getQueue().size());
     }
-    return instance;
+    return onReuse(instance);
   }
 
   private ConcurrentLinkedQueue<T> getQueue() {
-    WeakReference<ConcurrentLinkedQueue<T>> referenceQueue = queue;
-    if (referenceQueue != null) {
-      ConcurrentLinkedQueue<T> returnQueue = referenceQueue.get();
-      if (returnQueue != null) {
-        return returnQueue;
-      }
-    }
-
-    // overwrite the queue
-    ConcurrentLinkedQueue<T> d = new ConcurrentLinkedQueue<>();
-    queue = new WeakReference<>(d);
-
-    return d;
+    return queue;
   }
 
   /**
@@ -73,6 +60,17 @@ public abstract class Pool<T> {
    */
   protected abstract T create();
 
+  /**
+   * Prepares an instance taken from the pool for reuse. The default implementation returns it
+   * unchanged.
+   *
+   * @param instance the pooled instance
+   * @return the instance to use
+   */
+  protected T onReuse(T instance) {
+    return instance;
+  }
+
   /** Drains pool of all entries; useful for unit-testing */
   public void drain() {
     getQueue().clear();
@@ -4,12 +4,18 @@
 
 package oracle.kubernetes.operator.helpers;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import oracle.kubernetes.operator.OperatorMetrics;
 import oracle.kubernetes.operator.ProcessingConstants;
 import oracle.kubernetes.operator.WebLogicConstants;
 import oracle.kubernetes.operator.logging.LoggingFacade;
@@ -18,19 +24,24 @@ import oracle.kubernetes.operator.logging.MessageKeys;
 import oracle.kubernetes.operator.wlsconfig.WlsClusterConfig;
 import oracle.kubernetes.operator.wlsconfig.WlsDomainConfig;
 import oracle.kubernetes.operator.wlsconfig.WlsServerConfig;
+import oracle.kubernetes.operator.work.Fiber;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
 import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
 import oracle.kubernetes.operator.work.Step.StepAndPacket;
 import oracle.kubernetes.weblogic.domain.v2.Domain;
-import oracle.kubernetes.weblogic.domain.v2.DomainStatus;
-import oracle.kubernetes.weblogic.domain.v2.ServerStatus;
 
 /**
  * After the {@link PodHelper} identifies servers that are presently running, but that are using an
  * out-of-date specification, it defers the processing of these servers to the RollingHelper. This
  * class will ensure that a minimum number of cluster members remain up, if possible, throughout the
  * rolling process.
+ *
+ * <p>Whether a server is ready is taken from the last known status of its pod, which is kept
+ * current by pod watch events. Each cluster is rolled independently and in parallel with the
+ * others: as soon as a restarted server is ready again, as many further servers are restarted as
+ * the cluster's minimum availability allows, rather than waiting for a whole batch to complete.
  */
 public class RollingHelper {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
@@ -53,6 +64,11 @@ public class RollingHelper {
     return new RollingStep(rolling, next);
   }
 
+  private static boolean isReady(DomainPresenceInfo info, String serverName) {
+    ServerKubernetesObjects sko = info.getServers().get(serverName);
+    return sko != null && WebLogicConstants.RUNNING_STATE.equals(sko.getLastKnownStatus().get());
+  }
+
   private static class RollingStep extends Step {
     private final Map<String, StepAndPacket> rolling;
 
@@ -69,28 +85,16 @@ public class RollingHelper {
     @Override
     public NextAction apply(Packet packet) {
       DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
-
       Domain dom = info.getDomain();
-      DomainStatus status = dom.getStatus();
-      // These are presently Ready servers
-      List<String> availableServers = new ArrayList<>();
-      List<ServerStatus> ss = status != null ? status.getServers() : null;
-      if (ss != null) {
-        for (ServerStatus s : ss) {
-          if (WebLogicConstants.RUNNING_STATE.equals(s.getState())) {
-            availableServers.add(s.getServerName());
-          }
-        }
-      }
 
       Collection<StepAndPacket> serversThatCanRestartNow = new ArrayList<>();
-      Map<String, Collection<StepAndPacket>> clusteredRestarts = new HashMap<>();
+      Map<String, Map<String, StepAndPacket>> clusteredRestarts = new HashMap<>();
 
       List<String> servers = new ArrayList<>();
       for (Map.Entry<String, StepAndPacket> entry : rolling.entrySet()) {
         // If this server isn't currently Ready, then it can be safely restarted now
         // regardless of the state of its cluster (if any)
-        if (!availableServers.contains(entry.getKey())) {
+        if (!isReady(info, entry.getKey())) {
           servers.add(entry.getKey());
           serversThatCanRestartNow.add(entry.getValue());
           continue;
@@ -106,12 +110,9 @@ public class RollingHelper {
         }
 
         // clustered server
-        Collection<StepAndPacket> cr = clusteredRestarts.get(clusterName);
-        if (cr == null) {
-          cr = new ArrayList<>();
-          clusteredRestarts.put(clusterName, cr);
-        }
-        cr.add(entry.getValue());
+        clusteredRestarts
+            .computeIfAbsent(clusterName, k -> new LinkedHashMap<>())
+            .put(entry.getKey(), entry.getValue());
       }
 
       if (!servers.isEmpty()) {
@@ -125,12 +126,10 @@ public class RollingHelper {
                 new ServersThatCanRestartNowStep(serversThatCanRestartNow, null), packet));
       }
 
-      if (!clusteredRestarts.isEmpty()) {
-        for (Map.Entry<String, Collection<StepAndPacket>> entry : clusteredRestarts.entrySet()) {
-          work.add(
-              new StepAndPacket(
-                  new RollSpecificClusterStep(entry.getKey(), entry.getValue(), null), packet));
-        }
+      for (Map.Entry<String, Map<String, StepAndPacket>> entry : clusteredRestarts.entrySet()) {
+        work.add(
+            new StepAndPacket(
+                new RollSpecificClusterStep(entry.getKey(), entry.getValue(), null), packet));
       }
 
       if (!work.isEmpty()) {
@@ -158,86 +157,232 @@ public class RollingHelper {
 
   private static class RollSpecificClusterStep extends Step {
     private final String clusterName;
-    private final Iterator<StepAndPacket> it;
+    private final Map<String, StepAndPacket> clusteredServerRestarts;
 
     public RollSpecificClusterStep(
-        String clusterName, Collection<StepAndPacket> clusteredServerRestarts, Step next) {
+        String clusterName, Map<String, StepAndPacket> clusteredServerRestarts, Step next) {
       super(next);
       this.clusterName = clusterName;
-      it = clusteredServerRestarts.iterator();
+      this.clusteredServerRestarts = clusteredServerRestarts;
     }
 
     @Override
     public NextAction apply(Packet packet) {
-      if (it.hasNext()) {
-        DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
-        WlsDomainConfig config = (WlsDomainConfig) packet.get(ProcessingConstants.DOMAIN_TOPOLOGY);
-
-        // Refresh as this is constantly changing
-        Domain dom = info.getDomain();
-        DomainStatus status = dom.getStatus();
-        // These are presently Ready servers
-        List<String> availableServers = new ArrayList<>();
-        List<ServerStatus> ss = status.getServers();
-        if (ss != null) {
-          for (ServerStatus s : ss) {
-            if (WebLogicConstants.RUNNING_STATE.equals(s.getState())) {
-              availableServers.add(s.getServerName());
-            }
-          }
+      DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
+      WlsDomainConfig config = (WlsDomainConfig) packet.get(ProcessingConstants.DOMAIN_TOPOLOGY);
+      ClusterRoller roller =
+          new ClusterRoller(
+              info, clusterName, getMemberNames(config), clusteredServerRestarts, packet);
+      return doSuspend(getNext(), roller::start);
+    }
+
+    private Set<String> getMemberNames(WlsDomainConfig config) {
+      Set<String> names = new HashSet<>(clusteredServerRestarts.keySet());
+      WlsClusterConfig cluster = config != null ? config.getClusterConfig(clusterName) : null;
+      if (cluster != null && cluster.getServerConfigs() != null) {
+        for (WlsServerConfig server : cluster.getServerConfigs()) {
+          names.add(server.getName());
         }
+      }
+      return names;
+    }
+  }
 
-        List<String> servers = new ArrayList<>();
-        List<String> readyServers = new ArrayList<>();
-
-        Collection<StepAndPacket> serversThatCanRestartNow = new ArrayList<>();
-        // We will always restart at least one server
-        StepAndPacket current = it.next();
-        serversThatCanRestartNow.add(current);
-
-        WlsServerConfig serverConfig =
-            (WlsServerConfig) current.packet.get(ProcessingConstants.SERVER_SCAN);
-        servers.add(serverConfig != null ? serverConfig.getName() : config.getAdminServerName());
-
-        // See if we can restart more now
-        if (it.hasNext()) {
-          // we are already pending a restart of one server, so start count at -1
-          int countReady = -1;
-          WlsClusterConfig cluster = config != null ? config.getClusterConfig(clusterName) : null;
-          if (cluster != null) {
-            List<WlsServerConfig> serversConfigs = cluster.getServerConfigs();
-            if (serversConfigs != null) {
-              for (WlsServerConfig s : serversConfigs) {
-                // figure out how many servers are currently ready
-                if (availableServers.contains(s.getName())) {
-                  readyServers.add(s.getName());
-                  countReady++;
-                }
-              }
-            }
+  /**
+   * Restarts the servers of a cluster, keeping as many restarts in progress as the cluster's
+   * minimum availability allows. At least one restart is always in progress, so that a cluster
+   * whose availability is already below its minimum is still rolled. No further restarts are
+   * started once the rolling fiber has been cancelled.
+   */
+  private static class ClusterRoller {
+    private final DomainPresenceInfo info;
+    private final String clusterName;
+    private final Set<String> members;
+    private final Deque<String> pending;
+    private final Map<String, StepAndPacket> restarts;
+    private final Packet packet;
+    private final Set<String> inProgress = new HashSet<>();
+    // a restart completes only once the new pod is ready, possibly before the watch event arrives
+    private final Set<String> restarted = new HashSet<>();
+    private final List<Throwable> throwables = new ArrayList<>();
+    private final long startTime = System.nanoTime();
+    private Fiber fiber;
+    private int maxInProgress;
+
+    ClusterRoller(
+        DomainPresenceInfo info,
+        String clusterName,
+        Set<String> members,
+        Map<String, StepAndPacket> restarts,
+        Packet packet) {
+      this.info = info;
+      this.clusterName = clusterName;
+      this.members = members;
+      this.pending = new ArrayDeque<>(restarts.keySet());
+      this.restarts = restarts;
+      this.packet = packet;
+    }
+
+    void start(Fiber fiber) {
+      synchronized (this) {
+        this.fiber = fiber;
+      }
+      startRestarts();
+    }
+
+    private void startRestarts() {
+      if (fiber.isCancelled()) {
+        return;
+      }
+
+      List<String> servers = new ArrayList<>();
+      List<String> readyServers = new ArrayList<>();
+      synchronized (this) {
+        int minAvailable = info.getDomain().getMinAvailable(clusterName);
+        int available = countAvailable();
+        while (!pending.isEmpty()) {
+          String serverName = pending.peek();
+          boolean reducesAvailability = isAvailable(serverName);
+          if (reducesAvailability && !inProgress.isEmpty() && available <= minAvailable) {
+            break;
+          }
+
+          pending.remove();
+          inProgress.add(serverName);
+          servers.add(serverName);
+          if (reducesAvailability) {
+            available--;
           }
+        }
+        maxInProgress = Math.max(maxInProgress, inProgress.size());
 
-          // then add as many as possible next() entries leaving at least minimum cluster
-          // availability
-          while (countReady-- > dom.getMinAvailable(clusterName)) {
-            current = it.next();
-            serverConfig = (WlsServerConfig) current.packet.get(ProcessingConstants.SERVER_SCAN);
-            servers.add(
-                serverConfig != null ? serverConfig.getName() : config.getAdminServerName());
-            serversThatCanRestartNow.add(current);
-            if (!it.hasNext()) {
-              break;
-            }
+        for (String member : members) {
+          if (isAvailable(member)) {
+            readyServers.add(member);
           }
         }
+      }
+
+      if (!servers.isEmpty()) {
+        LOGGER.info(MessageKeys.ROLLING_SERVERS, info.getDomainUID(), servers, readyServers);
+      }
+      for (String serverName : servers) {
+        if (fiber.isCancelled()) {
+          return;
+        }
+        StepAndPacket restart = restarts.get(serverName);
+        fiber.createChildFiber().start(restart.step, restart.packet, new Callback(serverName));
+      }
+    }
 
-        readyServers.removeAll(servers);
-        LOGGER.info(MessageKeys.ROLLING_SERVERS, dom.getDomainUID(), servers, readyServers);
+    private int countAvailable() {
+      int count = 0;
+      for (String member : members) {
+        if (isAvailable(member)) {
+          count++;
+        }
+      }
+      return count;
+    }
 
-        return doNext(new ServersThatCanRestartNowStep(serversThatCanRestartNow, this), packet);
+    private boolean isAvailable(String serverName) {
+      return !inProgress.contains(serverName)
+          && (restarted.contains(serverName) || isReady(info, serverName));
+    }
+
+    private void onRestarted(String serverName, Throwable throwable) {
+      boolean done;
+      synchronized (this) {
+        inProgress.remove(serverName);
+        if (throwable != null) {
+          throwables.add(throwable);
+        } else {
+          restarted.add(serverName);
+        }
+        done = pending.isEmpty() && inProgress.isEmpty();
       }
 
-      return doNext(packet);
+      if (fiber.isCancelled()) {
+        return;
+      } else if (!done) {
+        startRestarts();
+      } else {
+        complete();
+      }
+    }
+
+    private void complete() {
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+      ClusterRollout rollout = new ClusterRollout(elapsedMillis, restarts.size(), maxInProgress);
+      OperatorMetrics.getInstance()
+          .recordClusterRollout(info.getNamespace(), info.getDomainUID(), clusterName, rollout);
+      LOGGER.info(
+          MessageKeys.CLUSTER_ROLLED,
+          clusterName,
+          info.getDomainUID(),
+          restarts.size(),
+          elapsedMillis,
+          maxInProgress);
+
+      if (throwables.isEmpty()) {
+        fiber.resume(packet);
+      } else {
+        Throwable throwable = throwables.get(0);
+        for (int i = 1; i < throwables.size(); i++) {
+          throwable.addSuppressed(throwables.get(i));
+        }
+        fiber.terminate(throwable, packet);
+      }
+    }
+
+    private class Callback implements CompletionCallback {
+      private final String serverName;
+
+      Callback(String serverName) {
+        this.serverName = serverName;
+      }
+
+      @Override
+      public void onCompletion(Packet packet) {
+        onRestarted(serverName, null);
+      }
+
+      @Override
+      public void onThrowable(Packet packet, Throwable throwable) {
+        onRestarted(serverName, throwable);
+      }
+    }
+  }
+
+  /** The timing of the rolling restart of a cluster. */
+  public static class ClusterRollout {
+    private final long durationMillis;
+    private final int serverCount;
+    private final int maxConcurrentRestarts;
+
+    /**
+     * Constructs the timing of a rolling restart.
+     *
+     * @param durationMillis the time taken to restart the servers
+     * @param serverCount the number of servers restarted
+     * @param maxConcurrentRestarts the most servers restarting at once
+     */
+    public ClusterRollout(long durationMillis, int serverCount, int maxConcurrentRestarts) {
+      this.durationMillis = durationMillis;
+      this.serverCount = serverCount;
+      this.maxConcurrentRestarts = maxConcurrentRestarts;
+    }
+
+    public long getDurationMillis() {
+      return durationMillis;
+    }
+
+    public int getServerCount() {
+      return serverCount;
+    }
+
+    public int getMaxConcurrentRestarts() {
+      return maxConcurrentRestarts;
     }
   }
 }
@@ -0,0 +1,264 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Secret;
+import io.kubernetes.client.util.Watch;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds the data of the secrets read by {@link SecretHelper}, keyed by namespace and name, so that
+ * health reads and scaling requests do not each read the WebLogic credentials from the API server.
+ * Secrets are cached only in namespaces for which caching has been started. When the first secret
+ * in a namespace is cached, a single watch of the secrets in that namespace is started, outside the
+ * cache lock, from the version read; its events replace or evict the cached data. If that version
+ * is no longer available, the namespace's entries are evicted, as events may have been missed, and
+ * all entries are re-read after a maximum age in any case. The cached buffers may be lent to
+ * callers, without copying, for the duration of a call; callers which must keep the data receive
+ * copies, which they may zero after use. The cached buffers are zeroed only when they are evicted.
+ */
+public class SecretCache {
+  private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+  private static final SecretCache INSTANCE = new SecretCache(System::nanoTime);
+
+  private final LongSupplier clock;
+  private final Map<String, Map<String, Entry>> namespaces = new HashMap<>();
+  private final Map<String, SecretWatchStarter> watchStarters = new HashMap<>();
+  private final Set<String> watchedNamespaces = new HashSet<>();
+
+  /** Starts a watch of the secrets in a namespace. */
+  public interface SecretWatchStarter {
+    /**
+     * Starts a watch of the secrets in the specified namespace. Its events must be passed to {@link
+     * #dispatchSecretWatch}, and a loss of its version to {@link #onWatchGone}.
+     *
+     * @param namespace the namespace
+     * @param resourceVersion the version of the first secret cached in the namespace
+     */
+    void startWatch(String namespace, String resourceVersion);
+  }
+
+  public static SecretCache getInstance() {
+    return INSTANCE;
+  }
+
+  SecretCache(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Enables caching of secrets in the specified namespace.
+   *
+   * @param namespace the namespace
+   * @param watchStarter starts the watch of the namespace when its first secret is cached
+   */
+  public synchronized void startCaching(String namespace, SecretWatchStarter watchStarter) {
+    namespaces.putIfAbsent(namespace, new HashMap<>());
+    watchStarters.put(namespace, watchStarter);
+  }
+
+  /**
+   * Disables caching of secrets in the specified namespace, and evicts those already cached.
+   *
+   * @param namespace the namespace
+   */
+  public synchronized void stopCaching(String namespace) {
+    watchStarters.remove(namespace);
+    watchedNamespaces.remove(namespace);
+    Map<String, Entry> secrets = namespaces.remove(namespace);
+    if (secrets != null) {
+      secrets.values().forEach(Entry::clear);
+    }
+  }
+
+  /**
+   * Updates the cache from a secret watch event. Only secrets which are already cached are
+   * affected.
+   *
+   * @param item the watch event
+   */
+  public void dispatchSecretWatch(Watch.Response<V1Secret> item) {
+    V1ObjectMeta metadata = item.object != null ? item.object.getMetadata() : null;
+    if (metadata == null) {
+      return;
+    }
+
+    switch (item.type) {
+      case "ADDED":
+      case "MODIFIED":
+        if (isCached(metadata.getNamespace(), metadata.getName())) {
+          startWatch(metadata, store(metadata, harvest(item.object)));
+        }
+        break;
+      case "DELETED":
+        evict(metadata.getNamespace(), metadata.getName());
+        break;
+      case "ERROR":
+      default:
+    }
+  }
+
+  /**
+   * Evicts the secrets cached in the specified namespace, after the version from which its watch
+   * was to continue is no longer available.
+   *
+   * @param namespace the namespace
+   */
+  public synchronized void onWatchGone(String namespace) {
+    Map<String, Entry> secrets = namespaces.get(namespace);
+    if (secrets != null) {
+      secrets.values().forEach(Entry::clear);
+      secrets.clear();
+    }
+  }
+
+  private static Map<String, byte[]> harvest(V1Secret secret) {
+    return secret.getData() != null ? SecretHelper.harvestAdminSecretData(secret) : null;
+  }
+
+  private synchronized boolean isCached(String namespace, String name) {
+    Map<String, Entry> secrets = namespaces.get(namespace);
+    return secrets != null && secrets.containsKey(name);
+  }
+
+  /**
+   * Returns a copy of the cached data for the specified secret.
+   *
+   * @param namespace the namespace of the secret
+   * @param name the name of the secret
+   * @return the secret data, or null if it is not cached or has expired
+   */
+  synchronized Map<String, byte[]> get(String namespace, String name) {
+    Entry entry = getLiveEntry(namespace, name);
+    return entry != null ? copy(entry.data) : null;
+  }
+
+  /**
+   * Lends the cached data for the specified secret to a borrower, without copying it. The data
+   * cannot be evicted, and so zeroed, while it is lent. The borrower must neither modify nor retain
+   * it, and should return promptly, as it runs while the cache is locked.
+   *
+   * @param namespace the namespace of the secret
+   * @param name the name of the secret
+   * @param borrower the function to which the data is lent
+   * @return true if the data was lent, or false if it is not cached or has expired
+   */
+  synchronized boolean lend(String namespace, String name, Consumer<Map<String, byte[]>> borrower) {
+    Entry entry = getLiveEntry(namespace, name);
+    if (entry == null) {
+      return false;
+    }
+
+    borrower.accept(entry.lentData);
+    return true;
+  }
+
+  // the caller holds the lock
+  private Entry getLiveEntry(String namespace, String name) {
+    Map<String, Entry> secrets = namespaces.get(namespace);
+    Entry entry = secrets != null ? secrets.get(name) : null;
+    if (entry != null && clock.getAsLong() - entry.cachedAt > MAX_AGE_NANOS) {
+      evict(namespace, name);
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Caches the harvested data of a secret which has just been read, if secrets in its namespace are
+   * cached and no later version of the secret is already cached.
+   *
+   * @param secret the secret, as read from the API server
+   * @param data the data harvested from the secret
+   */
+  void put(V1Secret secret, Map<String, byte[]> data) {
+    startWatch(secret.getMetadata(), store(secret.getMetadata(), copy(data)));
+  }
+
+  private static void startWatch(V1ObjectMeta metadata, SecretWatchStarter watchStarter) {
+    if (watchStarter != null) {
+      watchStarter.startWatch(metadata.getNamespace(), metadata.getResourceVersion());
+    }
+  }
+
+  // takes ownership of the data, which is zeroed if it is not cached; returns the starter of the
+  // namespace's watch if it has yet to be started
+  private synchronized SecretWatchStarter store(V1ObjectMeta metadata, Map<String, byte[]> data) {
+    Map<String, Entry> secrets = namespaces.get(metadata.getNamespace());
+    if (data == null) {
+      evict(metadata.getNamespace(), metadata.getName());
+      return null;
+    }
+
+    Entry entry = new Entry(metadata.getResourceVersion(), data, clock.getAsLong());
+    Entry old = secrets != null ? secrets.get(metadata.getName()) : null;
+    if (secrets == null || (old != null && !entry.isLaterThan(old))) {
+      entry.clear();
+      return null;
+    }
+
+    secrets.put(metadata.getName(), entry);
+    if (old != null) {
+      old.clear();
+    }
+    return watchedNamespaces.add(metadata.getNamespace())
+        ? watchStarters.get(metadata.getNamespace())
+        : null;
+  }
+
+  private synchronized void evict(String namespace, String name) {
+    Map<String, Entry> secrets = namespaces.get(namespace);
+    Entry entry = secrets != null ? secrets.remove(name) : null;
+    if (entry != null) {
+      entry.clear();
+    }
+  }
+
+  private static Map<String, byte[]> copy(Map<String, byte[]> data) {
+    Map<String, byte[]> copy = new HashMap<>();
+    data.forEach((key, value) -> copy.put(key, value.clone()));
+    return copy;
+  }
+
+  private static class Entry {
+    private final String resourceVersion;
+    private final Map<String, byte[]> data;
+    private final Map<String, byte[]> lentData;
+    private final long cachedAt;
+
+    Entry(String resourceVersion, Map<String, byte[]> data, long cachedAt) {
+      this.resourceVersion = resourceVersion;
+      this.data = data;
+      this.lentData = Collections.unmodifiableMap(data);
+      this.cachedAt = cachedAt;
+    }
+
+    boolean isLaterThan(Entry other) {
+      return getVersion(resourceVersion) > getVersion(other.resourceVersion);
+    }
+
+    private static long getVersion(String resourceVersion) {
+      try {
+        return Long.parseLong(resourceVersion);
+      } catch (NumberFormatException e) {
+        return 0;
+      }
+    }
+
+    void clear() {
+      data.values().forEach(value -> Arrays.fill(value, (byte) 0));
+    }
+  }
+}
@@ -9,6 +9,7 @@ import io.kubernetes.client.models.V1Secret;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
@@ -17,7 +18,12 @@ import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
 
-/** A Helper Class for retrieving Kubernetes Secrets used by the WebLogic Operator */
+/**
+ * A Helper Class for retrieving Kubernetes Secrets used by the WebLogic Operator. Secret data is
+ * served from the {@link SecretCache} when possible. The returned data belongs to the caller, who
+ * should zero it after use. Callers which need the data only briefly may instead borrow the cached
+ * data, which is not copied.
+ */
 public class SecretHelper {
   public static final String SECRET_DATA_KEY = "secretData";
 
@@ -63,6 +69,11 @@ public class SecretHelper {
         throw new IllegalArgumentException("Invalid secret name");
       }
 
+      Map<String, byte[]> cached = SecretCache.getInstance().get(namespace, secretName);
+      if (cached != null) {
+        return cached;
+      }
+
       LOGGER.fine(MessageKeys.RETRIEVING_SECRET, secretName);
 
       V1Secret secret = factory.create().readSecret(secretName, namespace);
@@ -72,7 +83,7 @@ public class SecretHelper {
         return null;
       }
 
-      return harvestAdminSecretData(secret);
+      return harvestAndCache(secret);
     } catch (Throwable e) {
       LOGGER.severe(MessageKeys.EXCEPTION, e);
       return null;
@@ -81,6 +92,21 @@ public class SecretHelper {
     }
   }
 
+  /**
+   * Lends the cached data of an admin credentials secret to a borrower, without copying it. The
+   * borrower must neither modify nor retain the data.
+   *
+   * @param namespace the namespace of the secret
+   * @param secretName the name of the secret
+   * @param borrower the function to which the data is lent
+   * @return true if the data was lent, or false if the secret is not cached, in which case it
+   *     should be read with {@link #getSecretData}
+   */
+  public static boolean borrowCachedSecretData(
+      String namespace, String secretName, Consumer<Map<String, byte[]>> borrower) {
+    return SecretCache.getInstance().lend(namespace, secretName, borrower);
+  }
+
   /**
    * Factory for {@link Step} that asynchronously acquires secret data
    *
@@ -115,6 +141,12 @@ public class SecretHelper {
         throw new IllegalArgumentException("Invalid secret name");
       }
 
+      Map<String, byte[]> cached = SecretCache.getInstance().get(namespace, secretName);
+      if (cached != null) {
+        packet.put(SECRET_DATA_KEY, cached);
+        return doNext(packet);
+      }
+
       LOGGER.fine(MessageKeys.RETRIEVING_SECRET, secretName);
       CallBuilderFactory factory =
           ContainerResolver.getInstance().getContainer().getSPI(CallBuilderFactory.class);
@@ -144,7 +176,7 @@ public class SecretHelper {
                         V1Secret result,
                         int statusCode,
                         Map<String, List<String>> responseHeaders) {
-                      packet.put(SECRET_DATA_KEY, harvestAdminSecretData(result));
+                      packet.put(SECRET_DATA_KEY, harvestAndCache(result));
                       return doNext(packet);
                     }
                   });
@@ -153,7 +185,14 @@ public class SecretHelper {
     }
   }
 
-  private static Map<String, byte[]> harvestAdminSecretData(V1Secret secret) {
+  // the caller owns the returned data, and may zero it after use
+  private static Map<String, byte[]> harvestAndCache(V1Secret secret) {
+    Map<String, byte[]> secretData = harvestAdminSecretData(secret);
+    SecretCache.getInstance().put(secret, secretData);
+    return secretData;
+  }
+
+  static Map<String, byte[]> harvestAdminSecretData(V1Secret secret) {
     Map<String, byte[]> secretData = new HashMap<>();
     byte[] usernameBytes = secret.getData().get(ADMIN_SERVER_CREDENTIALS_USERNAME);
     byte[] passwordBytes = secret.getData().get(ADMIN_SERVER_CREDENTIALS_PASSWORD);
@@ -9,11 +9,13 @@ import io.kubernetes.client.models.V1Service;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
+import oracle.kubernetes.weblogic.domain.v2.ServerHealth;
 
 /** Kubernetes pods and services associated with a single WebLogic server */
 public class ServerKubernetesObjects {
   private final AtomicReference<V1Pod> pod = new AtomicReference<>(null);
   private final AtomicReference<String> lastKnownStatus = new AtomicReference<>(null);
+  private final AtomicReference<ServerHealth> lastKnownHealth = new AtomicReference<>(null);
   private final AtomicReference<V1Service> service = new AtomicReference<>(null);
   private final ConcurrentMap<String, V1Service> channels = new ConcurrentHashMap<>();
 
@@ -37,6 +39,15 @@ public class ServerKubernetesObjects {
     return lastKnownStatus;
   }
 
+  /**
+   * Managed server health, as last read from the server
+   *
+   * @return Health
+   */
+  public AtomicReference<ServerHealth> getLastKnownHealth() {
+    return lastKnownHealth;
+  }
+
   /**
    * The Service
    *
@@ -356,7 +356,7 @@ public class ServiceHelper {
         if (service == null) {
           removeServiceFromRecord();
         } else {
-          addServiceToRecord(service);
+          addServiceToRecord(CompactResources.compact(service));
         }
         return doNext(packet);
       }
@@ -422,7 +422,7 @@ public class ServiceHelper {
       @Override
       public NextAction onSuccess(Packet packet, CallResponse<V1Service> callResponse) {
         logServiceCreated(messageKey);
-        addServiceToRecord(callResponse.getResult());
+        addServiceToRecord(CompactResources.compact(callResponse.getResult()));
         return doNext(packet);
       }
     }
@@ -9,6 +9,7 @@ import io.kubernetes.client.models.V1Service;
 import io.kubernetes.client.models.V1ServiceSpec;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
@@ -157,8 +158,7 @@ public class HttpClient {
    */
   public static Step createAuthenticatedClientForServer(
       String namespace, String adminSecretName, Step next) {
-    return new AuthenticatedClientForServerStep(
-        namespace, adminSecretName, new WithSecretDataStep(next));
+    return new AuthenticatedClientForServerStep(namespace, adminSecretName, next);
   }
 
   private static class AuthenticatedClientForServerStep extends Step {
@@ -173,9 +173,18 @@ public class HttpClient {
 
     @Override
     public NextAction apply(Packet packet) {
+      String encodedCredentials = encodeCachedCredentials(namespace, adminSecretName);
+      if (encodedCredentials != null) {
+        packet.put(KEY, new HttpClient(ClientBuilder.newClient(), encodedCredentials));
+        return doNext(packet);
+      }
+
       Step readSecret =
           SecretHelper.getSecretData(
-              SecretHelper.SecretType.AdminCredentials, adminSecretName, namespace, getNext());
+              SecretHelper.SecretType.AdminCredentials,
+              adminSecretName,
+              namespace,
+              new WithSecretDataStep(getNext()));
       return doNext(readSecret, packet);
     }
   }
@@ -199,8 +208,8 @@ public class HttpClient {
       }
       packet.put(KEY, createAuthenticatedClient(username, password));
 
-      Arrays.fill(username, (byte) 0);
-      Arrays.fill(password, (byte) 0);
+      clear(username);
+      clear(password);
       return doNext(packet);
     }
   }
@@ -214,6 +223,11 @@ public class HttpClient {
    */
   public static HttpClient createAuthenticatedClientForServer(
       String namespace, String adminSecretName) {
+    String encodedCredentials = encodeCachedCredentials(namespace, adminSecretName);
+    if (encodedCredentials != null) {
+      return new HttpClient(ClientBuilder.newClient(), encodedCredentials);
+    }
+
     SecretHelper secretHelper = new SecretHelper(namespace);
     Map<String, byte[]> secretData =
         secretHelper.getSecretData(SecretHelper.SecretType.AdminCredentials, adminSecretName);
@@ -224,7 +238,32 @@ public class HttpClient {
       username = secretData.get(SecretHelper.ADMIN_SERVER_CREDENTIALS_USERNAME);
       password = secretData.get(SecretHelper.ADMIN_SERVER_CREDENTIALS_PASSWORD);
     }
-    return createAuthenticatedClient(username, password);
+    HttpClient client = createAuthenticatedClient(username, password);
+
+    clear(username);
+    clear(password);
+    return client;
+  }
+
+  // encodes the credentials from the cached buffers, which are borrowed rather than copied;
+  // returns null if the secret is not cached, or lacks the credentials
+  private static String encodeCachedCredentials(String namespace, String adminSecretName) {
+    AtomicReference<String> encodedCredentials = new AtomicReference<>();
+    SecretHelper.borrowCachedSecretData(
+        namespace,
+        adminSecretName,
+        secretData ->
+            encodedCredentials.set(
+                encodeCredentials(
+                    secretData.get(SecretHelper.ADMIN_SERVER_CREDENTIALS_USERNAME),
+                    secretData.get(SecretHelper.ADMIN_SERVER_CREDENTIALS_PASSWORD))));
+    return encodedCredentials.get();
+  }
+
+  private static void clear(byte[] credential) {
+    if (credential != null) {
+      Arrays.fill(credential, (byte) 0);
+    }
   }
 
   /**
@@ -237,15 +276,21 @@ public class HttpClient {
   public static HttpClient createAuthenticatedClient(final byte[] username, final byte[] password) {
     // build client with authentication information.
     Client client = ClientBuilder.newClient();
-    String encodedCredentials = null;
-    if (username != null && password != null) {
-      byte[] usernameAndPassword = new byte[username.length + password.length + 1];
-      System.arraycopy(username, 0, usernameAndPassword, 0, username.length);
-      usernameAndPassword[username.length] = (byte) ':';
-      System.arraycopy(password, 0, usernameAndPassword, username.length + 1, password.length);
-      encodedCredentials = java.util.Base64.getEncoder().encodeToString(usernameAndPassword);
+    return new HttpClient(client, encodeCredentials(username, password));
+  }
+
+  private static String encodeCredentials(byte[] username, byte[] password) {
+    if (username == null || password == null) {
+      return null;
     }
-    return new HttpClient(client, encodedCredentials);
+
+    byte[] usernameAndPassword = new byte[username.length + password.length + 1];
+    System.arraycopy(username, 0, usernameAndPassword, 0, username.length);
+    usernameAndPassword[username.length] = (byte) ':';
+    System.arraycopy(password, 0, usernameAndPassword, username.length + 1, password.length);
+    String encodedCredentials = java.util.Base64.getEncoder().encodeToString(usernameAndPassword);
+    clear(usernameAndPassword);
+    return encodedCredentials;
   }
 
   /**
@@ -146,4 +146,19 @@ public class MessageKeys {
   public static final String CANNOT_PARSE_INTROSPECTOR_FILE = "WLSKO-0143";
   public static final String CANNOT_START_DOMAIN_AFTER_MAX_RETRIES = "WLSKO-0144";
   public static final String CYCLING_POD = "WLSKO-0145";
+  public static final String HTTP_TRANSPORT_STATISTICS = "WLSKO-0146";
+  public static final String STARTUP_PHASE_COMPLETED = "WLSKO-0147";
+  public static final String NAMESPACE_STARTUP_COMPLETED = "WLSKO-0148";
+  public static final String STARTUP_COMPLETED = "WLSKO-0149";
+  public static final String CLUSTER_ROLLED = "WLSKO-0150";
+  public static final String INTROSPECTION_TIMING = "WLSKO-0151";
+  public static final String SHARD_MEMBERSHIP_CHANGED = "WLSKO-0152";
+  public static final String READY_WAIT_ENDED_BY_DELETION = "WLSKO-0153";
+  public static final String SHARD_LEASE_EXPIRED = "WLSKO-0154";
+  public static final String READY_WAIT_TIMED_OUT = "WLSKO-0155";
+  public static final String INTROSPECTOR_POD_CREATED = "WLSKO-0156";
+  public static final String INTROSPECTOR_POD_UNAVAILABLE = "WLSKO-0157";
+  public static final String INTROSPECTION_REQUEST_TIMING = "WLSKO-0158";
+  public static final String READY_WAIT_ENDED_BY_STOP = "WLSKO-0159";
+  public static final String SCALE_REQUEST_TIMED_OUT = "WLSKO-0160";
 }
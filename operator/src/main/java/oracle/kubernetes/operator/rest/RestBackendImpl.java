@@ -5,34 +5,53 @@
 package oracle.kubernetes.operator.rest;
 
 import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1ConfigMap;
+import io.kubernetes.client.models.V1ObjectMeta;
 import io.kubernetes.client.models.V1TokenReviewStatus;
 import io.kubernetes.client.models.V1UserInfo;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
+import oracle.kubernetes.operator.ShardMembership;
+import oracle.kubernetes.operator.TuningParameters;
+import oracle.kubernetes.operator.calls.CallResponse;
 import oracle.kubernetes.operator.helpers.AuthenticationProxy;
 import oracle.kubernetes.operator.helpers.AuthorizationProxy;
 import oracle.kubernetes.operator.helpers.AuthorizationProxy.Operation;
 import oracle.kubernetes.operator.helpers.AuthorizationProxy.Resource;
 import oracle.kubernetes.operator.helpers.AuthorizationProxy.Scope;
 import oracle.kubernetes.operator.helpers.CallBuilder;
+import oracle.kubernetes.operator.helpers.ConfigMapHelper;
+import oracle.kubernetes.operator.helpers.ConfigMapHelper.SitConfigMapContext;
+import oracle.kubernetes.operator.helpers.JsonPatch;
+import oracle.kubernetes.operator.helpers.ResponseStep;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
 import oracle.kubernetes.operator.rest.backend.RestBackend;
 import oracle.kubernetes.operator.wlsconfig.WlsClusterConfig;
 import oracle.kubernetes.operator.wlsconfig.WlsDomainConfig;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.weblogic.domain.v2.Cluster;
 import oracle.kubernetes.weblogic.domain.v2.Domain;
 import oracle.kubernetes.weblogic.domain.v2.DomainList;
 
@@ -49,9 +68,28 @@ public class RestBackendImpl implements RestBackend {
   private final AuthorizationProxy atz = new AuthorizationProxy();
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
+  private static final int HTTP_CONFLICT = 409;
+  private static final int HTTP_UNPROCESSABLE_ENTITY = 422;
+
+  // a scale request re-reads the domain if it was modified between the read and the update
+  private static final int MAX_SCALE_ATTEMPTS = 3;
+  // each attempt reads, then patches, the domain
+  private static final int CALLS_PER_SCALE_ATTEMPT = 2;
+  private static final int DEFAULT_CALL_TIMEOUT_SECONDS = 10;
+
   private final String principal;
   private final Collection<String> targetNamespaces;
 
+  // a REST request may check the same access, and look up the same domain, several times
+  private final Set<String> authorizations = new HashSet<>();
+  private final Map<String, String> namespaces = new HashMap<>();
+  private final Map<String, Optional<IntrospectedTopology>> topologies = new HashMap<>();
+
+  // the namespace in which each domain managed by another replica was last found
+  private static final Map<String, String> remoteNamespaces = new ConcurrentHashMap<>();
+  // the topologies read from other replicas' introspector config maps, by config map version
+  private static final Map<String, RemoteTopology> remoteTopologies = new ConcurrentHashMap<>();
+
   /**
    * Construct a RestBackendImpl that is used to handle one WebLogic operator REST request.
    *
@@ -77,8 +115,11 @@ public class RestBackendImpl implements RestBackend {
 
   private void authorize(String domainUID, Operation operation) {
     LOGGER.entering(domainUID, operation);
+    String authorization = domainUID + "/" + operation;
     boolean authorized;
-    if (domainUID == null) {
+    if (authorizations.contains(authorization)) {
+      authorized = true;
+    } else if (domainUID == null) {
       authorized =
           atz.check(
               userInfo.getUsername(),
@@ -100,6 +141,7 @@ public class RestBackendImpl implements RestBackend {
               getNamespace(domainUID));
     }
     if (authorized) {
+      authorizations.add(authorization);
       LOGGER.exiting();
       return;
     }
@@ -114,7 +156,53 @@ public class RestBackendImpl implements RestBackend {
       throw new AssertionError(formatMessage(MessageKeys.NULL_DOMAIN_UID));
     }
 
-    return getNamespace(domainUID, getDomainsList());
+    return namespaces.computeIfAbsent(domainUID, this::findNamespace);
+  }
+
+  // a domain which has been introspected can be located from its cached topology, without
+  // listing the domains in every target namespace
+  private String findNamespace(String domainUID) {
+    return getIntrospectedTopology(domainUID)
+        .map(IntrospectedTopology::getNamespace)
+        .orElseGet(() -> getNamespace(domainUID, getDomainsList()));
+  }
+
+  private Optional<IntrospectedTopology> getIntrospectedTopology(String domainUID) {
+    return topologies.computeIfAbsent(domainUID, this::findIntrospectedTopology);
+  }
+
+  // the namespaces managed by this replica are searched without calls to the API server, so
+  // only the introspector config map of a domain managed by another replica needs to be read
+  private Optional<IntrospectedTopology> findIntrospectedTopology(String domainUID) {
+    for (String ns : getSearchOrder(domainUID)) {
+      WlsDomainConfig config = INSTANCE.getWlsDomainConfig(ns, domainUID);
+      if (config != null) {
+        if (isManagedByAnotherReplica(ns)) {
+          remoteNamespaces.put(domainUID, ns);
+        }
+        return Optional.of(new IntrospectedTopology(ns, config));
+      }
+    }
+    remoteNamespaces.remove(domainUID);
+    return Optional.empty();
+  }
+
+  private List<String> getSearchOrder(String domainUID) {
+    List<String> order = new ArrayList<>();
+    Optional.ofNullable(remoteNamespaces.get(domainUID))
+        .filter(targetNamespaces::contains)
+        .ifPresent(order::add);
+    for (String ns : targetNamespaces) {
+      if (!isManagedByAnotherReplica(ns)) {
+        order.add(ns);
+      }
+    }
+    for (String ns : targetNamespaces) {
+      if (!order.contains(ns)) {
+        order.add(ns);
+      }
+    }
+    return order;
   }
 
   private String getNamespace(String domainUID, List<Domain> domains) {
@@ -186,7 +274,8 @@ public class RestBackendImpl implements RestBackend {
   public boolean isDomainUID(String domainUID) {
     LOGGER.entering(domainUID);
     authorize(null, Operation.list);
-    boolean result = getDomainUIDs().contains(domainUID);
+    boolean result =
+        getIntrospectedTopology(domainUID).isPresent() || getDomainUIDs().contains(domainUID);
     LOGGER.exiting(result);
     return result;
   }
@@ -220,7 +309,7 @@ public class RestBackendImpl implements RestBackend {
 
   /** {@inheritDoc} */
   @Override
-  public void scaleCluster(String domainUID, String cluster, int managedServerCount) {
+  public Step scaleCluster(String domainUID, String cluster, int managedServerCount) {
     LOGGER.entering(domainUID, cluster, managedServerCount);
 
     if (managedServerCount < 0) {
@@ -230,45 +319,165 @@ public class RestBackendImpl implements RestBackend {
 
     authorize(domainUID, cluster, Operation.update);
 
-    List<Domain> domains = getDomainsList();
-    Domain domain = findDomain(domainUID, domains);
+    verifyWLSConfiguredClusterCapacity(domainUID, cluster, managedServerCount);
 
-    String namespace = getNamespace(domainUID, domains);
+    Step result =
+        new ReplicaCountUpdate(getNamespace(domainUID), domainUID, cluster, managedServerCount)
+            .createReadDomainStep(1);
+    LOGGER.exiting(result);
+    return result;
+  }
 
-    verifyWLSConfiguredClusterCapacity(domain, cluster, managedServerCount);
+  /** {@inheritDoc} */
+  @Override
+  public long getScaleTimeoutSeconds() {
+    int callTimeoutSeconds =
+        Optional.ofNullable(TuningParameters.getInstance())
+            .map(TuningParameters::getCallBuilderTuning)
+            .map(t -> t.callTimeoutSeconds)
+            .orElse(DEFAULT_CALL_TIMEOUT_SECONDS);
+    return (long) callTimeoutSeconds * CALLS_PER_SCALE_ATTEMPT * MAX_SCALE_ATTEMPTS;
+  }
 
-    updateReplicasForDomain(namespace, domain, cluster, managedServerCount);
-    LOGGER.exiting();
+  // writes only the replica count, retrying if the domain is modified between read and update
+  private class ReplicaCountUpdate {
+    private final String namespace;
+    private final String domainUID;
+    private final String cluster;
+    private final int replicaCount;
+
+    ReplicaCountUpdate(String namespace, String domainUID, String cluster, int replicaCount) {
+      this.namespace = namespace;
+      this.domainUID = domainUID;
+      this.cluster = cluster;
+      this.replicaCount = replicaCount;
+    }
+
+    Step createReadDomainStep(int attempt) {
+      return new CallBuilder()
+          .readDomainAsync(domainUID, namespace, new ReadDomainResponseStep(attempt));
+    }
+
+    private class ReadDomainResponseStep extends ResponseStep<Domain> {
+      private final int attempt;
+
+      ReadDomainResponseStep(int attempt) {
+        this.attempt = attempt;
+      }
+
+      @Override
+      public NextAction onSuccess(Packet packet, CallResponse<Domain> callResponse) {
+        Domain domain = callResponse.getResult();
+        if (replicaCount == domain.getReplicaCount(cluster)) {
+          return doNext(packet);
+        }
+
+        return doNext(
+            new CallBuilder()
+                .patchDomainAsync(
+                    domainUID,
+                    namespace,
+                    createReplicaCountPatch(domain, cluster, replicaCount),
+                    new PatchDomainResponseStep(attempt)),
+            packet);
+      }
+
+      @Override
+      public NextAction onFailure(Packet packet, CallResponse<Domain> callResponse) {
+        if (callResponse.getStatusCode() == CallBuilder.NOT_FOUND) {
+          return doTerminate(
+              createWebApplicationException(
+                  Status.NOT_FOUND, MessageKeys.MATCHING_DOMAIN_NOT_FOUND, domainUID),
+              packet);
+        }
+        return doTerminate(createWebApplicationException(callResponse), packet);
+      }
+    }
+
+    private class PatchDomainResponseStep extends ResponseStep<Domain> {
+      private final int attempt;
+
+      PatchDomainResponseStep(int attempt) {
+        this.attempt = attempt;
+      }
+
+      @Override
+      public NextAction onSuccess(Packet packet, CallResponse<Domain> callResponse) {
+        return doNext(packet);
+      }
+
+      @Override
+      public NextAction onFailure(Packet packet, CallResponse<Domain> callResponse) {
+        if (isConcurrentModification(callResponse) && attempt < MAX_SCALE_ATTEMPTS) {
+          return doNext(createReadDomainStep(attempt + 1), packet);
+        }
+
+        LOGGER.finer(
+            String.format(
+                "Unexpected exception when updating Domain %s in namespace %s",
+                domainUID, namespace),
+            callResponse.getE());
+        return doTerminate(new WebApplicationException(getMessage(callResponse)), packet);
+      }
+
+      // a changed resource version is a conflict; a reordered cluster list fails the test op
+      private boolean isConcurrentModification(CallResponse<Domain> callResponse) {
+        return callResponse.getStatusCode() == HTTP_CONFLICT
+            || callResponse.getStatusCode() == HTTP_UNPROCESSABLE_ENTITY;
+      }
+    }
   }
 
-  private void updateReplicasForDomain(
-      String namespace, Domain domain, String cluster, int newReplicaCount) {
-    if (newReplicaCount != domain.getReplicaCount(cluster)) {
-      domain.setReplicaCount(cluster, newReplicaCount);
-      overwriteDomain(namespace, domain);
+  /**
+   * Creates a JSON patch which sets the replica count of a cluster in the specified domain. The
+   * patch fails with a conflict if the domain has been modified since it was read, and as
+   * unprocessable if the cluster is no longer at the index where it was read.
+   *
+   * @param domain the domain, as read
+   * @param cluster the name of the cluster
+   * @param replicaCount the new replica count
+   * @return a list of JSON patch operations
+   */
+  static List<Map<String, Object>> createReplicaCountPatch(
+      Domain domain, String cluster, int replicaCount) {
+    JsonPatch patch =
+        new JsonPatch()
+            .replace("/metadata/resourceVersion", domain.getMetadata().getResourceVersion());
+
+    List<Cluster> clusters = domain.getSpec().getClusters();
+    int index = indexOf(clusters, cluster);
+    if (index >= 0) {
+      String path = "/spec/clusters/" + index;
+      patch.test(path + "/clusterName", cluster);
+      // "add" replaces the member if it is already present
+      patch.add(path + "/replicas", replicaCount);
+    } else if (clusters.isEmpty()) {
+      patch.add("/spec/clusters", Collections.singletonList(newCluster(cluster, replicaCount)));
+    } else {
+      patch.add("/spec/clusters/-", newCluster(cluster, replicaCount));
     }
+    return patch.getOperations();
   }
 
-  private void overwriteDomain(String namespace, Domain domain) {
-    try {
-      // Write out the Domain with updated replica values
-      // TODO: Can we patch instead of replace?
-      new CallBuilder().replaceDomain(domain.getDomainUID(), namespace, domain);
-    } catch (ApiException e) {
-      LOGGER.finer(
-          String.format(
-              "Unexpected exception when updating Domain %s in namespace %s",
-              domain.getDomainUID(), namespace),
-          e);
-      throw new WebApplicationException(e.getMessage());
+  private static int indexOf(List<Cluster> clusters, String clusterName) {
+    for (int i = 0; i < clusters.size(); i++) {
+      if (clusterName.equals(clusters.get(i).getClusterName())) return i;
     }
+    return -1;
+  }
+
+  private static Map<String, Object> newCluster(String clusterName, int replicaCount) {
+    Map<String, Object> cluster = new LinkedHashMap<>();
+    cluster.put("clusterName", clusterName);
+    cluster.put("replicas", replicaCount);
+    return cluster;
   }
 
   private void verifyWLSConfiguredClusterCapacity(
-      Domain domain, String cluster, int requestedSize) {
+      String domainUID, String cluster, int requestedSize) {
     // Query WebLogic Admin Server for current configured WebLogic Cluster size
     // and verify we have enough configured managed servers to auto-scale
-    WlsClusterConfig wlsClusterConfig = getWlsClusterConfig(domain.getDomainUID(), cluster);
+    WlsClusterConfig wlsClusterConfig = getWlsClusterConfig(domainUID, cluster);
 
     // Verify the current configured cluster size
     int MaxClusterSize = wlsClusterConfig.getMaxClusterSize();
@@ -299,9 +508,88 @@ public class RestBackendImpl implements RestBackend {
       (String ns, String domainUID) -> {
         Scan s = ScanCache.INSTANCE.lookupScan(ns, domainUID);
         if (s != null) return s.getWlsDomainConfig();
+        if (isManagedByAnotherReplica(ns)) return readIntrospectedTopology(ns, domainUID);
         return null;
       };
 
+  private static boolean isManagedByAnotherReplica(String ns) {
+    ShardMembership membership = ShardMembership.getInstance();
+    return membership != null && !membership.isOwned(ns);
+  }
+
+  // The replica which manages the namespace records the topology of each domain it introspects
+  // in a config map, so that any replica may validate a request against it and update the domain.
+  // The topology is parsed again only when the version of that config map changes.
+  private static WlsDomainConfig readIntrospectedTopology(String ns, String domainUID) {
+    String key = ns + "/" + domainUID;
+    try {
+      V1ConfigMap configMap =
+          new CallBuilder().readConfigMap(SitConfigMapContext.getConfigMapName(domainUID), ns);
+      String resourceVersion =
+          Optional.ofNullable(configMap)
+              .map(V1ConfigMap::getMetadata)
+              .map(V1ObjectMeta::getResourceVersion)
+              .orElse(null);
+      RemoteTopology cached = remoteTopologies.get(key);
+      if (cached != null && cached.resourceVersion.equals(resourceVersion)) {
+        return cached.config;
+      }
+
+      WlsDomainConfig config = parseTopology(configMap);
+      if (config == null || resourceVersion == null) {
+        remoteTopologies.remove(key);
+      } else {
+        remoteTopologies.put(key, new RemoteTopology(resourceVersion, config));
+      }
+      return config;
+    } catch (ApiException e) {
+      if (e.getCode() != CallBuilder.NOT_FOUND) {
+        LOGGER.warning(MessageKeys.EXCEPTION, e);
+      }
+      remoteTopologies.remove(key);
+      return null;
+    }
+  }
+
+  private static WlsDomainConfig parseTopology(V1ConfigMap configMap) {
+    String topologyYaml =
+        Optional.ofNullable(configMap)
+            .map(V1ConfigMap::getData)
+            .map(data -> data.get("topology.yaml"))
+            .orElse(null);
+    return topologyYaml == null
+        ? null
+        : ConfigMapHelper.parseDomainTopologyYaml(topologyYaml).getDomain();
+  }
+
+  private static class RemoteTopology {
+    private final String resourceVersion;
+    private final WlsDomainConfig config;
+
+    RemoteTopology(String resourceVersion, WlsDomainConfig config) {
+      this.resourceVersion = resourceVersion;
+      this.config = config;
+    }
+  }
+
+  private static class IntrospectedTopology {
+    private final String namespace;
+    private final WlsDomainConfig config;
+
+    IntrospectedTopology(String namespace, WlsDomainConfig config) {
+      this.namespace = namespace;
+      this.config = config;
+    }
+
+    String getNamespace() {
+      return namespace;
+    }
+
+    WlsDomainConfig getConfig() {
+      return config;
+    }
+  }
+
   /**
    * Find the WlsDomainConfig corresponding to the given domain UID.
    *
@@ -310,11 +598,9 @@ public class RestBackendImpl implements RestBackend {
    *     domain UID. This method returns an empty configuration object if no configuration is found.
    */
   WlsDomainConfig getWlsDomainConfig(String domainUID) {
-    for (String ns : targetNamespaces) {
-      WlsDomainConfig config = INSTANCE.getWlsDomainConfig(ns, domainUID);
-      if (config != null) return config;
-    }
-    return new WlsDomainConfig(null);
+    return getIntrospectedTopology(domainUID)
+        .map(IntrospectedTopology::getConfig)
+        .orElseGet(() -> new WlsDomainConfig(null));
   }
 
   private Domain findDomain(String domainUID, List<Domain> domains) {
@@ -328,6 +614,20 @@ public class RestBackendImpl implements RestBackend {
         Status.NOT_FOUND, MessageKeys.MATCHING_DOMAIN_NOT_FOUND, domainUID);
   }
 
+  // the response of an asynchronous call which timed out has no status
+  private WebApplicationException createWebApplicationException(CallResponse<?> callResponse) {
+    if (callResponse.getStatusCode() == 0) {
+      return new WebApplicationException(getMessage(callResponse));
+    }
+    ApiException e = callResponse.getE();
+    return createWebApplicationException(
+        callResponse.getStatusCode(), e != null ? e.getResponseBody() : null);
+  }
+
+  private static String getMessage(CallResponse<?> callResponse) {
+    return callResponse.getE() != null ? callResponse.getE().getMessage() : null;
+  }
+
   private WebApplicationException handleApiException(ApiException e) {
     // TBD - what about e.getResponseHeaders?
     return createWebApplicationException(e.getCode(), e.getResponseBody());
@@ -7,16 +7,19 @@ package oracle.kubernetes.operator.rest;
 import io.kubernetes.client.util.SSLUtils;
 import java.io.File;
 import java.io.IOException;
-import java.net.URI;
 import java.nio.file.Files;
 import java.security.SecureRandom;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import oracle.kubernetes.operator.TuningParameters;
+import oracle.kubernetes.operator.TuningParameters.MainTuning;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.work.Container;
@@ -26,9 +29,12 @@ import org.glassfish.grizzly.http.server.HttpServer;
 import org.glassfish.grizzly.http.server.NetworkListener;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
 import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
+import org.glassfish.grizzly.threadpool.GrizzlyExecutorService;
 import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
-import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.grizzly.utils.Charsets;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpContainer;
 import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.server.ContainerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.filter.CsrfProtectionFilter;
 
@@ -44,10 +50,20 @@ import org.glassfish.jersey.server.filter.CsrfProtectionFilter;
  *   <li>internal https port - this port can only be used inside of a Kubernetes cluster since its
  *       SSL certificate contains the the in-cluster hostnames for contacting this port.
  * </ul>
+ *
+ * <p>The ports are listeners of a single server, and share its worker thread pool.
  */
 public class RestServer {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
-  private static final int CORE_POOL_SIZE = 3;
+  private static final int SELECTOR_RUNNERS = 1;
+  private static final int DEFAULT_WORKER_THREADS = 3;
+  private static final int DEFAULT_MAX_WORKER_THREADS = 16;
+  private static final int DEFAULT_KEEP_ALIVE_SECONDS = 60;
+  private static final int DEFAULT_TLS_SESSION_TIMEOUT_SECONDS = 3600;
+  private static final int TLS_SESSION_CACHE_SIZE = 1000;
+  private static final int UNLIMITED = -1;
+  private static final String EXTERNAL_LISTENER = "external";
+  private static final String INTERNAL_LISTENER = "internal";
 
   private RestConfig config;
 
@@ -55,8 +71,8 @@ public class RestServer {
   private String baseExternalHttpsUri;
   private String baseInternalHttpsUri;
 
-  HttpServer externalHttpsServer;
-  HttpServer internalHttpsServer;
+  HttpServer httpServer;
+  private ExecutorService workerPool;
 
   private static final String SSL_PROTOCOL = "TLSv1.2";
   private static final String[] SSL_PROTOCOLS = {
@@ -109,33 +125,31 @@ public class RestServer {
    */
   public void start(Container container) throws Exception {
     LOGGER.entering();
-    if (externalHttpsServer != null || internalHttpsServer != null) {
+    if (httpServer != null) {
       throw new AssertionError("Already started");
     }
     boolean fullyStarted = false;
     try {
+      workerPool = createWorkerPool(container);
+      HttpServer server = new HttpServer();
       if (isExternalSSLConfigured()) {
-        externalHttpsServer = createExternalHttpsServer(container);
-        LOGGER.info(
-            "Started the external ssl REST server on "
-                + getExternalHttpsUri()
-                + "/operator"); // TBD .fine ?
+        server.addListener(createExternalHttpsListener(container));
       } else {
         LOGGER.info(
             "Did not start the external ssl REST server because external ssl has not been configured.");
       }
 
       if (isInternalSSLConfigured()) {
-        internalHttpsServer = createInternalHttpsServer(container);
-        LOGGER.info(
-            "Started the internal ssl REST server on "
-                + getInternalHttpsUri()
-                + "/operator"); // TBD .fine ?
+        server.addListener(createInternalHttpsListener(container));
       } else {
         LOGGER.info(
             "Did not start the internal ssl REST server because internal ssl has not been configured.");
       }
 
+      if (!server.getListeners().isEmpty()) {
+        startServer(server);
+      }
+
       fullyStarted = true;
     } finally {
       if (!fullyStarted) {
@@ -147,6 +161,30 @@ public class RestServer {
     LOGGER.exiting();
   }
 
+  private void startServer(HttpServer server) throws IOException {
+    server.getServerConfiguration().setDefaultQueryEncoding(Charsets.UTF8_CHARSET);
+    server
+        .getServerConfiguration()
+        .addHttpHandler(
+            ContainerFactory.createContainer(GrizzlyHttpContainer.class, createResourceConfig()),
+            "/");
+    httpServer = server;
+    server.start();
+
+    if (server.getListener(EXTERNAL_LISTENER) != null) {
+      LOGGER.info(
+          "Started the external ssl REST server on "
+              + getExternalHttpsUri()
+              + "/operator"); // TBD .fine ?
+    }
+    if (server.getListener(INTERNAL_LISTENER) != null) {
+      LOGGER.info(
+          "Started the internal ssl REST server on "
+              + getInternalHttpsUri()
+              + "/operator"); // TBD .fine ?
+    }
+  }
+
   /**
    * Stops WebLogic operator's REST api.
    *
@@ -155,121 +193,135 @@ public class RestServer {
    */
   public void stop() {
     LOGGER.entering();
-    if (externalHttpsServer != null) {
-      externalHttpsServer.shutdownNow();
-      externalHttpsServer = null;
-      LOGGER.info("Stopped the external ssl REST server"); // TBD .fine ?
+    if (httpServer != null) {
+      boolean external = httpServer.getListener(EXTERNAL_LISTENER) != null;
+      boolean internal = httpServer.getListener(INTERNAL_LISTENER) != null;
+      httpServer.shutdownNow();
+      httpServer = null;
+      if (external) {
+        LOGGER.info("Stopped the external ssl REST server"); // TBD .fine ?
+      }
+      if (internal) {
+        LOGGER.info("Stopped the internal ssl REST server"); // TBD .fine ?
+      }
     }
-    if (internalHttpsServer != null) {
-      internalHttpsServer.shutdownNow();
-      internalHttpsServer = null;
-      LOGGER.info("Stopped the internal ssl REST server"); // TBD .fine ?
+    if (workerPool != null) {
+      // the listeners do not shut down a worker pool they were given
+      workerPool.shutdownNow();
+      workerPool = null;
     }
     LOGGER.exiting();
   }
 
-  private HttpServer createExternalHttpsServer(Container container) throws Exception {
+  private NetworkListener createExternalHttpsListener(Container container) throws Exception {
     LOGGER.entering();
-    HttpServer result =
-        createHttpsServer(
+    NetworkListener result =
+        createHttpsListener(
             container,
+            EXTERNAL_LISTENER,
+            config.getExternalHttpsPort(),
             createSSLContext(
                 createKeyManagers(
                     config.getOperatorExternalCertificateData(),
                     config.getOperatorExternalCertificateFile(),
                     config.getOperatorExternalKeyData(),
-                    config.getOperatorExternalKeyFile())),
-            getExternalHttpsUri());
+                    config.getOperatorExternalKeyFile())));
     LOGGER.exiting();
     return result;
   }
 
-  private HttpServer createInternalHttpsServer(Container container) throws Exception {
+  private NetworkListener createInternalHttpsListener(Container container) throws Exception {
     LOGGER.entering();
-    HttpServer result =
-        createHttpsServer(
+    NetworkListener result =
+        createHttpsListener(
             container,
+            INTERNAL_LISTENER,
+            config.getInternalHttpsPort(),
             createSSLContext(
                 createKeyManagers(
                     config.getOperatorInternalCertificateData(),
                     config.getOperatorInternalCertificateFile(),
                     config.getOperatorInternalKeyData(),
-                    config.getOperatorInternalKeyFile())),
-            getInternalHttpsUri());
+                    config.getOperatorInternalKeyFile())));
     LOGGER.exiting();
     return result;
   }
 
-  private HttpServer createHttpsServer(Container container, SSLContext ssl, String uri)
-      throws Exception {
-    HttpServer h =
-        GrizzlyHttpServerFactory.createHttpServer(
-            URI.create(uri),
-            createResourceConfig(),
-            true, // used for call
-            // org.glassfish.jersey.grizzly2.httpserver.NetworkListener#setSecure(boolean)}.
-            new SSLEngineConfigurator(ssl)
-                .setClientMode(false)
-                .setNeedClientAuth(false)
-                .setEnabledProtocols(SSL_PROTOCOLS),
-            false);
-
-    // We discovered the default thread pool configuration was generating hundreds of
-    // threads.  Tune it down to something more modest.  Note: these are core
-    // pool sizes, so they can still grow if there is sufficient load.
-    Collection<NetworkListener> nlc = h.getListeners();
-    if (nlc != null) {
-      for (NetworkListener nl : nlc) {
-        TCPNIOTransport transport = nl.getTransport();
-        ThreadPoolConfig t = transport.getWorkerThreadPoolConfig();
-        if (t == null) {
-          t = ThreadPoolConfig.defaultConfig();
-          transport.setWorkerThreadPoolConfig(t);
-        }
-        t.setCorePoolSize(CORE_POOL_SIZE);
-        ThreadFactory x = t.getThreadFactory();
-        ThreadFactory tf = x != null ? x : Executors.defaultThreadFactory();
-        t.setThreadFactory(
-            (r) -> {
-              Thread n =
-                  tf.newThread(
-                      () -> {
-                        ContainerResolver.getDefault().enterContainer(container);
-                        r.run();
-                      });
-              if (!n.isDaemon()) {
-                n.setDaemon(true);
-              }
-              return n;
-            });
-
-        t = transport.getKernelThreadPoolConfig();
-        if (t == null) {
-          t = ThreadPoolConfig.defaultConfig();
-          transport.setKernelThreadPoolConfig(t);
-        }
-        t.setCorePoolSize(CORE_POOL_SIZE);
-        x = t.getThreadFactory();
-        ThreadFactory tf2 = x != null ? x : Executors.defaultThreadFactory();
-        t.setThreadFactory(
-            (r) -> {
-              Thread n =
-                  tf2.newThread(
-                      () -> {
-                        ContainerResolver.getDefault().enterContainer(container);
-                        r.run();
-                      });
-              if (!n.isDaemon()) {
-                n.setDaemon(true);
-              }
-              return n;
-            });
-        transport.setSelectorRunnersCount(CORE_POOL_SIZE);
-      }
-    }
+  // Each listener binds its own port with its own certificate, but requests from both are
+  // processed by the shared worker pool, and each needs only a single selector thread.
+  private NetworkListener createHttpsListener(
+      Container container, String name, int port, SSLContext ssl) {
+    NetworkListener listener = new NetworkListener(name, config.getHost(), port);
+    listener.setSecure(true);
+    listener.setSSLEngineConfig(
+        new SSLEngineConfigurator(ssl)
+            .setClientMode(false)
+            .setNeedClientAuth(false)
+            .setEnabledProtocols(SSL_PROTOCOLS));
+
+    // scaling scripts send a single request per connection, while the operator's internal clients
+    // send a series of them; keep idle connections open long enough for the latter to reuse
+    listener.getKeepAlive().setIdleTimeoutInSeconds(getRestKeepAliveSeconds());
+    listener.getKeepAlive().setMaxRequestsCount(UNLIMITED);
 
-    h.start();
-    return h;
+    TCPNIOTransport transport = listener.getTransport();
+    transport.setWorkerThreadPool(workerPool);
+    transport.setSelectorRunnersCount(SELECTOR_RUNNERS);
+    transport.setKernelThreadPoolConfig(
+        ThreadPoolConfig.defaultConfig()
+            .setPoolName("weblogic-operator-rest-" + name + "-selector")
+            .setCorePoolSize(SELECTOR_RUNNERS)
+            .setMaxPoolSize(SELECTOR_RUNNERS)
+            .setThreadFactory(createThreadFactory(container)));
+    return listener;
+  }
+
+  private ExecutorService createWorkerPool(Container container) {
+    int corePoolSize = getRestWorkerThreads();
+    return GrizzlyExecutorService.createInstance(
+        ThreadPoolConfig.defaultConfig()
+            .setPoolName("weblogic-operator-rest")
+            .setCorePoolSize(corePoolSize)
+            .setMaxPoolSize(Math.max(corePoolSize, getRestMaxWorkerThreads()))
+            .setThreadFactory(createThreadFactory(container)));
+  }
+
+  // request handling threads run in the operator's container, so that resources may find its
+  // components
+  private static ThreadFactory createThreadFactory(Container container) {
+    ThreadFactory threadFactory = Executors.defaultThreadFactory();
+    return (r) -> {
+      Thread t =
+          threadFactory.newThread(
+              () -> {
+                ContainerResolver.getDefault().enterContainer(container);
+                r.run();
+              });
+      t.setDaemon(true);
+      return t;
+    };
+  }
+
+  private static Optional<MainTuning> getMainTuning() {
+    return Optional.ofNullable(TuningParameters.getInstance()).map(TuningParameters::getMainTuning);
+  }
+
+  private static int getRestWorkerThreads() {
+    return getMainTuning().map(t -> t.restWorkerThreads).orElse(DEFAULT_WORKER_THREADS);
+  }
+
+  private static int getRestMaxWorkerThreads() {
+    return getMainTuning().map(t -> t.restMaxWorkerThreads).orElse(DEFAULT_MAX_WORKER_THREADS);
+  }
+
+  private static int getRestKeepAliveSeconds() {
+    return getMainTuning().map(t -> t.restKeepAliveSeconds).orElse(DEFAULT_KEEP_ALIVE_SECONDS);
+  }
+
+  private static int getRestTlsSessionTimeoutSeconds() {
+    return getMainTuning()
+        .map(t -> t.restTlsSessionTimeoutSeconds)
+        .orElse(DEFAULT_TLS_SESSION_TIMEOUT_SECONDS);
   }
 
   private ResourceConfig createResourceConfig() {
@@ -300,6 +352,12 @@ public class RestServer {
   private SSLContext createSSLContext(KeyManager[] kms) throws Exception {
     SSLContext ssl = SSLContext.getInstance(SSL_PROTOCOL);
     ssl.init(kms, null, new SecureRandom());
+
+    // clients which reconnect, such as scaling scripts run repeatedly from the same server, may
+    // resume their sessions rather than perform a full handshake each time
+    SSLSessionContext sessions = ssl.getServerSessionContext();
+    sessions.setSessionCacheSize(TLS_SESSION_CACHE_SIZE);
+    sessions.setSessionTimeout(getRestTlsSessionTimeoutSeconds());
     return ssl;
   }
 
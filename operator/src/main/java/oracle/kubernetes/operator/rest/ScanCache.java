@@ -10,4 +10,6 @@ public interface ScanCache {
   public void registerScan(String ns, String domainUID, Scan domainScan);
 
   public Scan lookupScan(String ns, String domainUID);
+
+  public void removeNamespace(String ns);
 }
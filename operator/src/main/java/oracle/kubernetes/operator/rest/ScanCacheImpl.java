@@ -25,4 +25,9 @@ class ScanCacheImpl implements ScanCache {
     ConcurrentMap<String, Scan> m = map.get(ns);
     return m != null ? m.get(domainUID) : null;
   }
+
+  @Override
+  public void removeNamespace(String ns) {
+    map.remove(ns);
+  }
 }
@@ -5,6 +5,7 @@
 package oracle.kubernetes.operator.rest.backend;
 
 import java.util.Set;
+import oracle.kubernetes.operator.work.Step;
 
 /**
  * The RestBackend interface is to implement all of the WebLogic Operator REST resources that need
@@ -51,10 +52,10 @@ public interface RestBackend {
   public boolean isCluster(String domainUID, String cluster);
 
   /**
-   * Scales the number of managed servers in a WebLogic cluster. This method configures the desired
-   * number of managed servers, both at the Kubernetes and WebLogic cluster levels, then returns. It
-   * does not wait for the number of running managed servers to match the configured number of
-   * servers.
+   * Scales the number of managed servers in a WebLogic cluster. This method validates the request,
+   * then returns a step which configures the desired number of managed servers, both at the
+   * Kubernetes and WebLogic cluster levels. The step does not wait for the number of running
+   * managed servers to match the configured number of servers.
    *
    * @param domainUID - the unique identifier assigned to the Weblogic domain when it was registered
    *     with the WebLogic operator. The caller is responsible for calling isDomainUID first and not
@@ -62,6 +63,16 @@ public interface RestBackend {
    * @param cluster - the name of the cluster in the WebLogic domain. The caller is responsible for
    *     calling isCluster first and not calling this method if the cluster does not exist.
    * @param managedServerCount - the desired number of WebLogic managed servers.
+   * @return a step which updates the domain, to be run by a fiber of the operator's engine. It
+   *     fails with a WebApplicationException if the domain cannot be updated.
    */
-  public void scaleCluster(String domainUID, String cluster, int managedServerCount);
+  public Step scaleCluster(String domainUID, String cluster, int managedServerCount);
+
+  /**
+   * Returns the time allowed for the step returned by {@link #scaleCluster} to complete. A scale
+   * request which takes longer is answered as unavailable.
+   *
+   * @return a time in seconds
+   */
+  public long getScaleTimeoutSeconds();
 }
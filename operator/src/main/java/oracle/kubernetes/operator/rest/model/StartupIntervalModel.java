@@ -0,0 +1,98 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.rest.model;
+
+/**
+ * StartupIntervalModel describes how long a phase of operator startup, or the initialization of a
+ * target namespace, took.
+ */
+public class StartupIntervalModel extends BaseModel {
+
+  /** Construct an empty StartupIntervalModel. */
+  public StartupIntervalModel() {}
+
+  /**
+   * Construct a populated StartupIntervalModel.
+   *
+   * @param name - the name of the phase or namespace.
+   * @param startMillis - when the interval began, in milliseconds since the operator started.
+   * @param durationMillis - the length of the interval in milliseconds, or -1 if it has not ended.
+   */
+  public StartupIntervalModel(String name, long startMillis, long durationMillis) {
+    setName(name);
+    setStartMillis(startMillis);
+    setDurationMillis(durationMillis);
+  }
+
+  private String name;
+
+  /**
+   * Get the name of the phase or namespace.
+   *
+   * @return the name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Set the name of the phase or namespace.
+   *
+   * @param name - the name.
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  private long startMillis;
+
+  /**
+   * Get when the interval began.
+   *
+   * @return the time in milliseconds since the operator started.
+   */
+  public long getStartMillis() {
+    return startMillis;
+  }
+
+  /**
+   * Set when the interval began.
+   *
+   * @param startMillis - the time in milliseconds since the operator started.
+   */
+  public void setStartMillis(long startMillis) {
+    this.startMillis = startMillis;
+  }
+
+  private long durationMillis;
+
+  /**
+   * Get the length of the interval.
+   *
+   * @return the length in milliseconds, or -1 if the interval has not ended.
+   */
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  /**
+   * Set the length of the interval.
+   *
+   * @param durationMillis - the length in milliseconds, or -1 if the interval has not ended.
+   */
+  public void setDurationMillis(long durationMillis) {
+    this.durationMillis = durationMillis;
+  }
+
+  @Override
+  protected String propertiesToString() {
+    return "name="
+        + getName()
+        + ", startMillis="
+        + getStartMillis()
+        + ", durationMillis="
+        + getDurationMillis();
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.rest.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** StartupModel describes the timeline of the WebLogic operator's startup. */
+public class StartupModel extends ItemModel {
+
+  /** Construct an empty StartupModel. */
+  public StartupModel() {}
+
+  /**
+   * Construct a populated StartupModel.
+   *
+   * @param complete - whether startup is complete.
+   * @param elapsedMillis - the time startup took, or the time since it began if it is not complete.
+   */
+  public StartupModel(boolean complete, long elapsedMillis) {
+    setComplete(complete);
+    setElapsedMillis(elapsedMillis);
+  }
+
+  private boolean complete;
+
+  /**
+   * Get whether startup is complete.
+   *
+   * @return whether startup is complete.
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * Set whether startup is complete.
+   *
+   * @param complete - whether startup is complete.
+   */
+  public void setComplete(boolean complete) {
+    this.complete = complete;
+  }
+
+  private long elapsedMillis;
+
+  /**
+   * Get the time startup took, or the time since it began if it is not complete.
+   *
+   * @return the time in milliseconds.
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Set the time startup took, or the time since it began if it is not complete.
+   *
+   * @param elapsedMillis - the time in milliseconds.
+   */
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  private List<StartupIntervalModel> phases = new ArrayList<>();
+
+  /**
+   * Get the phases of startup, in the order in which they began.
+   *
+   * @return the phases.
+   */
+  public List<StartupIntervalModel> getPhases() {
+    return phases;
+  }
+
+  /**
+   * Set the phases of startup.
+   *
+   * @param phases - the phases.
+   */
+  public void setPhases(List<StartupIntervalModel> phases) {
+    this.phases = phases;
+  }
+
+  private List<StartupIntervalModel> namespaces = new ArrayList<>();
+
+  /**
+   * Get the initialization of each target namespace, in the order in which it began.
+   *
+   * @return the namespaces.
+   */
+  public List<StartupIntervalModel> getNamespaces() {
+    return namespaces;
+  }
+
+  /**
+   * Set the initialization of each target namespace.
+   *
+   * @param namespaces - the namespaces.
+   */
+  public void setNamespaces(List<StartupIntervalModel> namespaces) {
+    this.namespaces = namespaces;
+  }
+
+  @Override
+  protected String propertiesToString() {
+    return "complete="
+        + isComplete()
+        + ", elapsedMillis="
+        + getElapsedMillis()
+        + ", phases="
+        + getPhases()
+        + ", namespaces="
+        + getNamespaces()
+        + ", "
+        + super.propertiesToString();
+  }
+}
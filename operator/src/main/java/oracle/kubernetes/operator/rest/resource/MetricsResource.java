@@ -0,0 +1,44 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.rest.resource;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import oracle.kubernetes.operator.OperatorMetrics;
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+
+/**
+ * MetricsResource is a jaxrs resource that implements the /metrics path. It reports the operator's
+ * metrics in the Prometheus text exposition format.
+ */
+@Path("metrics")
+public class MetricsResource extends BaseResource {
+
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4";
+
+  /** Construct a MetricsResource. */
+  public MetricsResource() {
+    super(null, "metrics");
+  }
+
+  /**
+   * Get the current values of the operator's metrics.
+   *
+   * @return the metrics, in the Prometheus text format.
+   */
+  @GET
+  @Produces({PROMETHEUS_TEXT, MediaType.TEXT_PLAIN})
+  public String get() {
+    LOGGER.entering(href());
+    String result = OperatorMetrics.getInstance().toPrometheusText();
+    LOGGER.exiting();
+    return result;
+  }
+}
@@ -4,12 +4,25 @@
 
 package oracle.kubernetes.operator.rest.resource;
 
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.rest.backend.RestBackend;
 import oracle.kubernetes.operator.rest.model.ScaleClusterParamsModel;
+import oracle.kubernetes.operator.work.ContainerResolver;
+import oracle.kubernetes.operator.work.Engine;
+import oracle.kubernetes.operator.work.Fiber;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
 
 /**
  * ScaleResource is a jaxrs resource that implements the REST api for the
@@ -35,17 +48,41 @@ public class ScaleClusterResource extends BaseResource {
    * servers at both the Kubernetes and WebLogic levels, then returns. It does not wait for the new
    * managed servers to start or removed managed servers to stop.
    *
+   * <p>The request is validated by the thread handling it, then completed by a fiber of the
+   * operator's engine, which reads and patches the domain with asynchronous calls. Neither thread
+   * is held while the domain is updated. If the fiber does not complete within the backend's scale
+   * timeout, it is cancelled and the request is answered with a 503 (Service Unavailable) status.
+   *
    * @param params - a ScaleClusterParamsModel that specifies the desired number of managed servers
    *     in the cluster
+   * @param asyncResponse - the response, resumed once the cluster has been scaled
    */
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
-  public void post(final ScaleClusterParamsModel params) {
+  public void post(final ScaleClusterParamsModel params, @Suspended AsyncResponse asyncResponse) {
     LOGGER.entering(href(), params);
-    getBackend().scaleCluster(getDomainUid(), getCluster(), params.getManagedServerCount());
+    RestBackend backend = getBackend();
+    Step scale = backend.scaleCluster(getDomainUid(), getCluster(), params.getManagedServerCount());
+    long timeoutSeconds = backend.getScaleTimeoutSeconds();
+    Fiber fiber = getEngine().createFiber();
+    asyncResponse.setTimeoutHandler(response -> onTimeout(response, fiber, timeoutSeconds));
+    asyncResponse.setTimeout(timeoutSeconds, TimeUnit.SECONDS);
+    fiber.start(scale, new Packet(), new ScaleCompletionCallback(asyncResponse));
     LOGGER.exiting();
   }
 
+  // the fiber may be stalled waiting for a permit or a lost callback; give up on it
+  private void onTimeout(AsyncResponse asyncResponse, Fiber fiber, long timeoutSeconds) {
+    fiber.cancel(false);
+    LOGGER.warning(
+        MessageKeys.SCALE_REQUEST_TIMED_OUT, getCluster(), getDomainUid(), timeoutSeconds);
+    asyncResponse.resume(new ServiceUnavailableException());
+  }
+
+  private static Engine getEngine() {
+    return ContainerResolver.getInstance().getContainer().getSPI(Engine.class);
+  }
+
   private String getCluster() {
     return getParent().getPathSegment();
   }
@@ -53,4 +90,22 @@ public class ScaleClusterResource extends BaseResource {
   private String getDomainUid() {
     return getParent().getParent().getParent().getPathSegment();
   }
+
+  private static class ScaleCompletionCallback implements CompletionCallback {
+    private final AsyncResponse asyncResponse;
+
+    ScaleCompletionCallback(AsyncResponse asyncResponse) {
+      this.asyncResponse = asyncResponse;
+    }
+
+    @Override
+    public void onCompletion(Packet packet) {
+      asyncResponse.resume(Response.noContent().build());
+    }
+
+    @Override
+    public void onThrowable(Packet packet, Throwable throwable) {
+      asyncResponse.resume(throwable);
+    }
+  }
 }
@@ -0,0 +1,63 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.rest.resource;
+
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.GET;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import oracle.kubernetes.operator.StartupTimeline;
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.rest.model.StartupIntervalModel;
+import oracle.kubernetes.operator.rest.model.StartupModel;
+
+/**
+ * StartupResource is a jaxrs resource that implements the REST api for the
+ * /operator/{version}/startup path. It can be used to see how long each phase of the WebLogic
+ * operator's startup, and the initialization of each target namespace, took.
+ */
+public class StartupResource extends BaseResource {
+
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  /**
+   * Construct a StartupResource.
+   *
+   * @param parent - the jaxrs resource that parents this resource.
+   * @param pathSegment - the last path segment in the url to this resource.
+   */
+  public StartupResource(BaseResource parent, String pathSegment) {
+    super(parent, pathSegment);
+  }
+
+  /**
+   * Get the startup timeline of the WebLogic operator.
+   *
+   * @return a StartupModel describing the timeline.
+   */
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public StartupModel get() {
+    LOGGER.entering(href());
+    StartupTimeline timeline = StartupTimeline.getInstance();
+    StartupModel item = new StartupModel(timeline.isComplete(), timeline.getElapsedMillis());
+    addIntervals(item.getPhases(), timeline.getPhases());
+    addIntervals(item.getNamespaces(), timeline.getNamespaces());
+    addSelfAndParentLinks(item);
+    LOGGER.exiting(item);
+    return item;
+  }
+
+  private void addIntervals(
+      List<StartupIntervalModel> models, Map<String, StartupTimeline.Interval> intervals) {
+    intervals.forEach(
+        (name, interval) ->
+            models.add(
+                new StartupIntervalModel(
+                    name, interval.getStartMillis(), interval.getDurationMillis())));
+  }
+}
@@ -50,6 +50,7 @@ public class VersionResource extends BaseResource {
     addSelfAndParentLinks(item);
     addLink(item, "domains");
     addLink(item, "swagger");
+    addLink(item, "startup");
     LOGGER.exiting(item);
     return item;
   }
@@ -80,6 +81,19 @@ public class VersionResource extends BaseResource {
     return result;
   }
 
+  /**
+   * Construct and return the 'startup' jaxrs child resource.
+   *
+   * @return the startup sub resource.
+   */
+  @Path("startup")
+  public StartupResource getStartupResource() {
+    LOGGER.entering(href());
+    StartupResource result = new StartupResource(this, "startup");
+    LOGGER.exiting(result);
+    return result;
+  }
+
   private String getVersion() {
     return getPathSegment();
   }
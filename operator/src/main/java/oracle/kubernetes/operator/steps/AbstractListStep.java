@@ -4,32 +4,71 @@
 
 package oracle.kubernetes.operator.steps;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
 
 /**
- * A step which will delete each entry in the specified collection. It does so by chaining back to
- * itself in the response step, in order to process the next entry in the iterator.
+ * A step which will delete each entry in the specified collection. The entries are divided among a
+ * bounded number of parallel fibers, each of which deletes its share in turn by chaining back to
+ * itself in the response step.
  */
 public abstract class AbstractListStep<T> extends Step {
-  private final Iterator<T> it;
+  static final int MAX_PARALLEL_DELETES = 10;
+
+  private final Collection<T> c;
 
   AbstractListStep(Collection<T> c, Step next) {
     super(next);
-    this.it = c.iterator();
+    this.c = c;
   }
 
   @Override
   public NextAction apply(Packet packet) {
-    if (it.hasNext()) {
-      return doNext(createDeleteStep(it.next()), packet);
-    } else {
+    if (c.isEmpty()) {
       return doNext(packet);
     }
+
+    Collection<StepAndPacket> startDetails = new ArrayList<>();
+    for (List<T> share : divide()) {
+      startDetails.add(new StepAndPacket(new DeleteShareStep(share.iterator()), packet.clone()));
+    }
+    return doForkJoin(getNext(), packet, startDetails);
+  }
+
+  private List<List<T>> divide() {
+    List<List<T>> shares = new ArrayList<>();
+    int i = 0;
+    for (T item : c) {
+      if (shares.size() < MAX_PARALLEL_DELETES) {
+        shares.add(new ArrayList<>());
+      }
+      shares.get(i++ % MAX_PARALLEL_DELETES).add(item);
+    }
+    return shares;
   }
 
-  abstract Step createDeleteStep(T item);
+  abstract Step createDeleteStep(T item, Step next);
+
+  private class DeleteShareStep extends Step {
+    private final Iterator<T> it;
+
+    DeleteShareStep(Iterator<T> it) {
+      super(null);
+      this.it = it;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      if (it.hasNext()) {
+        return doNext(createDeleteStep(it.next(), this), packet);
+      } else {
+        return doNext(packet);
+      }
+    }
+  }
 }
@@ -7,12 +7,9 @@ package oracle.kubernetes.operator.steps;
 import static oracle.kubernetes.operator.LabelConstants.CREATEDBYOPERATOR_LABEL;
 import static oracle.kubernetes.operator.LabelConstants.forDomainUid;
 
-import io.kubernetes.client.models.V1PersistentVolumeClaimList;
-import io.kubernetes.client.models.V1PersistentVolumeList;
 import io.kubernetes.client.models.V1ServiceList;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Map;
 import oracle.kubernetes.operator.calls.CallResponse;
 import oracle.kubernetes.operator.helpers.CallBuilder;
 import oracle.kubernetes.operator.helpers.ConfigMapHelper;
@@ -22,6 +19,12 @@ import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
 
+/**
+ * Deletes the Kubernetes resources of a domain. Pods, persistent volumes and persistent volume
+ * claims are each deleted with a single delete-collection call selecting the domain's labels.
+ * Services, which cannot be deleted as a collection, are listed and deleted by a bounded number of
+ * parallel fibers. The introspector config map is deleted once all of these have completed.
+ */
 public class DeleteDomainStep extends Step {
   private final DomainPresenceInfo info;
   private final String namespace;
@@ -36,20 +39,30 @@ public class DeleteDomainStep extends Step {
 
   @Override
   public NextAction apply(Packet packet) {
-    Step serverDownStep =
-        Step.chain(
-            deletePods(),
-            deleteServices(),
-            deletePersistentVolumes(),
-            deletePersistentVolumeClaims(),
-            ConfigMapHelper.deleteDomainIntrospectorConfigMapStep(domainUID, namespace, getNext()));
     if (info != null) {
-      Collection<Map.Entry<String, ServerKubernetesObjects>> serversToStop = new ArrayList<>();
-      serversToStop.addAll(info.getServers().entrySet());
-      serverDownStep = new ServerDownIteratorStep(serversToStop, serverDownStep);
+      forgetServers();
     }
 
-    return doNext(serverDownStep, packet);
+    Collection<StepAndPacket> deletes = new ArrayList<>();
+    deletes.add(new StepAndPacket(deletePods(), packet.clone()));
+    deletes.add(new StepAndPacket(deleteServices(), packet.clone()));
+    deletes.add(new StepAndPacket(deletePersistentVolumes(), packet.clone()));
+    deletes.add(new StepAndPacket(deletePersistentVolumeClaims(), packet.clone()));
+    return doForkJoin(
+        ConfigMapHelper.deleteDomainIntrospectorConfigMapStep(domainUID, namespace, getNext()),
+        packet,
+        deletes);
+  }
+
+  // Clear the recorded pods and services so that the watchers do not try to recreate them as the
+  // collections are deleted.
+  private void forgetServers() {
+    for (ServerKubernetesObjects sko : info.getServers().values()) {
+      sko.getPod().set(null);
+      sko.getService().set(null);
+      sko.getChannels().clear();
+    }
+    info.getServers().clear();
   }
 
   private Step deleteServices() {
@@ -73,26 +86,13 @@ public class DeleteDomainStep extends Step {
   private Step deletePersistentVolumes() {
     return new CallBuilder()
         .withLabelSelectors(forDomainUid(domainUID), CREATEDBYOPERATOR_LABEL)
-        .listPersistentVolumeAsync(
-            new ActionResponseStep<V1PersistentVolumeList>() {
-              @Override
-              Step createSuccessStep(V1PersistentVolumeList result, Step next) {
-                return new DeletePersistentVolumeListStep(result.getItems(), next);
-              }
-            });
+        .deleteCollectionPersistentVolumeAsync(new DefaultResponseStep<>(null));
   }
 
   private Step deletePersistentVolumeClaims() {
     return new CallBuilder()
         .withLabelSelectors(forDomainUid(domainUID), CREATEDBYOPERATOR_LABEL)
-        .listPersistentVolumeClaimAsync(
-            namespace,
-            new ActionResponseStep<V1PersistentVolumeClaimList>() {
-              @Override
-              Step createSuccessStep(V1PersistentVolumeClaimList result, Step next) {
-                return new DeletePersistentVolumeClaimListStep(result.getItems(), next);
-              }
-            });
+        .deleteCollectionPersistentVolumeClaimAsync(namespace, new DefaultResponseStep<>(null));
   }
 
   /**
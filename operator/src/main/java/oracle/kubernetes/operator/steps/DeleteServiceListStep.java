@@ -11,21 +11,19 @@ import java.util.Collection;
 import oracle.kubernetes.operator.helpers.CallBuilder;
 import oracle.kubernetes.operator.work.Step;
 
-/**
- * A step which will delete each entry in the specified collection. It does so by chaining back to
- * itself in the response step, in order to process the next entry in the iterator.
- */
+/** A step which will delete each service in the specified collection. */
 public class DeleteServiceListStep extends AbstractListStep<V1Service> {
 
   DeleteServiceListStep(Collection<V1Service> c, Step next) {
     super(c, next);
   }
 
-  Step createDeleteStep(V1Service service) {
+  @Override
+  Step createDeleteStep(V1Service service, Step next) {
     V1ObjectMeta meta = service.getMetadata();
     V1DeleteOptions deleteOptions = new V1DeleteOptions();
     return new CallBuilder()
         .deleteServiceAsync(
-            meta.getName(), meta.getNamespace(), deleteOptions, new DefaultResponseStep<>(this));
+            meta.getName(), meta.getNamespace(), deleteOptions, new DefaultResponseStep<>(next));
   }
 }
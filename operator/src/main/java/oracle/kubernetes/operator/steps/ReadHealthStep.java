@@ -71,6 +71,61 @@ public class ReadHealthStep extends Step {
     return doNext(getClient, packet);
   }
 
+  /**
+   * Creates asynchronous {@link Step} to read the health of all running servers in one call, from
+   * the domain runtime of the admin server. Servers not reported by the admin server are not added
+   * to the server health map.
+   *
+   * @param adminServerName Name of the admin server
+   * @param next Next processing step
+   * @return asynchronous step
+   */
+  public static Step createReadAggregatedHealthStep(String adminServerName, Step next) {
+    return new ReadAggregatedHealthStep(adminServerName, next);
+  }
+
+  private static class ReadAggregatedHealthStep extends Step {
+    private final String adminServerName;
+
+    ReadAggregatedHealthStep(String adminServerName, Step next) {
+      super(next);
+      this.adminServerName = adminServerName;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
+
+      ServerKubernetesObjects sko = info.getServers().get(adminServerName);
+      V1Service service = sko == null ? null : sko.getService().get();
+      if (service == null) {
+        return doNext(packet);
+      }
+
+      DomainSpec spec = info.getDomain().getSpec();
+      String secretName =
+          spec.getWebLogicCredentialsSecret() == null
+              ? null
+              : spec.getWebLogicCredentialsSecret().getName();
+
+      Step getClient =
+          HttpClient.createAuthenticatedClientForServer(
+              info.getNamespace(),
+              secretName,
+              new ReadAggregatedHealthWithHttpClientStep(adminServerName, service, getNext()));
+      return doNext(getClient, packet);
+    }
+  }
+
+  public static String getRetrieveAggregatedHealthSearchUrl() {
+    return "/management/weblogic/latest/domainRuntime/search";
+  }
+
+  public static String getRetrieveAggregatedHealthSearchPayload() {
+    return "{ fields: [], links: [], children: { serverRuntimes: { "
+        + "fields: [ 'name', 'overallHealthState', 'activationTime' ], links: [] } } }";
+  }
+
   public static String getRetrieveHealthSearchUrl() {
     return "/management/weblogic/latest/serverRuntime/search";
   }
@@ -81,6 +136,96 @@ public class ReadHealthStep extends Step {
     return "{ fields: [ 'overallHealthState', 'activationTime' ], links: [] }";
   }
 
+  /**
+   * Converts the health reported by a server runtime to the domain status model.
+   *
+   * @param root the server runtime, with its overall health state and activation time
+   * @return the server health
+   */
+  static ServerHealth parseServerHealth(JsonNode root) {
+    JsonNode state = null;
+    JsonNode subsystemName = null;
+    JsonNode symptoms = null;
+    JsonNode overallHealthState = root.path("overallHealthState");
+    if (overallHealthState != null) {
+      state = overallHealthState.path("state");
+      subsystemName = overallHealthState.path("subsystemName");
+      symptoms = overallHealthState.path("symptoms");
+    }
+    JsonNode activationTime = root.path("activationTime");
+
+    List<String> sym = new ArrayList<>();
+    if (symptoms != null) {
+      Iterator<JsonNode> it = symptoms.elements();
+      while (it.hasNext()) {
+        sym.add(it.next().asText());
+      }
+    }
+
+    String subName = null;
+    if (subsystemName != null) {
+      String s = subsystemName.asText();
+      if (s != null && !"null".equals(s)) {
+        subName = s;
+      }
+    }
+
+    ServerHealth health =
+        new ServerHealth()
+            .withOverallHealth(state != null ? state.asText() : null)
+            .withActivationTime(
+                activationTime != null ? new DateTime(activationTime.asLong()) : null);
+    if (subName != null) {
+      health
+          .getSubsystems()
+          .add(new SubsystemHealth().withSubsystemName(subName).withSymptoms(sym));
+    }
+    return health;
+  }
+
+  static final class ReadAggregatedHealthWithHttpClientStep extends Step {
+    private final String adminServerName;
+    private final V1Service service;
+
+    ReadAggregatedHealthWithHttpClientStep(String adminServerName, V1Service service, Step next) {
+      super(next);
+      this.adminServerName = adminServerName;
+      this.service = service;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      try {
+        HttpClient httpClient = (HttpClient) packet.get(HttpClient.KEY);
+
+        String jsonResult =
+            httpClient
+                .executePostUrlOnServiceClusterIP(
+                    getRetrieveAggregatedHealthSearchUrl(),
+                    HttpClient.getServiceURL(service),
+                    getRetrieveAggregatedHealthSearchPayload(),
+                    true)
+                .getResponse();
+
+        @SuppressWarnings("unchecked")
+        ConcurrentMap<String, ServerHealth> serverHealthMap =
+            (ConcurrentMap<String, ServerHealth>) packet.get(ProcessingConstants.SERVER_HEALTH_MAP);
+
+        JsonNode root = new ObjectMapper().readTree(jsonResult);
+        for (JsonNode item : root.path("serverRuntimes").path("items")) {
+          String serverName = item.path("name").asText(null);
+          if (serverName != null) {
+            serverHealthMap.put(serverName, parseServerHealth(item));
+          }
+        }
+      } catch (Throwable t) {
+        // servers without health will be read individually
+        LOGGER.fine(MessageKeys.WLS_HEALTH_READ_FAILED, adminServerName, t);
+      }
+      return doNext(packet);
+    }
+  }
+
   static final class ReadHealthWithHttpClientStep extends Step {
     private final V1Service service;
 
@@ -111,46 +256,7 @@ public class ReadHealthStep extends Step {
                     true)
                 .getResponse();
 
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(jsonResult);
-
-        JsonNode state = null;
-        JsonNode subsystemName = null;
-        JsonNode symptoms = null;
-        JsonNode overallHealthState = root.path("overallHealthState");
-        if (overallHealthState != null) {
-          state = overallHealthState.path("state");
-          subsystemName = overallHealthState.path("subsystemName");
-          symptoms = overallHealthState.path("symptoms");
-        }
-        JsonNode activationTime = root.path("activationTime");
-
-        List<String> sym = new ArrayList<>();
-        if (symptoms != null) {
-          Iterator<JsonNode> it = symptoms.elements();
-          while (it.hasNext()) {
-            sym.add(it.next().asText());
-          }
-        }
-
-        String subName = null;
-        if (subsystemName != null) {
-          String s = subsystemName.asText();
-          if (s != null && !"null".equals(s)) {
-            subName = s;
-          }
-        }
-
-        ServerHealth health =
-            new ServerHealth()
-                .withOverallHealth(state != null ? state.asText() : null)
-                .withActivationTime(
-                    activationTime != null ? new DateTime(activationTime.asLong()) : null);
-        if (subName != null) {
-          health
-              .getSubsystems()
-              .add(new SubsystemHealth().withSubsystemName(subName).withSymptoms(sym));
-        }
+        ServerHealth health = parseServerHealth(new ObjectMapper().readTree(jsonResult));
 
         @SuppressWarnings("unchecked")
         ConcurrentMap<String, ServerHealth> serverHealthMap =
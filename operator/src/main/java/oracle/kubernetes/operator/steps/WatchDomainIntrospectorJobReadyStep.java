@@ -5,7 +5,6 @@
 package oracle.kubernetes.operator.steps;
 
 import io.kubernetes.client.models.V1Job;
-import java.util.concurrent.atomic.AtomicBoolean;
 import oracle.kubernetes.operator.JobWatcher;
 import oracle.kubernetes.operator.ProcessingConstants;
 import oracle.kubernetes.operator.TuningParameters.WatchTuning;
@@ -13,7 +12,6 @@ import oracle.kubernetes.operator.helpers.DomainPresenceInfo;
 import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
-import oracle.kubernetes.operator.work.ThreadFactorySingleton;
 
 public class WatchDomainIntrospectorJobReadyStep extends Step {
   private final WatchTuning tuning;
@@ -26,20 +24,12 @@ public class WatchDomainIntrospectorJobReadyStep extends Step {
   @Override
   public NextAction apply(Packet packet) {
     DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
-    String namespace = info.getNamespace();
-    String initialResourceVersion = info.getDomain().getMetadata().getResourceVersion();
 
     V1Job domainIntrospectorJob = (V1Job) packet.get(ProcessingConstants.DOMAIN_INTROSPECTOR_JOB);
 
     // No need to spawn a watcher if the job is already complete
     if (domainIntrospectorJob != null && !JobWatcher.isComplete(domainIntrospectorJob)) {
-      JobWatcher jw =
-          JobWatcher.create(
-              ThreadFactorySingleton.getInstance(),
-              namespace,
-              initialResourceVersion,
-              tuning,
-              new AtomicBoolean(false));
+      JobWatcher jw = JobWatcher.getOrCreateFor(info.getDomain(), tuning);
 
       return doNext(jw.waitForReady(domainIntrospectorJob, getNext()), packet);
     }
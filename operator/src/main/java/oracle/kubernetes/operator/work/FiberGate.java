@@ -8,6 +8,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import oracle.kubernetes.operator.ProcessingConstants;
 import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
 import oracle.kubernetes.operator.work.Fiber.ExitCallback;
@@ -21,6 +22,11 @@ import oracle.kubernetes.operator.work.Fiber.ExitCallback;
 public class FiberGate {
   private final Engine engine;
   private final ConcurrentMap<String, Fiber> gateMap = new ConcurrentHashMap<String, Fiber>();
+  private final LongAdder startedCount = new LongAdder();
+  private final LongAdder replacedCount = new LongAdder();
+  private final LongAdder rejectedCount = new LongAdder();
+  private final LongAdder retryCount = new LongAdder();
+  private final LongAdder waitCount = new LongAdder();
 
   private final Fiber PLACEHOLDER;
 
@@ -77,23 +83,17 @@ public class FiberGate {
    * @param callback Completion callback
    * @return started Fiber, or null, if no Fiber started
    */
-  public synchronized Fiber startFiberIfLastFiberMatches(
+  public Fiber startFiberIfLastFiberMatches(
       String key, Fiber old, Step strategy, Packet packet, CompletionCallback callback) {
     Fiber f = engine.createFiber();
-    WaitForOldFiberStep wfofs;
-    if (old != null) {
-      if (old == PLACEHOLDER) {
-        if (gateMap.putIfAbsent(key, f) != null) {
-          return null;
-        }
-      } else if (!gateMap.replace(key, old, f)) {
-        return null;
-      }
-    } else {
-      old = gateMap.put(key, f);
-    }
-    wfofs = new WaitForOldFiberStep(old, strategy);
+    WaitForOldFiberStep wfofs = new WaitForOldFiberStep(strategy);
     f.getComponents().put(ProcessingConstants.FIBER_COMPONENT_NAME, Component.createFor(wfofs));
+    if (!publish(key, old, f, wfofs)) {
+      rejectedCount.increment();
+      return null;
+    }
+
+    startedCount.increment();
     f.start(
         wfofs,
         packet,
@@ -113,16 +113,105 @@ public class FiberGate {
     return f;
   }
 
-  private static class WaitForOldFiberStep extends Step {
-    private final AtomicReference<Fiber> old;
+  // Installs the new fiber as the current one for the key, if the expectation about the last fiber
+  // is met. The step that waits for the previous fiber is told which fiber that is before the new
+  // fiber becomes visible to other callers, so that a later fiber which cancels this one can always
+  // hand off to it. Only the entry for the key is contended; no lock is held.
+  private boolean publish(String key, Fiber expected, Fiber f, WaitForOldFiberStep wfofs) {
+    if (expected == PLACEHOLDER) {
+      wfofs.setOld(null);
+      return gateMap.putIfAbsent(key, f) == null;
+    } else if (expected != null) {
+      wfofs.setOld(expected);
+      if (!gateMap.replace(key, expected, f)) {
+        return false;
+      }
+      replacedCount.increment();
+      return true;
+    }
+
+    while (true) {
+      Fiber current = gateMap.get(key);
+      wfofs.setOld(current);
+      if (current == null) {
+        if (gateMap.putIfAbsent(key, f) == null) {
+          return true;
+        }
+      } else if (gateMap.replace(key, current, f)) {
+        replacedCount.increment();
+        return true;
+      }
+      retryCount.increment();
+    }
+  }
+
+  /** Cancels the fibers started by this gate which are still running. */
+  public void cancelAll() {
+    for (Fiber f : gateMap.values()) {
+      f.cancel(true);
+    }
+  }
+
+  /**
+   * Returns the number of fibers started by this gate.
+   *
+   * @return a count of fibers
+   */
+  public long getStartedCount() {
+    return startedCount.sum();
+  }
+
+  /**
+   * Returns the number of fibers started by this gate which replaced a fiber with the same key.
+   *
+   * @return a count of fibers
+   */
+  public long getReplacedCount() {
+    return replacedCount.sum();
+  }
+
+  /**
+   * Returns the number of requests to start a fiber which were declined because the last fiber for
+   * the key was not the expected one.
+   *
+   * @return a count of requests
+   */
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  /**
+   * Returns the number of times a request to start a fiber had to be retried because another
+   * request for the same key was made at the same time. This is a measure of contention.
+   *
+   * @return a count of retries
+   */
+  public long getRetryCount() {
+    return retryCount.sum();
+  }
+
+  /**
+   * Returns the number of fibers which had to wait for a cancelled fiber with the same key to exit.
+   *
+   * @return a count of fibers
+   */
+  public long getWaitCount() {
+    return waitCount.sum();
+  }
+
+  private class WaitForOldFiberStep extends Step {
+    private final AtomicReference<Fiber> old = new AtomicReference<>();
     private final AtomicReference<WaitForOldFiberStep> current;
 
-    public WaitForOldFiberStep(Fiber old, Step next) {
+    WaitForOldFiberStep(Step next) {
       super(next);
-      this.old = new AtomicReference<>(old);
       current = new AtomicReference<>(this);
     }
 
+    void setOld(Fiber old) {
+      this.old.set(old);
+    }
+
     @Override
     public NextAction apply(Packet packet) {
       WaitForOldFiberStep c = current.get();
@@ -131,6 +220,7 @@ public class FiberGate {
         return doNext(packet);
       }
 
+      waitCount.increment();
       return doSuspend(
           this,
           (fiber) -> {
@@ -44,8 +44,14 @@
 #     LOG_HOME           - path to override WebLogic server log locations
 #     CREDENTIALS_SECRET_NAME  - name of secret containing credentials
 #
+#   The following optional env vars, which run this code as a request server
+#   in the long-lived introspector pod of a domain:
+#     INTROSPECTOR_SERVER        - 'true' to introspect on request instead of once
+#     INTROSPECTOR_IDLE_SECONDS  - exit after this many seconds without a request (default 600)
+#     INTROSPECTOR_SERVER_DIR    - directory for requests and results (default /tmp/introspector-server)
+#
 # ---------------------------------
-# Outputs (files copied to stdout):
+# Outputs (files copied to stdout, or to the result of each request):
 # ---------------------------------
 #
 #   topology.yaml                  -- Domain configuration summary for operator (server names, etc).
@@ -85,6 +91,7 @@ import distutils.dir_util
 import os
 import shutil
 import re
+import time
 from datetime import datetime
 
 # Include this script's current directory in the import path (so we can import traceUtils, etc.)
@@ -179,9 +186,9 @@ class OfflineWlstEnv(object):
   def addGeneratedFile(self, filePath):
     self.generatedFiles.append(filePath)
 
-  def printGeneratedFiles(self):
+  def printGeneratedFiles(self, out=None):
     for filePath in self.generatedFiles:
-      self.printFile(filePath)
+      self.printFile(filePath, out)
 
   def encrypt(self, cleartext):
     return encrypt(cleartext, self.getDomainHome())
@@ -198,13 +205,15 @@ class OfflineWlstEnv(object):
     file.close()
     return contents
 
-  def printFile(self, path):
+  def printFile(self, path, out=None):
     trace("Printing file " + path)
-    print 
-    print ">>> ",path
-    print self.readFile(path)
-    print ">>> EOF"
-    print
+    if out == None:
+      out = sys.stdout
+    print >>out
+    print >>out, ">>> ",path
+    print >>out, self.readFile(path)
+    print >>out, ">>> EOF"
+    print >>out
 
   def getEnv(self, name):
     val = os.getenv(name)
@@ -1125,19 +1134,73 @@ class DomainIntrospector(SecretManager):
     tg.generate()
 
 
-def main(env):
+# Introspects the domain once, and prints the generated files to 'out' (stdout if None).
+# Returns the exit code of the introspection.
+
+def introspect(env, out=None):
   try:
     env.open()
     try:
       DomainIntrospector(env).introspect()
-      env.printGeneratedFiles()
+      env.printGeneratedFiles(out)
       trace("Domain introspection complete.")
     finally:
       env.close()
-    exit(exitcode=0)
+    return 0
   except:
     trace("Domain introspection unexpectedly failed:")
     traceback.print_exc()
-    exit(exitcode=1)
+    return 1
+
+
+# Introspects the domain on request, for as long as requests keep arriving, so that the
+# node manager and this WLST session are started once for many introspections.
+# Requests are exchanged through files in INTROSPECTOR_SERVER_DIR, see introspectRequest.sh.
+# Returns once no request has arrived for INTROSPECTOR_IDLE_SECONDS.
+
+def serve(env):
+  serverDir   = env.getEnvOrDef('INTROSPECTOR_SERVER_DIR', '/tmp/introspector-server')
+  idleSeconds = int(env.getEnvOrDef('INTROSPECTOR_IDLE_SECONDS', '600'))
+  requestFile = serverDir + '/request'
+  readyFile   = serverDir + '/ready'
+
+  distutils.dir_util.mkpath(serverDir)
+  open(readyFile, 'w').close()
+  trace("Waiting for introspection requests in " + serverDir)
+
+  try:
+    lastRequest = time.time()
+    while time.time() - lastRequest < idleSeconds:
+      if not os.path.exists(requestFile):
+        time.sleep(0.2)
+        continue
+
+      requestId = env.readFile(requestFile).strip()
+      os.unlink(requestFile)
+      trace("Introspecting the domain for request " + requestId)
+
+      out = open(serverDir + '/result-' + requestId, 'w')
+      try:
+        status = introspect(env, out)
+      finally:
+        out.close()
+
+      statusFile = serverDir + '/status-' + requestId
+      statusOut = open(statusFile + '.tmp', 'w')
+      statusOut.write(str(status))
+      statusOut.close()
+      os.rename(statusFile + '.tmp', statusFile)
+      lastRequest = time.time()
+  finally:
+    os.unlink(readyFile)
+
+  trace("No introspection request for " + str(idleSeconds) + " seconds, exiting.")
+  return 0
+
+
+def main(env):
+  if env.getEnvOrDef('INTROSPECTOR_SERVER', 'false') == 'true':
+    exit(exitcode=serve(env))
+  exit(exitcode=introspect(env))
 
 main(OfflineWlstEnv())
@@ -14,11 +14,19 @@
 # It works as part of the following flow:
 #
 #   (1) When an operator discovers a new domain, it launches this script via an
-#       introspector k8s job.
+#       introspector k8s job, if the domain's introspector pod (see 3) cannot be used.
 #   (2) This script then:
 #       (2A) Configures and starts a NM via startNodeManager.sh (in NODEMGR_HOME)
 #       (2B) Calls introspectDomain.py, which depends on the NM
 #       (2C) Exits 0 on success, non-zero otherwise.
+#   (3) Or, when INTROSPECTOR_SERVER is 'true', as in the long-lived introspector
+#       pod that the operator keeps for a domain, this script:
+#       (3A) Configures and starts a NM via startNodeManager.sh (in NODEMGR_HOME)
+#       (3B) Calls introspectDomain.py, which waits for requests from the operator,
+#            introspects the domain for each, and exits after INTROSPECTOR_IDLE_SECONDS
+#            without a request.
+#   (4) The operator sends each request by running introspectRequest.sh in the pod,
+#       which returns the output of the introspection.
 #   (5) Operator parses the output of introspectDomain.py into files and:
 #       (5A) Uses one to get the domain's name, cluster name, ports, etc.
 #       (5B) Deploys a config map for the domain containing the files.
@@ -82,7 +90,11 @@ ${SCRIPTPATH}/startNodeManager.sh || exit 1
 
 # run instrospector wlst script
 
-trace "Running introspector WLST script ${SCRIPTPATH}/introspectDomain.py"
+if [ "${INTROSPECTOR_SERVER}" = "true" ]; then
+  trace "Running introspector WLST script ${SCRIPTPATH}/introspectDomain.py as a request server"
+else
+  trace "Running introspector WLST script ${SCRIPTPATH}/introspectDomain.py"
+fi
 
 ${SCRIPTPATH}/wlst.sh ${SCRIPTPATH}/introspectDomain.py || exit 1
 
@@ -0,0 +1,83 @@
+#!/bin/bash
+# Copyright 2018, Oracle Corporation and/or its affiliates. All rights reserved.
+# Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+#
+# This script sends an introspection request to the introspector request server, which
+# introspectDomain.py runs in the long-lived introspector pod of a domain when
+# INTROSPECTOR_SERVER is 'true'.  The operator runs this script in that pod through
+# the pod exec API, and reads the result from the script's output.
+#
+# Usage:
+#
+#   introspectRequest.sh [timeout-seconds]
+#
+#     Introspects the domain, copies the files generated by introspectDomain.py to
+#     stdout in the same format as the introspector job, and exits 0.  Exits non-zero
+#     if the introspection fails, or does not complete within timeout-seconds (default 120).
+#
+#   introspectRequest.sh -ready
+#
+#     Exits 0 if the request server is waiting for requests, non-zero otherwise.
+#     This is the readiness probe of the introspector pod.
+#
+# A request is exchanged through files in INTROSPECTOR_SERVER_DIR (default /tmp/introspector-server):
+#
+#   ready            - exists while the request server is waiting for requests
+#   request          - the id of the pending request, written by this script
+#   status-<id>      - the exit code of the request, written by the server when it completes
+#   result-<id>      - the files generated for the request, written by the server
+#
+# Nothing but the result is written to stdout on success, so this script does not source
+# traceUtils.sh.
+#
+
+SERVER_DIR=${INTROSPECTOR_SERVER_DIR:-/tmp/introspector-server}
+
+if [ "$1" = "-ready" ]; then
+  [ -f ${SERVER_DIR}/ready ]
+  exit $?
+fi
+
+timeout=${1:-120}
+
+if [ ! -f ${SERVER_DIR}/ready ]; then
+  echo "Error: the introspector request server is not running."
+  exit 1
+fi
+
+# The operator sends one request at a time for a domain; the lock also serializes a request
+# that is still running for an operator that has since given up on it.
+
+exec 9>${SERVER_DIR}/lock
+if ! flock -w ${timeout} 9; then
+  echo "Error: timed out waiting for an earlier introspection request to complete."
+  exit 1
+fi
+
+# any result left behind belongs to a request that was abandoned
+rm -f ${SERVER_DIR}/status-* ${SERVER_DIR}/result-*
+
+id="$$-`date +%s`"
+echo "${id}" > ${SERVER_DIR}/request.tmp
+mv ${SERVER_DIR}/request.tmp ${SERVER_DIR}/request
+
+deadline=$(( `date +%s` + timeout ))
+while [ ! -f ${SERVER_DIR}/status-${id} ]; do
+  if [ ! -f ${SERVER_DIR}/ready ]; then
+    echo "Error: the introspector request server stopped before the introspection completed."
+    exit 1
+  fi
+  if [ `date +%s` -ge ${deadline} ]; then
+    rm -f ${SERVER_DIR}/request
+    echo "Error: the introspection did not complete within ${timeout} seconds."
+    exit 1
+  fi
+  sleep 0.2
+done
+
+status="`cat ${SERVER_DIR}/status-${id}`"
+[ -f ${SERVER_DIR}/result-${id} ] && cat ${SERVER_DIR}/result-${id}
+rm -f ${SERVER_DIR}/status-${id} ${SERVER_DIR}/result-${id}
+
+exit ${status:-1}
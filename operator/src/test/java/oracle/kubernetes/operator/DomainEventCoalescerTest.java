@@ -0,0 +1,212 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static com.meterware.simplestub.Stub.createStrictStub;
+import static com.meterware.simplestub.Stub.createStub;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import oracle.kubernetes.weblogic.domain.v2.Domain;
+import oracle.kubernetes.weblogic.domain.v2.DomainSpec;
+import org.junit.Test;
+
+public class DomainEventCoalescerTest {
+  private static final String NS = "namespace";
+  private static final long QUIET_PERIOD = 500;
+  private static final long MAX_WAIT = 2000;
+
+  private AtomicLong time = new AtomicLong();
+  private ExecutorStub executor = createStrictStub(ExecutorStub.class, time);
+  private long quietPeriod = QUIET_PERIOD;
+  private List<String> processed = new ArrayList<>();
+  private boolean processedWithoutLock;
+  private DomainEventCoalescer coalescer =
+      new DomainEventCoalescer(
+          () -> executor, time::get, () -> quietPeriod, () -> MAX_WAIT, this::makeRight);
+
+  private void makeRight(Domain domain, boolean explicitRecheck) {
+    processedWithoutLock |= quietPeriod > 0 && !Thread.holdsLock(coalescer);
+    processed.add(
+        domain.getDomainUID()
+            + ":"
+            + domain.getMetadata().getResourceVersion()
+            + (explicitRecheck ? ":recheck" : ""));
+  }
+
+  @Test
+  public void eventIsNotProcessedDuringQuietPeriod() {
+    coalescer.submit(createDomain("uid1", "1"), false);
+
+    advance(QUIET_PERIOD - 1);
+
+    assertThat(processed, empty());
+  }
+
+  @Test
+  public void afterQuietPeriod_eventIsProcessed() {
+    coalescer.submit(createDomain("uid1", "1"), false);
+
+    advance(QUIET_PERIOD);
+
+    assertThat(processed, contains("uid1:1"));
+  }
+
+  @Test
+  public void deferredEvent_isProcessedWhileHoldingLock() {
+    coalescer.submit(createDomain("uid1", "1"), false);
+
+    advance(QUIET_PERIOD);
+
+    assertThat(processedWithoutLock, equalTo(false));
+  }
+
+  @Test
+  public void whenQuietPeriodIsZero_eventIsProcessedImmediately() {
+    quietPeriod = 0;
+
+    coalescer.submit(createDomain("uid1", "1"), false);
+
+    assertThat(processed, contains("uid1:1"));
+  }
+
+  @Test
+  public void burstOfEvents_isProcessedOnceWithLatestVersion() {
+    coalescer.submit(createDomain("uid1", "1"), false);
+    advance(100);
+    coalescer.submit(createDomain("uid1", "2"), false);
+    advance(100);
+    coalescer.submit(createDomain("uid1", "3"), false);
+
+    advance(QUIET_PERIOD);
+
+    assertThat(processed, contains("uid1:3"));
+    assertThat(coalescer.getReceivedCount(), equalTo(3L));
+    assertThat(coalescer.getCoalescedCount(), equalTo(2L));
+  }
+
+  @Test
+  public void eachEventInBurst_restartsQuietPeriod() {
+    coalescer.submit(createDomain("uid1", "1"), false);
+    advance(QUIET_PERIOD - 100);
+    coalescer.submit(createDomain("uid1", "2"), false);
+
+    advance(QUIET_PERIOD - 100);
+
+    assertThat(processed, empty());
+  }
+
+  @Test
+  public void whenEventsNeverStop_latestIsProcessedAfterMaximumWait() {
+    for (long elapsed = 0; elapsed < MAX_WAIT; elapsed += 100) {
+      coalescer.submit(createDomain("uid1", Long.toString(elapsed)), false);
+      advance(100);
+    }
+
+    assertThat(processed, contains("uid1:1900"));
+  }
+
+  @Test
+  public void whenAnyEventInBurstRequiresRecheck_processingRechecks() {
+    coalescer.submit(createDomain("uid1", "1"), true);
+    coalescer.submit(createDomain("uid1", "2"), false);
+
+    advance(QUIET_PERIOD);
+
+    assertThat(processed, contains("uid1:2:recheck"));
+  }
+
+  @Test
+  public void eventsForDifferentDomains_areNotCoalesced() {
+    coalescer.submit(createDomain("uid1", "1"), false);
+    coalescer.submit(createDomain("uid2", "2"), false);
+
+    advance(QUIET_PERIOD);
+
+    assertThat(processed, contains("uid1:1", "uid2:2"));
+    assertThat(coalescer.getCoalescedCount(), equalTo(0L));
+  }
+
+  @Test
+  public void afterCancel_pendingEventIsNotProcessed() {
+    Domain domain = createDomain("uid1", "1");
+    coalescer.submit(domain, false);
+
+    coalescer.cancel(domain);
+    advance(QUIET_PERIOD);
+
+    assertThat(processed, empty());
+  }
+
+  @Test
+  public void afterBurstProcessed_nextEventStartsNewBurst() {
+    coalescer.submit(createDomain("uid1", "1"), false);
+    advance(QUIET_PERIOD);
+
+    coalescer.submit(createDomain("uid1", "2"), false);
+    advance(QUIET_PERIOD);
+
+    assertThat(processed, contains("uid1:1", "uid1:2"));
+  }
+
+  private Domain createDomain(String uid, String resourceVersion) {
+    return new Domain()
+        .withMetadata(new V1ObjectMeta().namespace(NS).resourceVersion(resourceVersion))
+        .withSpec(new DomainSpec().withDomainUID(uid));
+  }
+
+  private void advance(long millis) {
+    time.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    executor.runDue();
+  }
+
+  abstract static class ExecutorStub implements ScheduledExecutorService {
+    private final AtomicLong time;
+    private final List<Scheduled> scheduled = new ArrayList<>();
+
+    ExecutorStub(AtomicLong time) {
+      this.time = time;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+      scheduled.add(new Scheduled(time.get() + unit.toNanos(delay), command));
+      return createStub(ScheduledFuture.class);
+    }
+
+    // superseded schedules are not cancelled here; they run, and find nothing to do
+    void runDue() {
+      List<Runnable> due = new ArrayList<>();
+      for (Iterator<Scheduled> it = scheduled.iterator(); it.hasNext(); ) {
+        Scheduled item = it.next();
+        if (item.atTime <= time.get()) {
+          due.add(item.command);
+          it.remove();
+        }
+      }
+      due.forEach(Runnable::run);
+    }
+  }
+
+  private static class Scheduled {
+    private final long atTime;
+    private final Runnable command;
+
+    Scheduled(long atTime, Runnable command) {
+      this.atTime = atTime;
+      this.command = command;
+    }
+  }
+}
@@ -17,7 +17,6 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
-import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 
 import com.meterware.simplestub.Memento;
@@ -47,6 +46,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import oracle.kubernetes.TestUtils;
 import oracle.kubernetes.operator.builders.StubWatchFactory;
+import oracle.kubernetes.operator.builders.WatchEvent;
 import oracle.kubernetes.operator.helpers.AsyncCallTestSupport;
 import oracle.kubernetes.operator.helpers.DomainPresenceInfo;
 import oracle.kubernetes.operator.helpers.LegalNames;
@@ -113,6 +113,7 @@ public class DomainPresenceTest extends ThreadFactoryTestBase {
   public void tearDown() throws Exception {
     isNamespaceStopping.computeIfAbsent(NS, k -> new AtomicBoolean(true)).set(true);
     shutDownThreads();
+    DomainProcessorImpl.INSTANCE.releaseNamespace(NS);
 
     for (Memento memento : mementos) memento.revert();
 
@@ -195,7 +196,7 @@ public class DomainPresenceTest extends ThreadFactoryTestBase {
     String serverName = "admin";
     assertThat(
         getServerKubernetesObjects(dp, UID, serverName).getChannels(),
-        hasEntry(equalTo("channel1"), sameInstance(serviceResource)));
+        hasEntry(equalTo("channel1"), equalTo(serviceResource)));
   }
 
   private ServerKubernetesObjects getServerKubernetesObjects(
@@ -310,6 +311,24 @@ public class DomainPresenceTest extends ThreadFactoryTestBase {
         equalTo("do something!"));
   }
 
+  @Test
+  public void afterRestart_readinessEventForListedPod_updatesLastKnownStatus() {
+    addDomainResource(UID, NS);
+    addPodResource(UID, NS, "admin");
+    DomainProcessorStub dp = Stub.createStub(DomainProcessorStub.class);
+    testSupport.addComponent("DP", DomainProcessor.class, dp);
+    readExistingResources();
+    DomainProcessorImpl.registerDomainPresenceInfo(dp.getDomainPresenceInfos().get(UID));
+
+    V1Event event = createEventResource(UID, "admin", READINESS_PROBE_NOT_READY_STATE + "ADMIN");
+    event.setMetadata(new V1ObjectMeta().namespace(NS));
+    DomainProcessorImpl.INSTANCE.dispatchEventWatch(
+        WatchEvent.createAddedEvent(event).toWatchResponse());
+
+    assertThat(
+        getServerKubernetesObjects(dp, UID, "admin").getLastKnownStatus().get(), equalTo("ADMIN"));
+  }
+
   @Test
   public void whenK8sHasOneDomainWithOtherEvent_ignoreIt() {
     addDomainResource(UID, NS);
@@ -450,25 +469,14 @@ public class DomainPresenceTest extends ThreadFactoryTestBase {
         .returning(new V1Status());
 
     testSupport
-        .createCannedResponse("listPersistentVolume")
+        .createCannedResponse("deleteCollectionPersistentVolume")
         .withLabelSelectors(forDomainUid(UID), CREATEDBYOPERATOR_LABEL)
-        .returning(persistentVolumes);
-    testSupport
-        .createCannedResponse("deletePersistentVolume")
-        .withName("volume1")
-        .ignoringBody()
         .returning(new V1Status());
 
     testSupport
-        .createCannedResponse("listPersistentVolumeClaim")
+        .createCannedResponse("deleteCollectionPersistentVolumeClaim")
         .withLabelSelectors(forDomainUid(UID), CREATEDBYOPERATOR_LABEL)
         .withNamespace(NS)
-        .returning(claims);
-    testSupport
-        .createCannedResponse("deletePersistentVolumeClaim")
-        .withNamespace(NS)
-        .withName("claim1")
-        .ignoringBody()
         .returning(new V1Status());
 
     isNamespaceStopping.get(NS).set(false);
@@ -0,0 +1,187 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import oracle.kubernetes.operator.helpers.RollingHelper.ClusterRollout;
+import org.junit.Test;
+
+public class OperatorMetricsTest {
+  private static final String NS = "namespace";
+  private static final String UID = "domain1";
+  private static final String REQUEST_DURATION = "weblogic_operator_api_request_duration_seconds";
+  private static final String DOMAIN_LABELS = "namespace=\"namespace\",domainUID=\"domain1\"";
+
+  private AtomicLong time = new AtomicLong(1000);
+  private OperatorMetrics metrics = new OperatorMetrics(time::get);
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  @Test
+  public void afterRequest_reportsLatencyInCumulativeBuckets() {
+    metrics.recordRequest("listPod", 200, millis(30));
+
+    String text = metrics.toPrometheusText();
+
+    assertThat(text, containsString(REQUEST_DURATION + "_bucket{call=\"listPod\",le=\"0.025\"} 0"));
+    assertThat(text, containsString(REQUEST_DURATION + "_bucket{call=\"listPod\",le=\"0.05\"} 1"));
+    assertThat(text, containsString(REQUEST_DURATION + "_bucket{call=\"listPod\",le=\"+Inf\"} 1"));
+    assertThat(text, containsString(REQUEST_DURATION + "_sum{call=\"listPod\"} 0.03"));
+  }
+
+  @Test
+  public void afterRequests_reportsCountsByStatusCode() {
+    metrics.recordRequest("readPod", 200, millis(1));
+    metrics.recordRequest("readPod", 404, millis(1));
+    metrics.recordRequest("readPod", 404, millis(1));
+
+    String text = metrics.toPrometheusText();
+
+    assertThat(
+        text,
+        containsString("weblogic_operator_api_responses_total{call=\"readPod\",code=\"200\"} 1"));
+    assertThat(
+        text,
+        containsString("weblogic_operator_api_responses_total{call=\"readPod\",code=\"404\"} 2"));
+    assertThat(text, not(containsString("code=\"500\"")));
+  }
+
+  @Test
+  public void afterRetry_reportsRetryCount() {
+    metrics.recordRetry("replaceDomain");
+
+    assertThat(
+        metrics.toPrometheusText(),
+        containsString("weblogic_operator_api_retries_total{call=\"replaceDomain\"} 1"));
+  }
+
+  @Test
+  public void reportsRateLimiterMetrics() {
+    String text = metrics.toPrometheusText();
+
+    assertThat(text, containsString("weblogic_operator_api_requests_queued_total "));
+    assertThat(text, containsString("weblogic_operator_api_request_queue_wait_seconds_total "));
+    assertThat(text, containsString("weblogic_operator_api_requests_throttled_total "));
+    assertThat(text, containsString("weblogic_operator_api_request_concurrency_limit "));
+  }
+
+  @Test
+  public void reportsFiberGateCounters() {
+    String text = metrics.toPrometheusText();
+
+    assertThat(text, containsString("# TYPE weblogic_operator_fiber_gate_started_total counter"));
+    assertThat(text, containsString("# TYPE weblogic_operator_fiber_gate_replaced_total counter"));
+    assertThat(text, containsString("# TYPE weblogic_operator_fiber_gate_rejected_total counter"));
+    assertThat(text, containsString("# TYPE weblogic_operator_fiber_gate_retries_total counter"));
+    assertThat(text, containsString("# TYPE weblogic_operator_fiber_gate_waits_total counter"));
+  }
+
+  @Test
+  public void reportsDomainEventCounters() {
+    String text = metrics.toPrometheusText();
+
+    assertThat(text, containsString("weblogic_operator_domain_events_total "));
+    assertThat(text, containsString("weblogic_operator_domain_events_coalesced_total "));
+    assertThat(text, containsString("weblogic_operator_make_right_cancelled_total "));
+  }
+
+  @Test
+  public void afterWatchEvents_reportsCountsByKind() {
+    OperatorMetrics.WatchMetrics watchMetrics = metrics.getWatchMetrics("Pod");
+    watchMetrics.recordEvent();
+    watchMetrics.recordEvent();
+    watchMetrics.recordReconnect();
+    watchMetrics.recordGone();
+
+    String text = metrics.toPrometheusText();
+
+    assertThat(text, containsString("weblogic_operator_watch_events_total{kind=\"Pod\"} 2"));
+    assertThat(text, containsString("weblogic_operator_watch_reconnects_total{kind=\"Pod\"} 1"));
+    assertThat(text, containsString("weblogic_operator_watch_gone_total{kind=\"Pod\"} 1"));
+  }
+
+  @Test
+  public void afterMakeRight_reportsDurationByOutcome() {
+    metrics.recordMakeRight(NS, UID, OperatorMetrics.SUCCESS, millis(2000));
+    metrics.recordMakeRight(NS, UID, OperatorMetrics.FAILURE, millis(400));
+
+    String text = metrics.toPrometheusText();
+
+    assertThat(
+        text,
+        containsString(
+            "weblogic_operator_make_right_duration_seconds_count{"
+                + DOMAIN_LABELS
+                + ",outcome=\"success\"} 1"));
+    assertThat(
+        text,
+        containsString(
+            "weblogic_operator_make_right_duration_seconds_sum{"
+                + DOMAIN_LABELS
+                + ",outcome=\"failure\"} 0.4"));
+  }
+
+  @Test
+  public void afterServersReady_reportsTimeSinceSpecChange() {
+    metrics.recordSpecChangeToReady(NS, UID, millis(45_000));
+
+    assertThat(
+        metrics.toPrometheusText(),
+        containsString(
+            "weblogic_operator_spec_change_to_ready_seconds_bucket{"
+                + DOMAIN_LABELS
+                + ",le=\"60.0\"} 1"));
+  }
+
+  @Test
+  public void afterClusterRollout_reportsItsTiming() {
+    metrics.recordClusterRollout(NS, UID, "cluster1", new ClusterRollout(1500, 4, 2));
+
+    String text = metrics.toPrometheusText();
+
+    String labels = "{" + DOMAIN_LABELS + ",cluster=\"cluster1\"}";
+    assertThat(text, containsString("weblogic_operator_cluster_rollout_seconds" + labels + " 1.5"));
+    assertThat(text, containsString("weblogic_operator_cluster_rollout_servers" + labels + " 4"));
+    assertThat(
+        text,
+        containsString(
+            "weblogic_operator_cluster_rollout_max_concurrent_restarts" + labels + " 2"));
+  }
+
+  @Test
+  public void afterDomainRemoved_doNotReportClusterRollout() {
+    metrics.recordClusterRollout(NS, UID, "cluster1", new ClusterRollout(1500, 4, 2));
+
+    metrics.removeDomain(NS, UID);
+
+    assertThat(metrics.toPrometheusText(), not(containsString("cluster=\"cluster1\"")));
+  }
+
+  @Test
+  public void afterStatusUpdate_reportsAgeOfStatus() {
+    metrics.recordStatusUpdate(NS, UID);
+    time.addAndGet(2500);
+
+    assertThat(
+        metrics.toPrometheusText(),
+        containsString("weblogic_operator_status_update_age_seconds{" + DOMAIN_LABELS + "} 2.5"));
+  }
+
+  @Test
+  public void afterDomainRemoved_doNotReportIt() {
+    metrics.recordStatusUpdate(NS, UID);
+
+    metrics.removeDomain(NS, UID);
+
+    assertThat(metrics.toPrometheusText(), not(containsString(DOMAIN_LABELS)));
+  }
+}
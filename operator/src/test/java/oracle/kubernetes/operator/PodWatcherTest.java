@@ -11,7 +11,9 @@ import static org.hamcrest.Matchers.both;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 
 import com.google.common.collect.ImmutableMap;
@@ -22,21 +24,27 @@ import io.kubernetes.client.models.V1PodStatus;
 import io.kubernetes.client.util.Watch;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import oracle.kubernetes.operator.TuningParameters.WatchTuning;
 import oracle.kubernetes.operator.builders.StubWatchFactory;
+import oracle.kubernetes.operator.builders.WatchEvent;
 import oracle.kubernetes.operator.watcher.WatchListener;
+import oracle.kubernetes.operator.work.FiberTestSupport;
 import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
 import org.hamcrest.Matchers;
+import org.joda.time.DateTime;
 import org.junit.Test;
 
 /** This test class verifies the behavior of the PodWatcher. */
 public class PodWatcherTest extends WatcherTestBase implements WatchListener<V1Pod> {
 
   private static final int INITIAL_RESOURCE_VERSION = 234;
+  private static final DateTime CREATION_TIME = new DateTime(2018, 10, 1, 12, 0);
   private Packet packet;
-  private V1Pod pod = new V1Pod().metadata(new V1ObjectMeta().name("test"));
+  private V1Pod pod = createPod();
 
   public void setUp() throws Exception {
     super.setUp();
@@ -62,6 +70,10 @@ public class PodWatcherTest extends WatcherTestBase implements WatchListener<V1P
     return String.join(",", selectors);
   }
 
+  private static V1Pod createPod() {
+    return new V1Pod().metadata(new V1ObjectMeta().name("test").creationTimestamp(CREATION_TIME));
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   protected <T> T createObjectWithMetaData(V1ObjectMeta metaData) {
@@ -192,6 +204,136 @@ public class PodWatcherTest extends WatcherTestBase implements WatchListener<V1P
     assertThat(listeningStep.wasPerformed, is(true));
   }
 
+  @Test
+  public void whenWatchReportedPodReady_waitForReadyPerformsNextStepWithoutSuspending() {
+    AtomicBoolean stopping = new AtomicBoolean(false);
+    PodWatcher watcher =
+        PodWatcher.create(
+            this, "ns", Integer.toString(INITIAL_RESOURCE_VERSION), tuning, this, stopping);
+
+    V1Pod readyPod = createPod();
+    makePodReady(readyPod);
+    watcher.receivedResponse(WatchEvent.createModifiedEvent(readyPod).toWatchResponse());
+
+    ListeningTerminalStep listeningStep = new ListeningTerminalStep(stopping);
+    Step step = watcher.waitForReady(pod, listeningStep);
+    NextAction nextAction = step.apply(packet);
+    nextAction.getNext().apply(packet);
+
+    assertThat(listeningStep.wasPerformed, is(true));
+    assertThat(watcher.getReadyWaitCount(), equalTo(0));
+  }
+
+  @Test
+  public void whenWatchReportedPodDeleted_waitForReadyDoesNotUseStaleState() {
+    AtomicBoolean stopping = new AtomicBoolean(false);
+    PodWatcher watcher =
+        PodWatcher.create(
+            this, "ns", Integer.toString(INITIAL_RESOURCE_VERSION), tuning, this, stopping);
+
+    V1Pod readyPod = createPod();
+    makePodReady(readyPod);
+    watcher.receivedResponse(WatchEvent.createModifiedEvent(readyPod).toWatchResponse());
+    watcher.receivedResponse(WatchEvent.createDeleteEvent(readyPod).toWatchResponse());
+
+    ListeningTerminalStep listeningStep = new ListeningTerminalStep(stopping);
+    NextAction nextAction = watcher.waitForReady(pod, listeningStep).apply(packet);
+
+    assertThat(nextAction.getNext(), not(sameInstance(listeningStep)));
+  }
+
+  @Test
+  public void whenWatchReportedPodWithoutCreationTime_waitForReadySuspends() {
+    AtomicBoolean stopping = new AtomicBoolean(false);
+    PodWatcher watcher =
+        PodWatcher.create(
+            this, "ns", Integer.toString(INITIAL_RESOURCE_VERSION), tuning, this, stopping);
+
+    V1Pod readyPod = new V1Pod().metadata(new V1ObjectMeta().name("test"));
+    makePodReady(readyPod);
+    watcher.receivedResponse(WatchEvent.createModifiedEvent(readyPod).toWatchResponse());
+
+    ListeningTerminalStep listeningStep = new ListeningTerminalStep(stopping);
+    NextAction nextAction = watcher.waitForReady(pod, listeningStep).apply(packet);
+
+    assertThat(nextAction.getNext(), not(sameInstance(listeningStep)));
+  }
+
+  @Test
+  public void afterWatchGone_waitForReadyDoesNotUseStaleState() {
+    AtomicBoolean stopping = new AtomicBoolean(false);
+    PodWatcher watcher =
+        PodWatcher.create(
+            this, "ns", Integer.toString(INITIAL_RESOURCE_VERSION), tuning, this, stopping);
+
+    V1Pod readyPod = createPod();
+    makePodReady(readyPod);
+    watcher.receivedResponse(WatchEvent.createModifiedEvent(readyPod).toWatchResponse());
+    watcher.onGone();
+
+    ListeningTerminalStep listeningStep = new ListeningTerminalStep(stopping);
+    NextAction nextAction = watcher.waitForReady(pod, listeningStep).apply(packet);
+
+    assertThat(nextAction.getNext(), not(sameInstance(listeningStep)));
+  }
+
+  @Test
+  public void whenAwaitedPodDeleted_waitForReadyFails() {
+    AtomicBoolean stopping = new AtomicBoolean(false);
+    PodWatcher watcher =
+        PodWatcher.create(
+            this, "ns", Integer.toString(INITIAL_RESOURCE_VERSION), tuning, this, stopping);
+    FiberTestSupport fiberSupport = new FiberTestSupport();
+    ListeningTerminalStep listeningStep = new ListeningTerminalStep(stopping);
+    fiberSupport.runSteps(watcher.waitForReady(pod, listeningStep));
+
+    watcher.receivedResponse(WatchEvent.createDeleteEvent(createPod()).toWatchResponse());
+
+    fiberSupport.verifyCompletionThrowable(ReadinessWaiter.DeletedException.class);
+    assertThat(listeningStep.wasPerformed, is(false));
+  }
+
+  @Test
+  public void whenAwaitedPodFails_waitForReadyFails() {
+    AtomicBoolean stopping = new AtomicBoolean(false);
+    PodWatcher watcher =
+        PodWatcher.create(
+            this, "ns", Integer.toString(INITIAL_RESOURCE_VERSION), tuning, this, stopping);
+    FiberTestSupport fiberSupport = new FiberTestSupport();
+    ListeningTerminalStep listeningStep = new ListeningTerminalStep(stopping);
+    fiberSupport.runSteps(watcher.waitForReady(pod, listeningStep));
+
+    V1Pod failedPod = createPod();
+    failedPod.status(new V1PodStatus().phase("Failed"));
+    watcher.receivedResponse(WatchEvent.createModifiedEvent(failedPod).toWatchResponse());
+
+    fiberSupport.verifyCompletionThrowable(ReadinessWaiter.StoppedException.class);
+    assertThat(listeningStep.wasPerformed, is(false));
+    assertThat(watcher.getReadyWaitCount(), equalTo(0));
+  }
+
+  @Test
+  public void whenAwaitedPodNotReadyBeforeTimeout_waitForReadyFails() {
+    AtomicBoolean stopping = new AtomicBoolean(false);
+    PodWatcher watcher =
+        PodWatcher.create(
+            this,
+            "ns",
+            Integer.toString(INITIAL_RESOURCE_VERSION),
+            new WatchTuning(3600, 10),
+            this,
+            stopping);
+    FiberTestSupport fiberSupport = new FiberTestSupport();
+    ListeningTerminalStep listeningStep = new ListeningTerminalStep(stopping);
+    fiberSupport.runSteps(watcher.waitForReady(pod, listeningStep));
+
+    fiberSupport.setTime(10, TimeUnit.SECONDS);
+
+    fiberSupport.verifyCompletionThrowable(ReadinessWaiter.TimedOutException.class);
+    assertThat(listeningStep.wasPerformed, is(false));
+    assertThat(watcher.getReadyWaitCount(), equalTo(0));
+  }
+
   static class ListeningTerminalStep extends Step {
     private boolean wasPerformed = false;
 
@@ -0,0 +1,271 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static oracle.kubernetes.operator.KubernetesConstants.INTROSPECTOR_CONFIG_MAP_NAME_SUFFIX;
+
+import com.meterware.simplestub.Memento;
+import io.kubernetes.client.models.V1ConfigMap;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1Secret;
+import io.kubernetes.client.models.V1SecretReference;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import oracle.kubernetes.operator.helpers.KubernetesSimulator;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.weblogic.domain.v2.Domain;
+import oracle.kubernetes.weblogic.domain.v2.DomainSpec;
+
+/**
+ * Measures how the operator behaves as the number of domains it manages grows. The benchmark runs
+ * the operator's real startup processing for N namespaces, each with M domains of K managed
+ * servers, against a {@link KubernetesSimulator}, and reports the time until every expected server
+ * pod is running, the number of API calls made for each kind of request, and the peak thread count
+ * and heap usage of the process.
+ *
+ * <p>Run it with the test classpath, for example: <code>
+ * mvn -pl operator test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=oracle.kubernetes.operator.ScaleBenchmark -Dexec.args="10 30 4"</code>
+ *
+ * <p>The arguments are: namespaces, domains per namespace, managed servers per domain, simulated
+ * latency in milliseconds, fraction of requests to throttle with HTTP 429, and timeout in seconds.
+ * All are optional.
+ */
+public class ScaleBenchmark {
+  private static final String OPERATOR_NAMESPACE = "operator-ns";
+  private static final String CREDENTIALS_SECRET_NAME = "weblogic-credentials";
+  private static final String ADMIN_SERVER_NAME = "admin-server";
+  private static final String CLUSTER_NAME = "cluster-1";
+  private static final long POLL_INTERVAL_MILLIS = 100;
+
+  private final int namespaceCount;
+  private final int domainsPerNamespace;
+  private final int serversPerDomain;
+  private final long timeoutMillis;
+  private final ScheduledExecutorService simulatorExecutor =
+      Executors.newScheduledThreadPool(4, ScaleBenchmark::createDaemonThread);
+  private final KubernetesSimulator simulator = new KubernetesSimulator(simulatorExecutor);
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+  private long peakHeapBytes;
+
+  private ScaleBenchmark(
+      int namespaceCount,
+      int domainsPerNamespace,
+      int serversPerDomain,
+      long latencyMillis,
+      double throttleRate,
+      long timeoutSeconds) {
+    this.namespaceCount = namespaceCount;
+    this.domainsPerNamespace = domainsPerNamespace;
+    this.serversPerDomain = serversPerDomain;
+    this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+    simulator.withLatency(latencyMillis, TimeUnit.MILLISECONDS).withThrottling(throttleRate, 1);
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args namespaces, domains per namespace, servers per domain, latency in milliseconds,
+   *     throttle rate and timeout in seconds
+   * @throws Exception if the benchmark cannot be run
+   */
+  public static void main(String[] args) throws Exception {
+    ScaleBenchmark benchmark =
+        new ScaleBenchmark(
+            intArg(args, 0, 3),
+            intArg(args, 1, 10),
+            intArg(args, 2, 3),
+            intArg(args, 3, 5),
+            args.length > 4 ? Double.parseDouble(args[4]) : 0.0,
+            intArg(args, 5, 300));
+    boolean reachedSteadyState = benchmark.run();
+    System.exit(reachedSteadyState ? 0 : 1);
+  }
+
+  private static int intArg(String[] args, int index, int defaultValue) {
+    return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+  }
+
+  private static Thread createDaemonThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "simulator");
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private boolean run() throws Exception {
+    List<Memento> mementos = simulator.install();
+    try {
+      defineResources();
+      threads.resetPeakThreadCount();
+
+      long start = System.nanoTime();
+      for (int i = 0; i < namespaceCount; i++) {
+        startNamespace(getNamespace(i));
+      }
+
+      boolean reachedSteadyState = waitForSteadyState(start);
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      report(reachedSteadyState, elapsedMillis);
+      return reachedSteadyState;
+    } finally {
+      for (int i = 0; i < namespaceCount; i++) {
+        Main.isNamespaceStopping(getNamespace(i)).set(true);
+      }
+      for (Memento memento : mementos) {
+        memento.revert();
+      }
+    }
+  }
+
+  private void startNamespace(String ns) {
+    Main.engine
+        .createFiber()
+        .start(
+            Main.readExistingResources(OPERATOR_NAMESPACE, ns),
+            new Packet(),
+            new CompletionCallback() {
+              @Override
+              public void onCompletion(Packet packet) {}
+
+              @Override
+              public void onThrowable(Packet packet, Throwable throwable) {
+                throwable.printStackTrace();
+              }
+            });
+  }
+
+  private boolean waitForSteadyState(long start) throws InterruptedException {
+    int expectedPods = namespaceCount * domainsPerNamespace * (serversPerDomain + 1);
+    while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) {
+      recordHeap();
+      if (countRunningPods() >= expectedPods) {
+        return true;
+      }
+      Thread.sleep(POLL_INTERVAL_MILLIS);
+    }
+    return false;
+  }
+
+  private int countRunningPods() {
+    int count = 0;
+    for (int i = 0; i < namespaceCount; i++) {
+      List<V1Pod> pods = simulator.getResources("Pod", getNamespace(i));
+      for (V1Pod pod : pods) {
+        if (PodWatcher.isReady(pod)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  private void recordHeap() {
+    peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+  }
+
+  private void report(boolean reachedSteadyState, long elapsedMillis) {
+    System.out.println(
+        String.format(
+            "Scale: %d namespaces x %d domains x %d managed servers",
+            namespaceCount, domainsPerNamespace, serversPerDomain));
+    System.out.println(
+        reachedSteadyState
+            ? "Time to steady state: " + elapsedMillis + " ms"
+            : "Steady state not reached after " + elapsedMillis + " ms");
+    System.out.println("API calls: " + simulator.getTotalCallCount());
+    for (Map.Entry<String, Integer> entry : simulator.getCallCounts().entrySet()) {
+      System.out.println(String.format("  %-32s %8d", entry.getKey(), entry.getValue()));
+    }
+    System.out.println("Throttled requests: " + simulator.getThrottledCount());
+    System.out.println("Peak threads: " + threads.getPeakThreadCount());
+    System.out.println("Peak heap used: " + (peakHeapBytes / (1024 * 1024)) + " MB");
+  }
+
+  private String getNamespace(int i) {
+    return "ns" + i;
+  }
+
+  private String getDomainUID(int i) {
+    return "domain" + i;
+  }
+
+  private void defineResources() {
+    for (int i = 0; i < namespaceCount; i++) {
+      String ns = getNamespace(i);
+      simulator.createResource(createCredentialsSecret(ns));
+      for (int j = 0; j < domainsPerNamespace; j++) {
+        String uid = getDomainUID(j);
+        simulator.createResource(createTopologyConfigMap(ns, uid));
+        simulator.createResource(createDomain(ns, uid));
+      }
+    }
+  }
+
+  private V1Secret createCredentialsSecret(String ns) {
+    return new V1Secret()
+        .metadata(new V1ObjectMeta().namespace(ns).name(CREDENTIALS_SECRET_NAME))
+        .putDataItem("username", "weblogic".getBytes(StandardCharsets.UTF_8))
+        .putDataItem("password", "welcome1".getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Domain createDomain(String ns, String uid) {
+    return new Domain()
+        .withMetadata(new V1ObjectMeta().namespace(ns).name(uid))
+        .withSpec(
+            new DomainSpec()
+                .withDomainUID(uid)
+                .withWebLogicCredentialsSecret(
+                    new V1SecretReference().name(CREDENTIALS_SECRET_NAME))
+                .withReplicas(serversPerDomain));
+  }
+
+  // The situational config map holds the result of a prior introspection, so no job is needed
+  private V1ConfigMap createTopologyConfigMap(String ns, String uid) {
+    return new V1ConfigMap()
+        .metadata(new V1ObjectMeta().namespace(ns).name(uid + INTROSPECTOR_CONFIG_MAP_NAME_SUFFIX))
+        .data(Collections.singletonMap("topology.yaml", createTopology()));
+  }
+
+  private String createTopology() {
+    StringBuilder sb =
+        new StringBuilder()
+            .append("domainValid: true\n")
+            .append("domain:\n")
+            .append("  name: \"base_domain\"\n")
+            .append("  adminServerName: \"" + ADMIN_SERVER_NAME + "\"\n")
+            .append("  configuredClusters:\n")
+            .append("    \"" + CLUSTER_NAME + "\":\n")
+            .append("      port: 8001\n")
+            .append("      servers:\n");
+    for (String serverName : getManagedServerNames()) {
+      sb.append("        \"").append(serverName).append("\": {}\n");
+    }
+    return sb.append("  dynamicClusters: {}\n")
+        .append("  servers:\n")
+        .append("    \"" + ADMIN_SERVER_NAME + "\":\n")
+        .append("      port: 7001\n")
+        .toString();
+  }
+
+  private List<String> getManagedServerNames() {
+    List<String> names = new ArrayList<>();
+    for (int i = 1; i <= serversPerDomain; i++) {
+      names.add("managed-server" + i);
+    }
+    return names;
+  }
+}
@@ -0,0 +1,52 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Secret;
+import io.kubernetes.client.util.Watch;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import oracle.kubernetes.operator.builders.StubWatchFactory;
+import oracle.kubernetes.operator.watcher.WatchListener;
+import org.junit.Test;
+
+/** This test class verifies the behavior of the SecretWatcher. */
+public class SecretWatcherTest extends WatcherTestBase implements WatchListener<V1Secret> {
+
+  private static final int INITIAL_RESOURCE_VERSION = 789;
+
+  @Override
+  public void receivedResponse(Watch.Response<V1Secret> response) {
+    recordCallBack(response);
+  }
+
+  @Test
+  public void initialRequest_specifiesStartingResourceVersionAndNoSelectors() {
+    sendInitialRequest(INITIAL_RESOURCE_VERSION);
+
+    Map<String, String> parameters = StubWatchFactory.getRequestParameters().get(0);
+    assertThat(parameters, hasEntry("resourceVersion", Integer.toString(INITIAL_RESOURCE_VERSION)));
+    assertThat(parameters, not(hasKey("fieldSelector")));
+    assertThat(parameters, not(hasKey("labelSelector")));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected <T> T createObjectWithMetaData(V1ObjectMeta metaData) {
+    return (T) new V1Secret().metadata(metaData);
+  }
+
+  @Override
+  protected SecretWatcher createWatcher(String ns, AtomicBoolean stopping, int rv) {
+    return SecretWatcher.create(
+        this, ns, Integer.toString(rv), tuning, this, namespace -> {}, stopping);
+  }
+}
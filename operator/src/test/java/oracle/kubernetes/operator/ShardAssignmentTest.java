@@ -0,0 +1,84 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Test;
+
+public class ShardAssignmentTest {
+  private static final List<String> MEMBERS = Arrays.asList("replica1", "replica2", "replica3");
+
+  private final Collection<String> namespaces = createNamespaces(100);
+
+  private static Collection<String> createNamespaces(int count) {
+    Collection<String> namespaces = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      namespaces.add("namespace" + i);
+    }
+    return namespaces;
+  }
+
+  @Test
+  public void whenNoMembers_namespaceHasNoOwner() {
+    ShardAssignment assignment = new ShardAssignment(new ArrayList<>());
+
+    assertThat(assignment.getOwner("namespace1"), nullValue());
+  }
+
+  @Test
+  public void eachNamespace_isAssignedToExactlyOneMember() {
+    ShardAssignment assignment = new ShardAssignment(MEMBERS);
+
+    int assigned = 0;
+    for (String member : MEMBERS) {
+      assigned += assignment.getNamespaces(member, namespaces).size();
+    }
+
+    assertThat(assigned, equalTo(namespaces.size()));
+  }
+
+  @Test
+  public void eachMember_isAssignedSomeNamespaces() {
+    ShardAssignment assignment = new ShardAssignment(MEMBERS);
+
+    for (String member : MEMBERS) {
+      assertThat(assignment.getNamespaces(member, namespaces), not(empty()));
+    }
+  }
+
+  @Test
+  public void assignment_isIndependentOfMemberOrder() {
+    ShardAssignment assignment = new ShardAssignment(MEMBERS);
+    ShardAssignment reordered =
+        new ShardAssignment(Arrays.asList("replica3", "replica1", "replica2"));
+
+    for (String namespace : namespaces) {
+      assertThat(reordered.getOwner(namespace), equalTo(assignment.getOwner(namespace)));
+    }
+  }
+
+  @Test
+  public void whenMemberAdded_namespacesMoveOnlyToNewMember() {
+    ShardAssignment before = new ShardAssignment(MEMBERS);
+    List<String> members = new ArrayList<>(MEMBERS);
+    members.add("replica4");
+    ShardAssignment after = new ShardAssignment(members);
+
+    for (String namespace : namespaces) {
+      String previousOwner = before.getOwner(namespace);
+      assertThat(after.getOwner(namespace), anyOf(equalTo(previousOwner), equalTo("replica4")));
+    }
+  }
+}
@@ -0,0 +1,367 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static oracle.kubernetes.operator.ShardMembership.CLAIMED_NAMESPACES;
+import static oracle.kubernetes.operator.ShardMembership.HOLDER_IDENTITY;
+import static oracle.kubernetes.operator.ShardMembership.LEASE_DURATION_SECONDS;
+import static oracle.kubernetes.operator.ShardMembership.LEASE_LABEL;
+import static oracle.kubernetes.operator.ShardMembership.LEASE_NAME_PREFIX;
+import static oracle.kubernetes.operator.ShardMembership.RENEW_TIME;
+import static oracle.kubernetes.operator.ShardMembership.STALE_LEASE_DURATIONS;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import com.meterware.simplestub.Memento;
+import io.kubernetes.client.models.V1ConfigMap;
+import io.kubernetes.client.models.V1ObjectMeta;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import oracle.kubernetes.TestUtils;
+import oracle.kubernetes.operator.helpers.KubernetesSimulator;
+import oracle.kubernetes.operator.work.FiberTestSupport;
+import oracle.kubernetes.operator.work.Step;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShardMembershipTest {
+  private static final String OPERATOR_NS = "operator";
+  private static final String IDENTITY = "replica1";
+  private static final String OTHER_IDENTITY = "replica2";
+  private static final int LEASE_DURATION = 15;
+  private static final int RENEW_INTERVAL = 5;
+  private static final int INTERNAL_SERVER_ERROR = 500;
+  private static final Collection<String> TARGET_NAMESPACES =
+      Arrays.asList("ns1", "ns2", "ns3", "ns4", "ns5", "ns6", "ns7", "ns8");
+
+  private ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+  private KubernetesSimulator simulator = new KubernetesSimulator(executor);
+  private List<Memento> mementos = new ArrayList<>();
+  private AtomicInteger changeCount = new AtomicInteger();
+  private AtomicLong clock = new AtomicLong();
+  private Set<String> managedNamespaces = new TreeSet<>();
+  private ShardMembership membership =
+      new ShardMembership(
+          OPERATOR_NS,
+          IDENTITY,
+          LEASE_DURATION,
+          RENEW_INTERVAL,
+          () -> TARGET_NAMESPACES,
+          () -> managedNamespaces,
+          clock::get,
+          changeCount::incrementAndGet);
+
+  @Before
+  public void setUp() throws Exception {
+    mementos.add(TestUtils.silenceOperatorLogger());
+    mementos.addAll(simulator.install());
+  }
+
+  @After
+  public void tearDown() {
+    for (Memento memento : mementos) memento.revert();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void beforeRenew_ownsNoNamespaces() {
+    assertThat(membership.getOwnedNamespaces(), empty());
+  }
+
+  @Test
+  public void renew_createsLease() {
+    runSteps(membership.createRenewStep());
+
+    List<V1ConfigMap> leases = simulator.getResources("ConfigMap", OPERATOR_NS);
+
+    assertThat(leases.size(), equalTo(1));
+    assertThat(leases.get(0).getMetadata().getName(), equalTo(LEASE_NAME_PREFIX + IDENTITY));
+    assertThat(leases.get(0).getData(), hasEntry(HOLDER_IDENTITY, IDENTITY));
+  }
+
+  @Test
+  public void renewTwice_keepsSingleLease() {
+    runSteps(membership.createRenewStep());
+    runSteps(membership.createRenewStep());
+
+    assertThat(simulator.getResources("ConfigMap", OPERATOR_NS).size(), equalTo(1));
+  }
+
+  @Test
+  public void beforeClaimsWritten_ownsNoNamespaces() {
+    runSteps(membership.createRenewStep());
+
+    assertThat(membership.getMembers(), contains(IDENTITY));
+    assertThat(membership.getOwnedNamespaces(), empty());
+  }
+
+  @Test
+  public void afterJoin_leaseClaimsAssignedNamespaces() {
+    runSteps(membership.createJoinStep());
+
+    assertThat(
+        getLeaseData(IDENTITY), hasEntry(CLAIMED_NAMESPACES, String.join(",", TARGET_NAMESPACES)));
+  }
+
+  @Test
+  public void whenAlone_ownsAllTargetNamespaces() {
+    runSteps(membership.createJoinStep());
+
+    assertThat(membership.getMembers(), contains(IDENTITY));
+    assertThat(membership.getOwnedNamespaces(), containsInAnyOrder(TARGET_NAMESPACES.toArray()));
+  }
+
+  @Test
+  public void whenOtherLeaseLive_namespacesAreDividedBetweenMembers() {
+    simulator.createResource(createLease(OTHER_IDENTITY, "1"));
+
+    runSteps(membership.createJoinStep());
+
+    ShardAssignment assignment = new ShardAssignment(Arrays.asList(IDENTITY, OTHER_IDENTITY));
+    assertThat(membership.getMembers(), contains(IDENTITY, OTHER_IDENTITY));
+    assertThat(
+        membership.getOwnedNamespaces(),
+        containsInAnyOrder(assignment.getNamespaces(IDENTITY, TARGET_NAMESPACES).toArray()));
+    for (String ns : TARGET_NAMESPACES) {
+      assertThat(membership.isOwned(ns), equalTo(IDENTITY.equals(assignment.getOwner(ns))));
+    }
+  }
+
+  @Test
+  public void whenOtherLeaseRenewTimeIsOld_otherIsMemberUntilSeenUnchangedForLeaseDuration() {
+    long longAgo = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+    simulator.createResource(createLease(OTHER_IDENTITY, Long.toString(longAgo)));
+
+    runSteps(membership.createRenewStep());
+
+    assertThat(membership.getMembers(), contains(IDENTITY, OTHER_IDENTITY));
+  }
+
+  @Test
+  public void whenOtherLeaseNotRenewedForLeaseDuration_otherIsNotMember() {
+    simulator.createResource(createLease(OTHER_IDENTITY, "1"));
+    runSteps(membership.createRenewStep());
+
+    advanceClock(LEASE_DURATION);
+    runSteps(membership.createRenewStep());
+
+    assertThat(membership.getMembers(), contains(IDENTITY));
+  }
+
+  @Test
+  public void whenOtherLeaseExpiredRecently_keepIt() {
+    simulator.createResource(createLease(OTHER_IDENTITY, "1"));
+    runSteps(membership.createRenewStep());
+
+    advanceClock(LEASE_DURATION);
+    runSteps(membership.createRenewStep());
+
+    assertThat(getLeaseData(OTHER_IDENTITY), hasEntry(HOLDER_IDENTITY, OTHER_IDENTITY));
+  }
+
+  @Test
+  public void whenOtherLeaseNotRenewedForSeveralLeaseDurations_deleteIt() {
+    simulator.createResource(createLease(OTHER_IDENTITY, "1"));
+    runSteps(membership.createRenewStep());
+
+    advanceClock(STALE_LEASE_DURATIONS * LEASE_DURATION);
+    runSteps(membership.createRenewStep());
+
+    assertThat(getLeaseData(OTHER_IDENTITY).isEmpty(), equalTo(true));
+    assertThat(getLeaseData(IDENTITY), hasEntry(HOLDER_IDENTITY, IDENTITY));
+  }
+
+  @Test
+  public void whenStaleLeaseRenewedBeforeDeletion_keepIt() {
+    simulator.createResource(createLease(OTHER_IDENTITY, "1"));
+    runSteps(membership.createRenewStep());
+    simulator.beforeCalls(
+        "deleteConfigMap", () -> simulator.replaceResource(createLease(OTHER_IDENTITY, "2")));
+
+    advanceClock(STALE_LEASE_DURATIONS * LEASE_DURATION);
+    runSteps(membership.createRenewStep());
+
+    assertThat(getLeaseData(OTHER_IDENTITY), hasEntry(RENEW_TIME, "2"));
+  }
+
+  @Test
+  public void whenOtherLeaseRenewed_otherRemainsMember() {
+    simulator.createResource(createLease(OTHER_IDENTITY, "1"));
+    runSteps(membership.createRenewStep());
+
+    advanceClock(LEASE_DURATION - 1);
+    simulator.replaceResource(createLease(OTHER_IDENTITY, "2"));
+    runSteps(membership.createRenewStep());
+    advanceClock(LEASE_DURATION - 1);
+    runSteps(membership.createRenewStep());
+
+    assertThat(membership.getMembers(), contains(IDENTITY, OTHER_IDENTITY));
+  }
+
+  @Test
+  public void whenOtherMemberClaimsAssignedNamespace_doNotClaimOrOwnIt() {
+    simulator.createResource(createLease(OTHER_IDENTITY, "1", "ns1"));
+
+    runSteps(membership.createJoinStep());
+
+    assertThat(membership.isOwned("ns1"), equalTo(false));
+    assertThat(getClaims(IDENTITY), not(hasItem("ns1")));
+  }
+
+  @Test
+  public void whenOtherMemberReleasesClaim_claimAndThenOwnNamespace() {
+    simulator.createResource(createLease(OTHER_IDENTITY, "1", TARGET_NAMESPACES));
+    runSteps(membership.createJoinStep());
+    String ns = getAssignedNamespace();
+
+    simulator.replaceResource(createLease(OTHER_IDENTITY, "2"));
+    runSteps(membership.createRenewStep());
+    assertThat(membership.isOwned(ns), equalTo(false));
+
+    runSteps(membership.createRenewStep());
+    assertThat(membership.isOwned(ns), equalTo(true));
+  }
+
+  @Test
+  public void whenNamespaceReassigned_keepClaimingItUntilNoLongerManaged() {
+    runSteps(membership.createJoinStep());
+    managedNamespaces.addAll(TARGET_NAMESPACES);
+    simulator.createResource(createLease(OTHER_IDENTITY, "1"));
+
+    runSteps(membership.createRenewStep());
+    runSteps(membership.createRenewStep());
+
+    assertThat(getClaims(IDENTITY), containsInAnyOrder(TARGET_NAMESPACES.toArray()));
+  }
+
+  @Test
+  public void onFirstRenew_doNotReportChange() {
+    runSteps(membership.createRenewStep());
+
+    assertThat(changeCount.get(), equalTo(0));
+  }
+
+  @Test
+  public void whenMemberJoins_reportChange() {
+    runSteps(membership.createJoinStep());
+    changeCount.set(0);
+    simulator.createResource(createLease(OTHER_IDENTITY, "1"));
+
+    runSteps(membership.createRenewStep());
+
+    assertThat(changeCount.get(), equalTo(1));
+  }
+
+  @Test
+  public void whenMembersUnchanged_doNotReportChange() {
+    simulator.createResource(createLease(OTHER_IDENTITY, "1"));
+    runSteps(membership.createJoinStep());
+    changeCount.set(0);
+
+    runSteps(membership.createRenewStep());
+
+    assertThat(changeCount.get(), equalTo(0));
+  }
+
+  @Test
+  public void whenRenewalFailsUntilLeaseMayExpire_ownNoNamespacesAndReportChange() {
+    runSteps(membership.createJoinStep());
+    changeCount.set(0);
+    simulator.failCalls("readConfigMap", INTERNAL_SERVER_ERROR);
+
+    advanceClock(LEASE_DURATION - RENEW_INTERVAL);
+    runSteps(membership.createRenewStep());
+
+    assertThat(membership.getOwnedNamespaces(), empty());
+    assertThat(changeCount.get(), equalTo(1));
+  }
+
+  @Test
+  public void whenRenewalFailsBriefly_keepOwningNamespaces() {
+    runSteps(membership.createJoinStep());
+    simulator.failCalls("readConfigMap", INTERNAL_SERVER_ERROR);
+
+    advanceClock(RENEW_INTERVAL);
+    runSteps(membership.createRenewStep());
+
+    assertThat(membership.getOwnedNamespaces(), containsInAnyOrder(TARGET_NAMESPACES.toArray()));
+  }
+
+  @Test
+  public void release_deletesLease() {
+    runSteps(membership.createRenewStep());
+
+    runSteps(membership.createReleaseStep());
+
+    assertThat(simulator.getResources("ConfigMap", OPERATOR_NS), empty());
+  }
+
+  // a fiber runs only once, so each renewal needs its own
+  private void runSteps(Step step) {
+    new FiberTestSupport().runSteps(step);
+  }
+
+  private void advanceClock(int seconds) {
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+  }
+
+  private String getAssignedNamespace() {
+    return new ShardAssignment(Arrays.asList(IDENTITY, OTHER_IDENTITY))
+        .getNamespaces(IDENTITY, TARGET_NAMESPACES)
+        .iterator()
+        .next();
+  }
+
+  private Map<String, String> getLeaseData(String identity) {
+    for (V1ConfigMap lease : simulator.<V1ConfigMap>getResources("ConfigMap", OPERATOR_NS)) {
+      if (lease.getMetadata().getName().equals(LEASE_NAME_PREFIX + identity)) {
+        return lease.getData();
+      }
+    }
+    return Collections.emptyMap();
+  }
+
+  private Collection<String> getClaims(String identity) {
+    String claims = getLeaseData(identity).get(CLAIMED_NAMESPACES);
+    return claims == null || claims.isEmpty()
+        ? Collections.emptyList()
+        : Arrays.asList(claims.split(","));
+  }
+
+  private V1ConfigMap createLease(String identity, String renewTime, String... claims) {
+    return createLease(identity, renewTime, Arrays.asList(claims));
+  }
+
+  private V1ConfigMap createLease(String identity, String renewTime, Collection<String> claims) {
+    return new V1ConfigMap()
+        .metadata(
+            new V1ObjectMeta()
+                .name(LEASE_NAME_PREFIX + identity)
+                .namespace(OPERATOR_NS)
+                .putLabelsItem(LEASE_LABEL, "true"))
+        .putDataItem(HOLDER_IDENTITY, identity)
+        .putDataItem(RENEW_TIME, renewTime)
+        .putDataItem(LEASE_DURATION_SECONDS, Integer.toString(LEASE_DURATION))
+        .putDataItem(CLAIMED_NAMESPACES, String.join(",", claims));
+  }
+}
@@ -0,0 +1,106 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static oracle.kubernetes.LogMatcher.containsInfo;
+import static oracle.kubernetes.operator.logging.MessageKeys.STARTUP_COMPLETED;
+import static oracle.kubernetes.operator.logging.MessageKeys.STARTUP_PHASE_COMPLETED;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import com.meterware.simplestub.Memento;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.LogRecord;
+import oracle.kubernetes.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StartupTimelineTest {
+  private static final long PROCESS_START = 1000;
+
+  private AtomicLong time = new AtomicLong(PROCESS_START);
+  private StartupTimeline timeline = new StartupTimeline(time::get, PROCESS_START);
+  private List<Memento> mementos = new ArrayList<>();
+  private List<LogRecord> logRecords = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    mementos.add(
+        TestUtils.silenceOperatorLogger()
+            .collectLogMessages(logRecords, STARTUP_PHASE_COMPLETED, STARTUP_COMPLETED));
+  }
+
+  @After
+  public void tearDown() {
+    for (Memento memento : mementos) memento.revert();
+  }
+
+  @Test
+  public void afterPhaseEnds_recordsOffsetAndDuration() {
+    advance(50);
+    timeline.beginPhase("crd");
+    advance(20);
+    timeline.endPhase("crd");
+
+    StartupTimeline.Interval interval = timeline.getPhases().get("crd");
+    assertThat(interval.getStartMillis(), equalTo(50L));
+    assertThat(interval.getDurationMillis(), equalTo(20L));
+    assertThat(logRecords, containsInfo(STARTUP_PHASE_COMPLETED));
+  }
+
+  @Test
+  public void whilePhaseRunning_durationIsUnknown() {
+    timeline.beginPhase("crd");
+
+    assertThat(timeline.getPhases().get("crd").getDurationMillis(), equalTo(-1L));
+  }
+
+  @Test
+  public void phasesAreReportedInOrderBegun() {
+    timeline.beginPhase("version");
+    timeline.beginPhase("crd");
+    timeline.beginPhase("namespaces");
+
+    assertThat(timeline.getPhases().keySet(), contains("version", "crd", "namespaces"));
+  }
+
+  @Test
+  public void namespacesAreRecordedSeparatelyFromPhases() {
+    timeline.beginNamespace("ns1");
+    advance(30);
+    timeline.endNamespace("ns1");
+
+    assertThat(timeline.getNamespaces().get("ns1").getDurationMillis(), equalTo(30L));
+    assertThat(timeline.getPhases().isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void afterComplete_elapsedTimeIsFixed() {
+    advance(100);
+    timeline.complete();
+    advance(100);
+
+    assertThat(timeline.isComplete(), equalTo(true));
+    assertThat(timeline.getElapsedMillis(), equalTo(100L));
+    assertThat(logRecords, containsInfo(STARTUP_COMPLETED));
+  }
+
+  @Test
+  public void afterComplete_nothingMoreIsRecorded() {
+    timeline.complete();
+    timeline.beginNamespace("ns1");
+
+    assertThat(timeline.getNamespaces().isEmpty(), equalTo(true));
+    assertThat(logRecords, containsInfo(STARTUP_COMPLETED));
+  }
+
+  private void advance(long millis) {
+    time.addAndGet(millis);
+  }
+}
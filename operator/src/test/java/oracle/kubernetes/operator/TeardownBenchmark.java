@@ -0,0 +1,234 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static oracle.kubernetes.operator.LabelConstants.CREATEDBYOPERATOR_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.DOMAINUID_LABEL;
+
+import com.meterware.simplestub.Memento;
+import io.kubernetes.client.models.V1DeleteOptions;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1PersistentVolume;
+import io.kubernetes.client.models.V1PersistentVolumeClaim;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1Service;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import oracle.kubernetes.operator.helpers.CallBuilder;
+import oracle.kubernetes.operator.helpers.KubernetesSimulator;
+import oracle.kubernetes.operator.steps.DefaultResponseStep;
+import oracle.kubernetes.operator.steps.DeleteDomainStep;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+
+/**
+ * Measures the time to delete the Kubernetes resources of a large domain. The benchmark creates, in
+ * a {@link KubernetesSimulator}, the pods, per-server services and channel services of a domain
+ * with K managed servers, along with its persistent volumes and claims. It then deletes them twice:
+ * first one object at a time, each delete made after the previous one completes, and then with the
+ * operator's {@link DeleteDomainStep}. For each it reports the elapsed time and the API calls made.
+ *
+ * <p>Run it with the test classpath, for example: <code>
+ * mvn -pl operator test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=oracle.kubernetes.operator.TeardownBenchmark -Dexec.args="300 1 5"</code>
+ *
+ * <p>The arguments are: managed servers, channel services per server, simulated latency in
+ * milliseconds, and timeout in seconds. All are optional.
+ */
+public class TeardownBenchmark {
+  private static final String NS = "benchmark";
+  private static final String UID = "domain1";
+  private static final int VOLUME_COUNT = 2;
+
+  private final int serverCount;
+  private final int channelsPerServer;
+  private final long timeoutSeconds;
+  private final ScheduledExecutorService simulatorExecutor =
+      Executors.newScheduledThreadPool(4, TeardownBenchmark::createDaemonThread);
+  private final KubernetesSimulator simulator = new KubernetesSimulator(simulatorExecutor);
+
+  private TeardownBenchmark(
+      int serverCount, int channelsPerServer, long latencyMillis, long timeoutSeconds) {
+    this.serverCount = serverCount;
+    this.channelsPerServer = channelsPerServer;
+    this.timeoutSeconds = timeoutSeconds;
+    simulator.withLatency(latencyMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args managed servers, channels per server, latency in milliseconds and timeout in
+   *     seconds
+   * @throws Exception if the benchmark cannot be run
+   */
+  public static void main(String[] args) throws Exception {
+    TeardownBenchmark benchmark =
+        new TeardownBenchmark(
+            intArg(args, 0, 300), intArg(args, 1, 1), intArg(args, 2, 5), intArg(args, 3, 600));
+    boolean completed = benchmark.run();
+    System.exit(completed ? 0 : 1);
+  }
+
+  private static int intArg(String[] args, int index, int defaultValue) {
+    return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+  }
+
+  private static Thread createDaemonThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "simulator");
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private boolean run() throws Exception {
+    List<Memento> mementos = simulator.install();
+    try {
+      System.out.println(
+          String.format(
+              "Teardown: %d managed servers, %d channel services per server",
+              serverCount, channelsPerServer));
+
+      defineResources();
+      boolean completed = measure("One object at a time", createSequentialTeardown());
+
+      defineResources();
+      completed &= measure("DeleteDomainStep", new DeleteDomainStep(null, NS, UID));
+      return completed;
+    } finally {
+      for (Memento memento : mementos) {
+        memento.revert();
+      }
+    }
+  }
+
+  private boolean measure(String description, Step teardown) throws InterruptedException {
+    Map<String, Integer> callsBefore = simulator.getCallCounts();
+    int totalBefore = simulator.getTotalCallCount();
+    CountDownLatch done = new CountDownLatch(1);
+
+    long start = System.nanoTime();
+    Main.engine
+        .createFiber()
+        .start(
+            teardown,
+            new Packet(),
+            new CompletionCallback() {
+              @Override
+              public void onCompletion(Packet packet) {
+                done.countDown();
+              }
+
+              @Override
+              public void onThrowable(Packet packet, Throwable throwable) {
+                throwable.printStackTrace();
+                done.countDown();
+              }
+            });
+    boolean completed = done.await(timeoutSeconds, TimeUnit.SECONDS);
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    System.out.println(description + ":");
+    System.out.println(
+        completed
+            ? "  Teardown time: " + elapsedMillis + " ms"
+            : "  Teardown not complete after " + elapsedMillis + " ms");
+    System.out.println("  API calls: " + (simulator.getTotalCallCount() - totalBefore));
+    for (Map.Entry<String, Integer> entry : simulator.getCallCounts().entrySet()) {
+      int calls = entry.getValue() - callsBefore.getOrDefault(entry.getKey(), 0);
+      if (calls > 0) {
+        System.out.println(String.format("    %-40s %8d", entry.getKey(), calls));
+      }
+    }
+    System.out.println("  Remaining resources: " + countRemainingResources());
+    return completed;
+  }
+
+  private int countRemainingResources() {
+    return simulator.getResources("Pod", NS).size()
+        + simulator.getResources("Service", NS).size()
+        + simulator.getResources("PersistentVolume", null).size()
+        + simulator.getResources("PersistentVolumeClaim", NS).size();
+  }
+
+  // deletes each resource in turn, as the operator did before deleting collections
+  private Step createSequentialTeardown() {
+    Step step = null;
+    for (V1PersistentVolumeClaim claim :
+        simulator.<V1PersistentVolumeClaim>getResources("PersistentVolumeClaim", NS)) {
+      step =
+          new CallBuilder()
+              .deletePersistentVolumeClaimAsync(
+                  claim.getMetadata().getName(),
+                  NS,
+                  new V1DeleteOptions(),
+                  new DefaultResponseStep<>(step));
+    }
+    for (V1PersistentVolume volume :
+        simulator.<V1PersistentVolume>getResources("PersistentVolume", null)) {
+      step =
+          new CallBuilder()
+              .deletePersistentVolumeAsync(
+                  volume.getMetadata().getName(),
+                  new V1DeleteOptions(),
+                  new DefaultResponseStep<>(step));
+    }
+    for (V1Service service : simulator.<V1Service>getResources("Service", NS)) {
+      step =
+          new CallBuilder()
+              .deleteServiceAsync(
+                  service.getMetadata().getName(),
+                  NS,
+                  new V1DeleteOptions(),
+                  new DefaultResponseStep<>(step));
+    }
+    for (V1Pod pod : simulator.<V1Pod>getResources("Pod", NS)) {
+      step =
+          new CallBuilder()
+              .deletePodAsync(
+                  pod.getMetadata().getName(),
+                  NS,
+                  new V1DeleteOptions(),
+                  new DefaultResponseStep<>(step));
+    }
+    return step;
+  }
+
+  private void defineResources() {
+    createServer("admin-server");
+    for (int i = 1; i <= serverCount; i++) {
+      createServer("managed-server" + i);
+    }
+    simulator.createResource(new V1Service().metadata(createMetadata(UID + "-cluster-cluster-1")));
+    for (int i = 1; i <= VOLUME_COUNT; i++) {
+      simulator.createResource(
+          new V1PersistentVolume().metadata(createMetadata(UID + "-volume" + i).namespace(null)));
+      simulator.createResource(
+          new V1PersistentVolumeClaim().metadata(createMetadata(UID + "-claim" + i)));
+    }
+  }
+
+  private void createServer(String serverName) {
+    String name = UID + "-" + serverName;
+    simulator.createResource(new V1Pod().metadata(createMetadata(name)));
+    simulator.createResource(new V1Service().metadata(createMetadata(name)));
+    for (int i = 1; i <= channelsPerServer; i++) {
+      simulator.createResource(
+          new V1Service().metadata(createMetadata(name + "-external-channel" + i)));
+    }
+  }
+
+  private V1ObjectMeta createMetadata(String name) {
+    return new V1ObjectMeta()
+        .namespace(NS)
+        .name(name)
+        .putLabelsItem(DOMAINUID_LABEL, UID)
+        .putLabelsItem(CREATEDBYOPERATOR_LABEL, "true");
+  }
+}
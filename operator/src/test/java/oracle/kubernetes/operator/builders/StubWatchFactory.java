@@ -108,6 +108,8 @@ public class StubWatchFactory implements WatchBuilder.WatchFactory {
       result.put("resourceVersion", callParams.getResourceVersion());
     if (callParams.getLabelSelector() != null)
       result.put("labelSelector", callParams.getLabelSelector());
+    if (callParams.getFieldSelector() != null)
+      result.put("fieldSelector", callParams.getFieldSelector());
 
     return result;
   }
@@ -22,15 +22,22 @@ import com.meterware.simplestub.StaticStubSupport;
 import com.squareup.okhttp.Call;
 import io.kubernetes.client.ApiClient;
 import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1Container;
+import io.kubernetes.client.models.V1ContainerStatus;
 import io.kubernetes.client.models.V1ObjectMeta;
 import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1PodStatus;
 import io.kubernetes.client.models.V1Service;
+import io.kubernetes.client.models.V1Toleration;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiFunction;
 import oracle.kubernetes.TestUtils;
+import oracle.kubernetes.operator.helpers.CompactResources;
 import oracle.kubernetes.operator.helpers.Pool;
 import oracle.kubernetes.weblogic.domain.v2.Domain;
 import org.junit.After;
@@ -165,6 +172,42 @@ public class WatchBuilderTest extends HttpUserAgentTest {
     assertThat(podWatch, contains(addEvent(pod)));
   }
 
+  @Test
+  public void whenPodWatchReceivesPod_returnOnlyProjectedFields() throws Exception {
+    V1Pod pod =
+        new V1Pod()
+            .apiVersion(API_VERSION)
+            .kind("Pod")
+            .metadata(createMetaData("pod5", NAMESPACE).uid("1234"))
+            .spec(
+                new V1PodSpec()
+                    .nodeName("node1")
+                    .addContainersItem(
+                        new V1Container().name("server").image("weblogic").workingDir("/u01"))
+                    .addTolerationsItem(new V1Toleration().key("node.kubernetes.io/unreachable")))
+            .status(
+                new V1PodStatus()
+                    .phase("Running")
+                    .podIP("10.1.1.1")
+                    .addConditionsItem(new V1PodCondition().type("Ready").status("True"))
+                    .addContainerStatusesItem(new V1ContainerStatus().name("server")));
+    defineHttpResponse(POD_RESOURCE, withResponses(createModifiedResponse(pod)));
+
+    WatchI<V1Pod> podWatch = new WatchBuilder().createPodWatch(NAMESPACE);
+
+    V1Pod projectedPod = CompactResources.compact(pod).apiVersion(API_VERSION).kind("Pod");
+    assertThat(podWatch, contains(modifyEvent(projectedPod)));
+  }
+
+  @Test
+  public void whenServiceWatchReceivesErrorResponse_returnItFromIterator() throws Exception {
+    defineHttpResponse(SERVICE_RESOURCE, withResponses(createErrorResponse(HTTP_ENTITY_TOO_LARGE)));
+
+    WatchI<V1Service> serviceWatch = new WatchBuilder().createServiceWatch(NAMESPACE);
+
+    assertThat(serviceWatch, contains(errorEvent(HTTP_ENTITY_TOO_LARGE)));
+  }
+
   @Test
   public void whenPodWatchFindsNoData_hasNextReturnsFalse() throws Exception {
     defineHttpResponse(POD_RESOURCE, NO_RESPONSES);
@@ -0,0 +1,326 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.calls;
+
+import static com.meterware.simplestub.Stub.createStrictStub;
+import static com.meterware.simplestub.Stub.createStub;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class RequestRateLimiterTest {
+  private static final int OK = 200;
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+  private static final String READ = "readPod";
+  private static final String LIST = "listPod";
+
+  private AtomicLong time = new AtomicLong();
+  private RequestRateLimiter limiter = new RequestRateLimiter(time::get);
+  private ExecutorStub executor = createStrictStub(ExecutorStub.class);
+  private AtomicInteger wakeCount = new AtomicInteger();
+
+  @Test
+  public void whenNotConfigured_alwaysPermitsRequests() {
+    for (int i = 0; i < 1000; i++) {
+      assertThat(limiter.tryAcquire(), equalTo(true));
+    }
+  }
+
+  @Test
+  public void whenNotConfigured_releaseReducesInFlightCount() {
+    limiter.tryAcquire();
+    limiter.tryAcquire();
+
+    limiter.release(READ, time.get(), OK, null);
+
+    assertThat(limiter.getInFlightCount(), equalTo(1));
+  }
+
+  @Test
+  public void afterEnabled_requestsSentWhileDisabledCountAgainstConcurrencyLimit() {
+    limiter.tryAcquire();
+    limiter.tryAcquire();
+
+    limiter.configure(1000, 2);
+
+    assertThat(limiter.tryAcquire(), equalTo(false));
+    limiter.release(READ, time.get() - FAST, OK, null);
+    assertThat(limiter.tryAcquire(), equalTo(true));
+  }
+
+  @Test
+  public void whenConfigured_permitsBurstThenRefuses() {
+    limiter.configure(10, 5);
+
+    assertThat(acquireAll(), equalTo(5));
+  }
+
+  @Test
+  public void afterTimePasses_permitsMoreRequests() {
+    limiter.configure(10, 5);
+    acquireAll();
+    releaseAll(5, FAST);
+
+    advance(TimeUnit.MILLISECONDS.toNanos(200));
+
+    assertThat(acquireAll(), equalTo(2));
+  }
+
+  @Test
+  public void whenConcurrencyLimitReached_waiterWokenOnRelease() {
+    limiter.configure(1000, 2);
+    long start = time.get();
+    acquireAll();
+
+    limiter.await(executor, this::wake);
+    assertThat(wakeCount.get(), equalTo(0));
+
+    advance(FAST);
+    limiter.release(READ, start, OK, null);
+
+    assertThat(wakeCount.get(), equalTo(1));
+    assertThat(limiter.getInFlightCount(), equalTo(2));
+  }
+
+  @Test
+  public void whenWaiterWoken_newRequestCannotTakeItsPermit() {
+    limiter.configure(1000, 2);
+    acquireAll();
+    limiter.await(executor, this::wake);
+
+    advance(FAST);
+    limiter.release(READ, time.get() - FAST, OK, null);
+
+    assertThat(limiter.getWaitingCount(), equalTo(0));
+    assertThat(limiter.tryAcquire(), equalTo(false));
+  }
+
+  @Test
+  public void whileWaitersRemain_newRequestsAreRefused() {
+    limiter.configure(1000, 2);
+    acquireAll();
+    limiter.await(executor, this::wake);
+    limiter.await(executor, this::wake);
+
+    advance(FAST);
+    limiter.release(READ, time.get() - FAST, OK, null);
+
+    assertThat(wakeCount.get(), equalTo(1));
+    assertThat(limiter.tryAcquire(), equalTo(false));
+  }
+
+  @Test
+  public void whenTokensExhausted_waiterWokenWhenTokenAvailable() {
+    limiter.configure(10, 2);
+    acquireAll();
+    releaseAll(2, FAST);
+
+    limiter.await(executor, this::wake);
+    advance(executor.delayNanos);
+    executor.runScheduled();
+
+    assertThat(wakeCount.get(), equalTo(1));
+    assertThat(limiter.getInFlightCount(), equalTo(1));
+  }
+
+  @Test
+  public void whenWaiterDeclines_nextWaiterIsWoken() {
+    limiter.configure(1000, 2);
+    acquireAll();
+    limiter.await(executor, () -> false);
+    limiter.await(executor, this::wake);
+
+    advance(FAST);
+    limiter.release(READ, time.get() - FAST, OK, null);
+
+    assertThat(wakeCount.get(), equalTo(1));
+    assertThat(limiter.getInFlightCount(), equalTo(2));
+  }
+
+  @Test
+  public void whenOnlyWaiterDeclines_itsPermitIsReturned() {
+    limiter.configure(1000, 2);
+    acquireAll();
+    limiter.await(executor, () -> false);
+
+    advance(FAST);
+    limiter.release(READ, time.get() - FAST, OK, null);
+
+    assertThat(limiter.getInFlightCount(), equalTo(1));
+    assertThat(limiter.tryAcquire(), equalTo(true));
+  }
+
+  @Test
+  public void whenDisabledWhileRequestsWait_allWaitersAreWoken() {
+    limiter.configure(10, 2);
+    acquireAll();
+    limiter.await(executor, this::wake);
+    limiter.await(executor, this::wake);
+
+    limiter.configure(0, 2);
+
+    assertThat(wakeCount.get(), equalTo(2));
+    assertThat(limiter.getWaitingCount(), equalTo(0));
+  }
+
+  @Test
+  public void afterReconfigured_staleScheduledWakeDoesNotBlockNewWake() {
+    limiter.configure(10, 2);
+    acquireAll();
+    releaseAll(2, FAST);
+    limiter.await(executor, this::wake);
+
+    limiter.configure(5, 2);
+    executor.runScheduled();
+    advance(TimeUnit.SECONDS.toNanos(1));
+    executor.runScheduled();
+
+    assertThat(wakeCount.get(), equalTo(1));
+  }
+
+  @Test
+  public void afterWaiting_recordsQueueMetrics() {
+    limiter.configure(1000, 2);
+    long start = time.get();
+    acquireAll();
+    limiter.await(executor, this::wake);
+
+    advance(TimeUnit.MILLISECONDS.toNanos(30));
+    limiter.release(READ, start, OK, null);
+
+    assertThat(limiter.getQueuedCount(), equalTo(1L));
+    assertThat(limiter.getQueueWaitMillis(), equalTo(30L));
+  }
+
+  @Test
+  public void afterThrottledWithRetryAfter_refusesRequestsUntilRetryTime() {
+    limiter.configure(1000, 10);
+    long start = time.get();
+    limiter.tryAcquire();
+
+    limiter.release(READ, start, TOO_MANY_REQUESTS, retryAfter(2));
+
+    assertThat(limiter.tryAcquire(), equalTo(false));
+    advance(TimeUnit.SECONDS.toNanos(2));
+    assertThat(limiter.tryAcquire(), equalTo(true));
+    assertThat(limiter.getThrottledCount(), equalTo(1L));
+  }
+
+  @Test
+  public void afterThrottled_concurrencyLimitReduced() {
+    limiter.configure(1000, 10);
+    long start = time.get();
+    limiter.tryAcquire();
+
+    limiter.release(READ, start, TOO_MANY_REQUESTS, null);
+
+    assertThat(limiter.getConcurrencyLimit(), equalTo(5));
+  }
+
+  @Test
+  public void afterSlowResponses_concurrencyLimitReduced() {
+    limiter.configure(1000, 10);
+    limiter.tryAcquire();
+    limiter.release(READ, time.get() - FAST, OK, null);
+
+    releaseAll(3, SLOW);
+
+    assertThat(limiter.getConcurrencyLimit(), lessThan(10));
+  }
+
+  @Test
+  public void slowResponsesToSlowerCall_doNotReduceConcurrencyLimit() {
+    limiter.configure(1000, 10);
+    limiter.tryAcquire();
+    limiter.release(READ, time.get() - FAST, OK, null);
+
+    for (int i = 0; i < 3; i++) {
+      limiter.release(LIST, time.get() - SLOW, OK, null);
+    }
+
+    assertThat(limiter.getConcurrencyLimit(), equalTo(10));
+  }
+
+  @Test
+  public void afterFastResponses_concurrencyLimitRecovers() {
+    limiter.configure(1000, 10);
+    limiter.tryAcquire();
+    limiter.release(READ, time.get(), TOO_MANY_REQUESTS, null);
+
+    releaseAll(100, FAST);
+
+    assertThat(limiter.getConcurrencyLimit(), equalTo(10));
+  }
+
+  @Test
+  public void concurrencyLimitNeverFallsBelowMinimum() {
+    limiter.configure(1000, 10);
+
+    for (int i = 0; i < 10; i++) {
+      limiter.release(READ, time.get(), TOO_MANY_REQUESTS, null);
+    }
+
+    assertThat(limiter.getConcurrencyLimit(), equalTo(RequestRateLimiter.MIN_CONCURRENCY));
+  }
+
+  private boolean wake() {
+    wakeCount.incrementAndGet();
+    return true;
+  }
+
+  private int acquireAll() {
+    int count = 0;
+    while (limiter.tryAcquire()) {
+      count++;
+    }
+    return count;
+  }
+
+  private void releaseAll(int count, long latency) {
+    for (int i = 0; i < count; i++) {
+      limiter.release(READ, time.get() - latency, OK, null);
+    }
+  }
+
+  private void advance(long nanos) {
+    time.addAndGet(nanos);
+  }
+
+  private Map<String, List<String>> retryAfter(int seconds) {
+    return Collections.singletonMap(
+        "Retry-After", Collections.singletonList(String.valueOf(seconds)));
+  }
+
+  abstract static class ExecutorStub implements ScheduledExecutorService {
+    private List<Runnable> scheduled = new ArrayList<>();
+    private long delayNanos;
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+      scheduled.add(command);
+      delayNanos = unit.toNanos(delay);
+      return createStub(ScheduledFuture.class);
+    }
+
+    void runScheduled() {
+      List<Runnable> commands = new ArrayList<>(scheduled);
+      scheduled.clear();
+      commands.forEach(Runnable::run);
+    }
+  }
+}
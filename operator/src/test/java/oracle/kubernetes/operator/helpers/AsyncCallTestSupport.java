@@ -87,7 +87,9 @@ public class AsyncCallTestSupport extends FiberTestSupport {
         String labelSelector,
         String resourceVersion) {
       return new CannedResponseStep(
-          next, callTestSupport.getMatchingResponse(requestParams, fieldSelector, labelSelector));
+          next,
+          callTestSupport.getMatchingResponse(requestParams, fieldSelector, labelSelector),
+          requestParams);
     }
   }
 
@@ -102,6 +104,17 @@ public class AsyncCallTestSupport extends FiberTestSupport {
     return callTestSupport.createCannedResponse(forMethod);
   }
 
+  /**
+   * Primes CallBuilder to expect a possible request for the specified method.
+   *
+   * @param forMethod the name of the method
+   * @return a canned response which may be qualified by parameters and defines how CallBuilder
+   *     should react.
+   */
+  public CallTestSupport.CannedResponse createOptionalCannedResponse(String forMethod) {
+    return callTestSupport.createOptionalCannedResponse(forMethod);
+  }
+
   /**
    * Throws an exception if any of the defined responses were not invoked during the test. This
    * should generally be called during tearDown().
@@ -112,16 +125,19 @@ public class AsyncCallTestSupport extends FiberTestSupport {
 
   private static class CannedResponseStep extends Step {
     private CallTestSupport.CannedResponse cannedResponse;
+    private RequestParams requestParams;
 
-    CannedResponseStep(Step next, CallTestSupport.CannedResponse cannedResponse) {
+    CannedResponseStep(
+        Step next, CallTestSupport.CannedResponse cannedResponse, RequestParams requestParams) {
       super(next);
       this.cannedResponse = cannedResponse;
+      this.requestParams = requestParams;
     }
 
     @Override
     public NextAction apply(Packet packet) {
       CallTestSupport.CannedResponse cannedResponse = this.cannedResponse;
-      CallResponse callResponse = cannedResponse.getCallResponse();
+      CallResponse callResponse = cannedResponse.getCallResponse(requestParams);
       packet.getComponents().put(RESPONSE_COMPONENT_NAME, Component.createFor(callResponse));
 
       return doNext(packet);
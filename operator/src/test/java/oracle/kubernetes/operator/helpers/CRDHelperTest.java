@@ -7,7 +7,9 @@ package oracle.kubernetes.operator.helpers;
 import static com.meterware.simplestub.Stub.createStrictStub;
 import static oracle.kubernetes.LogMatcher.containsInfo;
 import static oracle.kubernetes.operator.VersionConstants.OPERATOR_V1;
+import static oracle.kubernetes.operator.VersionConstants.OPERATOR_V2;
 import static oracle.kubernetes.operator.logging.MessageKeys.CREATING_CRD;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 
@@ -21,9 +23,11 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import oracle.kubernetes.TestUtils;
+import oracle.kubernetes.json.SchemaGenerator;
 import oracle.kubernetes.operator.KubernetesConstants;
 import oracle.kubernetes.operator.LabelConstants;
 import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.weblogic.domain.v2.DomainSpec;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -144,6 +148,43 @@ public class CRDHelperTest {
     testSupport.runSteps(CRDHelper.createDomainCRDStep(KUBERNETES_VERSION, null));
   }
 
+  @Test
+  public void whenExistingCRDHasDifferentSchemaDigest_replaceIt() {
+    expectReadCRD().returning(withSchemaDigest(defineCRD("v2", OPERATOR_V2), "old-digest"));
+    expectSuccessfulReplaceCRD(defaultCRD);
+
+    testSupport.runSteps(CRDHelper.createDomainCRDStep(KUBERNETES_VERSION, null));
+
+    assertThat(logRecords, containsInfo(CREATING_CRD));
+  }
+
+  @Test
+  public void whenExistingCRDHasNoSchemaDigest_replaceIt() {
+    expectReadCRD().returning(defineCRD("v2", OPERATOR_V2));
+    expectSuccessfulReplaceCRD(defaultCRD);
+
+    testSupport.runSteps(CRDHelper.createDomainCRDStep(KUBERNETES_VERSION, null));
+
+    assertThat(logRecords, containsInfo(CREATING_CRD));
+  }
+
+  @Test
+  public void prebuiltSchemaDigest_matchesSchemaGeneratedFromModel() {
+    String schema =
+        SchemaGenerator.prettyPrint(
+            CRDHelper.CRDContext.createSchemaGenerator().generate(DomainSpec.class));
+
+    assertThat(
+        defaultCRD.getMetadata().getLabels().get(LabelConstants.SCHEMA_DIGEST_LABEL),
+        equalTo(SchemaGenerator.digest(schema)));
+  }
+
+  private V1beta1CustomResourceDefinition withSchemaDigest(
+      V1beta1CustomResourceDefinition crd, String digest) {
+    crd.getMetadata().putLabelsItem(LabelConstants.SCHEMA_DIGEST_LABEL, digest);
+    return crd;
+  }
+
   @Test
   public void whenReplaceFails_scheduleRetry() {
     testSupport.addRetryStrategy(retryStrategy);
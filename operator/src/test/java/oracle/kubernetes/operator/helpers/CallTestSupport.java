@@ -139,7 +139,12 @@ public class CallTestSupport {
       return function == null ? result : function.apply(requestParams);
     }
 
-    CallResponse getCallResponse() {
+    private boolean isFailure() {
+      return result == null && function == null && status != 0;
+    }
+
+    CallResponse getCallResponse(RequestParams requestParams) {
+      Object result = getResult(requestParams);
       if (result == null)
         return new CallResponse<>(null, new ApiException(), status, Collections.emptyMap());
       else
@@ -349,8 +354,13 @@ public class CallTestSupport {
     @SuppressWarnings("unchecked")
     @Override
     public <T> T execute(
-        SynchronousCallFactory<T> factory, RequestParams requestParams, Pool<ApiClient> helper) {
-      return (T) getMatchingResponse(requestParams, null, null).getResult(requestParams);
+        SynchronousCallFactory<T> factory, RequestParams requestParams, Pool<ApiClient> helper)
+        throws ApiException {
+      CannedResponse cannedResponse = getMatchingResponse(requestParams, null, null);
+      if (cannedResponse.isFailure()) {
+        throw new ApiException(cannedResponse.status, "");
+      }
+      return (T) cannedResponse.getResult(requestParams);
     }
   }
 }
@@ -0,0 +1,172 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static oracle.kubernetes.operator.LabelConstants.DOMAINRESTARTVERSION_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.DOMAINUID_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.RESOURCE_VERSION_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.SERVERNAME_LABEL;
+import static oracle.kubernetes.operator.VersionConstants.DEFAULT_DOMAIN_VERSION;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import io.kubernetes.client.models.V1Container;
+import io.kubernetes.client.models.V1ContainerStatus;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1OwnerReference;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1PodStatus;
+import io.kubernetes.client.models.V1Probe;
+import io.kubernetes.client.models.V1Service;
+import io.kubernetes.client.models.V1ServicePort;
+import io.kubernetes.client.models.V1ServiceSpec;
+import io.kubernetes.client.models.V1Toleration;
+import io.kubernetes.client.models.V1Volume;
+import io.kubernetes.client.models.V1VolumeMount;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+public class CompactResourcesTest {
+  private static final DateTime CREATION_TIME = new DateTime(2018, 10, 4, 21, 7, 0);
+
+  @Test
+  public void whenPodIsNull_compactPodIsNull() {
+    assertThat(CompactResources.compact((V1Pod) null), nullValue());
+  }
+
+  @Test
+  public void compactPod_retainsFieldsUsedByOperator() {
+    V1Pod compact = CompactResources.compact(createPod());
+
+    assertThat(compact.getMetadata(), equalTo(createMetadata()));
+    assertThat(compact.getSpec().getNodeName(), equalTo("node1"));
+    assertThat(compact.getSpec().getContainers(), contains(createContainer()));
+    assertThat(compact.getStatus().getPhase(), equalTo("Running"));
+  }
+
+  @Test
+  public void compactPod_omitsFieldsNotUsedByOperator() {
+    V1Pod compact = CompactResources.compact(createPod());
+
+    assertThat(compact.getSpec().getTolerations(), nullValue());
+    assertThat(compact.getStatus().getContainerStatuses(), nullValue());
+    assertThat(compact.getStatus().getPodIP(), nullValue());
+  }
+
+  @Test
+  public void compactPod_retainsOnlyReadyCondition() {
+    V1Pod compact = CompactResources.compact(createPod());
+
+    assertThat(
+        compact.getStatus().getConditions(),
+        contains(new V1PodCondition().type("Ready").status("True")));
+  }
+
+  @Test
+  public void compactPod_remainsValidAgainstModel() {
+    V1Pod model =
+        new V1Pod()
+            .metadata(createMetadata().resourceVersion(null).creationTimestamp(null))
+            .spec(
+                new V1PodSpec()
+                    .addVolumesItem(createVolume())
+                    .addContainersItem(createContainer()));
+
+    assertThat(
+        PodStepContext.isCurrentPodValid(model, CompactResources.compact(createPod())),
+        equalTo(true));
+  }
+
+  @Test
+  public void whenServiceIsNull_compactServiceIsNull() {
+    assertThat(CompactResources.compact((V1Service) null), nullValue());
+  }
+
+  @Test
+  public void compactService_retainsFieldsUsedByOperator() {
+    V1Service compact = CompactResources.compact(createService());
+
+    assertThat(compact.getMetadata(), equalTo(createMetadata()));
+    assertThat(compact.getSpec().getType(), equalTo("NodePort"));
+    assertThat(compact.getSpec().getClusterIP(), equalTo("10.0.0.1"));
+    assertThat(compact.getSpec().getPorts(), contains(createServicePort()));
+  }
+
+  @Test
+  public void compactService_omitsFieldsNotUsedByOperator() {
+    V1Service compact = CompactResources.compact(createService());
+
+    assertThat(compact.getSpec().getSessionAffinity(), nullValue());
+    assertThat(compact.getStatus(), nullValue());
+  }
+
+  private V1Pod createPod() {
+    return new V1Pod()
+        .metadata(createMetadata().uid("1234").addOwnerReferencesItem(new V1OwnerReference()))
+        .spec(
+            new V1PodSpec()
+                .nodeName("node1")
+                .addVolumesItem(createVolume())
+                .addContainersItem(createContainer().terminationMessagePath("/dev/termination-log"))
+                .addTolerationsItem(new V1Toleration().key("node.kubernetes.io/not-ready")))
+        .status(
+            new V1PodStatus()
+                .phase("Running")
+                .podIP("10.1.1.1")
+                .addConditionsItem(new V1PodCondition().type("Initialized").status("True"))
+                .addConditionsItem(
+                    new V1PodCondition()
+                        .type("Ready")
+                        .status("True")
+                        .lastTransitionTime(CREATION_TIME))
+                .addContainerStatusesItem(new V1ContainerStatus().name("weblogic-server")));
+  }
+
+  private V1ObjectMeta createMetadata() {
+    return new V1ObjectMeta()
+        .name("domain1-managed-server1")
+        .namespace("namespace")
+        .resourceVersion("123")
+        .creationTimestamp(CREATION_TIME)
+        .putLabelsItem(RESOURCE_VERSION_LABEL, DEFAULT_DOMAIN_VERSION)
+        .putLabelsItem(DOMAINUID_LABEL, "domain1")
+        .putLabelsItem(SERVERNAME_LABEL, "managed-server1")
+        .putLabelsItem(DOMAINRESTARTVERSION_LABEL, "2")
+        .putAnnotationsItem("prometheus.io/port", "8001");
+  }
+
+  private V1Container createContainer() {
+    return new V1Container()
+        .name("weblogic-server")
+        .image("store/oracle/weblogic:12.2.1.3")
+        .imagePullPolicy("IfNotPresent")
+        .livenessProbe(new V1Probe().periodSeconds(10))
+        .readinessProbe(new V1Probe().periodSeconds(5))
+        .addVolumeMountsItem(new V1VolumeMount().name("scripts").mountPath("/scripts"));
+  }
+
+  private V1Volume createVolume() {
+    return new V1Volume().name("scripts");
+  }
+
+  private V1Service createService() {
+    return new V1Service()
+        .metadata(createMetadata())
+        .spec(
+            new V1ServiceSpec()
+                .type("NodePort")
+                .clusterIP("10.0.0.1")
+                .sessionAffinity("None")
+                .addPortsItem(createServicePort()));
+  }
+
+  private V1ServicePort createServicePort() {
+    return new V1ServicePort().port(8001).nodePort(30001);
+  }
+}
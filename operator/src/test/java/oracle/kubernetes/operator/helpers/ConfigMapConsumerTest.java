@@ -0,0 +1,176 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static com.meterware.simplestub.Stub.createStrictStub;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConfigMapConsumerTest {
+  private Path mountPoint;
+  private ExecutorStub executor = createStrictStub(ExecutorStub.class);
+  private AtomicInteger updateCount = new AtomicInteger();
+  private ConfigMapConsumer consumer;
+  private int version;
+
+  @Before
+  public void setUp() throws Exception {
+    mountPoint = Files.createTempDirectory("configmap");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (consumer != null) consumer.close();
+    try (Stream<Path> paths = Files.walk(mountPoint)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Test
+  public void readsKeysFromMountedFiles() throws Exception {
+    mountConfigMap("key1", "value1", "key2", "value2");
+
+    createConsumer();
+
+    assertThat(consumer.size(), equalTo(2));
+    assertThat(consumer.get("key1"), equalTo("value1"));
+    assertThat(consumer.get("key2"), equalTo("value2"));
+  }
+
+  @Test
+  public void ignoresHiddenEntriesUsedForUpdates() throws Exception {
+    mountConfigMap("key1", "value1");
+
+    createConsumer();
+
+    assertThat(consumer.keySet().contains("..data"), equalTo(false));
+  }
+
+  @Test
+  public void whenMountPointMissing_isEmpty() throws Exception {
+    consumer = new ConfigMapConsumer(executor, "/no/such/directory", this::countUpdate, false);
+
+    assertThat(consumer.isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void afterConfigMapUpdated_reloadSeesNewValues() throws Exception {
+    mountConfigMap("key1", "value1");
+    createConsumer();
+
+    mountConfigMap("key1", "value2");
+    consumer.reload();
+
+    assertThat(consumer.get("key1"), equalTo("value2"));
+    assertThat(updateCount.get(), equalTo(1));
+  }
+
+  @Test
+  public void afterKeyRemoved_reloadNoLongerSeesIt() throws Exception {
+    mountConfigMap("key1", "value1", "key2", "value2");
+    createConsumer();
+
+    mountConfigMap("key1", "value1");
+    Files.delete(mountPoint.resolve("key2"));
+    consumer.reload();
+
+    assertThat(consumer.get("key2"), nullValue());
+  }
+
+  @Test
+  public void whenNothingChanged_reloadDoesNotNotify() throws Exception {
+    mountConfigMap("key1", "value1");
+    createConsumer();
+
+    mountConfigMap("key1", "value1");
+    consumer.reload();
+
+    assertThat(updateCount.get(), equalTo(0));
+  }
+
+  @Test
+  public void changeListenersAreNotifiedOfChanges() throws Exception {
+    mountConfigMap("key1", "value1");
+    createConsumer();
+    AtomicInteger listenerCount = new AtomicInteger();
+    consumer.addChangeListener(listenerCount::incrementAndGet);
+
+    mountConfigMap("key1", "value2");
+    consumer.reload();
+
+    assertThat(listenerCount.get(), equalTo(1));
+  }
+
+  @Test
+  public void whenWatching_configMapUpdateIsSeen() throws Exception {
+    mountConfigMap("key1", "value1");
+    ScheduledExecutorService realExecutor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      CountDownLatch updated = new CountDownLatch(1);
+      consumer =
+          new ConfigMapConsumer(realExecutor, mountPoint.toString(), updated::countDown, true);
+
+      mountConfigMap("key1", "value2");
+
+      assertThat(updated.await(30, TimeUnit.SECONDS), equalTo(true));
+      assertThat(consumer.get("key1"), equalTo("value2"));
+    } finally {
+      realExecutor.shutdownNow();
+    }
+  }
+
+  private void createConsumer() {
+    consumer = new ConfigMapConsumer(executor, mountPoint.toString(), this::countUpdate, false);
+  }
+
+  private void countUpdate() {
+    updateCount.incrementAndGet();
+  }
+
+  // mounts the specified keys and values the way Kubernetes does: in a new timestamped directory,
+  // made current by atomically replacing the ..data link, through which each key link resolves
+  private void mountConfigMap(String... keysAndValues) throws IOException {
+    Path dataDir = Files.createDirectory(mountPoint.resolve("..version" + ++version));
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      Files.write(dataDir.resolve(keysAndValues[i]), keysAndValues[i + 1].getBytes());
+    }
+
+    Path newLink =
+        Files.createSymbolicLink(mountPoint.resolve("..data_tmp"), dataDir.getFileName());
+    Files.move(newLink, mountPoint.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      Path keyLink = mountPoint.resolve(keysAndValues[i]);
+      if (!Files.exists(keyLink, LinkOption.NOFOLLOW_LINKS)) {
+        Files.createSymbolicLink(keyLink, Paths.get("..data", keysAndValues[i]));
+      }
+    }
+  }
+
+  abstract static class ExecutorStub implements ScheduledExecutorService {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  }
+}
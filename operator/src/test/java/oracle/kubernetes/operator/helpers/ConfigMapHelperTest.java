@@ -13,7 +13,11 @@ import static oracle.kubernetes.operator.ProcessingConstants.SCRIPT_CONFIG_MAP;
 import static oracle.kubernetes.operator.logging.MessageKeys.CM_CREATED;
 import static oracle.kubernetes.operator.logging.MessageKeys.CM_EXISTS;
 import static oracle.kubernetes.operator.logging.MessageKeys.CM_REPLACED;
+import static org.hamcrest.Matchers.both;
 import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
 import static org.junit.Assert.assertFalse;
@@ -32,6 +36,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.stream.Collectors;
@@ -39,6 +44,7 @@ import java.util.stream.Stream;
 import oracle.kubernetes.TestUtils;
 import oracle.kubernetes.operator.KubernetesConstants;
 import oracle.kubernetes.operator.LabelConstants;
+import oracle.kubernetes.operator.ProcessingConstants;
 import oracle.kubernetes.operator.VersionConstants;
 import oracle.kubernetes.operator.wlsconfig.NetworkAccessPoint;
 import oracle.kubernetes.operator.wlsconfig.WlsClusterConfig;
@@ -65,6 +71,7 @@ public class ConfigMapHelperTest {
     "stopServer.sh",
     "introspectDomain.sh",
     "introspectDomain.py",
+    "introspectRequest.sh",
     "startNodeManager.sh",
     "traceUtils.py",
     "traceUtils.sh",
@@ -156,6 +163,8 @@ public class ConfigMapHelperTest {
             .withLogLevel(Level.FINE));
     mementos.add(testSupport.installRequestStepFactory());
     mementos.add(TestComparator.install());
+    mementos.add(
+        StaticStubSupport.install(ConfigMapHelper.class, "topologies", new ConcurrentHashMap<>()));
   }
 
   @After
@@ -597,4 +606,96 @@ public class ConfigMapHelperTest {
         "The dynamic cluster \"mycluster\"'s dynamic servers use calculated listen ports.",
         domainTopology.getValidationErrors().get(0));
   }
+
+  @Test
+  public void whenTopologyNotCached_readIntrospectorConfigMapAndCacheTopology() {
+    testSupport.addDomainPresenceInfo(new DomainPresenceInfo(DOMAIN_NS, DOMAIN_UID));
+    expectReadIntrospectorConfigMap().returning(defineIntrospectorConfigMap("1"));
+
+    Packet packet =
+        testSupport.runSteps(ConfigMapHelper.readExistingSituConfigMap(DOMAIN_NS, DOMAIN_UID));
+
+    assertThat(packet.get(ProcessingConstants.DOMAIN_TOPOLOGY), notNullValue());
+    assertThat(
+        ConfigMapHelper.getCachedTopology(DOMAIN_NS, DOMAIN_UID),
+        sameInstance(packet.get(ProcessingConstants.DOMAIN_TOPOLOGY)));
+  }
+
+  @Test
+  public void whenTopologyCached_useItWithoutReadingIntrospectorConfigMap() {
+    ConfigMapHelper.onIntrospectorConfigMapEvent("ADDED", defineIntrospectorConfigMap("1"));
+
+    Packet packet =
+        testSupport.runSteps(ConfigMapHelper.readExistingSituConfigMap(DOMAIN_NS, DOMAIN_UID));
+
+    assertThat(
+        packet.get(ProcessingConstants.DOMAIN_TOPOLOGY),
+        sameInstance(ConfigMapHelper.getCachedTopology(DOMAIN_NS, DOMAIN_UID)));
+  }
+
+  @Test
+  public void whenIntrospectorConfigMapModifiedWithSameVersion_keepCachedTopology() {
+    ConfigMapHelper.onIntrospectorConfigMapEvent("ADDED", defineIntrospectorConfigMap("1"));
+    WlsDomainConfig cached = ConfigMapHelper.getCachedTopology(DOMAIN_NS, DOMAIN_UID);
+
+    ConfigMapHelper.onIntrospectorConfigMapEvent("MODIFIED", defineIntrospectorConfigMap("1"));
+
+    assertThat(ConfigMapHelper.getCachedTopology(DOMAIN_NS, DOMAIN_UID), sameInstance(cached));
+  }
+
+  @Test
+  public void whenIntrospectorConfigMapModifiedWithNewVersion_replaceCachedTopology() {
+    ConfigMapHelper.onIntrospectorConfigMapEvent("ADDED", defineIntrospectorConfigMap("1"));
+    WlsDomainConfig cached = ConfigMapHelper.getCachedTopology(DOMAIN_NS, DOMAIN_UID);
+
+    ConfigMapHelper.onIntrospectorConfigMapEvent("MODIFIED", defineIntrospectorConfigMap("2"));
+
+    assertThat(
+        ConfigMapHelper.getCachedTopology(DOMAIN_NS, DOMAIN_UID),
+        both(notNullValue()).and(not(sameInstance(cached))));
+  }
+
+  @Test
+  public void whenIntrospectorConfigMapDeleted_discardCachedTopology() {
+    ConfigMapHelper.onIntrospectorConfigMapEvent("ADDED", defineIntrospectorConfigMap("1"));
+
+    ConfigMapHelper.onIntrospectorConfigMapEvent("DELETED", defineIntrospectorConfigMap("1"));
+
+    assertThat(ConfigMapHelper.getCachedTopology(DOMAIN_NS, DOMAIN_UID), nullValue());
+  }
+
+  @Test
+  public void whenNamespaceForgotten_discardCachedTopology() {
+    ConfigMapHelper.onIntrospectorConfigMapEvent("ADDED", defineIntrospectorConfigMap("1"));
+
+    ConfigMapHelper.forgetNamespace(DOMAIN_NS);
+
+    assertThat(ConfigMapHelper.getCachedTopology(DOMAIN_NS, DOMAIN_UID), nullValue());
+  }
+
+  @Test
+  public void whenOtherConfigMapAdded_dontCacheTopology() {
+    ConfigMapHelper.onIntrospectorConfigMapEvent("ADDED", defaultConfigMap);
+
+    assertThat(ConfigMapHelper.getCachedTopology(DOMAIN_NS, DOMAIN_UID), nullValue());
+  }
+
+  private CallTestSupport.CannedResponse expectReadIntrospectorConfigMap() {
+    return testSupport
+        .createCannedResponse("readConfigMap")
+        .withNamespace(DOMAIN_NS)
+        .withName(ConfigMapHelper.SitConfigMapContext.getConfigMapName(DOMAIN_UID));
+  }
+
+  private V1ConfigMap defineIntrospectorConfigMap(String resourceVersion) {
+    Map<String, String> data = new HashMap<>();
+    data.put("topology.yaml", DOMAIN_TOPOLOGY);
+    return new V1ConfigMap()
+        .metadata(
+            new V1ObjectMeta()
+                .name(ConfigMapHelper.SitConfigMapContext.getConfigMapName(DOMAIN_UID))
+                .namespace(DOMAIN_NS)
+                .resourceVersion(resourceVersion))
+        .data(data);
+  }
 }
@@ -5,9 +5,12 @@
 package oracle.kubernetes.operator.helpers;
 
 import static com.meterware.simplestub.Stub.createStrictStub;
+import static java.net.HttpURLConnection.HTTP_FORBIDDEN;
 import static oracle.kubernetes.LogMatcher.containsInfo;
+import static oracle.kubernetes.operator.logging.MessageKeys.INTROSPECTION_TIMING;
 import static oracle.kubernetes.operator.logging.MessageKeys.JOB_CREATED;
 import static oracle.kubernetes.operator.logging.MessageKeys.JOB_DELETED;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.AllOf.allOf;
@@ -24,6 +27,7 @@ import java.util.logging.LogRecord;
 import oracle.kubernetes.TestUtils;
 import oracle.kubernetes.operator.KubernetesConstants;
 import oracle.kubernetes.operator.LabelConstants;
+import oracle.kubernetes.operator.OperatorMetrics;
 import oracle.kubernetes.operator.TuningParameters;
 import oracle.kubernetes.operator.TuningParameters.WatchTuning;
 import oracle.kubernetes.operator.VersionConstants;
@@ -43,6 +47,7 @@ public class DomainIntrospectorJobTest {
   static final String NS = "namespace";
   private static final String DOMAIN_NAME = "domain1";
   private static final String UID = "uid1";
+  private static final String JOB_UID = "job-uid";
   static final String ADMIN_SERVER = "ADMIN_SERVER";
   static final Integer ADMIN_PORT = 7001;
 
@@ -134,10 +139,27 @@ public class DomainIntrospectorJobTest {
     // mementos.add(TuningParametersStub.install());
 
     testSupport.addDomainPresenceInfo(domainPresenceInfo);
+    expectIntrospectorPodUnavailable();
+  }
+
+  // these tests cover the introspector job, which runs when no introspector pod can be created
+  private void expectIntrospectorPodUnavailable() {
+    testSupport
+        .createCannedResponse("readPod")
+        .withNamespace(NS)
+        .withName(LegalNames.toIntrospectorPodName(UID))
+        .failingWithStatus(CallBuilder.NOT_FOUND);
+    testSupport
+        .createCannedResponse("createPod")
+        .withNamespace(NS)
+        .ignoringBody()
+        .failingWithStatus(HTTP_FORBIDDEN);
   }
 
   private String[] getMessageKeys() {
-    return new String[] {getJobCreatedMessageKey(), getJobDeletedMessageKey()};
+    return new String[] {
+      getJobCreatedMessageKey(), getJobDeletedMessageKey(), INTROSPECTION_TIMING
+    };
   }
 
   @After
@@ -191,7 +213,7 @@ public class DomainIntrospectorJobTest {
     expectCreateJob(jobWithName(getJobName())).returning(createJobModel());
     expectListPods(NS).returning(createListPods());
     expectReadPodLog(getJobName(), NS).returning(introspectResult);
-    expectDeleteJob(getJobName(), NS, new V1DeleteOptions().propagationPolicy("Foreground"))
+    expectDeleteJob(getJobName(), NS, new V1DeleteOptions().propagationPolicy("Background"))
         .returning(new V1Status());
     expectReadConfigMap(ConfigMapHelper.SitConfigMapContext.getConfigMapName(UID), NS)
         .returning(new V1ConfigMap());
@@ -202,9 +224,57 @@ public class DomainIntrospectorJobTest {
     assertThat(logRecords, containsInfo(getJobCreatedMessageKey()));
 
     assertThat(logRecords, containsInfo(getJobDeletedMessageKey()));
+    assertThat(logRecords, containsInfo(INTROSPECTION_TIMING));
     testSupport.verifyAllDefinedResponsesInvoked();
   }
 
+  @Test
+  public void afterIntrospection_timingIsRecorded() {
+    expectSuccessfulIntrospection(createListPods(), getJobName());
+
+    testSupport.runSteps(getStepFactory(), terminalStep);
+    logRecords.clear();
+
+    assertThat(
+        OperatorMetrics.getInstance().toPrometheusText(),
+        containsString(
+            "weblogic_operator_introspection_phase_seconds{namespace=\""
+                + NS
+                + "\",domainUID=\""
+                + UID
+                + "\",phase=\"total\"}"));
+  }
+
+  @Test
+  public void whenPodOfEarlierJobListed_readLogOfCurrentJobPod() {
+    expectSuccessfulIntrospection(
+        new V1PodList()
+            .addItemsItem(createJobPod(getJobName() + "-current", JOB_UID))
+            .addItemsItem(createJobPod(getJobName() + "-earlier", "earlier-job-uid")),
+        getJobName() + "-current");
+
+    testSupport.runSteps(getStepFactory(), terminalStep);
+    logRecords.clear();
+
+    testSupport.verifyAllDefinedResponsesInvoked();
+  }
+
+  private void expectSuccessfulIntrospection(V1PodList pods, String podName) {
+    expectCreateJob(jobWithName(getJobName()))
+        .returning(createJobModel().metadata(createJobMetadata().uid(JOB_UID)));
+    expectListPods(NS).returning(pods);
+    expectReadPodLog(podName, NS).returning(introspectResult);
+    expectDeleteJob(getJobName(), NS, new V1DeleteOptions().propagationPolicy("Background"))
+        .returning(new V1Status());
+    expectReadConfigMap(ConfigMapHelper.SitConfigMapContext.getConfigMapName(UID), NS)
+        .returning(new V1ConfigMap());
+  }
+
+  private V1Pod createJobPod(String name, String jobUid) {
+    return new V1Pod()
+        .metadata(new V1ObjectMeta().name(name).putLabelsItem("controller-uid", jobUid));
+  }
+
   @Test
   public void whenNoJob_retryOnFailure() {
     testSupport.addRetryStrategy(retryStrategy);
@@ -251,7 +321,7 @@ public class DomainIntrospectorJobTest {
     return testSupport
         .createCannedResponse("listPod")
         .withNamespace(namespace)
-        .withLabelSelectors(LabelConstants.JOBNAME_LABEL);
+        .withLabelSelectors(LabelConstants.JOBNAME_LABEL + "=" + getJobName());
   }
 
   CallTestSupport.CannedResponse expectReadPodLog(String jobName, String namespace) {
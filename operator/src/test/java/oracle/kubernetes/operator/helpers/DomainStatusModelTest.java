@@ -0,0 +1,176 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import oracle.kubernetes.weblogic.domain.v2.DomainStatus;
+import oracle.kubernetes.weblogic.domain.v2.ServerHealth;
+import oracle.kubernetes.weblogic.domain.v2.ServerStatus;
+import org.hamcrest.Matcher;
+import org.junit.Test;
+
+public class DomainStatusModelTest {
+  private static final String RUNNING = "RUNNING";
+  private static final String SHUTDOWN = "SHUTDOWN";
+
+  private final DomainStatusModel model = new DomainStatusModel();
+  private final DomainStatus status = new DomainStatus();
+  private JsonPatch patch;
+
+  private boolean recordPass(String... serverStates) {
+    model.beginPass();
+    for (int i = 0; i < serverStates.length; i += 2) {
+      model.recordServer(serverStates[i], serverStates[i + 1], "cluster1", "node1", null);
+    }
+    patch = new JsonPatch();
+    return model.apply(status, patch);
+  }
+
+  @Test
+  public void whenNoServersRecorded_statusUnchanged() {
+    assertThat(recordPass(), is(false));
+    assertThat(status.getServers(), empty());
+  }
+
+  @Test
+  public void onFirstPass_createServerList() {
+    assertThat(recordPass("ms2", RUNNING, "ms1", SHUTDOWN), is(true));
+
+    assertThat(serverNames(status.getServers()), contains("ms1", "ms2"));
+  }
+
+  @Test
+  public void whenNothingChanged_statusUnchanged() {
+    recordPass("ms1", RUNNING, "ms2", RUNNING);
+    List<ServerStatus> servers = status.getServers();
+
+    assertThat(recordPass("ms1", RUNNING, "ms2", RUNNING), is(false));
+    assertThat(status.getServers(), sameInstance(servers));
+  }
+
+  @Test
+  public void whenStateChanged_updateExistingEntryInPlace() {
+    recordPass("ms1", RUNNING, "ms2", RUNNING);
+    List<ServerStatus> servers = status.getServers();
+    ServerStatus ms2 = servers.get(1);
+
+    assertThat(recordPass("ms1", RUNNING, "ms2", SHUTDOWN), is(true));
+    assertThat(status.getServers(), sameInstance(servers));
+    assertThat(status.getServers().get(1), sameInstance(ms2));
+    assertThat(ms2.getState(), equalTo(SHUTDOWN));
+  }
+
+  @Test
+  public void whenServerRemoved_replaceServerList() {
+    recordPass("ms1", RUNNING, "ms2", RUNNING);
+
+    assertThat(recordPass("ms1", RUNNING), is(true));
+    assertThat(serverNames(status.getServers()), contains("ms1"));
+  }
+
+  @Test
+  public void onFirstPass_patchReplacesServerList() {
+    recordPass("ms1", RUNNING);
+
+    assertThat(patch.getOperations(), contains(operation("add", "/status/servers")));
+  }
+
+  @Test
+  public void whenStateChanged_patchReplacesOnlyChangedServer() {
+    recordPass("ms1", RUNNING, "ms2", RUNNING);
+
+    recordPass("ms1", RUNNING, "ms2", SHUTDOWN);
+    assertThat(patch.getOperations(), contains(operation("replace", "/status/servers/1")));
+  }
+
+  @Test
+  public void whenNothingChanged_patchIsEmpty() {
+    recordPass("ms1", RUNNING);
+
+    recordPass("ms1", RUNNING);
+    assertThat(patch.isEmpty(), is(true));
+  }
+
+  @Test
+  public void whenStateUpdatedByEvent_eventValueOverridesPass() {
+    recordPass("ms1", RUNNING);
+    model.updateState("ms1", SHUTDOWN);
+
+    assertThat(recordPass("ms1", RUNNING), is(true));
+    assertThat(status.getServers().get(0).getState(), equalTo(SHUTDOWN));
+  }
+
+  @Test
+  public void afterPassAppliesEventValue_nextPassValueIsUsed() {
+    recordPass("ms1", RUNNING);
+    model.updateState("ms1", SHUTDOWN);
+    recordPass("ms1", RUNNING);
+
+    assertThat(recordPass("ms1", RUNNING), is(true));
+    assertThat(status.getServers().get(0).getState(), equalTo(RUNNING));
+  }
+
+  @Test
+  public void whenNodeNameUpdatedByEvent_eventValueOverridesPass() {
+    recordPass("ms1", RUNNING);
+    model.updateNodeName("ms1", "node2");
+
+    assertThat(recordPass("ms1", RUNNING), is(true));
+    assertThat(status.getServers().get(0).getNodeName(), equalTo("node2"));
+  }
+
+  @Test
+  public void whenHealthUpdated_statusHasNewHealth() {
+    recordPass("ms1", RUNNING);
+    ServerHealth health = new ServerHealth().withOverallHealth("ok");
+    model.updateHealth("ms1", health);
+
+    assertThat(recordPass("ms1", RUNNING), is(true));
+    assertThat(status.getServers().get(0).getHealth(), sameInstance(health));
+  }
+
+  @Test
+  public void whenStatusReplacedWithEqualList_adoptIt() {
+    recordPass("ms1", RUNNING);
+    List<ServerStatus> replacement =
+        new ArrayList<>(
+            Arrays.asList(
+                new ServerStatus()
+                    .withServerName("ms1")
+                    .withState(RUNNING)
+                    .withClusterName("cluster1")
+                    .withNodeName("node1")));
+    status.setServers(replacement);
+
+    assertThat(recordPass("ms1", RUNNING), is(false));
+    assertThat(recordPass("ms1", SHUTDOWN), is(true));
+    assertThat(status.getServers(), sameInstance(replacement));
+    assertThat(replacement.get(0).getState(), equalTo(SHUTDOWN));
+  }
+
+  private static Matcher<Map<String, Object>> operation(String op, String path) {
+    return allOf(hasEntry("op", (Object) op), hasEntry("path", (Object) path));
+  }
+
+  private static List<String> serverNames(List<ServerStatus> servers) {
+    List<String> names = new ArrayList<>();
+    for (ServerStatus ss : servers) {
+      names.add(ss.getServerName());
+    }
+    return names;
+  }
+}
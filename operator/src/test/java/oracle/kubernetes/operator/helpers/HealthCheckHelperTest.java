@@ -10,13 +10,20 @@ import static oracle.kubernetes.operator.helpers.AuthorizationProxy.Operation.*;
 import static oracle.kubernetes.operator.logging.MessageKeys.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 
 import com.meterware.simplestub.Memento;
+import com.meterware.simplestub.StaticStubSupport;
 import io.kubernetes.client.models.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.LogRecord;
 import java.util.stream.Collectors;
 import oracle.kubernetes.TestUtils;
@@ -92,6 +99,12 @@ public class HealthCheckHelperTest {
     mementos.add(TestUtils.silenceOperatorLogger().collectLogMessages(logRecords, LOG_KEYS));
     mementos.add(ClientFactoryStub.install());
     mementos.add(testSupport.installSynchronousCallDispatcher());
+    mementos.add(
+        StaticStubSupport.install(
+            HealthCheckHelper.class, "clusterAccessReviewed", new AtomicBoolean()));
+    mementos.add(
+        StaticStubSupport.install(
+            HealthCheckHelper.class, "reviewedNamespaces", ConcurrentHashMap.newKeySet()));
   }
 
   @After
@@ -146,6 +159,58 @@ public class HealthCheckHelperTest {
     assertThat(logRecords, containsWarning(VERIFY_ACCESS_DENIED));
   }
 
+  @Test
+  public void whenRulesReviewNotSupported_reviewClusterAccessOnlyOnce() {
+    List<V1ResourceAttributes> clusterChecks = new ArrayList<>();
+    testSupport
+        .createCannedResponse("selfSubjectAccessReview")
+        .computingResult(requestParams -> allowAccess(requestParams, clusterChecks));
+
+    for (String ns : TARGET_NAMESPACES) {
+      HealthCheckHelper.performSecurityChecks(MINIMAL_KUBERNETES_VERSION, OPERATOR_NAMESPACE, ns);
+    }
+
+    assertThat(clusterChecks, not(empty()));
+    assertThat(clusterChecks, hasSize(new HashSet<>(clusterChecks).size()));
+  }
+
+  @Test
+  public void whenNamespaceAlreadyReviewed_dontReviewItAgain() {
+    List<V1ResourceAttributes> clusterChecks = new ArrayList<>();
+    List<V1ResourceAttributes> namespaceChecks = new ArrayList<>();
+    testSupport
+        .createCannedResponse("selfSubjectAccessReview")
+        .computingResult(
+            requestParams -> allowAccess(requestParams, clusterChecks, namespaceChecks));
+    HealthCheckHelper.performSecurityChecks(MINIMAL_KUBERNETES_VERSION, OPERATOR_NAMESPACE, NS1);
+    int reviewCount = namespaceChecks.size();
+
+    HealthCheckHelper.performSecurityChecks(MINIMAL_KUBERNETES_VERSION, OPERATOR_NAMESPACE, NS1);
+
+    assertThat(reviewCount, not(equalTo(0)));
+    assertThat(namespaceChecks, hasSize(reviewCount));
+  }
+
+  private V1SelfSubjectAccessReview allowAccess(
+      RequestParams requestParams, List<V1ResourceAttributes> clusterChecks) {
+    return allowAccess(requestParams, clusterChecks, new ArrayList<>());
+  }
+
+  private V1SelfSubjectAccessReview allowAccess(
+      RequestParams requestParams,
+      List<V1ResourceAttributes> clusterChecks,
+      List<V1ResourceAttributes> namespaceChecks) {
+    V1SelfSubjectAccessReview review = (V1SelfSubjectAccessReview) requestParams.body;
+    V1ResourceAttributes attributes = review.getSpec().getResourceAttributes();
+    if (attributes.getNamespace() == null) {
+      clusterChecks.add(attributes);
+    } else {
+      namespaceChecks.add(attributes);
+    }
+    review.setStatus(new V1SubjectAccessReviewStatus().allowed(true));
+    return review;
+  }
+
   @Test
   public void whenRulesReviewSupported_accessGrantedForEverything() {
     expectSelfSubjectRulesReview();
@@ -0,0 +1,140 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static com.meterware.simplestub.Stub.createStrictStub;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import com.meterware.simplestub.Memento;
+import com.meterware.simplestub.StaticStubSupport;
+import io.kubernetes.client.ApiClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import oracle.kubernetes.operator.TuningParameters;
+import oracle.kubernetes.operator.TuningParametersImpl;
+import oracle.kubernetes.operator.helpers.HttpTransport.Profile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HttpTransportTest {
+  private static final int WATCH_LIFETIME = 45;
+  private static final int LIST_READ_TIMEOUT = 25;
+  private static final int MUTATE_READ_TIMEOUT = 7;
+  private static final int CONNECT_TIMEOUT = 3;
+
+  private static int watchLifetime;
+
+  private HttpTransport transport = new HttpTransport();
+  private List<Memento> mementos = new ArrayList<>();
+
+  @Before
+  public void setUp() throws Exception {
+    watchLifetime = WATCH_LIFETIME;
+    mementos.add(
+        StaticStubSupport.install(
+            TuningParametersImpl.class, "INSTANCE", createStrictStub(TuningParametersStub.class)));
+  }
+
+  @After
+  public void tearDown() {
+    for (Memento memento : mementos) memento.revert();
+  }
+
+  @Test
+  public void clientsWithSameProfile_shareHttpClient() {
+    ApiClient client1 = transport.configure(new ApiClient(), Profile.MUTATE);
+    ApiClient client2 = transport.configure(new ApiClient(), Profile.MUTATE);
+
+    assertThat(client1.getHttpClient(), sameInstance(client2.getHttpClient()));
+  }
+
+  @Test
+  public void clientsWithDifferentProfiles_shareConnectionPool() {
+    ApiClient watchClient = transport.configure(new ApiClient(), Profile.WATCH);
+    ApiClient listClient = transport.configure(new ApiClient(), Profile.LIST);
+
+    assertThat(watchClient.getHttpClient(), not(sameInstance(listClient.getHttpClient())));
+    assertThat(
+        watchClient.getHttpClient().getConnectionPool(),
+        sameInstance(listClient.getHttpClient().getConnectionPool()));
+  }
+
+  @Test
+  public void watchClient_readTimeoutExceedsWatchLifetime() {
+    ApiClient client = transport.configure(new ApiClient(), Profile.WATCH);
+
+    assertThat(
+        client.getHttpClient().getReadTimeout(),
+        equalTo(millis(WATCH_LIFETIME + HttpTransport.ADDITIONAL_TIMEOUT_FOR_WATCH_SOCKET)));
+  }
+
+  @Test
+  public void afterWatchLifetimeChanged_reconfiguredClientUsesNewReadTimeout() {
+    ApiClient client = transport.configure(new ApiClient(), Profile.WATCH);
+    watchLifetime = WATCH_LIFETIME * 2;
+
+    transport.configure(client, Profile.WATCH);
+    assertThat(
+        client.getHttpClient().getReadTimeout(),
+        equalTo(millis(watchLifetime + HttpTransport.ADDITIONAL_TIMEOUT_FOR_WATCH_SOCKET)));
+  }
+
+  @Test
+  public void whenTimeoutsUnchanged_reconfiguredClientKeepsHttpClient() {
+    ApiClient client = transport.configure(new ApiClient(), Profile.WATCH);
+    Object httpClient = client.getHttpClient();
+
+    transport.configure(client, Profile.WATCH);
+    assertThat(client.getHttpClient(), sameInstance(httpClient));
+  }
+
+  @Test
+  public void listClient_usesListReadTimeout() {
+    ApiClient client = transport.configure(new ApiClient(), Profile.LIST);
+
+    assertThat(client.getHttpClient().getReadTimeout(), equalTo(millis(LIST_READ_TIMEOUT)));
+  }
+
+  @Test
+  public void mutateClient_usesMutateTimeouts() {
+    ApiClient client = transport.configure(new ApiClient(), Profile.MUTATE);
+
+    assertThat(client.getHttpClient().getReadTimeout(), equalTo(millis(MUTATE_READ_TIMEOUT)));
+    assertThat(client.getHttpClient().getConnectTimeout(), equalTo(millis(CONNECT_TIMEOUT)));
+  }
+
+  @Test
+  public void afterHandshakesRecorded_countsTotalAndRecentHandshakes() {
+    long now = System.currentTimeMillis();
+    transport.recordHandshake(now - TimeUnit.MINUTES.toMillis(2));
+    transport.recordHandshake(now - TimeUnit.SECONDS.toMillis(10));
+    transport.recordHandshake(now);
+
+    assertThat(transport.getHandshakeCount(), equalTo(3L));
+    assertThat(transport.getHandshakesPerMinute(), equalTo(2));
+  }
+
+  private static int millis(int seconds) {
+    return (int) TimeUnit.SECONDS.toMillis(seconds);
+  }
+
+  abstract static class TuningParametersStub implements TuningParameters {
+    @Override
+    public WatchTuning getWatchTuning() {
+      return new WatchTuning(watchLifetime);
+    }
+
+    @Override
+    public CallBuilderTuning getCallBuilderTuning() {
+      return new CallBuilderTuning(
+          500, 5, 10, LIST_READ_TIMEOUT, MUTATE_READ_TIMEOUT, CONNECT_TIMEOUT, 50, 100);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import io.kubernetes.client.models.V1ContainerState;
+import io.kubernetes.client.models.V1ContainerStateTerminated;
+import io.kubernetes.client.models.V1ContainerStatus;
+import io.kubernetes.client.models.V1Job;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodStatus;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+public class IntrospectionTimingTest {
+  private static final DateTime JOB_CREATION_TIME = new DateTime(2018, 10, 4, 21, 7, 0);
+
+  private AtomicLong time = new AtomicLong();
+  private IntrospectionTiming timing = new IntrospectionTiming(time::get);
+
+  @Test
+  public void eachPhaseIsMeasuredFromTheEndOfThePreviousOne() {
+    advance(100);
+    timing.jobCreated();
+    advance(3000);
+    timing.jobCompleted();
+    advance(20);
+    timing.logRead();
+    advance(40);
+    timing.jobDeleted();
+
+    assertThat(timing.getCreateMillis(), equalTo(100L));
+    assertThat(timing.getRunMillis(), equalTo(3000L));
+    assertThat(timing.getLogReadMillis(), equalTo(20L));
+    assertThat(timing.getDeleteMillis(), equalTo(40L));
+    assertThat(timing.getTotalMillis(), equalTo(3160L));
+  }
+
+  @Test
+  public void waitForJob_isDividedAtContainerStart() {
+    timing.jobCreated();
+    advance(5000);
+    timing.jobCompleted();
+
+    timing.podFound(createJob(), createPodStartedAfter(2000));
+
+    assertThat(timing.getScheduleMillis(), equalTo(2000L));
+    assertThat(timing.getRunMillis(), equalTo(3000L));
+  }
+
+  @Test
+  public void whenContainerStartNotReported_waitIsCountedAsRun() {
+    timing.jobCreated();
+    advance(5000);
+    timing.jobCompleted();
+
+    timing.podFound(createJob(), new V1Pod());
+
+    assertThat(timing.getScheduleMillis(), equalTo(0L));
+    assertThat(timing.getRunMillis(), equalTo(5000L));
+  }
+
+  @Test
+  public void scheduleTime_isLimitedToObservedWait() {
+    timing.jobCreated();
+    advance(1000);
+    timing.jobCompleted();
+
+    timing.podFound(createJob(), createPodStartedAfter(2000));
+
+    assertThat(timing.getScheduleMillis(), equalTo(1000L));
+    assertThat(timing.getRunMillis(), equalTo(0L));
+  }
+
+  private void advance(long millis) {
+    time.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  private V1Job createJob() {
+    return new V1Job().metadata(new V1ObjectMeta().creationTimestamp(JOB_CREATION_TIME));
+  }
+
+  private V1Pod createPodStartedAfter(long millis) {
+    return new V1Pod()
+        .status(
+            new V1PodStatus()
+                .addContainerStatusesItem(
+                    new V1ContainerStatus()
+                        .state(
+                            new V1ContainerState()
+                                .terminated(
+                                    new V1ContainerStateTerminated()
+                                        .startedAt(JOB_CREATION_TIME.plus(millis))))));
+  }
+}
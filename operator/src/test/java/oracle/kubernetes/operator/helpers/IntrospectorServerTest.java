@@ -0,0 +1,547 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static oracle.kubernetes.LogMatcher.containsInfo;
+import static oracle.kubernetes.operator.ProcessingConstants.DOMAIN_COMPONENT_NAME;
+import static oracle.kubernetes.operator.logging.MessageKeys.INTROSPECTION_REQUEST_TIMING;
+import static oracle.kubernetes.operator.logging.MessageKeys.INTROSPECTOR_POD_CREATED;
+import static oracle.kubernetes.operator.logging.MessageKeys.INTROSPECTOR_POD_UNAVAILABLE;
+import static oracle.kubernetes.operator.logging.MessageKeys.JOB_CREATED;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import com.meterware.simplestub.Memento;
+import com.meterware.simplestub.StaticStubSupport;
+import io.kubernetes.client.models.V1ConfigMap;
+import io.kubernetes.client.models.V1DeleteOptions;
+import io.kubernetes.client.models.V1EnvVar;
+import io.kubernetes.client.models.V1Job;
+import io.kubernetes.client.models.V1JobCondition;
+import io.kubernetes.client.models.V1JobStatus;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodList;
+import io.kubernetes.client.models.V1PodStatus;
+import io.kubernetes.client.models.V1SecretReference;
+import io.kubernetes.client.models.V1Status;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import oracle.kubernetes.TestUtils;
+import oracle.kubernetes.operator.LabelConstants;
+import oracle.kubernetes.operator.PodAwaiterStepFactory;
+import oracle.kubernetes.operator.ProcessingConstants;
+import oracle.kubernetes.operator.TuningParameters.WatchTuning;
+import oracle.kubernetes.operator.work.Component;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.operator.work.TerminalStep;
+import oracle.kubernetes.weblogic.domain.v2.Domain;
+import oracle.kubernetes.weblogic.domain.v2.DomainSpec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IntrospectorServerTest {
+  private static final String NS = "namespace";
+  private static final String UID = "uid1";
+  private static final String CREDENTIALS_SECRET_NAME = "webLogicCredentialsSecretName";
+  private static final String POD_NAME = LegalNames.toIntrospectorPodName(UID);
+  private static final String JOB_NAME = LegalNames.toJobIntrospectorName(UID);
+  private static final String INTROSPECT_RESULT =
+      ">>>  /u01/introspect/domain1/topology.yaml\n"
+          + "domainValid: true\n"
+          + "domain:\n"
+          + "  name: \"base_domain\"\n"
+          + "  adminServerName: \"admin-server\"\n"
+          + "  servers:\n"
+          + "    - name: \"admin-server\"\n"
+          + "      listenPort: 7001\n"
+          + "      listenAddress: \"domain1-admin-server\"\n"
+          + "\n"
+          + ">>> EOF";
+
+  private final TerminalStep terminalStep = new TerminalStep();
+  private final Domain domain = createDomain();
+  private final DomainPresenceInfo info = new DomainPresenceInfo(domain);
+  private AsyncCallTestSupport testSupport = new AsyncCallTestSupport();
+  private List<Memento> mementos = new ArrayList<>();
+  private List<LogRecord> logRecords = new ArrayList<>();
+  private RequestSenderStub requestSender = new RequestSenderStub();
+  private PodAwaiterStub podAwaiter = new PodAwaiterStub();
+
+  @Before
+  public void setUp() throws Exception {
+    mementos.add(
+        TestUtils.silenceOperatorLogger()
+            .collectLogMessages(
+                logRecords,
+                INTROSPECTOR_POD_CREATED,
+                INTROSPECTOR_POD_UNAVAILABLE,
+                INTROSPECTION_REQUEST_TIMING,
+                JOB_CREATED)
+            .withLogLevel(Level.INFO));
+    mementos.add(testSupport.installRequestStepFactory());
+    mementos.add(
+        StaticStubSupport.install(IntrospectorServer.class, "requestSender", requestSender));
+    mementos.add(
+        StaticStubSupport.install(
+            IntrospectorServer.class, "requestExecutor", (Executor) Runnable::run));
+
+    testSupport.addDomainPresenceInfo(info);
+    testSupport.addComponent(
+        ProcessingConstants.PODWATCHER_COMPONENT_NAME, PodAwaiterStepFactory.class, podAwaiter);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    // in reverse, as a test may replace a stub installed by setUp
+    Collections.reverse(mementos);
+    for (Memento memento : mementos) memento.revert();
+
+    testSupport.throwOnCompletionFailure();
+  }
+
+  private Domain createDomain() {
+    return new Domain()
+        .withMetadata(new V1ObjectMeta().namespace(NS))
+        .withSpec(
+            new DomainSpec()
+                .withDomainUID(UID)
+                .withWebLogicCredentialsSecret(
+                    new V1SecretReference().name(CREDENTIALS_SECRET_NAME))
+                .withDomainHomeInImage(false));
+  }
+
+  @Test
+  public void whenNoIntrospectorPod_createItAndRequestIntrospection() {
+    expectReadPods((V1Pod) null);
+    expectCreatePod(new PodFetcher()).returning(createPod(getCurrentSpecHash()));
+    expectReadSitConfigMap();
+
+    runIntrospection();
+
+    assertThat(requestSender.podNames, contains(POD_NAME));
+    assertThat(logRecords, containsInfo(INTROSPECTOR_POD_CREATED));
+    assertThat(logRecords, containsInfo(INTROSPECTION_REQUEST_TIMING));
+    testSupport.verifyAllDefinedResponsesInvoked();
+  }
+
+  @Test
+  public void whenIntrospectorPodCreated_itServesRequestsWithoutADeadline() {
+    PodFetcher podFetcher = new PodFetcher();
+    expectReadPods((V1Pod) null);
+    expectCreatePod(podFetcher).returning(createPod(getCurrentSpecHash()));
+    expectReadSitConfigMap();
+
+    runIntrospection();
+    logRecords.clear();
+
+    V1Pod pod = podFetcher.createdPod;
+    assertThat(pod.getSpec().getActiveDeadlineSeconds(), equalTo(null));
+    assertThat(
+        pod.getSpec().getContainers().get(0).getEnv(),
+        hasItem(new V1EnvVar().name("INTROSPECTOR_SERVER").value("true")));
+    assertThat(
+        pod.getSpec().getContainers().get(0).getReadinessProbe().getExec().getCommand(),
+        contains("/weblogic-operator/scripts/introspectRequest.sh", "-ready"));
+    assertThat(pod.getMetadata().getLabels(), hasEntry(LabelConstants.DOMAINUID_LABEL, UID));
+  }
+
+  @Test
+  public void whenIntrospectorPodReady_requestIntrospectionWithoutCreatingPodOrJob() {
+    expectReadPods(createReadyPod(getCurrentSpecHash()));
+    expectReadSitConfigMap();
+
+    runIntrospection();
+
+    assertThat(requestSender.podNames, contains(POD_NAME));
+    assertThat(logRecords, containsInfo(INTROSPECTION_REQUEST_TIMING));
+    assertThat(logRecords, not(containsInfo(JOB_CREATED)));
+    testSupport.verifyAllDefinedResponsesInvoked();
+  }
+
+  @Test
+  public void whenIntrospectorPodReady_introspectorResultIsParsedIntoTopology() {
+    expectReadPods(createReadyPod(getCurrentSpecHash()));
+    expectReadSitConfigMap();
+
+    Packet packet = runIntrospection();
+    logRecords.clear();
+
+    assertThat(packet.get(ProcessingConstants.DOMAIN_TOPOLOGY), not(equalTo(null)));
+  }
+
+  @Test
+  public void whenIntrospectorPodStarting_waitForItToBeReadyByWatch() {
+    expectReadPods(createPod(getCurrentSpecHash()));
+    expectReadSitConfigMap();
+
+    runIntrospection();
+
+    assertThat(podAwaiter.podNames, contains(POD_NAME));
+    assertThat(requestSender.podNames, contains(POD_NAME));
+    assertThat(logRecords, containsInfo(INTROSPECTION_REQUEST_TIMING));
+  }
+
+  @Test
+  public void whenIntrospectorPodOutdated_replaceIt() {
+    expectReadPods(createReadyPod("outdated"));
+    expectDeletePod();
+    expectCreatePod(new PodFetcher()).returning(createPod(getCurrentSpecHash()));
+    expectReadSitConfigMap();
+
+    runIntrospection();
+
+    assertThat(requestSender.podNames, contains(POD_NAME));
+    assertThat(logRecords, containsInfo(INTROSPECTOR_POD_CREATED));
+    assertThat(logRecords, containsInfo(INTROSPECTION_REQUEST_TIMING));
+    testSupport.verifyAllDefinedResponsesInvoked();
+  }
+
+  @Test
+  public void whenIntrospectorPodExitedWhileIdle_replaceIt() {
+    expectReadPods(createPod(getCurrentSpecHash()).status(succeeded()));
+    expectDeletePod();
+    expectCreatePod(new PodFetcher()).returning(createPod(getCurrentSpecHash()));
+    expectReadSitConfigMap();
+
+    runIntrospection();
+
+    assertThat(requestSender.podNames, contains(POD_NAME));
+    logRecords.clear();
+    testSupport.verifyAllDefinedResponsesInvoked();
+  }
+
+  @Test
+  public void whenIntrospectorPodStopsBeforeReady_deleteItAndIntrospectWithJob() {
+    podAwaiter.failure = new IllegalStateException("stopped before it was ready");
+    expectReadPods(createPod(getCurrentSpecHash()));
+    expectDeletePod();
+    expectIntrospectionByJob();
+
+    runIntrospection();
+
+    assertThat(requestSender.podNames, equalTo(new ArrayList<>()));
+    assertThat(logRecords, containsInfo(INTROSPECTOR_POD_UNAVAILABLE));
+    assertThat(logRecords, containsInfo(JOB_CREATED));
+    testSupport.verifyAllDefinedResponsesInvoked();
+  }
+
+  @Test
+  public void whenIntrospectorPodCannotBeCreated_introspectWithJob() {
+    expectReadPods((V1Pod) null);
+    expectCreatePod(new PodFetcher()).failingWithStatus(403);
+    expectIntrospectionByJob();
+
+    runIntrospection();
+
+    assertThat(logRecords, containsInfo(INTROSPECTOR_POD_UNAVAILABLE));
+    assertThat(logRecords, containsInfo(JOB_CREATED));
+    testSupport.verifyAllDefinedResponsesInvoked();
+  }
+
+  @Test
+  public void whenRequestFails_deletePodAndIntrospectWithJob() {
+    requestSender.failure = new IOException("introspection failed");
+    expectReadPods(createReadyPod(getCurrentSpecHash()));
+    expectDeletePod();
+    expectIntrospectionByJob();
+
+    runIntrospection();
+
+    assertThat(logRecords, containsInfo(INTROSPECTOR_POD_UNAVAILABLE));
+    assertThat(logRecords, containsInfo(JOB_CREATED));
+    testSupport.verifyAllDefinedResponsesInvoked();
+  }
+
+  @Test
+  public void whenRequestRuns_itDoesNotUseAnEngineThread() throws NoSuchFieldException {
+    List<Runnable> requests = new ArrayList<>();
+    mementos.add(
+        StaticStubSupport.install(
+            IntrospectorServer.class, "requestExecutor", (Executor) requests::add));
+    expectReadPods(createReadyPod(getCurrentSpecHash()));
+    expectReadSitConfigMap();
+
+    runIntrospection();
+    assertThat(requestSender.podNames, equalTo(new ArrayList<>()));
+
+    requests.forEach(Runnable::run);
+    assertThat(requestSender.podNames, contains(POD_NAME));
+    assertThat(logRecords, containsInfo(INTROSPECTION_REQUEST_TIMING));
+  }
+
+  @Test
+  public void whenProcessExits_readOutputReturnsItWithLineEndsRestored() throws Exception {
+    installThreadedRequestExecutor();
+    ProcessStub process = new ProcessStub();
+    process.write("line1\r\nline2\r\n");
+    process.exit();
+
+    assertThat(
+        IntrospectorServer.readOutput(process, 1, TimeUnit.SECONDS), equalTo("line1\nline2\n"));
+  }
+
+  @Test
+  public void whenProcessOutputHangs_readOutputDestroysProcessAfterTimeout() throws Exception {
+    installThreadedRequestExecutor();
+    ProcessStub process = new ProcessStub();
+    process.write("partial");
+
+    try {
+      IntrospectorServer.readOutput(process, 50, TimeUnit.MILLISECONDS);
+      throw new AssertionError("readOutput did not time out");
+    } catch (IOException e) {
+      assertThat(e.getMessage(), containsString("did not complete"));
+    }
+    assertThat(process.destroyed, equalTo(true));
+  }
+
+  private void installThreadedRequestExecutor() throws NoSuchFieldException {
+    mementos.add(
+        StaticStubSupport.install(
+            IntrospectorServer.class,
+            "requestExecutor",
+            (Executor) runnable -> new Thread(runnable).start()));
+  }
+
+  private Packet runIntrospection() {
+    return testSupport.runSteps(
+        next -> JobHelper.createDomainIntrospectorJobStep(new WatchTuning(30), next), terminalStep);
+  }
+
+  private String getCurrentSpecHash() {
+    Packet packet = new Packet();
+    packet.getComponents().put(DOMAIN_COMPONENT_NAME, Component.createFor(info));
+    V1Pod model =
+        new JobHelper.DomainIntrospectorJobStepContext(info, packet).createIntrospectorPodModel();
+    return model
+        .getMetadata()
+        .getAnnotations()
+        .get(JobStepContext.INTROSPECTOR_SPEC_HASH_ANNOTATION);
+  }
+
+  private V1Pod createPod(String specHash) {
+    return new V1Pod()
+        .metadata(
+            new V1ObjectMeta()
+                .name(POD_NAME)
+                .namespace(NS)
+                .putAnnotationsItem(JobStepContext.INTROSPECTOR_SPEC_HASH_ANNOTATION, specHash))
+        .status(new V1PodStatus().phase("Pending"));
+  }
+
+  private V1Pod createReadyPod(String specHash) {
+    return createPod(specHash)
+        .status(
+            new V1PodStatus()
+                .phase("Running")
+                .addConditionsItem(new V1PodCondition().type("Ready").status("True")));
+  }
+
+  private V1PodStatus succeeded() {
+    return new V1PodStatus().phase("Succeeded");
+  }
+
+  // each read of the pod returns the next of the specified pods; null means that it is not found
+  private void expectReadPods(V1Pod... pods) {
+    Queue<V1Pod> remaining = new LinkedList<>(Arrays.asList(pods));
+    CallTestSupport.CannedResponse response =
+        testSupport.createCannedResponse("readPod").withNamespace(NS).withName(POD_NAME);
+    response.failingWithStatus(CallBuilder.NOT_FOUND);
+    response.computingResult(params -> remaining.remove());
+  }
+
+  private CallTestSupport.CannedResponse expectCreatePod(PodFetcher podFetcher) {
+    return testSupport.createCannedResponse("createPod").withNamespace(NS).withBody(podFetcher);
+  }
+
+  private void expectDeletePod() {
+    testSupport
+        .createCannedResponse("deletePod")
+        .withNamespace(NS)
+        .withName(POD_NAME)
+        .withBody(new V1DeleteOptions().gracePeriodSeconds(0L))
+        .returning(new V1Status());
+  }
+
+  // the introspector config map is created from the result of the introspection
+  private void expectReadSitConfigMap() {
+    String name = ConfigMapHelper.SitConfigMapContext.getConfigMapName(UID);
+    testSupport
+        .createCannedResponse("readConfigMap")
+        .withNamespace(NS)
+        .withName(name)
+        .failingWithStatus(CallBuilder.NOT_FOUND);
+    testSupport
+        .createCannedResponse("createConfigMap")
+        .withNamespace(NS)
+        .withBody(configMapWithData(name, "topology.yaml"))
+        .returning(new V1ConfigMap().metadata(new V1ObjectMeta().name(name).namespace(NS)));
+  }
+
+  private BodyMatcher configMapWithData(String name, String key) {
+    return body ->
+        body instanceof V1ConfigMap
+            && name.equals(((V1ConfigMap) body).getMetadata().getName())
+            && ((V1ConfigMap) body).getData().containsKey(key);
+  }
+
+  private void expectIntrospectionByJob() {
+    testSupport
+        .createCannedResponse("createJob")
+        .withNamespace(NS)
+        .ignoringBody()
+        .returning(
+            new V1Job()
+                .metadata(new V1ObjectMeta().name(JOB_NAME).namespace(NS))
+                .status(
+                    new V1JobStatus()
+                        .addConditionsItem(new V1JobCondition().type("Complete").status("True"))));
+    testSupport
+        .createCannedResponse("listPod")
+        .withNamespace(NS)
+        .withLabelSelectors(LabelConstants.JOBNAME_LABEL + "=" + JOB_NAME)
+        .returning(
+            new V1PodList().addItemsItem(new V1Pod().metadata(new V1ObjectMeta().name(JOB_NAME))));
+    testSupport
+        .createCannedResponse("readPodLog")
+        .withNamespace(NS)
+        .withName(JOB_NAME)
+        .returning(INTROSPECT_RESULT);
+    testSupport
+        .createCannedResponse("deleteJob")
+        .withNamespace(NS)
+        .withName(JOB_NAME)
+        .withBody(new V1DeleteOptions().propagationPolicy("Background"))
+        .returning(new V1Status());
+    expectReadSitConfigMap();
+  }
+
+  static class RequestSenderStub implements IntrospectorServer.RequestSender {
+    private List<String> podNames = new ArrayList<>();
+    private IOException failure;
+
+    @Override
+    public String sendRequest(String namespace, String podName, long timeoutSeconds)
+        throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+      podNames.add(podName);
+      return INTROSPECT_RESULT;
+    }
+  }
+
+  static class PodAwaiterStub implements PodAwaiterStepFactory {
+    private List<String> podNames = new ArrayList<>();
+    private RuntimeException failure;
+
+    @Override
+    public Step waitForReady(V1Pod pod, Step next) {
+      podNames.add(pod.getMetadata().getName());
+      return new Step(next) {
+        @Override
+        public NextAction apply(Packet packet) {
+          return failure != null ? doTerminate(failure, packet) : doNext(packet);
+        }
+      };
+    }
+  }
+
+  // a process whose output is written by the test; destroying it ends the output
+  static class ProcessStub extends Process {
+    private final PipedOutputStream output = new PipedOutputStream();
+    private final PipedInputStream input;
+    private volatile boolean exited;
+    private volatile boolean destroyed;
+
+    ProcessStub() throws IOException {
+      input = new PipedInputStream(output);
+    }
+
+    void write(String text) throws IOException {
+      output.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void exit() throws IOException {
+      exited = true;
+      output.close();
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+      return null;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return input;
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+      return null;
+    }
+
+    @Override
+    public int waitFor() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int exitValue() {
+      if (!exited) {
+        throw new IllegalThreadStateException();
+      }
+      return 0;
+    }
+
+    @Override
+    public void destroy() {
+      destroyed = true;
+      try {
+        output.close();
+      } catch (IOException ignored) {
+        // the output is already closed
+      }
+    }
+  }
+
+  static class PodFetcher implements BodyMatcher {
+    V1Pod createdPod;
+
+    @Override
+    public boolean matches(Object actualBody) {
+      if (!(actualBody instanceof V1Pod)) {
+        return false;
+      }
+      createdPod = (V1Pod) actualBody;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,1182 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static oracle.kubernetes.operator.calls.AsyncRequestStep.RESPONSE_COMPONENT_NAME;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.meterware.simplestub.Memento;
+import com.meterware.simplestub.StaticStubSupport;
+import com.squareup.okhttp.Call;
+import io.kubernetes.client.ApiClient;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.JSON;
+import io.kubernetes.client.models.V1ConfigMap;
+import io.kubernetes.client.models.V1ConfigMapList;
+import io.kubernetes.client.models.V1Event;
+import io.kubernetes.client.models.V1EventList;
+import io.kubernetes.client.models.V1Job;
+import io.kubernetes.client.models.V1JobCondition;
+import io.kubernetes.client.models.V1JobList;
+import io.kubernetes.client.models.V1JobStatus;
+import io.kubernetes.client.models.V1ListMeta;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1PersistentVolume;
+import io.kubernetes.client.models.V1PersistentVolumeClaim;
+import io.kubernetes.client.models.V1PersistentVolumeClaimList;
+import io.kubernetes.client.models.V1PersistentVolumeList;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodList;
+import io.kubernetes.client.models.V1PodStatus;
+import io.kubernetes.client.models.V1Secret;
+import io.kubernetes.client.models.V1SelfSubjectAccessReview;
+import io.kubernetes.client.models.V1Service;
+import io.kubernetes.client.models.V1ServiceList;
+import io.kubernetes.client.models.V1Status;
+import io.kubernetes.client.models.V1SubjectAccessReview;
+import io.kubernetes.client.models.V1SubjectAccessReviewStatus;
+import io.kubernetes.client.models.V1TokenReview;
+import io.kubernetes.client.models.V1TokenReviewStatus;
+import io.kubernetes.client.models.V1UserInfo;
+import io.kubernetes.client.models.V1beta1CustomResourceDefinition;
+import io.kubernetes.client.util.Watch;
+import java.lang.reflect.Field;
+import java.net.HttpURLConnection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import oracle.kubernetes.operator.builders.CallParams;
+import oracle.kubernetes.operator.builders.WatchBuilder;
+import oracle.kubernetes.operator.builders.WatchEvent;
+import oracle.kubernetes.operator.builders.WatchI;
+import oracle.kubernetes.operator.calls.CallFactory;
+import oracle.kubernetes.operator.calls.CallResponse;
+import oracle.kubernetes.operator.calls.RequestParams;
+import oracle.kubernetes.operator.calls.RetryStrategy;
+import oracle.kubernetes.operator.calls.SynchronousCallDispatcher;
+import oracle.kubernetes.operator.calls.SynchronousCallFactory;
+import oracle.kubernetes.operator.work.Component;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.weblogic.domain.v2.Domain;
+import oracle.kubernetes.weblogic.domain.v2.DomainList;
+import org.joda.time.DateTime;
+
+/**
+ * An in-process simulation of the Kubernetes API server, for tests and benchmarks that need to run
+ * the operator's real processing against many resources. Unlike {@link AsyncCallTestSupport}, which
+ * answers each call from a canned response, the simulator keeps state: it supports list, read,
+ * create, replace, JSON patch and delete for pods, services, config maps, jobs, events, secrets,
+ * persistent volumes and claims, the CRD and the Domain resource, and publishes the resulting
+ * changes to watches created through {@link WatchBuilder}. Like the API server, it rejects with
+ * HTTP 409 (Conflict) a replace or patch whose resource version is stale, and a delete whose uid or
+ * resource version preconditions do not match; it rejects with HTTP 422 (Unprocessable Entity) a
+ * patch whose test operation fails. Token and subject access reviews are granted.
+ *
+ * <p>Responses may be delayed by a configurable latency, and a fraction of asynchronous requests
+ * may be refused with HTTP 429 (Too Many Requests) in order to exercise the operator's retry
+ * behavior. Synchronous calls are answered in the same way, on the calling thread, but are not
+ * throttled and are not filtered by label. The simulator counts the calls it receives by call name,
+ * and the conflicts it reports.
+ *
+ * <p>Pods and jobs are made ready, or complete, as soon as they are created, so that processing
+ * which waits on them can proceed.
+ *
+ * <p>A test's setUp should call {@link #install()}, which directs the asynchronous and synchronous
+ * calls of {@link CallBuilder}, and {@link WatchBuilder}, to the simulator, and its tearDown should
+ * revert the mementos that it returns.
+ */
+public class KubernetesSimulator {
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final int MAX_RETRIES = 20;
+  private static final int MAX_WATCH_HISTORY = 100_000;
+  private static final String CLUSTER_SCOPE = "";
+  private static final String SIMULATED_USER = "simulated-user";
+
+  private final ScheduledExecutorService executor;
+  private final Random random = new Random();
+  private final AtomicLong resourceVersion = new AtomicLong(1);
+  private final ConcurrentMap<String, AtomicInteger> callCounts = new ConcurrentHashMap<>();
+  private final AtomicInteger throttledCount = new AtomicInteger();
+  private final AtomicInteger conflictCount = new AtomicInteger();
+  private final Map<String, ResourceKind<?>> kinds = new ConcurrentHashMap<>();
+  private final Deque<WatchRecord> history = new ArrayDeque<>();
+  private final List<SimulatedWatch<?>> watches = new CopyOnWriteArrayList<>();
+  private final Map<String, String> podLogs = new ConcurrentHashMap<>();
+  private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+  private final Map<String, Runnable> beforeCalls = new ConcurrentHashMap<>();
+  private final JSON json = new JSON();
+
+  private volatile long latencyMillis;
+  private volatile double throttleRate;
+  private volatile int retryAfterSeconds = 1;
+
+  /**
+   * Creates a simulator which uses the specified executor to deliver delayed responses.
+   *
+   * @param executor the executor on which delayed responses are delivered
+   */
+  public KubernetesSimulator(ScheduledExecutorService executor) {
+    this.executor = executor;
+    defineKind("Pod", V1Pod.class, V1Pod::getMetadata, this::createPodList, this::onPodCreated);
+    defineKind("Service", V1Service.class, V1Service::getMetadata, this::createServiceList, null);
+    defineKind(
+        "ConfigMap", V1ConfigMap.class, V1ConfigMap::getMetadata, this::createConfigMapList, null);
+    defineKind("Job", V1Job.class, V1Job::getMetadata, this::createJobList, this::onJobCreated);
+    defineKind("Event", V1Event.class, V1Event::getMetadata, this::createEventList, null);
+    defineKind("Secret", V1Secret.class, V1Secret::getMetadata, null, null);
+    defineKind("Domain", Domain.class, Domain::getMetadata, this::createDomainList, null);
+    defineClusterKind(
+        "CRD",
+        V1beta1CustomResourceDefinition.class,
+        V1beta1CustomResourceDefinition::getMetadata,
+        null);
+    defineClusterKind(
+        "PersistentVolume",
+        V1PersistentVolume.class,
+        V1PersistentVolume::getMetadata,
+        this::createPersistentVolumeList);
+    defineKind(
+        "PersistentVolumeClaim",
+        V1PersistentVolumeClaim.class,
+        V1PersistentVolumeClaim::getMetadata,
+        this::createPersistentVolumeClaimList,
+        null);
+  }
+
+  /**
+   * Directs CallBuilder and WatchBuilder to this simulator.
+   *
+   * @return mementos to be reverted when the simulator is no longer needed
+   * @throws NoSuchFieldException if the call dispatcher or watch factory cannot be replaced
+   */
+  public List<Memento> install() throws NoSuchFieldException {
+    List<Memento> mementos = new ArrayList<>();
+    mementos.add(new StepFactoryMemento(new SimulatedStepFactory()));
+    mementos.add(
+        StaticStubSupport.install(CallBuilder.class, "DISPATCHER", new SimulatedDispatcher()));
+    mementos.add(StaticStubSupport.install(WatchBuilder.class, "FACTORY", new SimulatedWatches()));
+    return mementos;
+  }
+
+  /**
+   * Sets the delay before each response is delivered.
+   *
+   * @param latency the delay
+   * @param unit the unit of the delay
+   * @return this simulator
+   */
+  public KubernetesSimulator withLatency(long latency, TimeUnit unit) {
+    this.latencyMillis = unit.toMillis(latency);
+    return this;
+  }
+
+  /**
+   * Sets the fraction of requests that will be refused with HTTP 429.
+   *
+   * @param throttleRate a value between 0 (never) and 1 (always)
+   * @param retryAfterSeconds the value returned in the Retry-After header
+   * @return this simulator
+   */
+  public KubernetesSimulator withThrottling(double throttleRate, int retryAfterSeconds) {
+    this.throttleRate = throttleRate;
+    this.retryAfterSeconds = retryAfterSeconds;
+    return this;
+  }
+
+  /**
+   * Causes all later requests with the specified call name to fail.
+   *
+   * @param callName the name of the call, such as "readConfigMap"
+   * @param statusCode the HTTP status with which the requests fail
+   * @return this simulator
+   */
+  public KubernetesSimulator failCalls(String callName, int statusCode) {
+    failures.put(callName, statusCode);
+    return this;
+  }
+
+  /**
+   * Runs an action just before each later request with the specified call name is performed, such
+   * as a change to a resource which races with the request.
+   *
+   * @param callName the name of the call, such as "deleteConfigMap"
+   * @param action the action to run
+   * @return this simulator
+   */
+  public KubernetesSimulator beforeCalls(String callName, Runnable action) {
+    beforeCalls.put(callName, action);
+    return this;
+  }
+
+  /**
+   * Defines the log which will be returned for a pod, such as the result of the domain
+   * introspector.
+   *
+   * @param namespace the pod's namespace
+   * @param podName the pod's name
+   * @param log the contents of the log
+   */
+  public void definePodLog(String namespace, String podName, String log) {
+    podLogs.put(namespace + "/" + podName, log);
+  }
+
+  /**
+   * Adds a resource to the simulator, as though it had been created by a client.
+   *
+   * @param resource the resource to add
+   * @param <T> the type of resource
+   */
+  public <T> void createResource(T resource) {
+    ResourceKind<T> kind = getKind(resource);
+    kind.create(kind.namespaceOf(resource), resource);
+  }
+
+  /**
+   * Replaces a resource in the simulator, as though it had been updated by a client.
+   *
+   * @param resource the resource to replace
+   * @param <T> the type of resource
+   */
+  public <T> void replaceResource(T resource) {
+    ResourceKind<T> kind = getKind(resource);
+    kind.replace(kind.namespaceOf(resource), resource);
+  }
+
+  /**
+   * Returns the resources of the specified kind in a namespace.
+   *
+   * @param kindName the kind of resource, such as "Pod" or "Domain"
+   * @param namespace the namespace
+   * @param <T> the type of resource
+   * @return a list of resources
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> getResources(String kindName, String namespace) {
+    return ((ResourceKind<T>) kinds.get(kindName)).list(namespace, null);
+  }
+
+  /**
+   * Returns the number of calls received, keyed by call name.
+   *
+   * @return a map of call name to count
+   */
+  public Map<String, Integer> getCallCounts() {
+    Map<String, Integer> result = new java.util.TreeMap<>();
+    callCounts.forEach((key, value) -> result.put(key, value.get()));
+    return result;
+  }
+
+  /**
+   * Returns the total number of calls received.
+   *
+   * @return a count of calls
+   */
+  public int getTotalCallCount() {
+    int total = 0;
+    for (AtomicInteger count : callCounts.values()) {
+      total += count.get();
+    }
+    return total;
+  }
+
+  /**
+   * Returns the number of requests refused with HTTP 429.
+   *
+   * @return a count of throttled requests
+   */
+  public int getThrottledCount() {
+    return throttledCount.get();
+  }
+
+  /**
+   * Returns the number of requests refused with HTTP 409 because of a stale resource version or a
+   * failed precondition.
+   *
+   * @return a count of conflicts
+   */
+  public int getConflictCount() {
+    return conflictCount.get();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> ResourceKind<T> getKind(T resource) {
+    for (ResourceKind<?> kind : kinds.values()) {
+      if (kind.type.isInstance(resource)) {
+        return (ResourceKind<T>) kind;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported resource type " + resource.getClass());
+  }
+
+  private <T> void defineKind(
+      String name,
+      Class<T> type,
+      Function<T, V1ObjectMeta> metadata,
+      BiFunction<List<T>, String, Object> lister,
+      Function<T, T> onCreate) {
+    kinds.put(name, new ResourceKind<>(name, type, true, metadata, lister, onCreate));
+  }
+
+  private <T> void defineClusterKind(
+      String name,
+      Class<T> type,
+      Function<T, V1ObjectMeta> metadata,
+      BiFunction<List<T>, String, Object> lister) {
+    kinds.put(name, new ResourceKind<>(name, type, false, metadata, lister, null));
+  }
+
+  private Object createPodList(List<V1Pod> items, String resourceVersion) {
+    return new V1PodList().items(items).metadata(createListMeta(resourceVersion));
+  }
+
+  private Object createServiceList(List<V1Service> items, String resourceVersion) {
+    return new V1ServiceList().items(items).metadata(createListMeta(resourceVersion));
+  }
+
+  private Object createConfigMapList(List<V1ConfigMap> items, String resourceVersion) {
+    return new V1ConfigMapList().items(items).metadata(createListMeta(resourceVersion));
+  }
+
+  private Object createJobList(List<V1Job> items, String resourceVersion) {
+    return new V1JobList().items(items).metadata(createListMeta(resourceVersion));
+  }
+
+  private Object createEventList(List<V1Event> items, String resourceVersion) {
+    return new V1EventList().items(items).metadata(createListMeta(resourceVersion));
+  }
+
+  private Object createDomainList(List<Domain> items, String resourceVersion) {
+    return new DomainList().withItems(items).withMetadata(createListMeta(resourceVersion));
+  }
+
+  private Object createPersistentVolumeList(List<V1PersistentVolume> items, String rv) {
+    return new V1PersistentVolumeList().items(items).metadata(createListMeta(rv));
+  }
+
+  private Object createPersistentVolumeClaimList(List<V1PersistentVolumeClaim> items, String rv) {
+    return new V1PersistentVolumeClaimList().items(items).metadata(createListMeta(rv));
+  }
+
+  private V1ListMeta createListMeta(String resourceVersion) {
+    return new V1ListMeta().resourceVersion(resourceVersion);
+  }
+
+  private V1Pod onPodCreated(V1Pod pod) {
+    return pod.status(
+        new V1PodStatus()
+            .phase("Running")
+            .podIP("10.0.0.1")
+            .addConditionsItem(new V1PodCondition().type("Ready").status("True")));
+  }
+
+  private V1Job onJobCreated(V1Job job) {
+    return job.status(
+        new V1JobStatus()
+            .succeeded(1)
+            .addConditionsItem(new V1JobCondition().type("Complete").status("True")));
+  }
+
+  private String nextResourceVersion() {
+    return Long.toString(resourceVersion.incrementAndGet());
+  }
+
+  // Publishes a change to interested watches, and records it for watches begun later
+  private void publish(String kind, String namespace, String type, Object resource, long rv) {
+    WatchRecord record = new WatchRecord(kind, namespace, type, resource, rv);
+    synchronized (history) {
+      history.addLast(record);
+      if (history.size() > MAX_WATCH_HISTORY) {
+        history.removeFirst();
+      }
+    }
+    for (SimulatedWatch<?> watch : watches) {
+      watch.offer(record);
+    }
+  }
+
+  private class ResourceKind<T> {
+    private final String name;
+    private final Class<T> type;
+    private final boolean namespaced;
+    private final Function<T, V1ObjectMeta> metadata;
+    private final BiFunction<List<T>, String, Object> lister;
+    private final Function<T, T> onCreate;
+    private final ConcurrentMap<String, ConcurrentMap<String, T>> resources =
+        new ConcurrentHashMap<>();
+
+    ResourceKind(
+        String name,
+        Class<T> type,
+        boolean namespaced,
+        Function<T, V1ObjectMeta> metadata,
+        BiFunction<List<T>, String, Object> lister,
+        Function<T, T> onCreate) {
+      this.name = name;
+      this.type = type;
+      this.namespaced = namespaced;
+      this.metadata = metadata;
+      this.lister = lister;
+      this.onCreate = onCreate;
+    }
+
+    private ConcurrentMap<String, T> inNamespace(String namespace) {
+      return resources.computeIfAbsent(
+          namespaced ? namespace : CLUSTER_SCOPE, k -> new ConcurrentHashMap<>());
+    }
+
+    String namespaceOf(T resource) {
+      return metadata.apply(resource).getNamespace();
+    }
+
+    List<T> list(String namespace, String labelSelector) {
+      List<T> result = new ArrayList<>();
+      for (T resource : inNamespace(namespace).values()) {
+        if (LabelSelector.matches(labelSelector, metadata.apply(resource).getLabels())) {
+          result.add(resource);
+        }
+      }
+      return result;
+    }
+
+    Object createList(String namespace, String labelSelector) {
+      if (lister == null) {
+        throw new SimulatedFailure(HttpURLConnection.HTTP_BAD_METHOD, "Cannot list " + name);
+      }
+      return lister.apply(list(namespace, labelSelector), Long.toString(resourceVersion.get()));
+    }
+
+    T read(String namespace, String resourceName) {
+      T resource = inNamespace(namespace).get(resourceName);
+      if (resource == null) {
+        throw new SimulatedFailure(HttpURLConnection.HTTP_NOT_FOUND, "No such " + name);
+      }
+      return resource;
+    }
+
+    T create(String namespace, T resource) {
+      V1ObjectMeta meta = metadata.apply(resource);
+      meta.setNamespace(namespaced ? namespace : null);
+      meta.setCreationTimestamp(DateTime.now());
+      if (meta.getUid() == null) {
+        meta.setUid(UUID.randomUUID().toString());
+      }
+      String rv = nextResourceVersion();
+      meta.setResourceVersion(rv);
+      T created = onCreate != null ? onCreate.apply(resource) : resource;
+      if (inNamespace(namespace).putIfAbsent(meta.getName(), created) != null) {
+        throw new SimulatedFailure(HttpURLConnection.HTTP_CONFLICT, name + " already exists");
+      }
+      publish(name, namespace, "ADDED", created, Long.parseLong(rv));
+      return created;
+    }
+
+    synchronized T replace(String namespace, T resource) {
+      V1ObjectMeta meta = metadata.apply(resource);
+      T existing = read(namespace, meta.getName());
+      V1ObjectMeta existingMeta = metadata.apply(existing);
+      if (meta.getResourceVersion() != null
+          && !meta.getResourceVersion().equals(existingMeta.getResourceVersion())) {
+        throw new SimulatedFailure(HttpURLConnection.HTTP_CONFLICT, name + " was modified");
+      }
+      if (meta.getCreationTimestamp() == null) {
+        meta.setCreationTimestamp(existingMeta.getCreationTimestamp());
+      }
+      if (meta.getUid() == null) {
+        meta.setUid(existingMeta.getUid());
+      }
+      String rv = nextResourceVersion();
+      meta.setResourceVersion(rv);
+      inNamespace(namespace).put(meta.getName(), resource);
+      publish(name, namespace, "MODIFIED", resource, Long.parseLong(rv));
+      return resource;
+    }
+
+    // As in the API server, a patch which sets the resource version must set the current one
+    synchronized T patch(String namespace, String resourceName, Object patch) {
+      T existing = read(namespace, resourceName);
+      V1ObjectMeta existingMeta = metadata.apply(existing);
+      JsonElement patched =
+          JsonPatcher.apply(
+              json.getGson().toJsonTree(existing),
+              json.getGson().toJsonTree(patch).getAsJsonArray());
+      T resource = json.getGson().fromJson(patched, type);
+      V1ObjectMeta meta = metadata.apply(resource);
+      if (!Objects.equals(meta.getResourceVersion(), existingMeta.getResourceVersion())) {
+        throw new SimulatedFailure(HttpURLConnection.HTTP_CONFLICT, name + " was modified");
+      }
+      String rv = nextResourceVersion();
+      meta.setResourceVersion(rv);
+      inNamespace(namespace).put(resourceName, resource);
+      publish(name, namespace, "MODIFIED", resource, Long.parseLong(rv));
+      return resource;
+    }
+
+    // Preconditions are read from the delete options as sent, so that those which the client
+    // models do not declare are honored too.
+    synchronized T delete(String namespace, String resourceName, Object deleteOptions) {
+      JsonObject preconditions = getPreconditions(deleteOptions);
+      if (preconditions != null) {
+        V1ObjectMeta existingMeta = metadata.apply(read(namespace, resourceName));
+        if (!matches(preconditions, "uid", existingMeta.getUid())
+            || !matches(preconditions, "resourceVersion", existingMeta.getResourceVersion())) {
+          throw new SimulatedFailure(
+              HttpURLConnection.HTTP_CONFLICT, "Precondition failed for " + resourceName);
+        }
+      }
+      return delete(namespace, resourceName);
+    }
+
+    private JsonObject getPreconditions(Object deleteOptions) {
+      if (deleteOptions == null) {
+        return null;
+      }
+      JsonElement options = new JsonParser().parse(json.serialize(deleteOptions));
+      JsonElement preconditions = options.getAsJsonObject().get("preconditions");
+      return preconditions != null ? preconditions.getAsJsonObject() : null;
+    }
+
+    private boolean matches(JsonObject preconditions, String name, String actual) {
+      JsonElement expected = preconditions.get(name);
+      return expected == null || expected.getAsString().equals(actual);
+    }
+
+    synchronized T delete(String namespace, String resourceName) {
+      T removed = inNamespace(namespace).remove(resourceName);
+      if (removed == null) {
+        throw new SimulatedFailure(HttpURLConnection.HTTP_NOT_FOUND, "No such " + name);
+      }
+      publish(name, namespace, "DELETED", removed, resourceVersion.incrementAndGet());
+      return removed;
+    }
+
+    int deleteCollection(String namespace, String labelSelector) {
+      List<T> matching = list(namespace, labelSelector);
+      for (T resource : matching) {
+        delete(namespace, metadata.apply(resource).getName());
+      }
+      return matching.size();
+    }
+  }
+
+  /** Matches labels against a selector of the form "key", "key=value" or "key!=value". */
+  private static class LabelSelector {
+    static boolean matches(String selector, Map<String, String> labels) {
+      if (selector == null || selector.isEmpty()) {
+        return true;
+      }
+      Map<String, String> actual = labels != null ? labels : Collections.emptyMap();
+      for (String term : selector.split(",")) {
+        if (!matchesTerm(term.trim(), actual)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean matchesTerm(String term, Map<String, String> labels) {
+      int notEquals = term.indexOf("!=");
+      if (notEquals > 0) {
+        return !Objects.equals(
+            labels.get(term.substring(0, notEquals)), term.substring(notEquals + 2));
+      }
+      int equals = term.indexOf('=');
+      if (equals > 0) {
+        return Objects.equals(labels.get(term.substring(0, equals)), term.substring(equals + 1));
+      }
+      return labels.containsKey(term);
+    }
+  }
+
+  /** Applies the add, replace, remove and test operations of a JSON patch (RFC 6902). */
+  private static class JsonPatcher {
+    private static final int HTTP_UNPROCESSABLE_ENTITY = 422;
+
+    static JsonElement apply(JsonElement document, JsonArray operations) {
+      for (JsonElement element : operations) {
+        JsonObject operation = element.getAsJsonObject();
+        String op = operation.get("op").getAsString();
+        List<String> path = parsePath(operation.get("path").getAsString());
+        JsonElement value = operation.get("value");
+        switch (op) {
+          case "test":
+            if (!Objects.equals(get(document, path), value)) {
+              throw unprocessable("Test failed at " + operation.get("path"));
+            }
+            break;
+          case "add":
+            add(getParent(document, path), last(path), value);
+            break;
+          case "replace":
+            remove(getParent(document, path), last(path));
+            add(getParent(document, path), last(path), value);
+            break;
+          case "remove":
+            remove(getParent(document, path), last(path));
+            break;
+          default:
+            throw unprocessable("Unsupported patch operation " + op);
+        }
+      }
+      return document;
+    }
+
+    private static List<String> parsePath(String path) {
+      List<String> tokens = new ArrayList<>();
+      for (String token : path.substring(1).split("/", -1)) {
+        tokens.add(token.replace("~1", "/").replace("~0", "~"));
+      }
+      return tokens;
+    }
+
+    private static String last(List<String> path) {
+      return path.get(path.size() - 1);
+    }
+
+    private static JsonElement get(JsonElement document, List<String> path) {
+      JsonElement current = document;
+      for (String token : path) {
+        current = getChild(current, token);
+        if (current == null) {
+          return null;
+        }
+      }
+      return current;
+    }
+
+    private static JsonElement getParent(JsonElement document, List<String> path) {
+      JsonElement parent = get(document, path.subList(0, path.size() - 1));
+      if (parent == null || !(parent.isJsonObject() || parent.isJsonArray())) {
+        throw unprocessable("No such path " + path);
+      }
+      return parent;
+    }
+
+    private static JsonElement getChild(JsonElement element, String token) {
+      if (element.isJsonObject()) {
+        return element.getAsJsonObject().get(token);
+      } else if (element.isJsonArray() && isIndex(token, element.getAsJsonArray().size())) {
+        return element.getAsJsonArray().get(Integer.parseInt(token));
+      }
+      return null;
+    }
+
+    private static boolean isIndex(String token, int limit) {
+      return token.matches("\\d+") && Integer.parseInt(token) < limit;
+    }
+
+    private static void add(JsonElement parent, String token, JsonElement value) {
+      if (parent.isJsonObject()) {
+        parent.getAsJsonObject().add(token, value);
+      } else if (token.equals("-")) {
+        parent.getAsJsonArray().add(value);
+      } else if (isIndex(token, parent.getAsJsonArray().size() + 1)) {
+        insert(parent.getAsJsonArray(), Integer.parseInt(token), value);
+      } else {
+        throw unprocessable("No such index " + token);
+      }
+    }
+
+    private static void insert(JsonArray array, int index, JsonElement value) {
+      List<JsonElement> following = new ArrayList<>();
+      while (array.size() > index) {
+        following.add(array.remove(index));
+      }
+      array.add(value);
+      following.forEach(array::add);
+    }
+
+    private static void remove(JsonElement parent, String token) {
+      if (getChild(parent, token) == null) {
+        throw unprocessable("No such member " + token);
+      } else if (parent.isJsonObject()) {
+        parent.getAsJsonObject().remove(token);
+      } else {
+        parent.getAsJsonArray().remove(Integer.parseInt(token));
+      }
+    }
+
+    private static SimulatedFailure unprocessable(String message) {
+      return new SimulatedFailure(HTTP_UNPROCESSABLE_ENTITY, message);
+    }
+  }
+
+  @SuppressWarnings("serial")
+  private static class SimulatedFailure extends RuntimeException {
+    private final int statusCode;
+
+    SimulatedFailure(int statusCode, String message) {
+      super(message);
+      this.statusCode = statusCode;
+    }
+  }
+
+  // ---------------------------------------------------------------------------------------------
+  // Requests
+
+  private static class StepFactoryMemento implements Memento {
+    private final AsyncRequestStepFactory oldFactory;
+
+    StepFactoryMemento(AsyncRequestStepFactory newFactory) {
+      oldFactory = CallBuilder.setStepFactory(newFactory);
+    }
+
+    @Override
+    public void revert() {
+      CallBuilder.resetStepFactory();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getOriginalValue() {
+      return (T) oldFactory;
+    }
+  }
+
+  private class SimulatedStepFactory implements AsyncRequestStepFactory {
+    @Override
+    public <T> Step createRequestAsync(
+        ResponseStep<T> next,
+        RequestParams requestParams,
+        CallFactory<T> factory,
+        ClientPool helper,
+        int timeoutSeconds,
+        int maxRetryCount,
+        String fieldSelector,
+        String labelSelector,
+        String resourceVersion) {
+      SimulatedRequestStep step = new SimulatedRequestStep(next, requestParams, labelSelector);
+      next.setPrevious(step);
+      return step;
+    }
+  }
+
+  private class SimulatedRequestStep extends Step {
+    private final SimulatedCall call;
+
+    SimulatedRequestStep(Step next, RequestParams requestParams, String labelSelector) {
+      super(next);
+      this.call = new SimulatedCall(requestParams, labelSelector);
+    }
+
+    @Override
+    protected String getDetail() {
+      return call.requestParams.call;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      countCall(call.requestParams);
+
+      RetryStrategy retry = getRetryStrategy(packet);
+      CallResponse<?> response = call.createResponse();
+      if (latencyMillis <= 0) {
+        setResponse(packet, retry, response);
+        return doNext(packet);
+      }
+
+      return doSuspend(
+          fiber ->
+              executor.schedule(
+                  () -> {
+                    setResponse(packet, retry, response);
+                    fiber.resume(packet);
+                  },
+                  latencyMillis,
+                  TimeUnit.MILLISECONDS));
+    }
+
+    private RetryStrategy getRetryStrategy(Packet packet) {
+      Component oldResponse = packet.getComponents().remove(RESPONSE_COMPONENT_NAME);
+      RetryStrategy retry = oldResponse != null ? oldResponse.getSPI(RetryStrategy.class) : null;
+      if (retry == null) {
+        retry = new SimulatedRetryStrategy();
+        retry.setRetryStep(this);
+      }
+      return retry;
+    }
+
+    private void setResponse(Packet packet, RetryStrategy retry, CallResponse<?> response) {
+      packet
+          .getComponents()
+          .put(RESPONSE_COMPONENT_NAME, Component.createFor(RetryStrategy.class, retry, response));
+    }
+  }
+
+  private void countCall(RequestParams requestParams) {
+    callCounts.computeIfAbsent(requestParams.call, k -> new AtomicInteger()).incrementAndGet();
+  }
+
+  // answers synchronous calls on the calling thread, after the simulated latency
+  private class SimulatedDispatcher implements SynchronousCallDispatcher {
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T execute(
+        SynchronousCallFactory<T> factory, RequestParams requestParams, Pool<ApiClient> helper)
+        throws ApiException {
+      countCall(requestParams);
+      simulateLatency();
+      CallResponse<?> response = new SimulatedCall(requestParams, null).createUnthrottledResponse();
+      if (response.getE() != null) {
+        throw response.getE();
+      }
+      return (T) response.getResult();
+    }
+
+    private void simulateLatency() {
+      try {
+        TimeUnit.MILLISECONDS.sleep(latencyMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private class SimulatedCall {
+    private final RequestParams requestParams;
+    private final String labelSelector;
+
+    SimulatedCall(RequestParams requestParams, String labelSelector) {
+      this.requestParams = requestParams;
+      this.labelSelector = labelSelector;
+    }
+
+    CallResponse<?> createResponse() {
+      if (throttleRate > 0 && random.nextDouble() < throttleRate) {
+        throttledCount.incrementAndGet();
+        return createFailure(
+            TOO_MANY_REQUESTS,
+            "Too many requests",
+            Collections.singletonMap(
+                "Retry-After", Collections.singletonList(Integer.toString(retryAfterSeconds))));
+      }
+
+      return createUnthrottledResponse();
+    }
+
+    CallResponse<?> createUnthrottledResponse() {
+      Integer failure = failures.get(requestParams.call);
+      if (failure != null) {
+        return createFailure(failure, "Simulated failure", Collections.emptyMap());
+      }
+
+      Optional.ofNullable(beforeCalls.get(requestParams.call)).ifPresent(Runnable::run);
+      try {
+        return new CallResponse<>(
+            perform(), null, HttpURLConnection.HTTP_OK, Collections.emptyMap());
+      } catch (SimulatedFailure e) {
+        if (e.statusCode == HttpURLConnection.HTTP_CONFLICT) {
+          conflictCount.incrementAndGet();
+        }
+        return createFailure(e.statusCode, e.getMessage(), Collections.emptyMap());
+      }
+    }
+
+    private CallResponse<?> createFailure(
+        int statusCode, String message, Map<String, List<String>> headers) {
+      return new CallResponse<>(null, new ApiException(statusCode, message), statusCode, headers);
+    }
+
+    private Object perform() {
+      String call = requestParams.call;
+      String namespace = requestParams.namespace;
+      String name = requestParams.name;
+      if (call.equals("readPodLog")) {
+        return podLogs.getOrDefault(namespace + "/" + name, "");
+      } else if (call.startsWith("deleteCollection")) {
+        getKind(getCollectionKind(call)).deleteCollection(namespace, labelSelector);
+        return new V1Status().code(HttpURLConnection.HTTP_OK);
+      } else if (call.startsWith("list")) {
+        return getKind(call.substring("list".length())).createList(namespace, labelSelector);
+      } else if (call.startsWith("read")) {
+        return getKind(call.substring("read".length())).read(namespace, name);
+      } else if (call.startsWith("create") && isResourceCall(call, "create")) {
+        return createFromBody(getKind(call.substring("create".length())), namespace);
+      } else if (call.startsWith("replace")) {
+        return replaceFromBody(getKind(call.substring("replace".length())), namespace);
+      } else if (call.startsWith("patch")) {
+        return getKind(call.substring("patch".length())).patch(namespace, name, requestParams.body);
+      } else if (call.startsWith("delete")) {
+        getKind(call.substring("delete".length())).delete(namespace, name, requestParams.body);
+        return new V1Status().code(HttpURLConnection.HTTP_OK);
+      }
+
+      return review(requestParams.body);
+    }
+
+    // reviews are granted; other requests, such as version checks, are simply echoed
+    private Object review(Object body) {
+      if (body instanceof V1TokenReview) {
+        return ((V1TokenReview) body)
+            .status(
+                new V1TokenReviewStatus()
+                    .authenticated(true)
+                    .user(new V1UserInfo().username(SIMULATED_USER)));
+      } else if (body instanceof V1SubjectAccessReview) {
+        return ((V1SubjectAccessReview) body).status(createAllowedStatus());
+      } else if (body instanceof V1SelfSubjectAccessReview) {
+        return ((V1SelfSubjectAccessReview) body).status(createAllowedStatus());
+      }
+      return body != null ? body : new V1Status();
+    }
+
+    private V1SubjectAccessReviewStatus createAllowedStatus() {
+      return new V1SubjectAccessReviewStatus().allowed(true);
+    }
+
+    // the pod collection call predates the others, and does not name its kind
+    private String getCollectionKind(String call) {
+      String kindName = call.substring("deleteCollection".length());
+      return kindName.isEmpty() ? "Pod" : kindName;
+    }
+
+    private boolean isResourceCall(String call, String prefix) {
+      return kinds.containsKey(normalize(call.substring(prefix.length())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T createFromBody(ResourceKind<T> kind, String namespace) {
+      return kind.create(namespace, (T) requestParams.body);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T replaceFromBody(ResourceKind<T> kind, String namespace) {
+      return kind.replace(namespace, (T) requestParams.body);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResourceKind<T> getKind(String kindName) {
+      ResourceKind<T> kind = (ResourceKind<T>) kinds.get(normalize(kindName));
+      if (kind == null) {
+        throw new SimulatedFailure(HttpURLConnection.HTTP_BAD_REQUEST, "Unknown kind " + kindName);
+      }
+      return kind;
+    }
+
+    private String normalize(String kindName) {
+      switch (kindName) {
+        case "PV":
+          return "PersistentVolume";
+        case "PVC":
+          return "PersistentVolumeClaim";
+        default:
+          return kindName;
+      }
+    }
+  }
+
+  private class SimulatedRetryStrategy implements RetryStrategy {
+    private int retryCount;
+    private Step retryStep;
+
+    @Override
+    public void setRetryStep(Step retryStep) {
+      this.retryStep = retryStep;
+    }
+
+    @Override
+    public NextAction doPotentialRetry(
+        Step conflictStep,
+        Packet packet,
+        ApiException e,
+        int statusCode,
+        Map<String, List<String>> responseHeaders) {
+      if (++retryCount > MAX_RETRIES) {
+        return null;
+      }
+
+      NextAction na = new NextAction();
+      if (statusCode == TOO_MANY_REQUESTS) {
+        na.delay(retryStep, packet, getRetryAfterSeconds(responseHeaders), TimeUnit.SECONDS);
+        return na;
+      } else if (statusCode == HttpURLConnection.HTTP_CONFLICT && conflictStep != null) {
+        na.invoke(conflictStep, packet);
+        return na;
+      }
+      return null;
+    }
+
+    private long getRetryAfterSeconds(Map<String, List<String>> responseHeaders) {
+      List<String> values = responseHeaders != null ? responseHeaders.get("Retry-After") : null;
+      return values == null || values.isEmpty() ? 1 : Long.parseLong(values.get(0));
+    }
+
+    @Override
+    public void reset() {
+      retryCount = 0;
+    }
+  }
+
+  // ---------------------------------------------------------------------------------------------
+  // Watches
+
+  private static class WatchRecord {
+    private final String kind;
+    private final String namespace;
+    private final String type;
+    private final Object resource;
+    private final long resourceVersion;
+
+    WatchRecord(String kind, String namespace, String type, Object resource, long rv) {
+      this.kind = kind;
+      this.namespace = namespace;
+      this.type = type;
+      this.resource = resource;
+      this.resourceVersion = rv;
+    }
+  }
+
+  private class SimulatedWatches implements WatchBuilder.WatchFactory {
+    @Override
+    public <T> WatchI<T> createWatch(
+        Pool<ApiClient> pool,
+        CallParams callParams,
+        Class<?> responseBodyType,
+        BiFunction<ApiClient, CallParams, Call> function) {
+      SimulatedWatch<T> watch =
+          new SimulatedWatch<>(
+              getKindName(responseBodyType),
+              getNamespace(function),
+              callParams.getLabelSelector(),
+              parseResourceVersion(callParams.getResourceVersion()),
+              callParams.getTimeoutSeconds());
+      synchronized (history) {
+        for (WatchRecord record : history) {
+          watch.offer(record);
+        }
+        watches.add(watch);
+      }
+      return watch;
+    }
+
+    private String getKindName(Class<?> responseBodyType) {
+      for (ResourceKind<?> kind : kinds.values()) {
+        if (kind.type.equals(responseBodyType)) {
+          return kind.name;
+        }
+      }
+      throw new IllegalArgumentException("Cannot watch " + responseBodyType);
+    }
+
+    // The watch calls in WatchBuilder capture their namespace in a field
+    private String getNamespace(Object function) {
+      try {
+        Field field = function.getClass().getDeclaredField("namespace");
+        field.setAccessible(true);
+        return (String) field.get(function);
+      } catch (NoSuchFieldException | IllegalAccessException e) {
+        return null;
+      }
+    }
+
+    private long parseResourceVersion(String resourceVersion) {
+      return resourceVersion == null || resourceVersion.isEmpty()
+          ? 0
+          : Long.parseLong(resourceVersion);
+    }
+  }
+
+  private class SimulatedWatch<T> implements WatchI<T> {
+    private final String kind;
+    private final String namespace;
+    private final String labelSelector;
+    private final long fromResourceVersion;
+    private final long timeoutMillis;
+    private final BlockingQueue<WatchRecord> pending = new LinkedBlockingQueue<>();
+    private WatchRecord nextRecord;
+
+    SimulatedWatch(
+        String kind,
+        String namespace,
+        String labelSelector,
+        long fromResourceVersion,
+        Integer timeoutSeconds) {
+      this.kind = kind;
+      this.namespace = namespace;
+      this.labelSelector = labelSelector;
+      this.fromResourceVersion = fromResourceVersion;
+      this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds != null ? timeoutSeconds : 30);
+    }
+
+    void offer(WatchRecord record) {
+      if (record.kind.equals(kind)
+          && record.resourceVersion > fromResourceVersion
+          && (namespace == null || namespace.equals(record.namespace))
+          && LabelSelector.matches(labelSelector, getLabels(record.resource))) {
+        pending.offer(record);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getLabels(Object resource) {
+      return ((ResourceKind<Object>) kinds.get(kind)).metadata.apply(resource).getLabels();
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextRecord == null) {
+        try {
+          nextRecord = pending.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return nextRecord != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Watch.Response<T> next() {
+      if (!hasNext()) {
+        throw new java.util.NoSuchElementException();
+      }
+      WatchRecord record = nextRecord;
+      nextRecord = null;
+      switch (record.type) {
+        case "ADDED":
+          return WatchEvent.createAddedEvent((T) record.resource).toWatchResponse();
+        case "MODIFIED":
+          return WatchEvent.createModifiedEvent((T) record.resource).toWatchResponse();
+        default:
+          return WatchEvent.createDeleteEvent((T) record.resource).toWatchResponse();
+      }
+    }
+
+    @Override
+    public @Nonnull Iterator<Watch.Response<T>> iterator() {
+      return this;
+    }
+
+    @Override
+    public void close() {
+      watches.remove(this);
+    }
+  }
+}
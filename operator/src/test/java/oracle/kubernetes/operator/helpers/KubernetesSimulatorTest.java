@@ -0,0 +1,255 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import com.meterware.simplestub.Memento;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodList;
+import io.kubernetes.client.models.V1TokenReview;
+import io.kubernetes.client.util.Watch;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import oracle.kubernetes.TestUtils;
+import oracle.kubernetes.operator.builders.WatchBuilder;
+import oracle.kubernetes.operator.builders.WatchI;
+import oracle.kubernetes.operator.calls.CallResponse;
+import oracle.kubernetes.operator.work.FiberTestSupport;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.weblogic.domain.v2.Cluster;
+import oracle.kubernetes.weblogic.domain.v2.Domain;
+import oracle.kubernetes.weblogic.domain.v2.DomainSpec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KubernetesSimulatorTest {
+  private static final String NS = "namespace";
+  private static final String UID = "uid1";
+  private static final String CLUSTER = "cluster1";
+  private static final int HTTP_CONFLICT = 409;
+  private static final int HTTP_UNPROCESSABLE_ENTITY = 422;
+
+  private ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+  private KubernetesSimulator simulator = new KubernetesSimulator(executor);
+  private FiberTestSupport testSupport = new FiberTestSupport();
+  private List<Memento> mementos = new ArrayList<>();
+  private CapturingResponseStep<V1PodList> listStep = new CapturingResponseStep<>();
+
+  @Before
+  public void setUp() throws Exception {
+    mementos.add(TestUtils.silenceOperatorLogger());
+    mementos.addAll(simulator.install());
+  }
+
+  @After
+  public void tearDown() {
+    for (Memento memento : mementos) memento.revert();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void createdPod_isRunning() {
+    simulator.createResource(createPod("pod1", UID));
+
+    List<V1Pod> pods = simulator.getResources("Pod", NS);
+
+    assertThat(pods.size(), equalTo(1));
+    assertThat(pods.get(0).getStatus().getPhase(), equalTo("Running"));
+  }
+
+  @Test
+  public void listPods_returnsOnlyPodsMatchingLabelSelector() {
+    simulator.createResource(createPod("pod1", UID));
+    simulator.createResource(createPod("pod2", "uid2"));
+
+    testSupport.runSteps(
+        new CallBuilder()
+            .withLabelSelectors("weblogic.domainUID=" + UID)
+            .listPodAsync(NS, listStep));
+
+    assertThat(getPodNames(listStep.result), contains("pod1"));
+  }
+
+  @Test
+  public void countsCallsByName() {
+    testSupport.runSteps(new CallBuilder().listPodAsync(NS, listStep));
+
+    assertThat(simulator.getCallCounts(), hasEntry("listPod", 1));
+  }
+
+  @Test
+  public void whenThrottled_retryAfterDelay() {
+    simulator.withThrottling(1.0, 2);
+    simulator.createResource(createPod("pod1", UID));
+    testSupport.runSteps(new CallBuilder().listPodAsync(NS, listStep));
+
+    simulator.withThrottling(0.0, 2);
+    testSupport.setTime(2, TimeUnit.SECONDS);
+
+    assertThat(simulator.getThrottledCount(), equalTo(1));
+    assertThat(getPodNames(listStep.result), contains("pod1"));
+  }
+
+  @Test
+  public void readPodLog_returnsDefinedLog() {
+    simulator.definePodLog(NS, "pod1", "introspection results");
+    CapturingResponseStep<String> logStep = new CapturingResponseStep<>();
+
+    testSupport.runSteps(new CallBuilder().readPodLogAsync("pod1", NS, logStep));
+
+    assertThat(logStep.result, equalTo("introspection results"));
+  }
+
+  @Test
+  public void watch_receivesEventsAfterResourceVersion() throws Exception {
+    simulator.createResource(createPod("pod1", UID));
+    List<V1Pod> pods = simulator.getResources("Pod", NS);
+    String resourceVersion = pods.get(0).getMetadata().getResourceVersion();
+    simulator.createResource(createPod("pod2", UID));
+
+    try (WatchI<V1Pod> watch =
+        new WatchBuilder()
+            .withResourceVersion(resourceVersion)
+            .withTimeoutSeconds(1)
+            .createPodWatch(NS)) {
+      Watch.Response<V1Pod> response = watch.next();
+
+      assertThat(response.type, equalTo("ADDED"));
+      assertThat(response.object.getMetadata().getName(), equalTo("pod2"));
+    }
+  }
+
+  @Test
+  public void patchDomain_appliesJsonPatch() {
+    simulator.createResource(createDomain());
+    CapturingResponseStep<Domain> patchStep = new CapturingResponseStep<>();
+
+    testSupport.runSteps(
+        new CallBuilder()
+            .patchDomainAsync(UID, NS, createReplicaPatch(getResourceVersion()), patchStep));
+
+    assertThat(getDomain().getReplicaCount(CLUSTER), equalTo(3));
+    assertThat(patchStep.result.getReplicaCount(CLUSTER), equalTo(3));
+  }
+
+  @Test
+  public void whenPatchHasStaleResourceVersion_conflict() {
+    simulator.createResource(createDomain());
+    String staleResourceVersion = getResourceVersion();
+    simulator.replaceResource(getDomain());
+    CapturingResponseStep<Domain> patchStep = new CapturingResponseStep<>();
+
+    testSupport.runSteps(
+        new CallBuilder()
+            .patchDomainAsync(UID, NS, createReplicaPatch(staleResourceVersion), patchStep));
+
+    assertThat(patchStep.statusCode, equalTo(HTTP_CONFLICT));
+    assertThat(simulator.getConflictCount(), equalTo(1));
+    assertThat(getDomain().getReplicaCount(CLUSTER), equalTo(1));
+  }
+
+  @Test
+  public void whenPatchTestFails_unprocessable() {
+    simulator.createResource(createDomain());
+    CapturingResponseStep<Domain> patchStep = new CapturingResponseStep<>();
+
+    testSupport.runSteps(
+        new CallBuilder()
+            .patchDomainAsync(
+                UID,
+                NS,
+                new JsonPatch().test("/spec/clusters/0/clusterName", "other").getOperations(),
+                patchStep));
+
+    assertThat(patchStep.statusCode, equalTo(HTTP_UNPROCESSABLE_ENTITY));
+  }
+
+  @Test
+  public void synchronousTokenReview_isAuthenticated() throws Exception {
+    V1TokenReview review = new CallBuilder().createTokenReview(new V1TokenReview());
+
+    assertThat(review.getStatus().isAuthenticated(), equalTo(true));
+    assertThat(simulator.getCallCounts(), hasEntry("createTokenReview", 1));
+  }
+
+  private Domain createDomain() {
+    Cluster cluster = new Cluster();
+    cluster.setClusterName(CLUSTER);
+    cluster.setReplicas(1);
+    return new Domain()
+        .withMetadata(new V1ObjectMeta().namespace(NS).name(UID))
+        .withSpec(new DomainSpec().withDomainUID(UID).withCluster(cluster));
+  }
+
+  private Domain getDomain() {
+    List<Domain> domains = simulator.getResources("Domain", NS);
+    return domains.get(0);
+  }
+
+  private String getResourceVersion() {
+    return getDomain().getMetadata().getResourceVersion();
+  }
+
+  private List<Map<String, Object>> createReplicaPatch(String resourceVersion) {
+    return new JsonPatch()
+        .replace("/metadata/resourceVersion", resourceVersion)
+        .test("/spec/clusters/0/clusterName", CLUSTER)
+        .add("/spec/clusters/0/replicas", 3)
+        .getOperations();
+  }
+
+  private V1Pod createPod(String name, String uid) {
+    return new V1Pod()
+        .metadata(
+            new V1ObjectMeta()
+                .namespace(NS)
+                .name(name)
+                .labels(Collections.singletonMap("weblogic.domainUID", uid)));
+  }
+
+  private List<String> getPodNames(V1PodList list) {
+    assertThat(list, notNullValue());
+    List<String> names = new ArrayList<>();
+    for (V1Pod pod : list.getItems()) {
+      names.add(pod.getMetadata().getName());
+    }
+    Collections.sort(names);
+    return names;
+  }
+
+  static class CapturingResponseStep<T> extends ResponseStep<T> {
+    private T result;
+    private int statusCode;
+
+    CapturingResponseStep() {
+      super(null);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, CallResponse<T> callResponse) {
+      result = callResponse.getResult();
+      return doNext(packet);
+    }
+
+    @Override
+    public NextAction onFailure(Packet packet, CallResponse<T> callResponse) {
+      statusCode = callResponse.getStatusCode();
+      return super.onFailure(packet, callResponse);
+    }
+  }
+}
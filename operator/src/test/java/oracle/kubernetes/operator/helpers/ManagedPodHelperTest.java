@@ -69,7 +69,7 @@ public class ManagedPodHelperTest extends PodHelperTestBase {
 
   @Override
   void expectStepsAfterCreation() {
-    expectReplaceDomain();
+    expectPatchDomain();
   }
 
   @Override
@@ -77,9 +77,9 @@ public class ManagedPodHelperTest extends PodHelperTestBase {
     return PodHelper::createManagedPodStep;
   }
 
-  private void expectReplaceDomain() {
+  private void expectPatchDomain() {
     testSupport
-        .createCannedResponse("replaceDomain")
+        .createCannedResponse("patchDomain")
         .withNamespace(NS)
         .ignoringBody()
         .returning(new Domain());
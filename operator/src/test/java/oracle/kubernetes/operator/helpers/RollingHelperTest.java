@@ -0,0 +1,245 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static oracle.kubernetes.operator.ProcessingConstants.CLUSTER_NAME;
+import static oracle.kubernetes.operator.ProcessingConstants.DOMAIN_TOPOLOGY;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import com.meterware.simplestub.Memento;
+import io.kubernetes.client.models.V1ObjectMeta;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import oracle.kubernetes.TestUtils;
+import oracle.kubernetes.operator.OperatorMetrics;
+import oracle.kubernetes.operator.WebLogicConstants;
+import oracle.kubernetes.operator.utils.WlsDomainConfigSupport;
+import oracle.kubernetes.operator.work.Fiber;
+import oracle.kubernetes.operator.work.FiberTestSupport;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.operator.work.Step.StepAndPacket;
+import oracle.kubernetes.operator.work.TerminalStep;
+import oracle.kubernetes.weblogic.domain.DomainConfigurator;
+import oracle.kubernetes.weblogic.domain.DomainConfiguratorFactory;
+import oracle.kubernetes.weblogic.domain.v2.Domain;
+import oracle.kubernetes.weblogic.domain.v2.DomainSpec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RollingHelperTest {
+  private static final String NS = "namespace";
+  private static final String UID = "uid1";
+  private static final String CLUSTER1 = "cluster1";
+  private static final String CLUSTER2 = "cluster2";
+  private static final String LABELS =
+      "namespace=\"" + NS + "\",domainUID=\"" + UID + "\",cluster=\"" + CLUSTER1 + "\"";
+
+  private List<Memento> mementos = new ArrayList<>();
+  private FiberTestSupport testSupport = new FiberTestSupport();
+  private Domain domain =
+      new Domain()
+          .withMetadata(new V1ObjectMeta().namespace(NS))
+          .withSpec(new DomainSpec().withDomainUID(UID));
+  private DomainConfigurator configurator = DomainConfiguratorFactory.forDomain(domain);
+  private DomainPresenceInfo info = new DomainPresenceInfo(domain);
+  private WlsDomainConfigSupport configSupport = new WlsDomainConfigSupport("base_domain");
+  private Map<String, StepAndPacket> rolling = new LinkedHashMap<>();
+  private List<String> started = new ArrayList<>();
+  private Map<String, Fiber> restarting = new HashMap<>();
+  private TerminalStep terminalStep = new TerminalStep();
+
+  @Before
+  public void setUp() throws Exception {
+    mementos.add(TestUtils.silenceOperatorLogger());
+
+    configSupport.addWlsCluster(CLUSTER1, "ms1", "ms2", "ms3", "ms4");
+    configSupport.addWlsCluster(CLUSTER2, "ms5", "ms6");
+    testSupport
+        .addDomainPresenceInfo(info)
+        .addToPacket(DOMAIN_TOPOLOGY, configSupport.createDomainConfig());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    for (Memento memento : mementos) memento.revert();
+
+    testSupport.throwOnCompletionFailure();
+  }
+
+  @Test
+  public void whenServersNotReady_restartAllAtOnce() {
+    configureCluster(CLUSTER1, 4, 1);
+    roll(CLUSTER1, "ms1", "ms2", "ms3", "ms4");
+
+    testSupport.runSteps(RollingHelper.rollServers(rolling, terminalStep));
+
+    assertThat(started, containsInAnyOrder("ms1", "ms2", "ms3", "ms4"));
+  }
+
+  @Test
+  public void whenClusterMayLoseOneServer_restartOneAtATime() {
+    configureCluster(CLUSTER1, 4, 1);
+    setReady("ms1", "ms2", "ms3", "ms4");
+    roll(CLUSTER1, "ms1", "ms2", "ms3", "ms4");
+
+    testSupport.runSteps(RollingHelper.rollServers(rolling, terminalStep));
+
+    assertThat(started, contains("ms1"));
+  }
+
+  @Test
+  public void whenRestartedServerReady_restartNextServer() {
+    configureCluster(CLUSTER1, 4, 1);
+    setReady("ms1", "ms2", "ms3", "ms4");
+    roll(CLUSTER1, "ms1", "ms2", "ms3", "ms4");
+    testSupport.runSteps(RollingHelper.rollServers(rolling, terminalStep));
+
+    completeRestart("ms1");
+
+    assertThat(started, contains("ms1", "ms2"));
+  }
+
+  @Test
+  public void whenClusterMayLoseTwoServers_restartNextAsSoonAsOneIsReady() {
+    configureCluster(CLUSTER1, 4, 2);
+    setReady("ms1", "ms2", "ms3", "ms4");
+    roll(CLUSTER1, "ms1", "ms2", "ms3", "ms4");
+    testSupport.runSteps(RollingHelper.rollServers(rolling, terminalStep));
+    assertThat(started, contains("ms1", "ms2"));
+
+    completeRestart("ms1");
+
+    assertThat(started, contains("ms1", "ms2", "ms3"));
+  }
+
+  @Test
+  public void whenOtherMemberNotReady_restartFewerServers() {
+    configureCluster(CLUSTER1, 4, 2);
+    setReady("ms1", "ms2", "ms3");
+    roll(CLUSTER1, "ms1", "ms2", "ms3");
+
+    testSupport.runSteps(RollingHelper.rollServers(rolling, terminalStep));
+
+    assertThat(started, contains("ms1"));
+  }
+
+  @Test
+  public void clustersAreRolledInParallel() {
+    configureCluster(CLUSTER1, 4, 1);
+    configureCluster(CLUSTER2, 2, 1);
+    setReady("ms1", "ms2", "ms3", "ms4", "ms5", "ms6");
+    roll(CLUSTER1, "ms1", "ms2");
+    roll(CLUSTER2, "ms5", "ms6");
+
+    testSupport.runSteps(RollingHelper.rollServers(rolling, terminalStep));
+
+    assertThat(started, containsInAnyOrder("ms1", "ms5"));
+  }
+
+  @Test
+  public void afterAllServersRestarted_runNextStep() {
+    configureCluster(CLUSTER1, 4, 1);
+    setReady("ms1", "ms2", "ms3", "ms4");
+    roll(CLUSTER1, "ms1", "ms2");
+    testSupport.runSteps(RollingHelper.rollServers(rolling, terminalStep));
+
+    completeRestart("ms1");
+    completeRestart("ms2");
+
+    assertThat(terminalStep.wasRun(), equalTo(true));
+  }
+
+  @Test
+  public void afterClusterRolled_recordRollout() {
+    configureCluster(CLUSTER1, 4, 2);
+    setReady("ms1", "ms2", "ms3", "ms4");
+    roll(CLUSTER1, "ms1", "ms2", "ms3");
+    testSupport.runSteps(RollingHelper.rollServers(rolling, terminalStep));
+
+    completeRestart("ms1");
+    completeRestart("ms2");
+    completeRestart("ms3");
+
+    String text = OperatorMetrics.getInstance().toPrometheusText();
+    assertThat(text, containsString("weblogic_operator_cluster_rollout_servers{" + LABELS + "} 3"));
+    assertThat(
+        text,
+        containsString(
+            "weblogic_operator_cluster_rollout_max_concurrent_restarts{" + LABELS + "} 2"));
+  }
+
+  @Test
+  public void afterFiberCancelled_restartNoMoreServers() {
+    configureCluster(CLUSTER1, 4, 1);
+    setReady("ms1", "ms2", "ms3", "ms4");
+    roll(CLUSTER1, "ms1", "ms2");
+    testSupport.runSteps(RollingHelper.rollServers(rolling, terminalStep));
+
+    testSupport.cancelFiber();
+    completeRestart("ms1");
+
+    assertThat(started, contains("ms1"));
+    assertThat(terminalStep.wasRun(), equalTo(false));
+  }
+
+  private void configureCluster(String clusterName, int replicas, int maxUnavailable) {
+    configurator
+        .configureCluster(clusterName)
+        .withReplicas(replicas)
+        .withMaxUnavailable(maxUnavailable);
+  }
+
+  private void setReady(String... serverNames) {
+    for (String serverName : serverNames) {
+      info.getServers()
+          .computeIfAbsent(serverName, k -> new ServerKubernetesObjects())
+          .getLastKnownStatus()
+          .set(WebLogicConstants.RUNNING_STATE);
+    }
+  }
+
+  private void roll(String clusterName, String... serverNames) {
+    for (String serverName : serverNames) {
+      Packet packet = new Packet();
+      packet.put(CLUSTER_NAME, clusterName);
+      rolling.put(serverName, new StepAndPacket(new RestartStep(serverName), packet));
+    }
+  }
+
+  private void completeRestart(String serverName) {
+    restarting.remove(serverName).resume(new Packet());
+  }
+
+  // stands in for the replacement of a server's pod; completes when the test says the new pod
+  // is ready, without updating the server's last known status
+  private class RestartStep extends Step {
+    private final String serverName;
+
+    RestartStep(String serverName) {
+      super(null);
+      this.serverName = serverName;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      started.add(serverName);
+      ServerKubernetesObjects sko = info.getServers().get(serverName);
+      if (sko != null) {
+        sko.getLastKnownStatus().set(WebLogicConstants.SHUTDOWN_STATE);
+      }
+      return doSuspend(fiber -> restarting.put(serverName, fiber));
+    }
+  }
+}
@@ -0,0 +1,285 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static oracle.kubernetes.operator.helpers.SecretHelper.ADMIN_SERVER_CREDENTIALS_PASSWORD;
+import static oracle.kubernetes.operator.helpers.SecretHelper.ADMIN_SERVER_CREDENTIALS_USERNAME;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Secret;
+import io.kubernetes.client.util.Watch;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import oracle.kubernetes.operator.builders.WatchEvent;
+import org.junit.Test;
+
+public class SecretCacheTest {
+  private static final String NS = "namespace";
+  private static final String NAME = "credentials";
+
+  private AtomicLong time = new AtomicLong();
+  private SecretCache cache = new SecretCache(time::get);
+  private List<String> watchesStarted = new ArrayList<>();
+
+  private void startWatch(String namespace, String resourceVersion) {
+    watchesStarted.add(namespace + ":" + resourceVersion);
+  }
+
+  @Test
+  public void whenSecretFirstCached_watchIsStartedFromItsVersion() {
+    cache.startCaching(NS, this::startWatch);
+
+    cacheSecret("1", "user", "pass");
+    cacheSecret("2", "user", "new");
+
+    assertThat(watchesStarted, contains(NS + ":1"));
+  }
+
+  @Test
+  public void whenOtherSecretsCached_onlyOneWatchIsStartedForTheNamespace() {
+    cache.startCaching(NS, this::startWatch);
+
+    cacheSecret(NAME, "1", "user", "pass");
+    cacheSecret("other", "2", "user", "pass");
+
+    assertThat(watchesStarted, contains(NS + ":1"));
+  }
+
+  @Test
+  public void whenWatchStarted_cacheIsNotLocked() {
+    cache.startCaching(NS, (namespace, resourceVersion) -> assertNotLockedBy(cache));
+
+    cacheSecret("1", "user", "pass");
+  }
+
+  private static void assertNotLockedBy(Object monitor) {
+    assertThat(Thread.holdsLock(monitor), equalTo(false));
+  }
+
+  @Test
+  public void afterWatchGone_secretIsNoLongerCached() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "pass");
+
+    cache.onWatchGone(NS);
+
+    assertThat(cache.get(NS, NAME), nullValue());
+  }
+
+  @Test
+  public void afterCachingRestarted_watchIsStartedAgain() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "pass");
+    cache.stopCaching(NS);
+
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("2", "user", "pass");
+
+    assertThat(watchesStarted, contains(NS + ":1", NS + ":2"));
+  }
+
+  @Test
+  public void whenNamespaceNotCached_noWatchIsStarted() {
+    cacheSecret("1", "user", "pass");
+
+    assertThat(watchesStarted, empty());
+  }
+
+  @Test
+  public void whenNamespaceNotCached_secretIsNotCached() {
+    cacheSecret("1", "user", "pass");
+
+    assertThat(cache.get(NS, NAME), nullValue());
+  }
+
+  @Test
+  public void afterSecretRead_cacheReturnsItsData() {
+    cache.startCaching(NS, this::startWatch);
+
+    cacheSecret("1", "user", "pass");
+
+    assertThat(getPassword(cache.get(NS, NAME)), equalTo("pass"));
+  }
+
+  @Test
+  public void whenCallerZeroesData_cachedDataIsUnchanged() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "pass");
+
+    zero(cache.get(NS, NAME));
+
+    assertThat(getPassword(cache.get(NS, NAME)), equalTo("pass"));
+  }
+
+  @Test
+  public void whenOlderVersionRead_cachedDataIsNotReplaced() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("2", "user", "new");
+
+    cacheSecret("1", "user", "old");
+
+    assertThat(getPassword(cache.get(NS, NAME)), equalTo("new"));
+  }
+
+  @Test
+  public void afterSecretModified_cacheReturnsNewData() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "old");
+
+    cache.dispatchSecretWatch(modified(createSecret("2", "user", "new")));
+
+    assertThat(getPassword(cache.get(NS, NAME)), equalTo("new"));
+  }
+
+  @Test
+  public void whenUncachedSecretModified_itIsNotCached() {
+    cache.startCaching(NS, this::startWatch);
+
+    cache.dispatchSecretWatch(modified(createSecret("2", "user", "new")));
+
+    assertThat(cache.get(NS, NAME), nullValue());
+  }
+
+  @Test
+  public void afterSecretDeleted_cacheNoLongerReturnsIt() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "pass");
+
+    cache.dispatchSecretWatch(deleted(createSecret("1", "user", "pass")));
+
+    assertThat(cache.get(NS, NAME), nullValue());
+  }
+
+  @Test
+  public void whenSecretEvicted_cachedBuffersAreZeroed() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "old");
+    V1Secret secret = createSecret("2", "user", "new");
+    cache.dispatchSecretWatch(modified(secret));
+
+    cache.dispatchSecretWatch(deleted(createSecret("2", "user", "new")));
+
+    assertThat(isZeroed(secret.getData().get(ADMIN_SERVER_CREDENTIALS_PASSWORD)), equalTo(true));
+  }
+
+  @Test
+  public void whenSecretCached_lendsSameBuffersEachTime() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "pass");
+    List<byte[]> lent = new ArrayList<>();
+
+    cache.lend(NS, NAME, data -> lent.add(data.get(ADMIN_SERVER_CREDENTIALS_PASSWORD)));
+    cache.lend(NS, NAME, data -> lent.add(data.get(ADMIN_SERVER_CREDENTIALS_PASSWORD)));
+
+    assertThat(lent.get(0) == lent.get(1), equalTo(true));
+    assertThat(new String(lent.get(0)), equalTo("pass"));
+  }
+
+  @Test
+  public void whenSecretNotCached_lendReturnsFalse() {
+    cache.startCaching(NS, this::startWatch);
+
+    assertThat(cache.lend(NS, NAME, data -> {}), equalTo(false));
+  }
+
+  @Test
+  public void afterMaximumAge_lendReturnsFalse() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "pass");
+
+    time.addAndGet(TimeUnit.MINUTES.toNanos(6));
+
+    assertThat(cache.lend(NS, NAME, data -> {}), equalTo(false));
+  }
+
+  @Test
+  public void whenLentSecretEvicted_lentBuffersAreZeroed() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "pass");
+    List<byte[]> lent = new ArrayList<>();
+    cache.lend(NS, NAME, data -> lent.add(data.get(ADMIN_SERVER_CREDENTIALS_PASSWORD)));
+
+    cache.dispatchSecretWatch(deleted(createSecret("2", "user", "pass")));
+
+    assertThat(isZeroed(lent.get(0)), equalTo(true));
+  }
+
+  @Test
+  public void afterMaximumAge_secretIsNoLongerCached() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "pass");
+
+    time.addAndGet(TimeUnit.MINUTES.toNanos(6));
+
+    assertThat(cache.get(NS, NAME), nullValue());
+  }
+
+  @Test
+  public void afterCachingStopped_secretIsNoLongerCached() {
+    cache.startCaching(NS, this::startWatch);
+    cacheSecret("1", "user", "pass");
+
+    cache.stopCaching(NS);
+    cache.startCaching(NS, this::startWatch);
+
+    assertThat(cache.get(NS, NAME), nullValue());
+  }
+
+  private void cacheSecret(String resourceVersion, String username, String password) {
+    cacheSecret(NAME, resourceVersion, username, password);
+  }
+
+  private void cacheSecret(String name, String resourceVersion, String username, String password) {
+    V1Secret secret = createSecret(name, resourceVersion, username, password);
+    cache.put(secret, SecretHelper.harvestAdminSecretData(secret));
+  }
+
+  private V1Secret createSecret(String resourceVersion, String username, String password) {
+    return createSecret(NAME, resourceVersion, username, password);
+  }
+
+  private V1Secret createSecret(
+      String name, String resourceVersion, String username, String password) {
+    Map<String, byte[]> data = new HashMap<>();
+    data.put(ADMIN_SERVER_CREDENTIALS_USERNAME, username.getBytes());
+    data.put(ADMIN_SERVER_CREDENTIALS_PASSWORD, password.getBytes());
+    return new V1Secret()
+        .metadata(new V1ObjectMeta().namespace(NS).name(name).resourceVersion(resourceVersion))
+        .data(data);
+  }
+
+  private Watch.Response<V1Secret> modified(V1Secret secret) {
+    return WatchEvent.createModifiedEvent(secret).toWatchResponse();
+  }
+
+  private Watch.Response<V1Secret> deleted(V1Secret secret) {
+    return WatchEvent.createDeleteEvent(secret).toWatchResponse();
+  }
+
+  private String getPassword(Map<String, byte[]> data) {
+    return new String(data.get(ADMIN_SERVER_CREDENTIALS_PASSWORD));
+  }
+
+  private void zero(Map<String, byte[]> data) {
+    data.values().forEach(value -> Arrays.fill(value, (byte) 0));
+  }
+
+  private boolean isZeroed(byte[] value) {
+    for (byte b : value) {
+      if (b != 0) return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,253 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static oracle.kubernetes.operator.LabelConstants.CLUSTERNAME_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.CLUSTERRESTARTVERSION_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.CREATEDBYOPERATOR_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.DOMAINNAME_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.DOMAINRESTARTVERSION_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.DOMAINUID_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.RESOURCE_VERSION_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.SERVERNAME_LABEL;
+import static oracle.kubernetes.operator.LabelConstants.SERVERRESTARTVERSION_LABEL;
+import static oracle.kubernetes.operator.VersionConstants.DEFAULT_DOMAIN_VERSION;
+
+import io.kubernetes.client.models.V1Container;
+import io.kubernetes.client.models.V1ContainerPort;
+import io.kubernetes.client.models.V1ContainerState;
+import io.kubernetes.client.models.V1ContainerStateRunning;
+import io.kubernetes.client.models.V1ContainerStatus;
+import io.kubernetes.client.models.V1EnvVar;
+import io.kubernetes.client.models.V1ExecAction;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1OwnerReference;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1PodStatus;
+import io.kubernetes.client.models.V1Probe;
+import io.kubernetes.client.models.V1SecretVolumeSource;
+import io.kubernetes.client.models.V1Service;
+import io.kubernetes.client.models.V1ServicePort;
+import io.kubernetes.client.models.V1ServiceSpec;
+import io.kubernetes.client.models.V1ServiceStatus;
+import io.kubernetes.client.models.V1Toleration;
+import io.kubernetes.client.models.V1Volume;
+import io.kubernetes.client.models.V1VolumeMount;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.function.UnaryOperator;
+import org.joda.time.DateTime;
+
+/**
+ * Measures the heap retained by the pods and services recorded for each server of a domain, when
+ * the objects are kept as read from Kubernetes and when they are kept as {@link CompactResources
+ * compact copies}. The pods and services resemble those returned by Kubernetes for a running
+ * managed server, including the fields that Kubernetes fills in.
+ *
+ * <p>Run it with the test classpath, for example: <code>
+ * mvn -pl operator test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=oracle.kubernetes.operator.helpers.ServerObjectsHeapBenchmark
+ * -Dexec.args="1000 5000 10000"</code>
+ *
+ * <p>The arguments are the numbers of servers to measure; the default is 1000, 5000 and 10000.
+ */
+public class ServerObjectsHeapBenchmark {
+  private static final String NAMESPACE = "namespace";
+  private static final String DOMAIN_UID = "domain1";
+  private static final int ENV_VAR_COUNT = 20;
+  private static final String IMAGE_ID =
+      "docker-pullable://store/oracle/weblogic@sha256:"
+          + "4c7ce451c093329784a2808a55cd4fc4f1e93d8444b8492a24148d283c5b6bb7";
+  private static final DateTime START_TIME = new DateTime(2018, 10, 4, 21, 7, 0);
+
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the numbers of servers to measure
+   */
+  public static void main(String[] args) {
+    String[] serverCounts = args.length > 0 ? args : new String[] {"1000", "5000", "10000"};
+    ServerObjectsHeapBenchmark benchmark = new ServerObjectsHeapBenchmark();
+
+    System.out.println(String.format("%8s %12s %12s", "servers", "full (KB)", "compact (KB)"));
+    for (String serverCount : serverCounts) {
+      int count = Integer.parseInt(serverCount);
+      long full = benchmark.measure(count, UnaryOperator.identity(), UnaryOperator.identity());
+      long compact = benchmark.measure(count, CompactResources::compact, CompactResources::compact);
+      System.out.println(String.format("%8d %12d %12d", count, full / 1024, compact / 1024));
+    }
+  }
+
+  private long measure(
+      int serverCount, UnaryOperator<V1Pod> podRecorder, UnaryOperator<V1Service> serviceRecorder) {
+    long before = getUsedHeap();
+    DomainPresenceInfo info = new DomainPresenceInfo(NAMESPACE, DOMAIN_UID);
+    for (int i = 0; i < serverCount; i++) {
+      String serverName = "managed-server" + i;
+      ServerKubernetesObjects sko = new ServerKubernetesObjects();
+      sko.getPod().set(podRecorder.apply(createPod(serverName)));
+      sko.getService().set(serviceRecorder.apply(createService(serverName)));
+      info.getServers().put(serverName, sko);
+    }
+    long retained = getUsedHeap() - before;
+    if (info.getServers().size() != serverCount) {
+      throw new IllegalStateException("Servers were not recorded");
+    }
+    return retained;
+  }
+
+  private long getUsedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  private static V1ObjectMeta createMetadata(String serverName) {
+    return new V1ObjectMeta()
+        .name(DOMAIN_UID + "-" + serverName)
+        .namespace(NAMESPACE)
+        .uid(serverName + "-0a1b2c3d-4e5f-6a7b-8c9d-0e1f2a3b4c5d")
+        .selfLink("/api/v1/namespaces/" + NAMESPACE + "/pods/" + DOMAIN_UID + "-" + serverName)
+        .resourceVersion("1234567")
+        .creationTimestamp(START_TIME)
+        .putLabelsItem(RESOURCE_VERSION_LABEL, DEFAULT_DOMAIN_VERSION)
+        .putLabelsItem(DOMAINUID_LABEL, DOMAIN_UID)
+        .putLabelsItem(DOMAINNAME_LABEL, "base_domain")
+        .putLabelsItem(SERVERNAME_LABEL, serverName)
+        .putLabelsItem(CLUSTERNAME_LABEL, "cluster-1")
+        .putLabelsItem(CREATEDBYOPERATOR_LABEL, "true")
+        .putLabelsItem(DOMAINRESTARTVERSION_LABEL, "1")
+        .putLabelsItem(CLUSTERRESTARTVERSION_LABEL, "1")
+        .putLabelsItem(SERVERRESTARTVERSION_LABEL, "1")
+        .putAnnotationsItem("prometheus.io/port", "8001")
+        .putAnnotationsItem("prometheus.io/path", "/wls-exporter/metrics")
+        .putAnnotationsItem("prometheus.io/scrape", "true");
+  }
+
+  private static V1Pod createPod(String serverName) {
+    return new V1Pod()
+        .metadata(
+            createMetadata(serverName)
+                .addOwnerReferencesItem(
+                    new V1OwnerReference()
+                        .apiVersion("weblogic.oracle/v2")
+                        .kind("Domain")
+                        .name(DOMAIN_UID)
+                        .uid("0a1b2c3d-4e5f-6a7b-8c9d-0e1f2a3b4c5d")))
+        .spec(
+            new V1PodSpec()
+                .nodeName("node-" + (serverName.hashCode() & 0xf))
+                .serviceAccountName("default")
+                .schedulerName("default-scheduler")
+                .dnsPolicy("ClusterFirst")
+                .restartPolicy("Always")
+                .terminationGracePeriodSeconds(30L)
+                .addContainersItem(createContainer(serverName))
+                .addVolumesItem(createSecretVolume("weblogic-credentials-volume"))
+                .addVolumesItem(createSecretVolume("weblogic-domain-cm-volume"))
+                .addVolumesItem(createSecretVolume("default-token-abcde"))
+                .addTolerationsItem(createToleration("node.kubernetes.io/not-ready"))
+                .addTolerationsItem(createToleration("node.kubernetes.io/unreachable")))
+        .status(
+            new V1PodStatus()
+                .phase("Running")
+                .hostIP("10.0.0.1")
+                .podIP("10.244.0.1")
+                .qosClass("BestEffort")
+                .startTime(START_TIME)
+                .addConditionsItem(createCondition("Initialized"))
+                .addConditionsItem(createCondition("Ready"))
+                .addConditionsItem(createCondition("ContainersReady"))
+                .addConditionsItem(createCondition("PodScheduled"))
+                .addContainerStatusesItem(
+                    new V1ContainerStatus()
+                        .name("weblogic-server")
+                        .image("store/oracle/weblogic:12.2.1.3")
+                        .imageID(IMAGE_ID)
+                        .containerID("docker://" + serverName + "-ab12cd34ef56ab12cd34ef56")
+                        .ready(true)
+                        .restartCount(0)
+                        .state(
+                            new V1ContainerState()
+                                .running(new V1ContainerStateRunning().startedAt(START_TIME)))));
+  }
+
+  private static V1Container createContainer(String serverName) {
+    V1Container container =
+        new V1Container()
+            .name("weblogic-server")
+            .image("store/oracle/weblogic:12.2.1.3")
+            .imagePullPolicy("IfNotPresent")
+            .addCommandItem("/weblogic-operator/scripts/startServer.sh")
+            .terminationMessagePath("/dev/termination-log")
+            .terminationMessagePolicy("File")
+            .addPortsItem(new V1ContainerPort().containerPort(8001).protocol("TCP"))
+            .livenessProbe(createProbe("/weblogic-operator/scripts/livenessProbe.sh"))
+            .readinessProbe(createProbe("/weblogic-operator/scripts/readinessProbe.sh"))
+            .addVolumeMountsItem(
+                new V1VolumeMount()
+                    .name("weblogic-credentials-volume")
+                    .mountPath("/weblogic-operator/secrets"))
+            .addVolumeMountsItem(
+                new V1VolumeMount()
+                    .name("weblogic-domain-cm-volume")
+                    .mountPath("/weblogic-operator/scripts"))
+            .addVolumeMountsItem(
+                new V1VolumeMount()
+                    .name("default-token-abcde")
+                    .mountPath(PodDefaults.K8S_SERVICE_ACCOUNT_MOUNT_PATH));
+    for (int i = 0; i < ENV_VAR_COUNT; i++) {
+      container.addEnvItem(new V1EnvVar().name("ENV" + i).value(serverName + "-value" + i));
+    }
+    return container;
+  }
+
+  private static V1Probe createProbe(String command) {
+    return new V1Probe()
+        .exec(new V1ExecAction().addCommandItem(command))
+        .initialDelaySeconds(30)
+        .timeoutSeconds(5)
+        .periodSeconds(10)
+        .successThreshold(1)
+        .failureThreshold(1);
+  }
+
+  private static V1Volume createSecretVolume(String name) {
+    return new V1Volume().name(name).secret(new V1SecretVolumeSource().secretName(name));
+  }
+
+  private static V1Toleration createToleration(String key) {
+    return new V1Toleration()
+        .key(key)
+        .operator("Exists")
+        .effect("NoExecute")
+        .tolerationSeconds(300L);
+  }
+
+  private static V1PodCondition createCondition(String type) {
+    return new V1PodCondition().type(type).status("True").lastTransitionTime(START_TIME);
+  }
+
+  private static V1Service createService(String serverName) {
+    return new V1Service()
+        .metadata(createMetadata(serverName))
+        .spec(
+            new V1ServiceSpec()
+                .type("ClusterIP")
+                .clusterIP("None")
+                .sessionAffinity("None")
+                .publishNotReadyAddresses(true)
+                .putSelectorItem(DOMAINUID_LABEL, DOMAIN_UID)
+                .putSelectorItem(SERVERNAME_LABEL, serverName)
+                .putSelectorItem(CREATEDBYOPERATOR_LABEL, "true")
+                .addPortsItem(new V1ServicePort().port(8001).protocol("TCP")))
+        .status(new V1ServiceStatus());
+  }
+}
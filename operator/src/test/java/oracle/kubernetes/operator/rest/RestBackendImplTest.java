@@ -4,10 +4,16 @@
 
 package oracle.kubernetes.operator.rest;
 
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.junit.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 
 import com.meterware.simplestub.Memento;
 import com.meterware.simplestub.StaticStubSupport;
@@ -19,9 +25,13 @@ import io.kubernetes.client.models.V1TokenReviewStatus;
 import io.kubernetes.client.models.V1UserInfo;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.ws.rs.WebApplicationException;
 import oracle.kubernetes.TestUtils;
+import oracle.kubernetes.operator.helpers.AsyncCallTestSupport;
 import oracle.kubernetes.operator.helpers.BodyMatcher;
 import oracle.kubernetes.operator.helpers.CallTestSupport;
 import oracle.kubernetes.operator.rest.RestBackendImpl.TopologyRetriever;
@@ -42,6 +52,7 @@ import org.junit.Test;
 public class RestBackendImplTest {
 
   private static final int REPLICA_LIMIT = 4;
+  private static final int HTTP_UNPROCESSABLE_ENTITY = 422;
   private static final String DOMAIN = "domain";
   private static final String NS = "namespace1";
   private static final String UID = "uid1";
@@ -53,25 +64,34 @@ public class RestBackendImplTest {
   private Domain domain = createDomain(NS, UID);
   private DomainConfigurator configurator = DomainConfiguratorFactory.forDomain(domain);
   private CallTestSupport testSupport = new CallTestSupport();
-  private Domain updatedDomain;
+  private AsyncCallTestSupport asyncTestSupport = new AsyncCallTestSupport();
+  private List<Map<String, Object>> patch;
+  private AtomicInteger listDomainCount = new AtomicInteger();
   private SecurityControl securityControl = new SecurityControl();
-  private BodyMatcher fetchDomain =
+  private BodyMatcher fetchPatch =
       actualBody -> {
-        updatedDomain = (Domain) actualBody;
+        patch = getPatch(actualBody);
         return true;
       };
 
+  @SuppressWarnings("unchecked")
+  private static List<Map<String, Object>> getPatch(Object body) {
+    return (List<Map<String, Object>>) body;
+  }
+
   private static Domain createDomain(String namespace, String uid) {
     return new Domain()
-        .withMetadata(new V1ObjectMeta().namespace(namespace))
+        .withMetadata(new V1ObjectMeta().namespace(namespace).resourceVersion("1"))
         .withSpec(new DomainSpec().withDomainUID(uid));
   }
 
   private WlsDomainConfig config;
+  private AtomicInteger topologyLookupCount = new AtomicInteger();
 
   private class TopologyRetrieverStub implements TopologyRetriever {
     @Override
     public WlsDomainConfig getWlsDomainConfig(String ns, String domainUID) {
+      topologyLookupCount.incrementAndGet();
       return config;
     }
   }
@@ -80,12 +100,13 @@ public class RestBackendImplTest {
   public void setUp() throws Exception {
     mementos.add(TestUtils.silenceOperatorLogger());
     mementos.add(testSupport.installSynchronousCallDispatcher());
+    mementos.add(asyncTestSupport.installRequestStepFactory());
     mementos.add(
         StaticStubSupport.install(RestBackendImpl.class, "INSTANCE", new TopologyRetrieverStub()));
 
     expectSecurityCalls();
     expectPossibleListDomainCall();
-    expectPossibleReplaceDomainCall();
+    expectPossibleReadDomainCall();
 
     domains.clear();
     domains.add(domain);
@@ -110,40 +131,56 @@ public class RestBackendImplTest {
     testSupport
         .createOptionalCannedResponse("listDomain")
         .withNamespace(NS)
-        .returning(new DomainList().withItems(domains));
+        .computingResult(
+            requestParams -> {
+              listDomainCount.incrementAndGet();
+              return new DomainList().withItems(domains);
+            });
   }
 
-  private void expectPossibleReplaceDomainCall() {
-    testSupport
-        .createOptionalCannedResponse("replaceDomain")
+  private void expectPossibleReadDomainCall() {
+    asyncTestSupport
+        .createOptionalCannedResponse("readDomain")
         .withNamespace(NS)
         .withUid(UID)
-        .withBody(fetchDomain)
-        .returning(new Domain());
+        .returning(domain);
+  }
+
+  private void expectPatchDomainCall() {
+    asyncTestSupport
+        .createCannedResponse("patchDomain")
+        .withNamespace(NS)
+        .withUid(UID)
+        .withBody(fetchPatch)
+        .returning(domain);
   }
 
   @After
   public void tearDown() {
     for (Memento memento : mementos) memento.revert();
     testSupport.verifyAllDefinedResponsesInvoked();
+    asyncTestSupport.verifyAllDefinedResponsesInvoked();
+  }
+
+  private void scaleCluster(String domainUID, String cluster, int managedServerCount)
+      throws Exception {
+    asyncTestSupport.runStepsToCompletion(
+        restBackend.scaleCluster(domainUID, cluster, managedServerCount));
+    asyncTestSupport.throwOnCompletionFailure();
   }
 
   @Test(expected = WebApplicationException.class)
-  public void whenNegativeScaleSpecified_throwException() {
-    restBackend.scaleCluster(UID, "cluster1", -1);
+  public void whenNegativeScaleSpecified_throwException() throws Exception {
+    scaleCluster(UID, "cluster1", -1);
   }
 
   @Test
-  public void whenPerClusterReplicaSettingMatchesScaleRequest_doNothing() {
+  public void whenPerClusterReplicaSettingMatchesScaleRequest_doNothing() throws Exception {
     configureCluster("cluster1").withReplicas(5);
 
-    restBackend.scaleCluster(UID, "cluster1", 5);
+    scaleCluster(UID, "cluster1", 5);
 
-    assertThat(getUpdatedDomain(), nullValue());
-  }
-
-  private Domain getUpdatedDomain() {
-    return updatedDomain;
+    assertThat(patch, nullValue());
   }
 
   private ClusterConfigurator configureCluster(String clusterName) {
@@ -151,28 +188,164 @@ public class RestBackendImplTest {
   }
 
   @Test
-  public void whenPerClusterReplicaSetting_scaleClusterUpdatesSetting() {
+  public void whenPerClusterReplicaSetting_scaleClusterUpdatesSetting() throws Exception {
     configureCluster("cluster1").withReplicas(1);
+    expectPatchDomainCall();
 
-    restBackend.scaleCluster(UID, "cluster1", 5);
+    scaleCluster(UID, "cluster1", 5);
+
+    assertThat(
+        patch,
+        contains(
+            operation("replace", "/metadata/resourceVersion", "1"),
+            operation("test", "/spec/clusters/0/clusterName", "cluster1"),
+            operation("add", "/spec/clusters/0/replicas", 5)));
+  }
 
-    assertThat(getUpdatedDomain().getReplicaCount("cluster1"), equalTo(5));
+  private Map<String, Object> operation(String op, String path, Object value) {
+    Map<String, Object> operation = new HashMap<>();
+    operation.put("op", op);
+    operation.put("path", path);
+    operation.put("value", value);
+    return operation;
   }
 
   @Test
-  public void whenNoPerClusterReplicaSetting_scaleClusterCreatesOne() {
-    restBackend.scaleCluster(UID, "cluster1", 5);
+  public void whenNoPerClusterReplicaSetting_scaleClusterCreatesOne() throws Exception {
+    expectPatchDomainCall();
 
-    assertThat(getUpdatedDomain().getReplicaCount("cluster1"), equalTo(5));
+    scaleCluster(UID, "cluster1", 5);
+
+    assertThat(patch.get(1), hasEntry("path", "/spec/clusters"));
+    assertThat(getNewClusters(patch.get(1)).get(0), hasEntry("replicas", 5));
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Map<String, Object>> getNewClusters(Map<String, Object> operation) {
+    return (List<Map<String, Object>>) operation.get("value");
   }
 
   @Test
-  public void whenNoPerClusterReplicaSettingAndDefaultMatchesRequest_doNothing() {
+  public void whenOtherClustersHaveReplicaSettings_scaleClusterAppendsOne() throws Exception {
+    configureCluster("cluster2").withReplicas(2);
+    expectPatchDomainCall();
+
+    scaleCluster(UID, "cluster1", 5);
+
+    assertThat(patch.get(1), hasEntry("path", "/spec/clusters/-"));
+  }
+
+  @Test
+  public void whenNoPerClusterReplicaSettingAndDefaultMatchesRequest_doNothing() throws Exception {
     configureDomain().withDefaultReplicaCount(REPLICA_LIMIT);
 
-    restBackend.scaleCluster(UID, "cluster1", REPLICA_LIMIT);
+    scaleCluster(UID, "cluster1", REPLICA_LIMIT);
+
+    assertThat(patch, nullValue());
+  }
+
+  @Test
+  public void whenDomainIntrospected_scaleClusterDoesNotListDomains() throws Exception {
+    expectPatchDomainCall();
+
+    scaleCluster(UID, "cluster1", 5);
+
+    assertThat(listDomainCount.get(), equalTo(0));
+  }
+
+  @Test
+  public void whenDomainIntrospected_scaleClusterLooksUpTopologyOnce() throws Exception {
+    expectPatchDomainCall();
+
+    restBackend.isDomainUID(UID);
+    restBackend.isCluster(UID, "cluster1");
+    scaleCluster(UID, "cluster1", 5);
+
+    assertThat(topologyLookupCount.get(), equalTo(1));
+  }
+
+  @Test
+  public void scaleTimeout_allowsEveryAttemptToReadAndPatchTheDomain() {
+    assertThat(restBackend.getScaleTimeoutSeconds(), equalTo(60L));
+  }
+
+  @Test
+  public void whenDomainModifiedBeforeUpdate_scaleClusterRetries() throws Exception {
+    asyncTestSupport
+        .createCannedResponse("patchDomain")
+        .withNamespace(NS)
+        .withUid(UID)
+        .withBody(withResourceVersionThenModify("1", "2"))
+        .failingWithStatus(HTTP_CONFLICT);
+    asyncTestSupport
+        .createCannedResponse("patchDomain")
+        .withNamespace(NS)
+        .withUid(UID)
+        .withBody(withResourceVersionThenModify("2", "3"))
+        .returning(domain);
+
+    scaleCluster(UID, "cluster1", 5);
+  }
+
+  @Test
+  public void whenClusterTestFailsBeforeUpdate_scaleClusterRetries() throws Exception {
+    asyncTestSupport
+        .createCannedResponse("patchDomain")
+        .withNamespace(NS)
+        .withUid(UID)
+        .withBody(withResourceVersionThenModify("1", "2"))
+        .failingWithStatus(HTTP_UNPROCESSABLE_ENTITY);
+    asyncTestSupport
+        .createCannedResponse("patchDomain")
+        .withNamespace(NS)
+        .withUid(UID)
+        .withBody(withResourceVersionThenModify("2", "3"))
+        .returning(domain);
 
-    assertThat(getUpdatedDomain(), nullValue());
+    scaleCluster(UID, "cluster1", 5);
+  }
+
+  // matches a patch of the specified version of the domain, which the server then updates
+  private BodyMatcher withResourceVersionThenModify(String expected, String updated) {
+    return actualBody -> {
+      if (!getPatch(actualBody).get(0).get("value").equals(expected)) return false;
+
+      domain.getMetadata().setResourceVersion(updated);
+      return true;
+    };
+  }
+
+  @Test
+  public void whenDomainModifiedOnEachAttempt_scaleClusterFails() throws Exception {
+    asyncTestSupport
+        .createCannedResponse("patchDomain")
+        .withNamespace(NS)
+        .withUid(UID)
+        .ignoringBody()
+        .failingWithStatus(HTTP_CONFLICT);
+
+    try {
+      scaleCluster(UID, "cluster1", 5);
+      fail("Expected WebApplicationException");
+    } catch (WebApplicationException e) {
+      assertThat(e.getResponse().getStatus(), equalTo(HTTP_INTERNAL_ERROR));
+    }
+  }
+
+  @Test
+  public void whenDomainNotFound_scaleClusterReportsNotFound() throws Exception {
+    asyncTestSupport
+        .createCannedResponse("readDomain")
+        .withNamespace(NS)
+        .withUid("uid2")
+        .failingWithStatus(HTTP_NOT_FOUND);
+
+    try {
+      scaleCluster("uid2", "cluster1", 5);
+      fail("Expected WebApplicationException");
+    } catch (WebApplicationException e) {
+      assertThat(e.getResponse().getStatus(), equalTo(HTTP_NOT_FOUND));
+    }
   }
 
   @Test
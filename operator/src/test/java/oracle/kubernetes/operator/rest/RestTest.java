@@ -12,9 +12,11 @@ import java.security.KeyStore;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Handler;
 import java.util.logging.Logger;
 import javax.json.JsonObject;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
@@ -34,7 +36,12 @@ import oracle.kubernetes.operator.rest.model.DomainModel;
 import oracle.kubernetes.operator.rest.model.ErrorModel;
 import oracle.kubernetes.operator.rest.model.ScaleClusterParamsModel;
 import oracle.kubernetes.operator.rest.model.VersionModel;
+import oracle.kubernetes.operator.work.Component;
 import oracle.kubernetes.operator.work.Container;
+import oracle.kubernetes.operator.work.Engine;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
 import org.apache.commons.codec.binary.Base64;
 import org.glassfish.jersey.jsonp.JsonProcessingFeature;
 import org.junit.After;
@@ -45,6 +52,7 @@ import org.junit.Test;
 public class RestTest {
 
   private RestServer rs;
+  private Engine engine;
   private WebTarget externalHttpsTarget;
   private WebTarget internalHttpsTarget;
 
@@ -54,17 +62,26 @@ public class RestTest {
   private static final String LATEST_HREF = OPERATOR_HREF + "/latest";
 
   private static final String SWAGGER = "swagger";
+  private static final String STARTUP = "startup";
   private static final String DOMAINS = "domains";
   private static final String CLUSTERS = "clusters";
   private static final String DOMAIN1 = "domain1";
   private static final String CLUSTER1 = "cluster1";
 
   private static final String SWAGGER_HREF = LATEST_HREF + "/" + SWAGGER;
+  private static final String STARTUP_HREF = LATEST_HREF + "/" + STARTUP;
   private static final String DOMAINS_HREF = LATEST_HREF + "/" + DOMAINS;
   private static final String DOMAIN1_HREF = DOMAINS_HREF + "/" + DOMAIN1;
   private static final String DOMAIN1_CLUSTERS_HREF = DOMAIN1_HREF + "/" + CLUSTERS;
   private static final String DOMAIN1_CLUSTER1_HREF = DOMAIN1_CLUSTERS_HREF + "/" + CLUSTER1;
   private static final String DOMAIN1_CLUSTER1_SCALE_HREF = DOMAIN1_CLUSTER1_HREF + "/scale";
+  private static final String METRICS_HREF = "/metrics";
+
+  private static final int MAX_CLUSTER_SIZE = 5;
+  private static final int CONFLICTING_SERVER_COUNT = 4;
+  private static final int STALLED_SERVER_COUNT = 2;
+  private static final long SCALE_TIMEOUT_SECONDS = 1;
+  private static final AtomicInteger scaledServerCount = new AtomicInteger();
 
   private static final String CA_CERT_DATA =
       "LS0tLS1CRUdJTiBDRVJUSUZJQ0FURS0tLS0tCk1JSUR3VENDQXFtZ0F3SUJBZ0lFVHVHU216QU5CZ2txaGtpRzl3MEJBUXNGQURDQmdURUxNQWtHQTFVRUJoTUMNClZWTXhFREFPQmdOVkJBZ1RCMDE1VTNSaGRHVXhEekFOQmdOVkJBY1RCazE1Vkc5M2JqRVhNQlVHQTFVRUNoTU8NClRYbFBjbWRoYm1sNllYUnBiMjR4R1RBWEJnTlZCQXNURUVaUFVpQlVSVk5VU1U1SElFOU9URmt4R3pBWkJnTlYNCkJBTVRFbGRsWW14dloybGpUM0JsY21GMGIzSkRRVEFlRncweE56RXlNRFV5TXpJNE1ERmFGdzB5TnpFeU1ETXkNCk16STRNREZhTUlHQk1Rc3dDUVlEVlFRR0V3SlZVekVRTUE0R0ExVUVDQk1IVFhsVGRHRjBaVEVQTUEwR0ExVUUNCkJ4TUdUWGxVYjNkdU1SY3dGUVlEVlFRS0V3NU5lVTl5WjJGdWFYcGhkR2x2YmpFWk1CY0dBMVVFQ3hNUVJrOVMNCklGUkZVMVJKVGtjZ1QwNU1XVEViTUJrR0ExVUVBeE1TVjJWaWJHOW5hV05QY0dWeVlYUnZja05CTUlJQklqQU4NCkJna3Foa2lHOXcwQkFRRUZBQU9DQVE4QU1JSUJDZ0tDQVFFQWp1Q1JtOE5Wck02bjQrQ1ptZFh3M3FqRjV3T00NCnZYZVJDZG9TZ1dEalRrUmtKV1RZOVlVaGVIaVB1TGozdXZRbFNwNUNZdngwTUYyM2pxbzcyaEJqM3U2cGZqbVMNCnJBeEpSdjZQV1E3Y3dTbGU3SU1URk5Qb3NvS0wrSEZmTWxmL2o2WUtqZzlQZXJPY09ocEI2WnJWS0NxeDdvOCsNCmRpb2FxdXlYV2drKzQxdkNKeGs5QVlqRGdBM1BnNC8xQ1BPVUU4eGN4Z29ldi9teW4yTFMvZkU5NzJsNVo4eUINCnFtcXI1V09EbUZLVWNqV0tSVGlnWjFSNVBoQjNVaHhBUXN4aHJKYVZFM3drT1ZjYWdza2QvWHM2eWY3cS9pVXMNClUxL1VCc3Q1SE5Dd2hnWUZ3bkV1RXZvaVNPeFl2UEx4cjRWTU1RM2lPR21QS0VBKzJoUUtxc214b3dJREFRQUINCm96OHdQVEFQQmdOVkhSTUVDREFHQVFIL0FnRUJNQXNHQTFVZER3UUVBd0lDQkRBZEJnTlZIUTRFRmdRVVlFcDANCmkxc2hZcDh5N1lQTEk5MXh6L2pXWVVBd0RRWUpLb1pJaHZjTkFRRUxCUUFEZ2dFQkFIZFNtUVZZT0pzdmJFR1QNCmxwdk1CcjhCL0M1cUdGQjF4N3BBZWRlOFA1TXk0MHg1QnNjTjg4ZkN3djZSVStUbDNjenQ4ZHBMc0RZaTIzR2QNCnEwSk1LT2docXdSa2w4bEZRNmY0ZUdsZGFLMGlOc3hxQkJZUVFBeHNscTV0RXRUZk4rYmdVbGUyMmhpNERjUGsNClh0UDNncGhHdzRjSXlpZ09DbWpiOVk5VnNQY0M2Rit2bmhNaWxkRVhmUEFJcWRQSnlWZFMrWWNXOXdkaXF2d28NClVsK0h2VDhyMnFSbTV0U2NReFRySEY1emdwZzZhUmRENk1qWGQwZFAydzUzazVQeUZPb0o4eE1Qd1JGeE1xazkNCmkzdm9ZcUFBNXBNZXBVR3ladllKenUrUEk2cmFJNlllc3NMcW02NEE0NlZYS0xIOEZvTnYwMEQ2Y0o5R1NwMUUNCkJmRm85L3M9Ci0tLS0tRU5EIENFUlRJRklDQVRFLS0tLS0K";
@@ -85,6 +102,9 @@ public class RestTest {
   @Before
   public void setUp() throws Exception {
     Container container = new Container();
+    engine = new Engine("rest-test");
+    container.getComponents().put("engine", Component.createFor(Engine.class, engine));
+    scaledServerCount.set(0);
 
     savedhandlers = TestUtils.removeConsoleHandlers(logger);
 
@@ -106,6 +126,7 @@ public class RestTest {
   @After
   public void tearDown() throws Exception {
     rs.stop();
+    engine.getExecutor().shutdownNow();
   }
 
   @Test
@@ -139,6 +160,7 @@ public class RestTest {
     want.addSelfAndParentLinks(V1_HREF, OPERATOR_HREF);
     want.addLink(DOMAINS, V1_HREF + "/" + DOMAINS);
     want.addLink(SWAGGER, V1_HREF + "/" + SWAGGER);
+    want.addLink(STARTUP, V1_HREF + "/" + STARTUP);
     verifyEntity(r, want);
   }
 
@@ -150,6 +172,7 @@ public class RestTest {
     want.addSelfAndParentLinks(LATEST_HREF, OPERATOR_HREF);
     want.addLink(DOMAINS, DOMAINS_HREF);
     want.addLink(SWAGGER, SWAGGER_HREF);
+    want.addLink(STARTUP, STARTUP_HREF);
     verifyEntity(r, want);
   }
 
@@ -172,6 +195,26 @@ public class RestTest {
     assertEquals(j.getString("swagger"), "2.0");
   }
 
+  @Test
+  public void testStartup() {
+    Response r = request(STARTUP_HREF).get();
+    verifyOK(r);
+    JsonObject j = r.readEntity(JsonObject.class);
+    assertEquals(j.containsKey("phases"), true);
+    assertEquals(j.containsKey("namespaces"), true);
+  }
+
+  @Test
+  public void testMetrics() {
+    Response r = request(METRICS_HREF).get();
+    verifyOK(r);
+    String text = r.readEntity(String.class);
+    assertEquals(text.contains("weblogic_operator_api_requests_queued_total "), true);
+    assertEquals(text.contains("# TYPE weblogic_operator_fiber_gate_started_total counter"), true);
+    assertEquals(text.contains("weblogic_operator_domain_events_coalesced_total "), true);
+    assertEquals(text.contains("# TYPE weblogic_operator_introspection_phase_seconds gauge"), true);
+  }
+
   @Test
   public void testDomains() {
     Response r = request(DOMAINS_HREF).get();
@@ -249,6 +292,36 @@ public class RestTest {
     verifyStatusCode(
         request(DOMAIN1_CLUSTER1_SCALE_HREF).header("X-Requested-By", "TestClient").post(entity),
         Status.NO_CONTENT);
+    assertEquals(3, scaledServerCount.get());
+  }
+
+  @Test
+  public void testScaleClusterFailure() {
+    Entity<ScaleClusterParamsModel> entity =
+        Entity.entity(
+            createScaleClusterParams(CONFLICTING_SERVER_COUNT), MediaType.APPLICATION_JSON);
+    verifyStatusCode(
+        request(DOMAIN1_CLUSTER1_SCALE_HREF).header("X-Requested-By", "TestClient").post(entity),
+        Status.CONFLICT);
+  }
+
+  @Test
+  public void whenScaleStalls_respondServiceUnavailable() {
+    Entity<ScaleClusterParamsModel> entity =
+        Entity.entity(createScaleClusterParams(STALLED_SERVER_COUNT), MediaType.APPLICATION_JSON);
+    verifyStatusCode(
+        request(DOMAIN1_CLUSTER1_SCALE_HREF).header("X-Requested-By", "TestClient").post(entity),
+        Status.SERVICE_UNAVAILABLE);
+  }
+
+  @Test
+  public void testScaleClusterInvalidCount() {
+    Entity<ScaleClusterParamsModel> entity =
+        Entity.entity(createScaleClusterParams(MAX_CLUSTER_SIZE + 1), MediaType.APPLICATION_JSON);
+    verifyStatusCode(
+        request(DOMAIN1_CLUSTER1_SCALE_HREF).header("X-Requested-By", "TestClient").post(entity),
+        Status.BAD_REQUEST);
+    assertEquals(0, scaledServerCount.get());
   }
 
   @Test
@@ -299,8 +372,12 @@ public class RestTest {
   }
 
   private ScaleClusterParamsModel createScaleClusterParams() {
+    return createScaleClusterParams(3);
+  }
+
+  private ScaleClusterParamsModel createScaleClusterParams(int managedServerCount) {
     ScaleClusterParamsModel params = new ScaleClusterParamsModel();
-    params.setManagedServerCount(3);
+    params.setManagedServerCount(managedServerCount);
     return params;
   }
 
@@ -437,7 +514,39 @@ public class RestTest {
     }
 
     @Override
-    public void scaleCluster(String domainId, String cluster, int managedServerCount) {}
+    public Step scaleCluster(String domainId, String cluster, int managedServerCount) {
+      if (managedServerCount > MAX_CLUSTER_SIZE) {
+        throw new WebApplicationException(Status.BAD_REQUEST);
+      }
+      return new TestScaleStep(managedServerCount);
+    }
+
+    @Override
+    public long getScaleTimeoutSeconds() {
+      return SCALE_TIMEOUT_SECONDS;
+    }
+  }
+
+  // completes the scale request on a fiber, failing as the backend would if the domain conflicts
+  private static class TestScaleStep extends Step {
+    private final int managedServerCount;
+
+    TestScaleStep(int managedServerCount) {
+      super(null);
+      this.managedServerCount = managedServerCount;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      if (managedServerCount == CONFLICTING_SERVER_COUNT) {
+        return doTerminate(new WebApplicationException(Status.CONFLICT), packet);
+      }
+      if (managedServerCount == STALLED_SERVER_COUNT) {
+        return doSuspend(fiber -> {});
+      }
+      scaledServerCount.set(managedServerCount);
+      return doNext(packet);
+    }
   }
 
   private KeyStore createTrustStore() throws Exception {
@@ -0,0 +1,226 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.rest;
+
+import com.meterware.simplestub.Memento;
+import com.meterware.simplestub.StaticStubSupport;
+import io.kubernetes.client.models.V1ObjectMeta;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import oracle.kubernetes.TestUtils;
+import oracle.kubernetes.operator.helpers.KubernetesSimulator;
+import oracle.kubernetes.operator.utils.WlsDomainConfigSupport;
+import oracle.kubernetes.operator.wlsconfig.WlsDomainConfig;
+import oracle.kubernetes.operator.work.Engine;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.weblogic.domain.v2.Domain;
+import oracle.kubernetes.weblogic.domain.v2.DomainSpec;
+
+/**
+ * Measures the end-to-end latency of a burst of cluster scaling requests, as sent by WLDF policies
+ * or the REST api. Each request runs the operator's real REST backend against a {@link
+ * KubernetesSimulator}, which delays each call by a fixed latency and applies the domain patches,
+ * rejecting those made against a stale resource version. As in the REST api, the request is
+ * validated by the thread which sends it, then completed by a fiber which reads and patches the
+ * domain asynchronously. The benchmark reports latency percentiles, the number of API calls made
+ * for each kind of request, and the number of update conflicts.
+ *
+ * <p>Run it with the test classpath, for example: <code>
+ * mvn -pl operator test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=oracle.kubernetes.operator.rest.ScaleClusterBenchmark -Dexec.args="200 16"
+ * </code>
+ *
+ * <p>The arguments are: scaling requests, concurrent requests, domains, and simulated latency in
+ * milliseconds. All are optional.
+ */
+public class ScaleClusterBenchmark {
+  private static final String NAMESPACE = "ns";
+  private static final String CLUSTER_NAME = "cluster-1";
+  private static final int MAX_CLUSTER_SIZE = 10;
+
+  private final int requestCount;
+  private final int concurrency;
+  private final int domainCount;
+  private final long latencyMillis;
+  private final WlsDomainConfig topology = createTopology();
+  private final ScheduledExecutorService simulatorExecutor =
+      Executors.newScheduledThreadPool(2, ScaleClusterBenchmark::createDaemonThread);
+  private final KubernetesSimulator simulator = new KubernetesSimulator(simulatorExecutor);
+  private final Engine engine = new Engine("benchmark");
+
+  private ScaleClusterBenchmark(
+      int requestCount, int concurrency, int domainCount, long latencyMillis) {
+    this.requestCount = requestCount;
+    this.concurrency = concurrency;
+    this.domainCount = domainCount;
+    this.latencyMillis = latencyMillis;
+    simulator.withLatency(latencyMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args scaling requests, concurrent requests, domains and latency in milliseconds
+   * @throws Exception if the benchmark cannot be run
+   */
+  public static void main(String[] args) throws Exception {
+    new ScaleClusterBenchmark(
+            intArg(args, 0, 200), intArg(args, 1, 16), intArg(args, 2, 4), intArg(args, 3, 5))
+        .run();
+    System.exit(0);
+  }
+
+  private static int intArg(String[] args, int index, int defaultValue) {
+    return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+  }
+
+  private static Thread createDaemonThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "simulator");
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private static WlsDomainConfig createTopology() {
+    WlsDomainConfigSupport support = new WlsDomainConfigSupport("base_domain");
+    String[] serverNames = new String[MAX_CLUSTER_SIZE];
+    for (int i = 0; i < serverNames.length; i++) {
+      serverNames[i] = "managed-server" + (i + 1);
+    }
+    support.addWlsCluster(CLUSTER_NAME, serverNames);
+    return support.createDomainConfig();
+  }
+
+  private void run() throws Exception {
+    List<Memento> mementos = simulator.install();
+    mementos.add(TestUtils.silenceOperatorLogger());
+    mementos.add(
+        StaticStubSupport.install(
+            RestBackendImpl.class, "INSTANCE", (RestBackendImpl.TopologyRetriever) this::lookup));
+    try {
+      for (int i = 0; i < domainCount; i++) {
+        simulator.createResource(createDomain(getDomainUID(i)));
+      }
+      report(sendBurst());
+    } finally {
+      for (Memento memento : mementos) {
+        memento.revert();
+      }
+    }
+  }
+
+  private Domain createDomain(String domainUID) {
+    return new Domain()
+        .withMetadata(new V1ObjectMeta().namespace(NAMESPACE).name(domainUID))
+        .withSpec(new DomainSpec().withDomainUID(domainUID));
+  }
+
+  private WlsDomainConfig lookup(String ns, String domainUID) {
+    return NAMESPACE.equals(ns) ? topology : null;
+  }
+
+  private long[] sendBurst() throws InterruptedException {
+    long[] latencies = new long[requestCount];
+    AtomicInteger failures = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(requestCount);
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    Random random = new Random(0);
+    for (int i = 0; i < requestCount; i++) {
+      final int index = i;
+      final String domainUID = getDomainUID(random.nextInt(domainCount));
+      final int replicas = 1 + random.nextInt(MAX_CLUSTER_SIZE);
+      executor.execute(
+          () -> {
+            RequestCompletion completion = new RequestCompletion(latencies, index, failures, done);
+            try {
+              Step scale =
+                  new RestBackendImpl("", "", Collections.singletonList(NAMESPACE))
+                      .scaleCluster(domainUID, CLUSTER_NAME, replicas);
+              engine.createFiber().start(scale, new Packet(), completion);
+            } catch (RuntimeException e) {
+              completion.onThrowable(null, e);
+            }
+          });
+    }
+    done.await();
+    executor.shutdown();
+    if (failures.get() > 0) {
+      System.out.println("Failed requests: " + failures.get());
+    }
+    return latencies;
+  }
+
+  // records the latency of a scaling request when its fiber completes
+  private static class RequestCompletion implements CompletionCallback {
+    private final long start = System.nanoTime();
+    private final long[] latencies;
+    private final int index;
+    private final AtomicInteger failures;
+    private final CountDownLatch done;
+
+    RequestCompletion(long[] latencies, int index, AtomicInteger failures, CountDownLatch done) {
+      this.latencies = latencies;
+      this.index = index;
+      this.failures = failures;
+      this.done = done;
+    }
+
+    @Override
+    public void onCompletion(Packet packet) {
+      latencies[index] = System.nanoTime() - start;
+      done.countDown();
+    }
+
+    @Override
+    public void onThrowable(Packet packet, Throwable throwable) {
+      failures.incrementAndGet();
+      onCompletion(packet);
+    }
+  }
+
+  private void report(long[] latencies) {
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    System.out.println(
+        String.format(
+            "Burst: %d scaling requests, %d concurrent, %d domains, %d ms API latency",
+            requestCount, concurrency, domainCount, latencyMillis));
+    System.out.println(
+        String.format(
+            "Latency: p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms",
+            percentile(sorted, 50),
+            percentile(sorted, 90),
+            percentile(sorted, 99),
+            toMillis(sorted[sorted.length - 1])));
+    System.out.println("API calls: " + simulator.getTotalCallCount());
+    for (Map.Entry<String, Integer> entry : simulator.getCallCounts().entrySet()) {
+      System.out.println(String.format("  %-32s %8d", entry.getKey(), entry.getValue()));
+    }
+    System.out.println("Update conflicts: " + simulator.getConflictCount());
+  }
+
+  private static double percentile(long[] sorted, int percent) {
+    int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+    return toMillis(sorted[Math.max(0, index)]);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  private String getDomainUID(int i) {
+    return "domain" + i;
+  }
+}
@@ -7,11 +7,16 @@ package oracle.kubernetes.operator.steps;
 import static oracle.kubernetes.LogMatcher.containsFine;
 import static oracle.kubernetes.operator.logging.MessageKeys.WLS_HEALTH_READ_FAILED;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.meterware.simplestub.Memento;
 import com.meterware.simplestub.Stub;
 import io.kubernetes.client.models.V1Service;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -19,11 +24,14 @@ import java.util.logging.LogRecord;
 import oracle.kubernetes.TestUtils;
 import oracle.kubernetes.operator.ProcessingConstants;
 import oracle.kubernetes.operator.http.HttpClient;
+import oracle.kubernetes.operator.steps.ReadHealthStep.ReadAggregatedHealthWithHttpClientStep;
 import oracle.kubernetes.operator.steps.ReadHealthStep.ReadHealthWithHttpClientStep;
 import oracle.kubernetes.operator.work.Component;
 import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.weblogic.domain.v2.ServerHealth;
+import org.joda.time.DateTime;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -64,6 +72,35 @@ public class ReadHealthStepTest {
     assertThat(logRecords, containsFine(WLS_HEALTH_READ_FAILED, SERVER_NAME));
   }
 
+  @Test
+  public void withAggregatedHttpClientStep_Health_logIfFailed() {
+    V1Service service = Stub.createStub(V1ServiceStub.class);
+    Step next = new MockStep(null);
+    final String ADMIN_SERVER_NAME = "admin-server";
+    Packet packet = Stub.createStub(PacketStub.class);
+
+    new ReadAggregatedHealthWithHttpClientStep(ADMIN_SERVER_NAME, service, next).apply(packet);
+
+    assertThat(logRecords, containsFine(WLS_HEALTH_READ_FAILED, ADMIN_SERVER_NAME));
+  }
+
+  @Test
+  public void parseServerHealth_returnsHealthAndSubsystem() throws IOException {
+    JsonNode serverRuntime =
+        new ObjectMapper()
+            .readTree(
+                "{ \"name\": \"ms1\", \"activationTime\": 1000, \"overallHealthState\": {"
+                    + " \"state\": \"warning\", \"subsystemName\": \"jms\","
+                    + " \"symptoms\": [ \"low memory\" ] } }");
+
+    ServerHealth health = ReadHealthStep.parseServerHealth(serverRuntime);
+
+    assertThat(health.getOverallHealth(), equalTo("warning"));
+    assertThat(health.getActivationTime(), equalTo(new DateTime(1000)));
+    assertThat(health.getSubsystems().get(0).getSubsystemName(), equalTo("jms"));
+    assertThat(health.getSubsystems().get(0).getSymptoms(), contains("low memory"));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void WithHttpClientStep_const_throws_with_null_service() {
     Step next = new MockStep(null);
@@ -0,0 +1,172 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at
+// http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.junit.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import org.junit.After;
+import org.junit.Test;
+
+public class FiberGateTest {
+  private static final String KEY = "domain1";
+
+  private FiberTestSupport testSupport = new FiberTestSupport();
+  private FiberGate gate = testSupport.createFiberGateStub();
+  private List<String> completed = Collections.synchronizedList(new ArrayList<>());
+  private ScheduledExecutorService executor;
+
+  @After
+  public void tearDown() {
+    if (executor != null) executor.shutdownNow();
+  }
+
+  @Test
+  public void whenFiberStarted_runsStepAndCountsStart() {
+    gate.startFiber(KEY, new RecordingStep("first"), new Packet(), new NullCallback());
+
+    assertThat(completed, equalTo(Collections.singletonList("first")));
+    assertThat(gate.getStartedCount(), equalTo(1L));
+  }
+
+  @Test
+  public void whenFiberRunning_startFiberIfNoCurrentFiber_isRejected() {
+    gate.startFiber(KEY, new SuspendingStep(), new Packet(), new NullCallback());
+
+    Fiber fiber =
+        gate.startFiberIfNoCurrentFiber(
+            KEY, new RecordingStep("second"), new Packet(), new NullCallback());
+
+    assertThat(fiber, nullValue());
+    assertThat(gate.getRejectedCount(), equalTo(1L));
+  }
+
+  @Test
+  public void whenFiberRunningForOtherKey_startFiberIfNoCurrentFiber_starts() {
+    gate.startFiber("other", new SuspendingStep(), new Packet(), new NullCallback());
+
+    Fiber fiber =
+        gate.startFiberIfNoCurrentFiber(
+            KEY, new RecordingStep("second"), new Packet(), new NullCallback());
+
+    assertThat(fiber, notNullValue());
+    assertThat(completed, equalTo(Collections.singletonList("second")));
+  }
+
+  @Test
+  public void whenFiberRunning_startFiber_replacesIt() {
+    gate.startFiber(KEY, new SuspendingStep(), new Packet(), new NullCallback());
+
+    gate.startFiber(KEY, new RecordingStep("second"), new Packet(), new NullCallback());
+
+    assertThat(gate.getReplacedCount(), equalTo(1L));
+    assertThat(gate.getWaitCount(), equalTo(1L));
+    assertThat(completed, equalTo(Collections.singletonList("second")));
+  }
+
+  @Test
+  public void whenLastFiberDoesNotMatch_startFiberIfLastFiberMatches_isRejected() {
+    Fiber first = gate.startFiber(KEY, new SuspendingStep(), new Packet(), new NullCallback());
+    gate.startFiber(KEY, new SuspendingStep(), new Packet(), new NullCallback());
+
+    Fiber fiber =
+        gate.startFiberIfLastFiberMatches(
+            KEY, first, new RecordingStep("third"), new Packet(), new NullCallback());
+
+    assertThat(fiber, nullValue());
+    assertThat(completed.isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void whenManyThreadsStartFibersForSameKeys_allCallersReturnAndLastFibersComplete()
+      throws Exception {
+    executor = Executors.newScheduledThreadPool(4);
+    FiberGate concurrentGate = new FiberGate(new Engine(executor));
+    int threadCount = 8;
+    int startsPerThread = 200;
+    AtomicInteger finished = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(threadCount);
+
+    ExecutorService callers = Executors.newFixedThreadPool(threadCount);
+    try {
+      for (int t = 0; t < threadCount; t++) {
+        callers.execute(
+            () -> {
+              for (int i = 0; i < startsPerThread; i++) {
+                concurrentGate.startFiber(
+                    "key" + (i % 4), new CountingStep(finished), new Packet(), new NullCallback());
+              }
+              done.countDown();
+            });
+      }
+      assertThat(done.await(30, TimeUnit.SECONDS), equalTo(true));
+    } finally {
+      callers.shutdownNow();
+    }
+
+    assertThat(concurrentGate.getStartedCount(), equalTo((long) threadCount * startsPerThread));
+  }
+
+  private class RecordingStep extends Step {
+    private final String name;
+
+    RecordingStep(String name) {
+      super(null);
+      this.name = name;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      completed.add(name);
+      return doNext(packet);
+    }
+  }
+
+  private static class CountingStep extends Step {
+    private final AtomicInteger count;
+
+    CountingStep(AtomicInteger count) {
+      super(null);
+      this.count = count;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      count.incrementAndGet();
+      return doNext(packet);
+    }
+  }
+
+  private static class SuspendingStep extends Step {
+    SuspendingStep() {
+      super(null);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      return doSuspend(fiber -> {});
+    }
+  }
+
+  private static class NullCallback implements CompletionCallback {
+    @Override
+    public void onCompletion(Packet packet) {}
+
+    @Override
+    public void onThrowable(Packet packet, Throwable throwable) {}
+  }
+}
@@ -162,6 +162,11 @@ public class FiberTestSupport {
     Step createStepList(Step next);
   }
 
+  /** Cancels the unit-test fiber, along with the child fibers it has started. */
+  public void cancelFiber() {
+    fiber.cancel(false);
+  }
+
   /**
    * Verifies that the completion callback's 'onThrowable' method was invoked with a throwable of
    * the specified class. Clears the throwable so that #throwOnFailure will not throw the expected
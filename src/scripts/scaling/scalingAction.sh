@@ -10,6 +10,7 @@ wls_domain_uid=""
 wls_cluster_name=""
 wls_domain_namespace="default"
 operator_service_name="internal-weblogic-operator-svc"
+operator_service_port=""
 operator_namespace="weblogic-operator"
 operator_service_account="weblogic-operator"
 scaling_size=1
@@ -40,6 +41,10 @@ case $arg in
     operator_service_name="${arg#*=}"
     shift # past argument=value
     ;;
+    --operator_service_port=*)
+    operator_service_port="${arg#*=}"
+    shift # past argument=value
+    ;;
     --operator_service_account=*)
     operator_service_account="${arg#*=}"
     shift # past argument=value
@@ -69,7 +74,7 @@ done
 # Verify required parameters
 if [ -z "$scaling_action" ] || [ -z "$wls_domain_uid" ] || [ -z "$wls_cluster_name" ]
 then
-    echo "Usage: scalingAction.sh --action=[scaleUp | scaleDown] --domain_uid=<domain uid> --cluster_name=<cluster name> [--kubernetes_master=https://kubernetes] [--access_token=<access_token>] [--wls_domain_namespace=default] [--operator_namespace=weblogic-operator] [--operator_service_name=weblogic-operator] [--scaling_size=1]"
+    echo "Usage: scalingAction.sh --action=[scaleUp | scaleDown] --domain_uid=<domain uid> --cluster_name=<cluster name> [--kubernetes_master=https://kubernetes] [--access_token=<access_token>] [--wls_domain_namespace=default] [--operator_namespace=weblogic-operator] [--operator_service_name=weblogic-operator] [--operator_service_port=<port>] [--scaling_size=1]"
     echo "  where"
     echo "    action - scaleUp or scaleDown"
     echo "    domain_uid - WebLogic Domain Unique Identifier"
@@ -78,6 +83,7 @@ then
     echo "    access_token - Service Account Bearer token for authentication and authorization for access to REST Resources"
     echo "    wls_domain_namespace - Kubernetes name space WebLogic Domain is defined in, default=default"
     echo "    operator_service_name - WebLogic Operator Service name, default=internal-weblogic-operator-svc"
+    echo "    operator_service_port - WebLogic Operator Service REST port, looked up from the service if not specified"
     echo "    operator_service_account - Kubernetes Service Account for WebLogic Operator, default=weblogic-operator"
     echo "    operator_namespace - WebLogic Operator Namespace, default=weblogic-operator"
     echo "    scaling_size - number of WebLogic server instances by which to scale up or down, default=1"
@@ -99,7 +105,11 @@ echo "operator_service_account: $operator_service_account" >> scalingAction.log
 echo "operator_namespace: $operator_namespace" >> scalingAction.log
 echo "scaling_size: $scaling_size" >> scalingAction.log
 
-# Query WebLogic Operator Service Port
+# Query WebLogic Operator Service Port, unless it was specified
+if [ -n "$operator_service_port" ]
+then
+  port=$operator_service_port
+else
 STATUS=`curl -v --cacert /var/run/secrets/kubernetes.io/serviceaccount/ca.crt -H "Authorization: Bearer $(cat /var/run/secrets/kubernetes.io/serviceaccount/token)" -X GET $kubernetes_master/api/v1/namespaces/$operator_namespace/services/$operator_service_name/status` 
 if [ $? -ne 0 ]
   then
@@ -115,10 +125,11 @@ for i in json.load(sys.stdin)["spec"]["ports"]:
     print(i["port"])
 INPUT
 port=`echo ${STATUS} | python cmds.py`
+fi
 echo "port: $port" >> scalingAction.log
 
 # Reteive Custom Resource Domain 
-DOMAIN=`curl -v --cacert /var/run/secrets/kubernetes.io/serviceaccount/ca.crt -H "Authorization: Bearer $(cat /var/run/secrets/kubernetes.io/serviceaccount/token)" $kubernetes_master/apis/weblogic.oracle/v2/namespaces/$wls_domain_namespace/domains/$domain_uid`
+DOMAIN=`curl -v --cacert /var/run/secrets/kubernetes.io/serviceaccount/ca.crt -H "Authorization: Bearer $(cat /var/run/secrets/kubernetes.io/serviceaccount/token)" $kubernetes_master/apis/weblogic.oracle/v2/namespaces/$wls_domain_namespace/domains/$wls_domain_uid`
 if [ $? -ne 0 ]
   then
     echo "Failed to retrieve WebLogic Domain Custom Resource Definition" >> scalingAction.log
@@ -130,16 +141,12 @@ echo "DOMAIN: $DOMAIN" >> scalingAction.log
 # Verify if cluster is defined in clusters
 cat > cmds.py << INPUT
 import sys, json
-outer_loop_must_break = False
-for i in json.load(sys.stdin)["items"]:
-  j = i["spec"]["clusters"]
-  for index, cs in enumerate(j):
-    if j[index]["clusterName"] == "$wls_cluster_name":
-      outer_loop_must_break = True
-      print True
-      break
-if outer_loop_must_break == False:
-  print False
+found = False
+for cs in json.load(sys.stdin)["spec"].get("clusters", []):
+  if cs["clusterName"] == "$wls_cluster_name":
+    found = True
+    break
+print found
 INPUT
 in_cluster_startup=`echo ${DOMAIN} | python cmds.py`
 
@@ -152,19 +159,16 @@ then
 
 cat > cmds.py << INPUT
 import sys, json
-for i in json.load(sys.stdin)["items"]:
-  j = i["spec"]["clusters"]
-  for index, cs in enumerate(j):
-    if j[index]["clusterName"] == "$wls_cluster_name":
-      print j[index]["replicas"]
+for cs in json.load(sys.stdin)["spec"]["clusters"]:
+  if cs["clusterName"] == "$wls_cluster_name":
+    print cs["replicas"]
 INPUT
   num_ms=`echo ${DOMAIN} | python cmds.py`
 else
   echo "$wls_cluster_name NOT defined in clusters" >> scalingAction.log
 cat > cmds.py << INPUT
 import sys, json
-for i in json.load(sys.stdin)["items"]:
-  print i["spec"]["replicas"]
+print json.load(sys.stdin)["spec"]["replicas"]
 INPUT
   num_ms=`echo ${DOMAIN} | python cmds.py`
 fi